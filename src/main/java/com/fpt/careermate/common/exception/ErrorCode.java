@@ -243,7 +243,10 @@ public enum ErrorCode {
         INVALID_TEMPLATE(9500, "Invalid template ID. Valid templates: classic, modern, professional, vintage",
                         HttpStatus.BAD_REQUEST),
         PDF_GENERATION_FAILED(9501, "Failed to generate PDF document", HttpStatus.INTERNAL_SERVER_ERROR),
-        TEMPLATE_RENDERING_FAILED(9502, "Failed to render CV template", HttpStatus.INTERNAL_SERVER_ERROR);
+        TEMPLATE_RENDERING_FAILED(9502, "Failed to render CV template", HttpStatus.INTERNAL_SERVER_ERROR),
+
+        // Candidate Reindex Error Codes (9600-9699)
+        CANDIDATE_REINDEX_RUNNING(9600, "A candidate profile reindex is already running", HttpStatus.CONFLICT);
 
         ErrorCode(int code, String message, HttpStatusCode statusCode) {
                 this.code = code;
@@ -8,6 +8,7 @@ import com.fpt.careermate.services.order_services.domain.CandidateEntitlementPac
 import com.fpt.careermate.services.order_services.repository.CandidateEntitlementPackageRepo;
 import com.fpt.careermate.services.order_services.repository.CandidateEntitlementRepo;
 import com.fpt.careermate.services.order_services.repository.CandidatePackageRepo;
+import com.fpt.careermate.services.order_services.service.CandidateEntitlementMatrix;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -36,12 +37,14 @@ public class CandidatePacakgeSeeder implements CommandLineRunner {
     CandidateEntitlementRepo candidateEntitlementRepo;
     CandidatePackageRepo candidatePackageRepo;
     CandidateEntitlementPackageRepo entitlementPackageRepoCandidate;
+    CandidateEntitlementMatrix candidateEntitlementMatrix;
 
     @Override
     public void run(String... args) throws Exception {
         seedEntitlements();             // Seed danh sách các quyền lợi (entitlements)
         seedPackages();                 // Seed các gói (Free / Plus / Premium)
         seedEntitlementPackages();      // Gắn quyền lợi cho từng gói
+        candidateEntitlementMatrix.reload(); // Nạp lại bảng quyền lợi trong bộ nhớ
     }
 
     /**
@@ -0,0 +1,73 @@
+package com.fpt.careermate.common.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small in-process LRU cache with a per-entry TTL, used as the near tier in front of Redis.
+ * Every {@link #clear()} bumps a generation counter so that a value read from the remote tier
+ * before an invalidation is not promoted into the local tier after it.
+ */
+public class LocalLruCache<V> {
+
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry<V>> entries;
+    private long generation;
+
+    public LocalLruCache(int maxEntries, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Store a value unless the cache was cleared since {@code expectedGeneration} was read
+     */
+    public synchronized boolean put(String key, V value, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return false;
+        }
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        return true;
+    }
+
+    /**
+     * Drop a single entry; like {@link #clear()}, this rejects puts of values read before the call
+     */
+    public synchronized void invalidate(String key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
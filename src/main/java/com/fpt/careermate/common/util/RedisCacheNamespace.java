@@ -0,0 +1,77 @@
+package com.fpt.careermate.common.util;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tag-based cache namespaces on top of Redis sets.
+ * Every cached key is registered in the set of each tag it belongs to, so invalidating a tag
+ * costs O(members) instead of a blocking KEYS scan over the whole keyspace.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class RedisCacheNamespace {
+
+    RedisTemplate<String, Object> redisTemplate;
+
+    private static final String TAG_PREFIX = "cache:tag:";
+
+    // Members popped per round trip while invalidating a tag
+    private static final int INVALIDATE_BATCH_SIZE = 500;
+
+    private String getTagKey(String tag) {
+        return TAG_PREFIX + tag;
+    }
+
+    /**
+     * Save a value and register its key under the given tags.
+     * Tag sets get the same TTL as the value, so they expire together with the entries they track.
+     * @param key cache key
+     * @param value value to cache
+     * @param ttl time to live
+     * @param timeUnit time unit for TTL
+     * @param tags tags the key belongs to
+     */
+    public void put(String key, Object value, long ttl, TimeUnit timeUnit, String... tags) {
+        redisTemplate.opsForValue().set(key, value, ttl, timeUnit);
+        for (String tag : tags) {
+            String tagKey = getTagKey(tag);
+            redisTemplate.opsForSet().add(tagKey, key);
+            redisTemplate.expire(tagKey, ttl, timeUnit);
+        }
+    }
+
+    /**
+     * Delete every key registered under a tag.
+     * Members are removed with SPOP, so keys registered concurrently are either deleted now
+     * or stay tracked for the next invalidation.
+     * @param tag the tag to invalidate
+     * @return number of keys deleted
+     */
+    public long invalidate(String tag) {
+        String tagKey = getTagKey(tag);
+        long deleted = 0;
+        List<Object> members;
+        while ((members = redisTemplate.opsForSet().pop(tagKey, INVALIDATE_BATCH_SIZE)) != null
+                && !members.isEmpty()) {
+            List<String> keys = new ArrayList<>(members.size());
+            for (Object member : members) {
+                keys.add(String.valueOf(member));
+            }
+            Long count = redisTemplate.delete(keys);
+            deleted += count != null ? count : 0;
+        }
+        log.debug("Invalidated {} cache entries for tag {}", deleted, tag);
+        return deleted;
+    }
+}
@@ -1,47 +1,20 @@
 package com.fpt.careermate.config;
 
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
-import com.fpt.careermate.services.authentication_services.service.dto.request.IntrospectRequest;
-import com.nimbusds.jose.JOSEException;
+import com.fpt.careermate.services.authentication_services.service.JwtTokenVerifier;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.spec.SecretKeySpec;
-import java.text.ParseException;
-import java.util.Objects;
-
 @Component
 public class CustomJwtDecoder implements JwtDecoder {
-    @Value("${jwt.signerKey}")
-    private String signerKey;
     @Autowired
-    private AuthenticationImp authenticationServiceImp;
+    private JwtTokenVerifier jwtTokenVerifier;
 
-    private NimbusJwtDecoder nimbusJwtDecoder = null;
+    // Parses and verifies once (signature, expiry, revocation); verified tokens are cached
     @Override
     public Jwt decode(String token) throws JwtException {
-        try {
-            var response = authenticationServiceImp.introspect(
-                    IntrospectRequest.builder().token(token).build());
-
-            if (!response.isValid()) throw new JwtException("Token invalid");
-        } catch (JOSEException | ParseException e) {
-            throw new JwtException(e.getMessage());
-        }
-
-        if (Objects.isNull(nimbusJwtDecoder)) {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
-            nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                    .macAlgorithm(MacAlgorithm.HS512)
-                    .build();
-        }
-
-        return nimbusJwtDecoder.decode(token);
+        return jwtTokenVerifier.verify(token);
     }
 }
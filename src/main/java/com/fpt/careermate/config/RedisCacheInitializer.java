@@ -12,6 +12,7 @@ import org.springframework.core.annotation.Order;
 /**
  * Initialize Redis cache on application startup
  * Clear old cache data to prevent deserialization issues after config changes
+ * (invalidates the list cache tags, no KEYS scan)
  */
 @Configuration
 @RequiredArgsConstructor
@@ -57,8 +57,10 @@ public class SecurityConfig {
             // Public job postings endpoints - no authentication required
             "/api/job-postings",
             "/api/job-postings/**",
-            // Actuator endpoints for monitoring (consider securing these in production)
-            "/actuator/**",
+            // Actuator health (Railway healthcheck, probes) and info; metrics are admin-only below
+            "/actuator/health",
+            "/actuator/health/**",
+            "/actuator/info",
             "/api/job-postings/**",
             "/api/jdskill/top-used",
             "/api/saved-jobs/jobs-for-candidate",
@@ -83,6 +85,8 @@ public class SecurityConfig {
                                 "/api/v1/reviews/company/*/rating")
                         .permitAll()
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
+                        // Metrics expose internals (queues, users, endpoints); scrape with an admin token
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest()
                         .authenticated());
 
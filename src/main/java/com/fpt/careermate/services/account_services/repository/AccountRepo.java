@@ -46,4 +46,12 @@ public interface AccountRepo extends JpaRepository<Account, Integer> {
 
         @Query("SELECT COUNT(DISTINCT a) FROM account a JOIN a.roles r WHERE r.name = :roleName")
         Long countByRoleName(@Param("roleName") String roleName);
+
+        // Rows of [status, count]
+        @Query("SELECT a.status, COUNT(a) FROM account a GROUP BY a.status")
+        List<Object[]> countGroupByStatus();
+
+        // Rows of [roleName, count]
+        @Query("SELECT r.name, COUNT(DISTINCT a) FROM account a JOIN a.roles r GROUP BY r.name")
+        List<Object[]> countGroupByRoleName();
 }
@@ -12,12 +12,21 @@ import com.fpt.careermate.services.recruiter_services.repository.RecruiterProfil
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.HealthIndicator;
-import org.springframework.boot.actuate.health.Status;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -35,73 +44,198 @@ public class AdminDashboardService {
     CandidateInvoiceRepo candidateInvoiceRepo;
     Map<String, HealthIndicator> healthIndicators;
 
+    // Several admins refreshing within this window share one computation
+    private static final Duration SNAPSHOT_TTL = Duration.ofSeconds(30);
+    private static final List<String> HEALTH_COMPONENTS = List.of("db", "kafka", "weaviate", "email", "firebase");
+
+    ReentrantLock refreshLock = new ReentrantLock();
+
+    @NonFinal
+    volatile Snapshot snapshot;
+
+    private record Snapshot(DashboardStatsResponse stats, long computedAtNanos) {
+
+        boolean isFresh() {
+            return System.nanoTime() - computedAtNanos < SNAPSHOT_TTL.toNanos();
+        }
+    }
+
+    private record AccountStats(long total, Map<String, Long> byRole, Map<String, Long> byStatus) {
+
+        static final AccountStats EMPTY = new AccountStats(0L, Map.of(), Map.of());
+    }
+
+    private record ContentStats(long blogs, long jobPostings, long applications) {
+    }
+
+    private record ModerationStats(long pendingRecruiterApprovals, long flaggedComments) {
+    }
+
+    private record InvoiceStats(long revenue, long transactions, long active) {
+
+        static final InvoiceStats EMPTY = new InvoiceStats(0L, 0L, 0L);
+    }
+
     public DashboardStatsResponse getAllDashboardStats() {
-        log.info("Fetching comprehensive dashboard statistics");
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh()) {
+            return current.stats();
+        }
 
+        refreshLock.lock();
         try {
+            // Another request may have refreshed while we waited
+            current = snapshot;
+            if (current != null && current.isFresh()) {
+                return current.stats();
+            }
+            DashboardStatsResponse stats = computeDashboardStats();
+            snapshot = new Snapshot(stats, System.nanoTime());
+            return stats;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private DashboardStatsResponse computeDashboardStats() {
+        log.info("Fetching comprehensive dashboard statistics");
+
+        // Independent sections run concurrently, each one or a few aggregate queries
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<AccountStats> accountsFuture = executor.submit(this::loadAccountStats);
+            Future<ContentStats> contentFuture = executor.submit(this::loadContentStats);
+            Future<ModerationStats> moderationFuture = executor.submit(this::loadModerationStats);
+            Future<InvoiceStats> recruiterInvoicesFuture = executor.submit(
+                    () -> loadInvoiceStats("recruiter", recruiterInvoiceRepo::summarizeByActive));
+            Future<InvoiceStats> candidateInvoicesFuture = executor.submit(
+                    () -> loadInvoiceStats("candidate", candidateInvoiceRepo::summarizeByActive));
+            Map<String, Future<String>> healthFutures = new LinkedHashMap<>();
+            for (String component : HEALTH_COMPONENTS) {
+                healthFutures.put(component, executor.submit(() -> getComponentStatus(component)));
+            }
+
+            AccountStats accounts = accountsFuture.get();
+            ContentStats content = contentFuture.get();
+            ModerationStats moderation = moderationFuture.get();
+            InvoiceStats recruiterInvoices = recruiterInvoicesFuture.get();
+            InvoiceStats candidateInvoices = candidateInvoicesFuture.get();
+            Map<String, String> health = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<String>> entry : healthFutures.entrySet()) {
+                health.put(entry.getKey(), entry.getValue().get());
+            }
+
             return DashboardStatsResponse.builder()
                     // User counts by role
-                    .totalUsers(accountRepo.count())
-                    .totalCandidates(countByRole("CANDIDATE"))
-                    .totalRecruiters(countByRole("RECRUITER"))
-                    .totalAdmins(countByRole("ADMIN"))
+                    .totalUsers(accounts.total())
+                    .totalCandidates(accounts.byRole().getOrDefault("CANDIDATE", 0L))
+                    .totalRecruiters(accounts.byRole().getOrDefault("RECRUITER", 0L))
+                    .totalAdmins(accounts.byRole().getOrDefault("ADMIN", 0L))
 
                     // Account status counts
-                    .activeAccounts(countByStatus("ACTIVE"))
-                    .pendingAccounts(countByStatus("PENDING"))
-                    .bannedAccounts(countByStatus("BANNED"))
-                    .rejectedAccounts(countByStatus("REJECTED"))
+                    .activeAccounts(accounts.byStatus().getOrDefault("ACTIVE", 0L))
+                    .pendingAccounts(accounts.byStatus().getOrDefault("PENDING", 0L))
+                    .bannedAccounts(accounts.byStatus().getOrDefault("BANNED", 0L))
+                    .rejectedAccounts(accounts.byStatus().getOrDefault("REJECTED", 0L))
 
                     // Content counts
-                    .totalBlogs(blogRepo.count())
-                    .totalJobPostings(jobPostingRepo.count())
-                    .totalApplications(jobApplyRepo.count())
+                    .totalBlogs(content.blogs())
+                    .totalJobPostings(content.jobPostings())
+                    .totalApplications(content.applications())
 
                     // Moderation counts
-                    .pendingRecruiterApprovals(recruiterUpdateRequestRepo.countByStatus("PENDING"))
-                    .flaggedComments(blogCommentRepo.countByIsFlaggedTrue())
+                    .pendingRecruiterApprovals(moderation.pendingRecruiterApprovals())
+                    .flaggedComments(moderation.flaggedComments())
                     .flaggedRatings(0L) // BlogRating doesn't have flagged field
 
                     // Revenue & Payment stats
-                    .totalRevenue(calculateTotalRevenue())
-                    .recruiterRevenue(calculateRecruiterRevenue())
-                    .candidateRevenue(calculateCandidateRevenue())
-                    .activeSubscriptions(countActiveSubscriptions())
-                    .totalTransactions(countTotalTransactions())
+                    .totalRevenue(recruiterInvoices.revenue() + candidateInvoices.revenue())
+                    .recruiterRevenue(recruiterInvoices.revenue())
+                    .candidateRevenue(candidateInvoices.revenue())
+                    .activeSubscriptions(recruiterInvoices.active() + candidateInvoices.active())
+                    .totalTransactions(recruiterInvoices.transactions() + candidateInvoices.transactions())
 
                     // System health
-                    .databaseStatus(getComponentStatus("db"))
-                    .kafkaStatus(getComponentStatus("kafka"))
-                    .weaviateStatus(getComponentStatus("weaviate"))
-                    .emailStatus(getComponentStatus("email"))
-                    .firebaseStatus(getComponentStatus("firebase"))
-                    .systemStatus(isSystemHealthy() ? "UP" : "DOWN")
+                    .databaseStatus(health.get("db"))
+                    .kafkaStatus(health.get("kafka"))
+                    .weaviateStatus(health.get("weaviate"))
+                    .emailStatus(health.get("email"))
+                    .firebaseStatus(health.get("firebase"))
+                    .systemStatus(isSystemHealthy(health) ? "UP" : "DOWN")
                     .build();
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Failed to fetch dashboard statistics: interrupted");
         } catch (Exception e) {
             log.error("Error fetching dashboard statistics", e);
             throw new RuntimeException("Failed to fetch dashboard statistics: " + e.getMessage());
         }
     }
 
-    private Long countByRole(String roleName) {
+    private AccountStats loadAccountStats() {
         try {
-            return accountRepo.countByRoleName(roleName);
+            Map<String, Long> byStatus = toCountMap(accountRepo.countGroupByStatus());
+            Map<String, Long> byRole = toCountMap(accountRepo.countGroupByRoleName());
+            long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+            return new AccountStats(total, byRole, byStatus);
         } catch (Exception e) {
-            log.error("Error counting users by role: {}", roleName, e);
-            return 0L;
+            log.error("Error counting users by role and status", e);
+            return AccountStats.EMPTY;
+        }
+    }
+
+    private ContentStats loadContentStats() {
+        return new ContentStats(
+                safeCount("blogs", blogRepo::count),
+                safeCount("job postings", jobPostingRepo::count),
+                safeCount("applications", jobApplyRepo::count));
+    }
+
+    private ModerationStats loadModerationStats() {
+        return new ModerationStats(
+                safeCount("pending recruiter approvals", () -> recruiterUpdateRequestRepo.countByStatus("PENDING")),
+                safeCount("flagged comments", blogCommentRepo::countByIsFlaggedTrue));
+    }
+
+    // Rows of [isActive, count, amount sum] -> revenue, transactions, active subscriptions
+    private InvoiceStats loadInvoiceStats(String type, Supplier<List<Object[]>> summary) {
+        try {
+            long revenue = 0L;
+            long transactions = 0L;
+            long active = 0L;
+            for (Object[] row : summary.get()) {
+                long count = ((Number) row[1]).longValue();
+                transactions += count;
+                revenue += ((Number) row[2]).longValue();
+                if (Boolean.TRUE.equals(row[0])) {
+                    active += count;
+                }
+            }
+            return new InvoiceStats(revenue, transactions, active);
+        } catch (Exception e) {
+            log.error("Error calculating {} revenue", type, e);
+            return InvoiceStats.EMPTY;
         }
     }
 
-    private Long countByStatus(String status) {
+    private long safeCount(String what, Supplier<Long> count) {
         try {
-            return accountRepo.countByStatus(status);
+            Long value = count.get();
+            return value != null ? value : 0L;
         } catch (Exception e) {
-            log.error("Error counting users by status: {}", status, e);
+            log.error("Error counting {}", what, e);
             return 0L;
         }
     }
 
+    private static Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.merge(String.valueOf(row[0]), ((Number) row[1]).longValue(), Long::sum);
+        }
+        return counts;
+    }
+
     private String getComponentStatus(String componentName) {
         try {
             // For database, do a simple repository check instead of health indicator
@@ -122,84 +256,8 @@ public class AdminDashboardService {
         }
     }
 
-    private boolean isSystemHealthy() {
+    private boolean isSystemHealthy(Map<String, String> health) {
         // System is healthy if all critical components are UP
-        try {
-            String dbStatus = getComponentStatus("db");
-            String kafkaStatus = getComponentStatus("kafka");
-            String weaviateStatus = getComponentStatus("weaviate");
-            String emailStatus = getComponentStatus("email");
-            String firebaseStatus = getComponentStatus("firebase");
-
-            // All critical services must be UP
-            return "UP".equals(dbStatus) &&
-                    "UP".equals(kafkaStatus) &&
-                    "UP".equals(weaviateStatus) &&
-                    "UP".equals(emailStatus) &&
-                    "UP".equals(firebaseStatus);
-        } catch (Exception e) {
-            log.error("Error checking system health", e);
-            return false;
-        }
-    }
-
-    // Revenue calculation methods
-    private Long calculateTotalRevenue() {
-        try {
-            Long recruiterRevenue = calculateRecruiterRevenue();
-            Long candidateRevenue = calculateCandidateRevenue();
-            return recruiterRevenue + candidateRevenue;
-        } catch (Exception e) {
-            log.error("Error calculating total revenue", e);
-            return 0L;
-        }
-    }
-
-    private Long calculateRecruiterRevenue() {
-        try {
-            // Sum all amounts from invoices (active subscriptions represent completed payments)
-            return recruiterInvoiceRepo.findAll().stream()
-                    .mapToLong(invoice -> invoice.getAmount() != null ? invoice.getAmount() : 0L)
-                    .sum();
-        } catch (Exception e) {
-            log.error("Error calculating recruiter revenue", e);
-            return 0L;
-        }
-    }
-
-    private Long calculateCandidateRevenue() {
-        try {
-            // Sum all amounts from invoices (active subscriptions represent completed payments)
-            return candidateInvoiceRepo.findAll().stream()
-                    .mapToLong(invoice -> invoice.getAmount() != null ? invoice.getAmount() : 0L)
-                    .sum();
-        } catch (Exception e) {
-            log.error("Error calculating candidate revenue", e);
-            return 0L;
-        }
-    }
-
-    private Long countActiveSubscriptions() {
-        try {
-            long activeRecruiterSubs = recruiterInvoiceRepo.findAll().stream()
-                    .filter(invoice -> invoice.isActive())
-                    .count();
-            long activeCandidateSubs = candidateInvoiceRepo.findAll().stream()
-                    .filter(invoice -> invoice.isActive())
-                    .count();
-            return activeRecruiterSubs + activeCandidateSubs;
-        } catch (Exception e) {
-            log.error("Error counting active subscriptions", e);
-            return 0L;
-        }
-    }
-
-    private Long countTotalTransactions() {
-        try {
-            return recruiterInvoiceRepo.count() + candidateInvoiceRepo.count();
-        } catch (Exception e) {
-            log.error("Error counting total transactions", e);
-            return 0L;
-        }
+        return HEALTH_COMPONENTS.stream().allMatch(component -> "UP".equals(health.get(component)));
     }
 }
@@ -2,8 +2,19 @@ package com.fpt.careermate.services.authentication_services.repository;
 
 import com.fpt.careermate.services.authentication_services.domain.InvalidToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface InvalidDateTokenRepo extends JpaRepository<InvalidToken, String> {
+
+    /**
+     * Ids of invalidated tokens that have not expired yet (expired ones are rejected anyway)
+     */
+    @Query("SELECT t.id FROM invalid_token t WHERE t.expiryTime > :now")
+    List<String> findUnexpiredIds(@Param("now") Date now);
 }
@@ -56,6 +56,8 @@ public class AuthenticationImp implements AuthenticationService {
     protected long REFRESHABLE_DURATION;
 
     protected final InvalidDateTokenRepo invalidatedTokenRepository;
+    protected final TokenRevocationRegistry tokenRevocationRegistry;
+    protected final PrincipalContext principalContext;
 
     private final AccountRepo accountRepo;
     private final RecruiterRepo recruiterRepo;
@@ -89,7 +91,7 @@ public class AuthenticationImp implements AuthenticationService {
         if (!(verified && expiryTime.after(new Date())))
             throw new AppException(ErrorCode.UNAUTHENTICATED);
 
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID()))
+        if (tokenRevocationRegistry.isRevoked(signedJWT.getJWTClaimsSet().getJWTID()))
             throw new AppException(ErrorCode.UNAUTHENTICATED);
 
         return signedJWT;
@@ -215,6 +217,7 @@ public class AuthenticationImp implements AuthenticationService {
                 .build();
 
         invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationRegistry.revoke(jit, expiryTime);
     }
 
     @Override
@@ -234,6 +237,7 @@ public class AuthenticationImp implements AuthenticationService {
                 .expiryTime(expiryTime)
                 .build();
         invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationRegistry.revoke(jti, expiryTime);
 
         // Generate new tokens
         var username = signedJWT.getJWTClaimsSet().getSubject();
@@ -345,11 +349,12 @@ public class AuthenticationImp implements AuthenticationService {
         return stringJoiner.toString();
     }
 
+    /**
+     * Current user's account, loaded at most once per request (see {@link PrincipalContext})
+     */
     @Override
     public Account findByEmail() {
-        var context = SecurityContextHolder.getContext();
-        String email = context.getAuthentication().getName();
-        return accountRepo.findByEmail(email).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+        return principalContext.currentAccount();
     }
 
     /**
@@ -357,22 +362,7 @@ public class AuthenticationImp implements AuthenticationService {
      * @return The userId claim from JWT
      */
     public Integer getUserIdFromToken() {
-        var context = SecurityContextHolder.getContext();
-        var auth = context.getAuthentication();
-        if (auth != null && auth.getCredentials() != null) {
-            try {
-                String token = auth.getCredentials().toString();
-                SignedJWT signedJWT = SignedJWT.parse(token);
-                Object userId = signedJWT.getJWTClaimsSet().getClaim("userId");
-                if (userId instanceof Number) {
-                    return ((Number) userId).intValue();
-                }
-            } catch (ParseException e) {
-                log.warn("Failed to parse userId from token", e);
-            }
-        }
-        // Fallback: get from database
-        return findByEmail().getId();
+        return principalContext.current().accountId();
     }
 
     /**
@@ -380,34 +370,7 @@ public class AuthenticationImp implements AuthenticationService {
      * @return The recruiterId claim from JWT, or null if not a recruiter
      */
     public Integer getRecruiterIdFromToken() {
-        var context = SecurityContextHolder.getContext();
-        var auth = context.getAuthentication();
-        if (auth != null && auth.getCredentials() != null) {
-            try {
-                String token = auth.getCredentials().toString();
-                // Strip "Bearer " prefix if present
-                if (token.toLowerCase().startsWith("bearer ")) {
-                    token = token.substring(7);
-                }
-                // Validate token has exactly 3 parts (header.payload.signature)
-                if (token.split("\\.").length != 3) {
-                    log.warn("Invalid JWT format - expected 3 parts");
-                } else {
-                    SignedJWT signedJWT = SignedJWT.parse(token);
-                    Object recruiterId = signedJWT.getJWTClaimsSet().getClaim("recruiterId");
-                    if (recruiterId instanceof Number) {
-                        return ((Number) recruiterId).intValue();
-                    }
-                }
-            } catch (ParseException e) {
-                log.warn("Failed to parse recruiterId from token", e);
-            }
-        }
-        // Fallback: lookup from database
-        Account account = findByEmail();
-        return recruiterRepo.findByAccount_Id(account.getId())
-                .map(r -> r.getId())
-                .orElse(null);
+        return principalContext.current().recruiterId();
     }
 
     /**
@@ -415,34 +378,7 @@ public class AuthenticationImp implements AuthenticationService {
      * @return The candidateId claim from JWT, or null if not a candidate
      */
     public Integer getCandidateIdFromToken() {
-        var context = SecurityContextHolder.getContext();
-        var auth = context.getAuthentication();
-        if (auth != null && auth.getCredentials() != null) {
-            try {
-                String token = auth.getCredentials().toString();
-                // Strip "Bearer " prefix if present
-                if (token.toLowerCase().startsWith("bearer ")) {
-                    token = token.substring(7);
-                }
-                // Validate token has exactly 3 parts (header.payload.signature)
-                if (token.split("\\.").length != 3) {
-                    log.warn("Invalid JWT format - expected 3 parts");
-                } else {
-                    SignedJWT signedJWT = SignedJWT.parse(token);
-                    Object candidateId = signedJWT.getJWTClaimsSet().getClaim("candidateId");
-                    if (candidateId instanceof Number) {
-                        return ((Number) candidateId).intValue();
-                    }
-                }
-            } catch (ParseException e) {
-                log.warn("Failed to parse candidateId from token", e);
-            }
-        }
-        // Fallback: lookup from database
-        Account account = findByEmail();
-        return candidateRepo.findByAccount_Id(account.getId())
-                .map(c -> c.getCandidateId())
-                .orElse(null);
+        return principalContext.current().candidateId();
     }
 
     @Override
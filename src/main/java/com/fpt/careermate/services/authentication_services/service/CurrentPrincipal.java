@@ -0,0 +1,14 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+/**
+ * Identity of the authenticated user, resolved once per request by {@link PrincipalContext}
+ *
+ * @param accountId   account id ({@code userId} claim)
+ * @param email       account email (token subject)
+ * @param role        primary role: ADMIN, RECRUITER or CANDIDATE
+ * @param candidateId candidate profile id, null if the user has none
+ * @param recruiterId recruiter profile id, null if the user has none
+ */
+public record CurrentPrincipal(Integer accountId, String email, String role,
+                               Integer candidateId, Integer recruiterId) {
+}
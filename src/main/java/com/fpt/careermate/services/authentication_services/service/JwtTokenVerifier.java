@@ -0,0 +1,114 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.common.util.LocalLruCache;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access tokens for the resource server in a single pass: parse, HS512 signature and
+ * expiry check, then conversion to a Spring {@link Jwt}.
+ * Verified tokens are cached by SHA-256 of the token, so repeated requests with the same token
+ * skip parsing and the HMAC; expiry and revocation are still checked on every call, in memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtTokenVerifier {
+
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final long CACHE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    @NonFinal
+    @Value("${jwt.signerKey}")
+    protected String SIGNER_KEY;
+
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    // Same claim conversion as NimbusJwtDecoder (exp/iat to Instant, etc.)
+    private final MappedJwtClaimSetConverter claimSetConverter =
+            MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+    private final LocalLruCache<Jwt> verifiedTokens = new LocalLruCache<>(MAX_CACHED_TOKENS, CACHE_TTL_MILLIS);
+
+    @NonFinal
+    private JWSVerifier verifier;
+
+    @PostConstruct
+    void init() throws JOSEException {
+        verifier = new MACVerifier(SIGNER_KEY.getBytes());
+    }
+
+    public Jwt verify(String token) throws JwtException {
+        String key = cacheKey(token);
+        long generation = verifiedTokens.generation();
+        Jwt jwt = verifiedTokens.get(key);
+        if (jwt == null) {
+            jwt = parseAndVerify(token);
+            verifiedTokens.put(key, jwt, generation);
+        }
+
+        if (jwt.getExpiresAt() == null || !jwt.getExpiresAt().isAfter(Instant.now())) {
+            throw new JwtException("Token expired");
+        }
+        if (tokenRevocationRegistry.isRevoked(jwt.getId())) {
+            throw new JwtException("Token invalid");
+        }
+        return jwt;
+    }
+
+    private Jwt parseAndVerify(String token) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            if (!JWSAlgorithm.HS512.equals(signedJWT.getHeader().getAlgorithm())) {
+                throw new JwtException("Token invalid");
+            }
+            if (!signedJWT.verify(verifier)) {
+                throw new JwtException("Token invalid");
+            }
+            Date expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
+            if (expiryTime == null || !expiryTime.after(new Date())) {
+                throw new JwtException("Token expired");
+            }
+
+            Map<String, Object> headers = signedJWT.getHeader().toJSONObject();
+            Map<String, Object> claims = claimSetConverter.convert(signedJWT.getJWTClaimsSet().getClaims());
+            return Jwt.withTokenValue(token)
+                    .headers(h -> h.putAll(headers))
+                    .claims(c -> c.putAll(claims))
+                    .build();
+        } catch (ParseException | JOSEException e) {
+            throw new JwtException(e.getMessage());
+        }
+    }
+
+    private static String cacheKey(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.common.constant.PredefineRole;
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.account_services.domain.Account;
+import com.fpt.careermate.services.account_services.repository.AccountRepo;
+import com.fpt.careermate.services.profile_services.domain.Candidate;
+import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
+import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
+import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the current user once per request.
+ * Ids and role come from the claims embedded by {@link AuthenticationImp#generateToken} when present,
+ * otherwise from a single account load. Results (and the Account / Candidate / Recruiter entities,
+ * loaded on first use) are kept as request attributes, so every service in the request shares them.
+ * Outside a web request (async tasks, schedulers) nothing is cached.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class PrincipalContext {
+
+    private static final String ATTRIBUTE_PREFIX = PrincipalContext.class.getName() + ".";
+    private static final String PRINCIPAL = "principal";
+    private static final String ACCOUNT = "account";
+    private static final String CANDIDATE = "candidate";
+    private static final String RECRUITER = "recruiter";
+
+    // Highest privilege first, same order as AuthenticationImp#getPrimaryRole
+    private static final List<String> ROLE_PRIORITY = List.of(
+            PredefineRole.ADMIN_ROLE, PredefineRole.RECRUITER_ROLE, PredefineRole.USER_ROLE);
+
+    AccountRepo accountRepo;
+    CandidateRepo candidateRepo;
+    RecruiterRepo recruiterRepo;
+
+    public CurrentPrincipal current() {
+        return cached(PRINCIPAL, this::resolvePrincipal);
+    }
+
+    public Account currentAccount() {
+        return cached(ACCOUNT, () -> accountRepo.findByEmail(current().email())
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED)));
+    }
+
+    public Optional<Candidate> currentCandidate() {
+        return cached(CANDIDATE, () -> {
+            Integer candidateId = current().candidateId();
+            return candidateId != null ? candidateRepo.findById(candidateId) : Optional.<Candidate>empty();
+        });
+    }
+
+    public Optional<Recruiter> currentRecruiter() {
+        return cached(RECRUITER, () -> {
+            Integer recruiterId = current().recruiterId();
+            return recruiterId != null ? recruiterRepo.findById(recruiterId) : Optional.<Recruiter>empty();
+        });
+    }
+
+    private CurrentPrincipal resolvePrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            Integer accountId = integerClaim(jwt, "userId");
+            if (accountId != null) {
+                String role = primaryRole(jwt.getClaimAsString("scope"));
+                Integer candidateId = integerClaim(jwt, "candidateId");
+                Integer recruiterId = integerClaim(jwt, "recruiterId");
+                // A profile created after the token was issued is not in its claims yet
+                if (candidateId == null && PredefineRole.USER_ROLE.equals(role)) {
+                    candidateId = findCandidateId(accountId);
+                }
+                if (recruiterId == null && PredefineRole.RECRUITER_ROLE.equals(role)) {
+                    recruiterId = findRecruiterId(accountId);
+                }
+                return new CurrentPrincipal(accountId, jwt.getSubject(), role, candidateId, recruiterId);
+            }
+        }
+
+        // Token without id claims: one account load, shared with currentAccount()
+        Account account = accountRepo.findByEmail(authentication.getName())
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+        store(ACCOUNT, account);
+        String role = primaryRole(account);
+        return new CurrentPrincipal(account.getId(), account.getEmail(), role,
+                PredefineRole.USER_ROLE.equals(role) ? findCandidateId(account.getId()) : null,
+                PredefineRole.RECRUITER_ROLE.equals(role) ? findRecruiterId(account.getId()) : null);
+    }
+
+    private Integer findCandidateId(Integer accountId) {
+        return candidateRepo.findByAccount_Id(accountId).map(Candidate::getCandidateId).orElse(null);
+    }
+
+    private Integer findRecruiterId(Integer accountId) {
+        return recruiterRepo.findByAccount_Id(accountId).map(Recruiter::getId).orElse(null);
+    }
+
+    private static Integer integerClaim(Jwt jwt, String name) {
+        Object value = jwt.getClaims().get(name);
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    private static String primaryRole(String scope) {
+        List<String> granted = scope == null ? List.of() : Arrays.asList(scope.split(" "));
+        return ROLE_PRIORITY.stream()
+                .filter(role -> granted.contains("ROLE_" + role))
+                .findFirst()
+                .orElse(PredefineRole.USER_ROLE);
+    }
+
+    private static String primaryRole(Account account) {
+        if (account.getRoles() == null) {
+            return PredefineRole.USER_ROLE;
+        }
+        return ROLE_PRIORITY.stream()
+                .filter(role -> account.getRoles().stream().anyMatch(r -> role.equals(r.getName())))
+                .findFirst()
+                .orElse(PredefineRole.USER_ROLE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String name, Supplier<T> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+        String key = attributeKey(name);
+        T value = (T) attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST);
+        if (value == null) {
+            value = loader.get();
+            attributes.setAttribute(key, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return value;
+    }
+
+    private void store(String name, Object value) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(attributeKey(name), value, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // Keyed by user as well, in case authentication changes within the request (e.g. sign-in)
+    private static String attributeKey(String name) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ATTRIBUTE_PREFIX + name + ":" + (authentication != null ? authentication.getName() : "");
+    }
+}
@@ -0,0 +1,146 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.common.util.BloomFilter;
+import com.fpt.careermate.common.util.LocalLruCache;
+import com.fpt.careermate.services.authentication_services.repository.InvalidDateTokenRepo;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers "is this token id revoked?" from memory.
+ * <ul>
+ *   <li>Token ids revoked while this node is running (locally or on another node, via Redis pub/sub)
+ *   are kept in a small exact set until the next rebuild.</li>
+ *   <li>Everything else is screened by a Bloom filter built from the unexpired invalid_token rows;
+ *   a miss means "not revoked" without touching the database.</li>
+ *   <li>Only Bloom hits (revoked tokens loaded at rebuild, or rare false positives) go to the
+ *   database, and those answers are cached.</li>
+ * </ul>
+ * The filter is rebuilt periodically to drop expired tokens and to pick up revocations whose
+ * pub/sub message this node missed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private static final String REVOCATION_CHANNEL = "auth:token:revoked";
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final int MIN_FILTER_CAPACITY = 10_000;
+    private static final int MAX_CONFIRMED_ENTRIES = 10_000;
+    private static final long CONFIRMED_TTL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private final InvalidDateTokenRepo invalidTokenRepo;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // null until the first successful load: every check then goes to the database
+    private volatile BloomFilter filter;
+    // Revocations seen since the filter was built: token id -> revocation
+    private final Map<String, Revocation> recentRevocations = new ConcurrentHashMap<>();
+    // Database answers for Bloom hits
+    private final LocalLruCache<Boolean> confirmed = new LocalLruCache<>(MAX_CONFIRMED_ENTRIES, CONFIRMED_TTL_MILLIS);
+
+    @PostConstruct
+    void init() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (body instanceof String payload) {
+                onRevocationMessage(payload);
+            }
+        }, new ChannelTopic(REVOCATION_CHANNEL));
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (recentRevocations.containsKey(tokenId)) {
+            return true;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            return false;
+        }
+        long generation = confirmed.generation();
+        Boolean revoked = confirmed.get(tokenId);
+        if (revoked == null) {
+            revoked = invalidTokenRepo.existsById(tokenId);
+            confirmed.put(tokenId, revoked, generation);
+        }
+        return revoked;
+    }
+
+    /**
+     * Record a token id that was just saved to invalid_token, and tell the other nodes.
+     * Call after the row is persisted, so a node rebuilding from the database cannot miss it.
+     */
+    public void revoke(String tokenId, Date expiryTime) {
+        long expiresAt = expiryTime != null ? expiryTime.getTime() : Long.MAX_VALUE;
+        remember(tokenId, expiresAt);
+        try {
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenId + "|" + expiresAt);
+        } catch (Exception e) {
+            // Other nodes still pick it up on their next rebuild
+            log.error("Error publishing token revocation: {}", e.getMessage());
+        }
+    }
+
+    private void onRevocationMessage(String payload) {
+        int separator = payload.lastIndexOf('|');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            remember(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed token revocation message: {}", payload);
+        }
+    }
+
+    private void remember(String tokenId, long expiresAt) {
+        recentRevocations.put(tokenId, new Revocation(expiresAt, System.currentTimeMillis()));
+        confirmed.invalidate(tokenId);
+    }
+
+    /**
+     * Rebuild the filter from the unexpired invalid_token rows.
+     * Recent revocations older than the snapshot are then covered by the filter and dropped from
+     * the exact set; newer ones stay in it, so none is lost while the filter is swapped.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation-rebuild-interval-ms:600000}",
+            initialDelayString = "${app.auth.revocation-rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long snapshotStartedAt = System.currentTimeMillis();
+        try {
+            List<String> ids = invalidTokenRepo.findUnexpiredIds(new Date(snapshotStartedAt));
+            BloomFilter rebuilt = new BloomFilter(Math.max(MIN_FILTER_CAPACITY, ids.size() * 2), FALSE_POSITIVE_RATE);
+            ids.forEach(rebuilt::put);
+            filter = rebuilt;
+            confirmed.clear();
+
+            long now = System.currentTimeMillis();
+            recentRevocations.values().removeIf(revocation ->
+                    revocation.revokedAt() < snapshotStartedAt || revocation.expiresAt() < now);
+            log.info("Rebuilt token revocation filter with {} revoked tokens", ids.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild token revocation filter", e);
+        }
+    }
+
+    private record Revocation(long expiresAt, long revokedAt) {
+    }
+}
@@ -44,7 +44,8 @@ public class Blog {
     @Column(nullable = false)
     BlogStatus status;
 
-    @Column(name = "view_count")
+    // Only incremented by BlogViewCounter's batched UPDATE, never by entity saves
+    @Column(name = "view_count", updatable = false)
     Integer viewCount;
 
     @Column(name = "average_rating")
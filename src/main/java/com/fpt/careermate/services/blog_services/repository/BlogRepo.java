@@ -20,6 +20,9 @@ public interface BlogRepo extends JpaRepository<Blog, Long> {
     Page<Blog> findByAdmin_AdminId(int adminId, Pageable pageable);
     
     Optional<Blog> findBySlug(String slug);
+
+    @Query("SELECT b.id FROM blog b WHERE b.slug = :slug")
+    Optional<Long> findIdBySlug(@Param("slug") String slug);
     
     boolean existsBySlug(String slug);
 
@@ -13,6 +13,7 @@ import com.fpt.careermate.services.file_services.service.FileStorageImp;
 import com.fpt.careermate.services.storage.FirebaseStorageService;
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.common.util.LocalLruCache;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -37,6 +38,10 @@ public class BlogImp implements BlogService {
     BlogImageCleanupImp blogImageCleanup;
     FileStorageImp fileStorageImp;
     FirebaseStorageService firebaseStorageService;
+    BlogViewCounter blogViewCounter;
+
+    // Slugs never change once created; cleared when a blog is deleted so a reused slug resolves again
+    LocalLruCache<Long> blogIdsBySlug = new LocalLruCache<>(10_000, 60 * 60 * 1000L);
 
     @Override
     @Transactional
@@ -67,7 +72,7 @@ public class BlogImp implements BlogService {
         }
 
         blog = blogRepo.save(blog);
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
 
     @Override
@@ -125,7 +130,7 @@ public class BlogImp implements BlogService {
         }
 
         log.info("=== UPDATE BLOG END === ID: {}", blogId);
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
 
     @Override
@@ -172,6 +177,7 @@ public class BlogImp implements BlogService {
 
         log.info("Deleting blog record from database");
         blogRepo.delete(blog);
+        blogIdsBySlug.invalidate(blog.getSlug());
         log.info("=== DELETE BLOG END === Successfully deleted blog ID: {} and associated images", blogId);
     }
 
@@ -183,7 +189,7 @@ public class BlogImp implements BlogService {
         Blog blog = blogRepo.findById(blogId)
                 .orElseThrow(() -> new AppException(ErrorCode.BLOG_NOT_FOUND));
 
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
 
     @Override
@@ -191,7 +197,7 @@ public class BlogImp implements BlogService {
     public Page<BlogResponse> getAllBlogs(Pageable pageable) {
         log.info("Fetching all blogs with pagination");
         return blogRepo.findAll(pageable)
-                .map(blogMapper::toBlogResponse);
+                .map(this::toBlogResponse);
     }
 
     @Override
@@ -207,7 +213,7 @@ public class BlogImp implements BlogService {
         }
 
         return blogRepo.findByStatus(blogStatus, pageable)
-                .map(blogMapper::toBlogResponse);
+                .map(this::toBlogResponse);
     }
 
     @Override
@@ -215,7 +221,7 @@ public class BlogImp implements BlogService {
     public Page<BlogResponse> getBlogsByCategory(String category, Pageable pageable) {
         log.info("Fetching blogs by category: {}", category);
         return blogRepo.findByCategory(category, pageable)
-                .map(blogMapper::toBlogResponse);
+                .map(this::toBlogResponse);
     }
 
     @Override
@@ -223,7 +229,7 @@ public class BlogImp implements BlogService {
     public Page<BlogResponse> getBlogsByAuthor(int adminId, Pageable pageable) {
         log.info("Fetching blogs by admin ID: {}", adminId);
         return blogRepo.findByAdmin_AdminId(adminId, pageable)
-                .map(blogMapper::toBlogResponse);
+                .map(this::toBlogResponse);
     }
 
     @Override
@@ -241,7 +247,7 @@ public class BlogImp implements BlogService {
         }
 
         return blogRepo.searchBlogs(keyword, status, pageable)
-                .map(blogMapper::toBlogResponse);
+                .map(this::toBlogResponse);
     }
 
     @Override
@@ -265,7 +271,7 @@ public class BlogImp implements BlogService {
         }
 
         return blogRepo.filterBlogs(keyword, status, normalizedCategory, pageable)
-                .map(blogMapper::toBlogResponse);
+                .map(this::toBlogResponse);
     }
 
     @Override
@@ -287,7 +293,7 @@ public class BlogImp implements BlogService {
         blog.setPublishedAt(LocalDateTime.now());
         blog = blogRepo.save(blog);
 
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
 
     @Override
@@ -302,7 +308,7 @@ public class BlogImp implements BlogService {
         blog.setPublishedAt(null); // Clear the published date
         blog = blogRepo.save(blog);
 
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
 
     @Override
@@ -316,7 +322,7 @@ public class BlogImp implements BlogService {
         blog.setStatus(Blog.BlogStatus.ARCHIVED);
         blog = blogRepo.save(blog);
 
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
 
     @Override
@@ -334,19 +340,13 @@ public class BlogImp implements BlogService {
         }
         blog = blogRepo.save(blog);
 
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
 
     @Override
-    @Transactional
     public void incrementViewCount(Long blogId) {
-        log.info("Incrementing view count for blog ID: {}", blogId);
-
-        Blog blog = blogRepo.findById(blogId)
-                .orElseThrow(() -> new AppException(ErrorCode.BLOG_NOT_FOUND));
-
-        blog.setViewCount(blog.getViewCount() + 1);
-        blogRepo.save(blog);
+        // Buffered, written to the blog row by the next flush
+        blogViewCounter.record(blogId);
     }
     
     @Override
@@ -357,19 +357,20 @@ public class BlogImp implements BlogService {
         Blog blog = blogRepo.findBySlug(slug)
                 .orElseThrow(() -> new AppException(ErrorCode.BLOG_NOT_FOUND));
 
-        return blogMapper.toBlogResponse(blog);
+        return toBlogResponse(blog);
     }
     
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public void incrementViewCountBySlug(String slug) {
-        log.info("Incrementing view count for blog slug: {}", slug);
-
-        Blog blog = blogRepo.findBySlug(slug)
-                .orElseThrow(() -> new AppException(ErrorCode.BLOG_NOT_FOUND));
-
-        blog.setViewCount(blog.getViewCount() + 1);
-        blogRepo.save(blog);
+        Long blogId = blogIdsBySlug.get(slug);
+        if (blogId == null) {
+            long generation = blogIdsBySlug.generation();
+            blogId = blogRepo.findIdBySlug(slug)
+                    .orElseThrow(() -> new AppException(ErrorCode.BLOG_NOT_FOUND));
+            blogIdsBySlug.put(slug, blogId, generation);
+        }
+        blogViewCounter.record(blogId);
     }
     
     @Override
@@ -389,7 +390,18 @@ public class BlogImp implements BlogService {
         );
 
         return relatedBlogs.stream()
-                .map(blogMapper::toBlogResponse)
+                .map(this::toBlogResponse)
                 .toList();
     }
+
+    // View count = persisted count + views recorded on this node and not flushed yet
+    private BlogResponse toBlogResponse(Blog blog) {
+        BlogResponse response = blogMapper.toBlogResponse(blog);
+        long pendingViews = blogViewCounter.pendingViews(blog.getId());
+        if (pendingViews > 0) {
+            int persisted = response.getViewCount() != null ? response.getViewCount() : 0;
+            response.setViewCount((int) Math.min(Integer.MAX_VALUE, persisted + pendingViews));
+        }
+        return response;
+    }
 }
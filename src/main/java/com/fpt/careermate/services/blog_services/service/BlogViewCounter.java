@@ -0,0 +1,97 @@
+package com.fpt.careermate.services.blog_services.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind blog view counter.
+ * Views are added to a per-blog {@link LongAdder} and flushed periodically as one batched
+ * {@code UPDATE blog SET view_count = view_count + ?} per blog, so a page view never reads or
+ * writes the blog row. Each node flushes only its own views, so deltas from several nodes add up.
+ * Views not flushed yet are lost if the process dies; a clean shutdown flushes them.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class BlogViewCounter {
+
+    private static final String FLUSH_SQL = "UPDATE blog SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    JdbcTemplate jdbcTemplate;
+
+    Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void record(Long blogId) {
+        pending.computeIfAbsent(blogId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Views of a blog recorded on this node but not flushed yet
+     */
+    public long pendingViews(Long blogId) {
+        LongAdder adder = pending.get(blogId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * Number of blogs with an adder on this node (viewed since the flush before last)
+     */
+    int trackedBlogs() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.blog.view-flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            Long blogId = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[]{delta, blogId});
+            } else if (pending.remove(blogId, adder)) {
+                // Not viewed since the last flush: drop its adder so the map only holds recently
+                // viewed blogs. A view that raced the removal is moved to a fresh adder.
+                long late = adder.sumThenReset();
+                if (late > 0) {
+                    pending.computeIfAbsent(blogId, id -> new LongAdder()).add(late);
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Blogs deleted in the meantime match no row and their views are dropped
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed view counts of {} blogs", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush blog view counts, keeping {} blogs for the next run", batch.size(), e);
+            for (Object[] row : batch) {
+                pending.computeIfAbsent((Long) row[1], id -> new LongAdder()).add((Long) row[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -2,12 +2,12 @@ package com.fpt.careermate.services.blog_services.service;
 
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Service for automatic content moderation
@@ -112,6 +112,10 @@ public class ContentModerationService {
             // Phone numbers (potential spam)
             Pattern.compile("\\b\\d{3}[-.]?\\d{3}[-.]?\\d{4}\\b"));
 
+    // Multi-pattern matcher over both word lists, rebuilt and swapped whenever a list changes
+    @NonFinal
+    volatile ModerationAutomaton automaton = ModerationAutomaton.build(PROFANITY_WORDS, CONTROVERSIAL_KEYWORDS);
+
     /**
      * Analyze content and determine if it should be flagged
      * Returns ModerationResult with flagging decision and reasons
@@ -124,14 +128,15 @@ public class ContentModerationService {
         List<String> flagReasons = new ArrayList<>();
         String normalizedContent = content.toLowerCase().trim();
 
-        // Check for profanity
-        Set<String> foundProfanity = detectProfanity(normalizedContent);
+        // Check for profanity and controversial keywords in a single automaton pass
+        // Catches exact matches, variations with special chars, spaced and hidden variations
+        ModerationAutomaton.ScanResult scan = automaton.scan(normalizedContent);
+        Set<String> foundProfanity = scan.profanity();
         if (!foundProfanity.isEmpty()) {
             flagReasons.add("Profanity detected: " + String.join(", ", foundProfanity));
         }
 
-        // Check for controversial keywords
-        Set<String> foundControversial = detectControversialKeywords(normalizedContent);
+        Set<String> foundControversial = scan.controversial();
         if (!foundControversial.isEmpty()) {
             flagReasons.add("Controversial content: " + String.join(", ", foundControversial));
         }
@@ -158,70 +163,6 @@ public class ContentModerationService {
         return new ModerationResult(shouldFlag, combinedReason);
     }
 
-    /**
-     * Detect profanity in content
-     * Catches exact matches, variations with special chars, and spaced variations
-     */
-    private Set<String> detectProfanity(String normalizedContent) {
-        Set<String> found = new HashSet<>();
-
-        // Remove common obfuscation techniques for better detection
-        String cleanedContent = normalizedContent
-                .replaceAll("[\\*\\@\\#\\$\\&]", "") // Remove special chars
-                .replaceAll("\\s+", " "); // Normalize spaces
-
-        for (String word : PROFANITY_WORDS) {
-            // 1. Check for exact word match with word boundaries
-            Pattern exactPattern = Pattern.compile("\\b" + Pattern.quote(word) + "\\b", Pattern.CASE_INSENSITIVE);
-            if (exactPattern.matcher(normalizedContent).find()) {
-                found.add(word);
-                continue;
-            }
-
-            // 2. Check for variations with special characters (e.g., "f*ck", "sh!t")
-            String specialCharRegex = word.chars()
-                    .mapToObj(c -> "[" + (char) c + "\\*\\@\\#\\$\\&]")
-                    .collect(Collectors.joining());
-            Pattern specialPattern = Pattern.compile("\\b" + specialCharRegex + "\\b", Pattern.CASE_INSENSITIVE);
-            if (specialPattern.matcher(normalizedContent).find()) {
-                found.add(word + " (obfuscated)");
-                continue;
-            }
-
-            // 3. Check for spaced variations (e.g., "f u c k", "s h i t")
-            String spacedRegex = word.chars()
-                    .mapToObj(c -> String.valueOf((char) c))
-                    .collect(Collectors.joining("\\s*"));
-            Pattern spacedPattern = Pattern.compile("\\b" + spacedRegex + "\\b", Pattern.CASE_INSENSITIVE);
-            if (spacedPattern.matcher(normalizedContent).find()) {
-                found.add(word + " (spaced)");
-                continue;
-            }
-
-            // 4. Check in cleaned content (after removing obfuscation)
-            if (cleanedContent.contains(word)) {
-                found.add(word + " (hidden)");
-            }
-        }
-
-        return found;
-    }
-
-    /**
-     * Detect controversial keywords
-     */
-    private Set<String> detectControversialKeywords(String normalizedContent) {
-        Set<String> found = new HashSet<>();
-
-        for (String keyword : CONTROVERSIAL_KEYWORDS) {
-            if (normalizedContent.contains(keyword)) {
-                found.add(keyword);
-            }
-        }
-
-        return found;
-    }
-
     /**
      * Detect suspicious patterns
      */
@@ -314,16 +255,18 @@ public class ContentModerationService {
     /**
      * Add custom profanity word (for dynamic configuration)
      */
-    public void addProfanityWord(String word) {
+    public synchronized void addProfanityWord(String word) {
         PROFANITY_WORDS.add(word.toLowerCase());
+        automaton = ModerationAutomaton.build(PROFANITY_WORDS, CONTROVERSIAL_KEYWORDS);
         log.info("Added custom profanity word: {}", word);
     }
 
     /**
      * Add custom controversial keyword (for dynamic configuration)
      */
-    public void addControversialKeyword(String keyword) {
+    public synchronized void addControversialKeyword(String keyword) {
         CONTROVERSIAL_KEYWORDS.add(keyword.toLowerCase());
+        automaton = ModerationAutomaton.build(PROFANITY_WORDS, CONTROVERSIAL_KEYWORDS);
         log.info("Added custom controversial keyword: {}", keyword);
     }
 
@@ -0,0 +1,312 @@
+package com.fpt.careermate.services.blog_services.service;
+
+import java.util.*;
+
+/**
+ * Immutable Aho-Corasick automaton over the moderation dictionary.
+ * <p>
+ * The automaton runs over the comment with whitespace and obfuscation characters
+ * ({@code * @ # $ &}) skipped, so one pass finds exact, spaced ("f u c k") and hidden
+ * ("f*uck") occurrences of every word at once; each hit is then classified against the
+ * original text. Substitution obfuscation ("f*ck") is checked per token, only for the rare
+ * tokens that contain an obfuscation character. Build a new instance when the dictionary changes.
+ */
+public final class ModerationAutomaton {
+
+    public enum MatchType {
+        EXACT(""),
+        OBFUSCATED(" (obfuscated)"),
+        SPACED(" (spaced)"),
+        HIDDEN(" (hidden)");
+
+        private final String labelSuffix;
+
+        MatchType(String labelSuffix) {
+            this.labelSuffix = labelSuffix;
+        }
+    }
+
+    /**
+     * Words found in one scan. Profanity labels keep the format used in flag reasons,
+     * e.g. "shit", "fuck (obfuscated)".
+     */
+    public record ScanResult(Set<String> profanity, Set<String> controversial) {
+    }
+
+    private static final int ROOT = 0;
+
+    // Patterns: the word as reported, and whether it is a controversial keyword
+    private final String[] words;
+    private final boolean[] controversial;
+    private final int[] keyLengths;
+
+    // Dense DFA: delta[state][symbol], symbols from alphabet lookup
+    private final int[][] delta;
+    private final int[][] outputs;
+    private final int[] asciiSymbols;
+    private final Map<Character, Integer> extraSymbols;
+
+    // Profanity words by length, for substitution obfuscation checks
+    private final Map<Integer, List<String>> profanityByLength;
+
+    private ModerationAutomaton(String[] words, boolean[] controversial, int[] keyLengths,
+                                int[][] delta, int[][] outputs, int[] asciiSymbols,
+                                Map<Character, Integer> extraSymbols,
+                                Map<Integer, List<String>> profanityByLength) {
+        this.words = words;
+        this.controversial = controversial;
+        this.keyLengths = keyLengths;
+        this.delta = delta;
+        this.outputs = outputs;
+        this.asciiSymbols = asciiSymbols;
+        this.extraSymbols = extraSymbols;
+        this.profanityByLength = profanityByLength;
+    }
+
+    public static ModerationAutomaton build(Collection<String> profanityWords, Collection<String> controversialKeywords) {
+        List<String> words = new ArrayList<>();
+        List<Boolean> kinds = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        Map<Integer, List<String>> profanityByLength = new HashMap<>();
+
+        for (String word : profanityWords) {
+            String key = stripSkipped(word);
+            if (key.isEmpty()) continue;
+            words.add(word);
+            kinds.add(false);
+            keys.add(key);
+            profanityByLength.computeIfAbsent(word.length(), length -> new ArrayList<>()).add(word);
+        }
+        for (String keyword : controversialKeywords) {
+            String key = stripSkipped(keyword);
+            if (key.isEmpty()) continue;
+            words.add(keyword);
+            kinds.add(true);
+            keys.add(key);
+        }
+
+        // Alphabet: only characters that occur in some pattern get a symbol
+        int[] asciiSymbols = new int[128];
+        Arrays.fill(asciiSymbols, -1);
+        Map<Character, Integer> extraSymbols = new HashMap<>();
+        int alphabetSize = 0;
+        for (String key : keys) {
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (c < 128) {
+                    if (asciiSymbols[c] < 0) asciiSymbols[c] = alphabetSize++;
+                } else if (!extraSymbols.containsKey(c)) {
+                    extraSymbols.put(c, alphabetSize++);
+                }
+            }
+        }
+
+        // Trie
+        List<int[]> transitions = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        transitions.add(newRow(alphabetSize));
+        nodeOutputs.add(new ArrayList<>());
+        for (int p = 0; p < keys.size(); p++) {
+            String key = keys.get(p);
+            int state = ROOT;
+            for (int i = 0; i < key.length(); i++) {
+                int symbol = symbolOf(key.charAt(i), asciiSymbols, extraSymbols);
+                int next = transitions.get(state)[symbol];
+                if (next < 0) {
+                    next = transitions.size();
+                    transitions.get(state)[symbol] = next;
+                    transitions.add(newRow(alphabetSize));
+                    nodeOutputs.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            nodeOutputs.get(state).add(p);
+        }
+
+        // Failure links, folded into a complete transition table (BFS order)
+        int stateCount = transitions.size();
+        int[] fail = new int[stateCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int[] rootRow = transitions.get(ROOT);
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            if (rootRow[symbol] < 0) {
+                rootRow[symbol] = ROOT;
+            } else {
+                fail[rootRow[symbol]] = ROOT;
+                queue.add(rootRow[symbol]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            nodeOutputs.get(state).addAll(nodeOutputs.get(fail[state]));
+            int[] row = transitions.get(state);
+            int[] failRow = transitions.get(fail[state]);
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = row[symbol];
+                if (next < 0) {
+                    row[symbol] = failRow[symbol];
+                } else {
+                    fail[next] = failRow[symbol];
+                    queue.add(next);
+                }
+            }
+        }
+
+        int[][] delta = transitions.toArray(new int[0][]);
+        int[][] outputs = new int[stateCount][];
+        for (int s = 0; s < stateCount; s++) {
+            outputs[s] = nodeOutputs.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        boolean[] controversial = new boolean[words.size()];
+        int[] keyLengths = new int[words.size()];
+        for (int p = 0; p < words.size(); p++) {
+            controversial[p] = kinds.get(p);
+            keyLengths[p] = keys.get(p).length();
+        }
+
+        return new ModerationAutomaton(words.toArray(new String[0]), controversial, keyLengths,
+                delta, outputs, asciiSymbols, Map.copyOf(extraSymbols), profanityByLength);
+    }
+
+    /**
+     * Scan lower-cased content in a single pass
+     */
+    public ScanResult scan(String content) {
+        int length = content.length();
+        int[] streamPositions = new int[length];
+        int streamLength = 0;
+        int state = ROOT;
+
+        Map<String, MatchType> profanity = new LinkedHashMap<>();
+        Set<String> foundControversial = new LinkedHashSet<>();
+
+        int tokenStart = -1;
+        boolean tokenHasObfuscation = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            boolean obfuscation = isObfuscationChar(c);
+
+            // Token tracking for substitution obfuscation ("f*ck", "sh#t")
+            if (isWordChar(c) || obfuscation) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                    tokenHasObfuscation = false;
+                }
+                tokenHasObfuscation |= obfuscation;
+            } else if (tokenStart >= 0) {
+                if (tokenHasObfuscation) {
+                    matchObfuscatedToken(content, tokenStart, i, profanity);
+                }
+                tokenStart = -1;
+            }
+
+            if (obfuscation || isWhitespace(c)) {
+                continue;
+            }
+
+            streamPositions[streamLength++] = i;
+            int symbol = symbolOf(c, asciiSymbols, extraSymbols);
+            state = symbol < 0 ? ROOT : delta[state][symbol];
+
+            for (int pattern : outputs[state]) {
+                int start = streamPositions[streamLength - keyLengths[pattern]];
+                if (controversial[pattern]) {
+                    String keyword = words[pattern];
+                    if (i - start + 1 == keyword.length() && content.startsWith(keyword, start)) {
+                        foundControversial.add(keyword);
+                    }
+                } else {
+                    MatchType type = classify(content, start, i);
+                    if (type != null) {
+                        profanity.merge(words[pattern], type, ModerationAutomaton::strongest);
+                    }
+                }
+            }
+        }
+        if (tokenStart >= 0 && tokenHasObfuscation) {
+            matchObfuscatedToken(content, tokenStart, length, profanity);
+        }
+
+        Set<String> labels = new LinkedHashSet<>();
+        profanity.forEach((word, type) -> labels.add(word + type.labelSuffix));
+        return new ScanResult(labels, foundControversial);
+    }
+
+    /**
+     * Classify a hit spanning [start, end] of the original text
+     */
+    private static MatchType classify(String content, int start, int end) {
+        boolean hasWhitespace = false;
+        boolean hasObfuscation = false;
+        for (int i = start; i <= end; i++) {
+            char c = content.charAt(i);
+            hasWhitespace |= isWhitespace(c);
+            hasObfuscation |= isObfuscationChar(c);
+        }
+        boolean bounded = (start == 0 || !isWordChar(content.charAt(start - 1)))
+                && (end == content.length() - 1 || !isWordChar(content.charAt(end + 1)));
+
+        if (bounded && !hasObfuscation) {
+            return hasWhitespace ? MatchType.SPACED : MatchType.EXACT;
+        }
+        // Substring of the content with obfuscation characters removed
+        return hasWhitespace ? null : MatchType.HIDDEN;
+    }
+
+    private void matchObfuscatedToken(String content, int start, int end, Map<String, MatchType> found) {
+        // Like \b[f*@#$&][u*@#$&]...\b: the token must start and end on a real letter
+        if (!isWordChar(content.charAt(start)) || !isWordChar(content.charAt(end - 1))) return;
+        List<String> candidates = profanityByLength.get(end - start);
+        if (candidates == null) return;
+        for (String word : candidates) {
+            boolean matches = true;
+            for (int k = 0; k < word.length() && matches; k++) {
+                char c = content.charAt(start + k);
+                matches = c == word.charAt(k) || isObfuscationChar(c);
+            }
+            if (matches) {
+                found.merge(word, MatchType.OBFUSCATED, ModerationAutomaton::strongest);
+            }
+        }
+    }
+
+    private static MatchType strongest(MatchType a, MatchType b) {
+        return a.ordinal() <= b.ordinal() ? a : b;
+    }
+
+    private static int symbolOf(char c, int[] asciiSymbols, Map<Character, Integer> extraSymbols) {
+        if (c < 128) return asciiSymbols[c];
+        Integer symbol = extraSymbols.get(c);
+        return symbol != null ? symbol : -1;
+    }
+
+    private static int[] newRow(int alphabetSize) {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static String stripSkipped(String text) {
+        StringBuilder key = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isWhitespace(c) && !isObfuscationChar(c)) key.append(c);
+        }
+        return key.toString();
+    }
+
+    // Same character classes as the regex \s, \w and the [*@#$&] obfuscation set
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isObfuscationChar(char c) {
+        return c == '*' || c == '@' || c == '#' || c == '$' || c == '&';
+    }
+}
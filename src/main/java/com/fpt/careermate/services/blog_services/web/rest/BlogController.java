@@ -119,12 +119,15 @@ public class BlogController {
                                   authentication.getAuthorities().stream()
                                           .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
                 
+                // Load first: only views of an existing blog reach the view counter
+                BlogResponse blog = blogImp.getBlogById(blogId);
                 if (!isAdmin) {
                         blogImp.incrementViewCount(blogId);
+                        blog.setViewCount(blog.getViewCount() != null ? blog.getViewCount() + 1 : 1);
                 }
                 
                 return ApiResponse.<BlogResponse>builder()
-                                .result(blogImp.getBlogById(blogId))
+                                .result(blog)
                                 .build();
         }
 
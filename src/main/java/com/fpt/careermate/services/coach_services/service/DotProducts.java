@@ -0,0 +1,78 @@
+package com.fpt.careermate.services.coach_services.service;
+
+/**
+ * Dot product of a query against one row of a row-major matrix.
+ * Uses the JDK Vector API kernel ({@code VectorDotProducts}, compiled only with the
+ * {@code vector-api} Maven profile) when it is on the classpath and the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, otherwise a scalar loop (same result up to
+ * float summation order).
+ */
+final class DotProducts {
+
+    /**
+     * Dot product implementation, chosen once at class initialization
+     */
+    interface Kernel {
+        float dot(float[] matrix, int offset, float[] query, int length);
+
+        int dot(byte[] matrix, int offset, byte[] query, int length);
+    }
+
+    private static final String VECTOR_KERNEL = "com.fpt.careermate.services.coach_services.service.VectorDotProducts";
+
+    private static final Kernel KERNEL = loadKernel();
+
+    private DotProducts() {
+    }
+
+    static float dot(float[] matrix, int offset, float[] query, int length) {
+        return KERNEL.dot(matrix, offset, query, length);
+    }
+
+    static int dot(byte[] matrix, int offset, byte[] query, int length) {
+        return KERNEL.dot(matrix, offset, query, length);
+    }
+
+    static float scalarDot(float[] matrix, int offset, float[] query, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += matrix[offset + i] * query[i];
+        }
+        return sum;
+    }
+
+    static int scalarDot(byte[] matrix, int offset, byte[] query, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += matrix[offset + i] * query[i];
+        }
+        return sum;
+    }
+
+    private static Kernel loadKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new Scalar();
+        }
+        try {
+            Kernel kernel = (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            kernel.dot(new float[1], 0, new float[1], 1);
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Built without the vector-api profile
+            return new Scalar();
+        }
+    }
+
+    private static final class Scalar implements Kernel {
+
+        @Override
+        public float dot(float[] matrix, int offset, float[] query, int length) {
+            return scalarDot(matrix, offset, query, length);
+        }
+
+        @Override
+        public int dot(byte[] matrix, int offset, byte[] query, int length) {
+            return scalarDot(matrix, offset, query, length);
+        }
+    }
+}
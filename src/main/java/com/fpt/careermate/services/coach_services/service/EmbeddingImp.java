@@ -1,100 +1,90 @@
 package com.fpt.careermate.services.coach_services.service;
 
-import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
-import ai.onnxruntime.OnnxTensor;
-import ai.onnxruntime.OrtEnvironment;
-import ai.onnxruntime.OrtSession;
+import com.fpt.careermate.common.util.LocalLruCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PostConstruct;
-import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Cached sentence embeddings; cache misses are computed by {@link EmbeddingInferenceService}.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmbeddingImp {
-    private OrtEnvironment env;
-    private OrtSession session;
-    private HuggingFaceTokenizer tokenizer;
-
-    @PostConstruct
-    public void init() {
-        try {
-            env = OrtEnvironment.getEnvironment();
+    // ~1.5 KB per 384-dim embedding
+    private static final int EMBEDDING_CACHE_SIZE = 5_000;
+    private static final long EMBEDDING_CACHE_TTL_MS = TimeUnit.HOURS.toMillis(12);
+
+    private final EmbeddingInferenceService inferenceService;
+    private final LocalLruCache<float[]> embeddingCache =
+            new LocalLruCache<>(EMBEDDING_CACHE_SIZE, EMBEDDING_CACHE_TTL_MS);
+
+    /**
+     * Embed a single text. Served from the embedding cache when the normalized text was seen before.
+     * The returned array is shared with the cache and must not be modified.
+     */
+    public float[] embed(String text) {
+        return embedBatch(List.of(text)).get(0);
+    }
 
-            var tokenizerStream = getClass().getResourceAsStream("/onnx/tokenizer.json");
-            if (tokenizerStream == null) {
-                throw new RuntimeException("tokenizer.json not found in resources");
+    /**
+     * Embed many texts; all cache misses go to the inference service as one request.
+     * Texts are normalized (lower-cased, trimmed) before lookup and inference; a failed text
+     * gets an empty array, as with {@link #embed(String)}.
+     * Returned arrays are shared with the cache and must not be modified.
+     */
+    public List<float[]> embedBatch(List<String> texts) {
+        float[][] embeddings = new float[texts.size()][];
+        Map<String, List<Integer>> misses = new LinkedHashMap<>();
+        long generation = embeddingCache.generation();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String key = normalizeText(texts.get(i));
+            float[] cached = embeddingCache.get(key);
+            if (cached != null) {
+                embeddings[i] = cached;
+            } else {
+                misses.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
             }
-            tokenizer = HuggingFaceTokenizer.newInstance(tokenizerStream, Map.of());
+        }
 
-            try (var modelStream = getClass().getResourceAsStream("/onnx/model.onnx")) {
-                if (modelStream == null) {
-                    throw new RuntimeException("model.onnx not found in resources");
-                }
-                byte[] modelBytes = modelStream.readAllBytes();
-                session = env.createSession(modelBytes);
+        List<String> missingTexts = new ArrayList<>(misses.keySet());
+        float[][] computed = computeEmbeddings(missingTexts);
+        for (int j = 0; j < missingTexts.size(); j++) {
+            if (computed[j].length > 0) {
+                embeddingCache.put(missingTexts.get(j), computed[j], generation);
+            }
+            for (int index : misses.get(missingTexts.get(j))) {
+                embeddings[index] = computed[j];
             }
-
-            log.info("ONNX model loaded successfully");
-        } catch (Exception e) {
-            log.error("ONNX model error: "+e.getMessage(), e);
         }
+        return Arrays.asList(embeddings);
     }
 
-    public float[] embed(String text) {
+    private float[][] computeEmbeddings(List<String> texts) {
         try {
-            // 1. Encode
-            var encoding = tokenizer.encode(text);
-
-            long[] inputIds = encoding.getIds();
-            long[] attentionMask = encoding.getAttentionMask();
-            long[] tokenTypeIds = encoding.getTypeIds();
-
-            // 2. Create tensors
-            try (
-                    OnnxTensor inputIdsTensor = OnnxTensor.createTensor(
-                            env,
-                            LongBuffer.wrap(inputIds),
-                            new long[]{1, inputIds.length}
-                    );
-                    OnnxTensor attentionMaskTensor = OnnxTensor.createTensor(
-                            env,
-                            LongBuffer.wrap(attentionMask),
-                            new long[]{1, attentionMask.length}
-                    );
-                    OnnxTensor tokenTypeIdsTensor = OnnxTensor.createTensor(
-                            env,
-                            LongBuffer.wrap(tokenTypeIds),
-                            new long[]{1, tokenTypeIds.length}
-                    )
-            ) {
-                Map<String, OnnxTensor> inputs = Map.of(
-                        "input_ids", inputIdsTensor,
-                        "attention_mask", attentionMaskTensor,
-                        "token_type_ids", tokenTypeIdsTensor
-                );
-
-                // 3. Run inference
-                try (OrtSession.Result result = session.run(inputs)) {
-
-                    // output shape: [1, seq_len, hidden]
-                    float[][][] tokenEmbeddings =
-                            (float[][][]) result.get(0).getValue();
-
-                    float[] sentenceEmbedding =
-                            meanPooling(tokenEmbeddings[0], attentionMask);
-
-                    return normalize(sentenceEmbedding);
-                }
+            if (inferenceService.isAvailable()) {
+                return inferenceService.embed(texts);
             }
         } catch (Exception e) {
             log.error("Embedding error: "+e.getMessage(), e);
-            return new float[0]; // Return empty array on error
         }
+        // Empty arrays when the model is not loaded or inference failed
+        float[][] empty = new float[texts.size()][];
+        Arrays.fill(empty, new float[0]);
+        return empty;
+    }
+
+    private static String normalizeText(String text) {
+        return text == null ? "" : text.toLowerCase().trim();
     }
 
     public double cosineSimilarity(float[] v1, float[] v2) {
@@ -109,40 +99,4 @@ public class EmbeddingImp {
         }
         return dot / (Math.sqrt(norm1) * Math.sqrt(norm2));
     }
-
-    private float[] normalize(float[] vector) {
-        double norm = 0.0;
-        for (float v : vector) norm += v * v;
-        norm = Math.sqrt(norm);
-
-        for (int i = 0; i < vector.length; i++) {
-            vector[i] = (float) (vector[i] / norm);
-        }
-        return vector;
-    }
-
-    private float[] meanPooling(float[][] tokenEmbeddings, long[] attentionMask) {
-        int dim = tokenEmbeddings[0].length;
-        float[] sentenceEmbedding = new float[dim];
-        int count = 0;
-
-        for (int i = 0; i < attentionMask.length; i++) {
-            if (attentionMask[i] == 1) {
-                count++;
-                for (int j = 0; j < dim; j++) {
-                    sentenceEmbedding[j] += tokenEmbeddings[i][j];
-                }
-            }
-        }
-
-        if (count > 0) {
-            for (int j = 0; j < dim; j++) {
-                sentenceEmbedding[j] /= count;
-            }
-        }
-
-        return sentenceEmbedding;
-    }
-
-
 }
@@ -0,0 +1,474 @@
+package com.fpt.careermate.services.coach_services.service;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the sentence embedding model (tokenize, ONNX inference, mean pooling).
+ * Callers block on {@link #embed(List)} while their texts wait in a bounded queue; a fixed number
+ * of worker threads take requests from it, coalescing the requests that arrive within a short
+ * window into one batch, so at most {@code app.embedding.concurrency} inferences run at once.
+ * A full queue makes callers wait up to {@code app.embedding.submit-timeout-ms}, then rejects;
+ * callers give up on a result after {@code app.embedding.result-timeout-ms}.
+ * Meters: careermate.embedding.queue.wait, careermate.embedding.inference (timers),
+ * careermate.embedding.batch.size (texts per inference), careermate.embedding.rejected,
+ * careermate.embedding.timeout.
+ */
+@Service
+@Slf4j
+public class EmbeddingInferenceService {
+
+    // Model input limit; longer texts are truncated
+    private static final int MAX_SEQUENCE_LENGTH = 128;
+    // Padded sequence lengths; a small fixed set of input shapes lets ONNX Runtime reuse its buffers
+    static final int[] SEQUENCE_BUCKETS = {8, 16, 32, 64, MAX_SEQUENCE_LENGTH};
+    // How long stop() waits for running inferences before closing the session
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    /**
+     * Session and queue settings, bound from app.embedding.*
+     */
+    record Settings(String modelPath,
+                    int intraOpThreads,
+                    int interOpThreads,
+                    OrtSession.SessionOptions.OptLevel optimizationLevel,
+                    boolean cpuArena,
+                    boolean memoryPattern,
+                    int concurrency,
+                    int queueCapacity,
+                    int maxBatchSize,
+                    long batchWindowMs,
+                    long submitTimeoutMs,
+                    long resultTimeoutMs,
+                    boolean failFast) {
+    }
+
+    private record Request(List<String> texts, CompletableFuture<float[][]> result, long enqueuedAt) {
+    }
+
+    private final Settings settings;
+    private final BlockingQueue<Request> queue;
+    private final Timer queueWaitTimer;
+    private final Timer inferenceTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final MeterRegistry meterRegistry;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private OrtEnvironment env;
+    // Backs the session; kept referenced for as long as the session lives
+    private MappedByteBuffer modelBuffer;
+    private OrtSession session;
+    private HuggingFaceTokenizer tokenizer;
+    private volatile boolean running;
+
+    @Autowired
+    public EmbeddingInferenceService(
+            MeterRegistry meterRegistry,
+            @Value("${app.embedding.model-path:}") String modelPath,
+            @Value("${app.embedding.intra-op-threads:2}") int intraOpThreads,
+            @Value("${app.embedding.inter-op-threads:1}") int interOpThreads,
+            @Value("${app.embedding.optimization-level:ALL_OPT}") OrtSession.SessionOptions.OptLevel optimizationLevel,
+            @Value("${app.embedding.cpu-arena:true}") boolean cpuArena,
+            @Value("${app.embedding.memory-pattern:false}") boolean memoryPattern,
+            @Value("${app.embedding.concurrency:2}") int concurrency,
+            @Value("${app.embedding.queue-capacity:64}") int queueCapacity,
+            @Value("${app.embedding.max-batch-size:32}") int maxBatchSize,
+            @Value("${app.embedding.batch-window-ms:2}") long batchWindowMs,
+            @Value("${app.embedding.submit-timeout-ms:2000}") long submitTimeoutMs,
+            @Value("${app.embedding.result-timeout-ms:30000}") long resultTimeoutMs,
+            @Value("${app.embedding.fail-fast:false}") boolean failFast) {
+        this(new Settings(modelPath, intraOpThreads, interOpThreads, optimizationLevel, cpuArena, memoryPattern,
+                concurrency, queueCapacity, maxBatchSize, batchWindowMs, submitTimeoutMs, resultTimeoutMs, failFast),
+                meterRegistry);
+    }
+
+    EmbeddingInferenceService(Settings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+        this.queueWaitTimer = Timer.builder("careermate.embedding.queue.wait")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.inferenceTimer = Timer.builder("careermate.embedding.inference")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("careermate.embedding.batch.size")
+                .baseUnit("texts")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            env = OrtEnvironment.getEnvironment();
+
+            try (InputStream tokenizerStream = getClass().getResourceAsStream("/onnx/tokenizer.json")) {
+                if (tokenizerStream == null) {
+                    throw new IllegalStateException("tokenizer.json not found in resources");
+                }
+                // tokenizer.json pads every input to 128 tokens; padding is done per batch in runBatch instead
+                tokenizer = HuggingFaceTokenizer.newInstance(tokenizerStream, Map.of(
+                        "padding", "false",
+                        "truncation", "true",
+                        "maxLength", String.valueOf(MAX_SEQUENCE_LENGTH)));
+            }
+
+            try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+                options.setIntraOpNumThreads(settings.intraOpThreads());
+                options.setInterOpNumThreads(settings.interOpThreads());
+                options.setOptimizationLevel(settings.optimizationLevel());
+                options.setCPUArenaAllocator(settings.cpuArena());
+                options.setMemoryPatternOptimization(settings.memoryPattern());
+                modelBuffer = mapModel(resolveModelPath());
+                session = env.createSession(modelBuffer, options);
+            }
+        } catch (Exception e) {
+            if (settings.failFast()) {
+                throw new IllegalStateException("Could not load the embedding model", e);
+            }
+            log.error("Embedding model could not be loaded, embeddings are disabled: {}", e.getMessage(), e);
+            return;
+        }
+
+        running = true;
+        for (int i = 0; i < settings.concurrency(); i++) {
+            Thread worker = new Thread(this::workLoop, "Embedding-Inference-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        meterRegistry.gauge("careermate.embedding.queue.size", queue, BlockingQueue::size);
+        log.info("ONNX embedding model loaded ({} workers, intra-op threads {}, {})",
+                settings.concurrency(), settings.intraOpThreads(), settings.optimizationLevel());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        Request pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("Embedding service is shutting down"));
+        }
+
+        // An inference cannot be interrupted; closing the session under it would crash in native code
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MS);
+        boolean stopped = true;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stopped &= !worker.isAlive();
+        }
+        if (!stopped) {
+            log.warn("Embedding workers did not stop within {} ms, leaving the ONNX session open", SHUTDOWN_TIMEOUT_MS);
+            return;
+        }
+
+        try {
+            if (session != null) {
+                session.close();
+            }
+        } catch (OrtException e) {
+            log.warn("Error closing ONNX session: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return running;
+    }
+
+    /**
+     * Embed texts (already normalized) into L2-normalized sentence vectors, in input order.
+     * Blocks until the batch containing them has run.
+     *
+     * @throws IllegalStateException      if the model is not loaded, inference failed or
+     *                                    did not finish within the result timeout
+     * @throws RejectedExecutionException if the queue stayed full for the submit timeout
+     */
+    public float[][] embed(List<String> texts) {
+        if (texts.isEmpty()) {
+            return new float[0][];
+        }
+        if (!running) {
+            throw new IllegalStateException("Embedding model is not loaded");
+        }
+
+        Request request = new Request(texts, new CompletableFuture<>(), System.nanoTime());
+        try {
+            if (!queue.offer(request, settings.submitTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter("careermate.embedding.rejected").increment();
+                throw new RejectedExecutionException("Embedding queue is full");
+            }
+            return request.result().get(settings.resultTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(request);
+            throw new IllegalStateException("Interrupted while waiting for embeddings", e);
+        } catch (TimeoutException e) {
+            meterRegistry.counter("careermate.embedding.timeout").increment();
+            abandon(request);
+            throw new IllegalStateException("Embedding inference did not finish within "
+                    + settings.resultTimeoutMs() + " ms", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Embedding inference failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Drop a request nobody waits for anymore, so a worker does not spend an inference on it
+    private void abandon(Request request) {
+        queue.remove(request);
+        request.result().cancel(false);
+    }
+
+    private void workLoop() {
+        while (running) {
+            List<Request> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+                collect(batch);
+                batch.removeIf(request -> request.result().isDone());
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                batch.forEach(request -> request.result().completeExceptionally(e));
+                return;
+            }
+
+            try {
+                List<String> texts = new ArrayList<>();
+                for (Request request : batch) {
+                    texts.addAll(request.texts());
+                }
+                float[][] embeddings = infer(texts);
+                int offset = 0;
+                for (Request request : batch) {
+                    int size = request.texts().size();
+                    request.result().complete(Arrays.copyOfRange(embeddings, offset, offset + size));
+                    offset += size;
+                }
+            } catch (Throwable t) {
+                // Errors too (e.g. OutOfMemoryError): callers must not wait on a batch that will never complete
+                log.error("Embedding error: {}", t.getMessage(), t);
+                batch.forEach(request -> request.result().completeExceptionally(t));
+            }
+        }
+    }
+
+    // Add the requests arriving within the batch window, up to maxBatchSize texts
+    private void collect(List<Request> batch) throws InterruptedException {
+        long now = System.nanoTime();
+        queueWaitTimer.record(now - batch.get(0).enqueuedAt(), TimeUnit.NANOSECONDS);
+        int texts = batch.get(0).texts().size();
+        long deadline = now + TimeUnit.MILLISECONDS.toNanos(settings.batchWindowMs());
+        while (texts < settings.maxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            queueWaitTimer.record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+            batch.add(next);
+            texts += next.texts().size();
+        }
+    }
+
+    /**
+     * Tokenize once, then group texts by token length so each inference is padded only to the
+     * length of its own longest text.
+     */
+    private float[][] infer(List<String> texts) throws OrtException {
+        Encoding[] encodings = tokenizer.batchEncode(texts);
+
+        Integer[] order = new Integer[encodings.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> encodings[i].getIds().length));
+
+        float[][] embeddings = new float[encodings.length][];
+        for (int from = 0; from < order.length; from += settings.maxBatchSize()) {
+            int to = Math.min(from + settings.maxBatchSize(), order.length);
+            Encoding[] chunk = new Encoding[to - from];
+            for (int k = from; k < to; k++) {
+                chunk[k - from] = encodings[order[k]];
+            }
+            float[][] computed = runBatch(chunk);
+            for (int k = from; k < to; k++) {
+                embeddings[order[k]] = computed[k - from];
+            }
+        }
+        return embeddings;
+    }
+
+    /**
+     * Smallest bucket that fits the longest sequence of a batch
+     */
+    static int bucketLength(int longestSequence) {
+        for (int bucket : SEQUENCE_BUCKETS) {
+            if (longestSequence <= bucket) {
+                return bucket;
+            }
+        }
+        return longestSequence;
+    }
+
+    private float[][] runBatch(Encoding[] encodings) throws OrtException {
+        int batchSize = encodings.length;
+
+        // 1. Pad to the bucket of the longest sequence in the batch
+        int longest = 0;
+        for (Encoding encoding : encodings) {
+            longest = Math.max(longest, encoding.getIds().length);
+        }
+        int seqLen = bucketLength(longest);
+
+        long[] inputIds = new long[batchSize * seqLen];
+        long[] attentionMask = new long[batchSize * seqLen];
+        long[] tokenTypeIds = new long[batchSize * seqLen];
+        for (int row = 0; row < batchSize; row++) {
+            long[] ids = encodings[row].getIds();
+            System.arraycopy(ids, 0, inputIds, row * seqLen, ids.length);
+            System.arraycopy(encodings[row].getAttentionMask(), 0, attentionMask, row * seqLen, ids.length);
+            System.arraycopy(encodings[row].getTypeIds(), 0, tokenTypeIds, row * seqLen, ids.length);
+        }
+        long[] shape = new long[]{batchSize, seqLen};
+
+        // 2. Create tensors
+        try (
+                OnnxTensor inputIdsTensor = OnnxTensor.createTensor(env, LongBuffer.wrap(inputIds), shape);
+                OnnxTensor attentionMaskTensor = OnnxTensor.createTensor(env, LongBuffer.wrap(attentionMask), shape);
+                OnnxTensor tokenTypeIdsTensor = OnnxTensor.createTensor(env, LongBuffer.wrap(tokenTypeIds), shape)
+        ) {
+            Map<String, OnnxTensor> inputs = Map.of(
+                    "input_ids", inputIdsTensor,
+                    "attention_mask", attentionMaskTensor,
+                    "token_type_ids", tokenTypeIdsTensor
+            );
+
+            // 3. Run inference
+            batchSizeSummary.record(batchSize);
+            long started = System.nanoTime();
+            try (OrtSession.Result result = session.run(inputs)) {
+                inferenceTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+                // output shape: [N, seq_len, hidden]
+                float[][][] tokenEmbeddings =
+                        (float[][][]) result.get(0).getValue();
+
+                float[][] sentenceEmbeddings = new float[batchSize][];
+                for (int row = 0; row < batchSize; row++) {
+                    sentenceEmbeddings[row] = normalize(
+                            meanPooling(tokenEmbeddings[row], attentionMask, row * seqLen, seqLen));
+                }
+                return sentenceEmbeddings;
+            }
+        }
+    }
+
+    /**
+     * Configured model file, or the bundled /onnx/model.onnx (copied out of the jar when needed)
+     */
+    private Path resolveModelPath() throws IOException {
+        if (!settings.modelPath().isBlank()) {
+            return Path.of(settings.modelPath());
+        }
+        URL resource = getClass().getResource("/onnx/model.onnx");
+        if (resource == null) {
+            throw new IllegalStateException("model.onnx not found in resources and app.embedding.model-path is not set");
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return Path.of(resource.toURI());
+            } catch (Exception e) {
+                throw new IOException("Invalid model location " + resource, e);
+            }
+        }
+        Path extracted = Files.createTempFile("careermate-embedding-", ".onnx");
+        extracted.toFile().deleteOnExit();
+        try (InputStream modelStream = resource.openStream()) {
+            Files.copy(modelStream, extracted, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return extracted;
+    }
+
+    // Memory-mapped, so the model weights stay out of the Java heap
+    private static MappedByteBuffer mapModel(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0.0;
+        for (float v : vector) norm += v * v;
+        norm = Math.sqrt(norm);
+
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) (vector[i] / norm);
+        }
+        return vector;
+    }
+
+    private static float[] meanPooling(float[][] tokenEmbeddings, long[] attentionMask, int maskOffset, int seqLen) {
+        int dim = tokenEmbeddings[0].length;
+        float[] sentenceEmbedding = new float[dim];
+        int count = 0;
+
+        for (int i = 0; i < seqLen; i++) {
+            if (attentionMask[maskOffset + i] == 1) {
+                count++;
+                for (int j = 0; j < dim; j++) {
+                    sentenceEmbedding[j] += tokenEmbeddings[i][j];
+                }
+            }
+        }
+
+        if (count > 0) {
+            for (int j = 0; j < dim; j++) {
+                sentenceEmbedding[j] /= count;
+            }
+        }
+
+        return sentenceEmbedding;
+    }
+}
@@ -24,7 +24,9 @@ import io.weaviate.client.v1.graphql.query.fields.Fields;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +37,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 
@@ -57,6 +60,17 @@ public class RoadmapImp implements RoadmapService {
     RoadmapRedisImp roadmapRedisImp;
     EmbeddingImp embeddingImp;
 
+    // Cosine similarity tối thiểu để coi skill và subtopic là giống nhau
+    static double SUBTOPIC_SIMILARITY_THRESHOLD = 0.8;
+
+    // Subtopic embeddings theo roadmap id
+    Map<Integer, SubtopicEmbeddingMatrix> subtopicMatrices = new ConcurrentHashMap<>();
+
+    // Lưu subtopic embeddings dạng int8 (giảm 4 lần bộ nhớ, sai số similarity ~1%)
+    @NonFinal
+    @Value("${app.roadmap.subtopic-matrix.quantized:false}")
+    boolean quantizeSubtopicMatrix;
+
     static String roadmapCollection = "Roadmap";
     static String roadmapCollection2 = "Roadmap2";
 
@@ -278,9 +292,32 @@ public class RoadmapImp implements RoadmapService {
         log.info("Roadmap recommendation process completed in {} ms", (endTime - startTime));
     }
 
+    /**
+     * Ma trận embedding của subtopics, tính một lần cho mỗi roadmap và dùng lại cho mọi resume.
+     * Tính lại nếu danh sách subtopics của roadmap đã thay đổi.
+     * Ma trận thiếu embedding (embedding service lỗi hoặc trả về vector 0) chỉ dùng cho lần gọi này,
+     * không cache, để lần sau tính lại.
+     */
+    private SubtopicEmbeddingMatrix getSubtopicMatrix(Roadmap roadmap, List<Subtopic> subtopics) {
+        SubtopicEmbeddingMatrix cached = subtopicMatrices.get(roadmap.getId());
+        if (cached != null && cached.matches(subtopics)) {
+            return cached;
+        }
+        SubtopicEmbeddingMatrix built = SubtopicEmbeddingMatrix.build(roadmap, embeddingImp, quantizeSubtopicMatrix);
+        if (!built.isComplete()) {
+            subtopicMatrices.remove(roadmap.getId());
+            log.warn("Subtopic matrix for roadmap {} is missing {} of {} embeddings, not caching it",
+                    roadmap.getName(), built.missingRows(), subtopics.size());
+            return built;
+        }
+        subtopicMatrices.put(roadmap.getId(), built);
+        log.info("Precomputed {} subtopic embeddings for roadmap {}", subtopics.size(), roadmap.getName());
+        return built;
+    }
+
     /**
      * Match skills với subtopics trong roadmap và tạo progress records.
-     * Sử dụng caching để tối ưu performance khi tính embedding.
+     * Embedding của skills được tính theo batch và so với ma trận subtopic đã tính sẵn.
      */
     private List<ResumeSubtopicProgress> matchSkillsWithSubtopics(
             List<Skill> skills,
@@ -290,73 +327,54 @@ public class RoadmapImp implements RoadmapService {
         List<ResumeSubtopicProgress> progresses = new ArrayList<>();
         Set<Integer> matchedSubtopicIds = new HashSet<>(); // Tránh duplicate
 
-        // Pre-compute embeddings cho tất cả skills (cache để tránh tính lại)
-        Map<String, float[]> skillEmbeddings = new HashMap<>();
-        for (Skill skill : skills) {
-            String skillName = skill.getSkillName().toLowerCase().trim();
-            try {
-                float[] embedding = embeddingImp.embed(skillName);
-                if (embedding.length > 0) {
-                    skillEmbeddings.put(skillName, embedding);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to create embedding for skill: {}", skillName, e);
+        List<Subtopic> subtopics = SubtopicEmbeddingMatrix.subtopicsOf(roadmap);
+        BitSet semanticMatches = new BitSet(subtopics.size());
+
+        // Embedding cho tất cả skills trong một batch, so với ma trận subtopic đã tính sẵn
+        List<String> skillNames = skills.stream()
+                .map(skill -> skill.getSkillName().toLowerCase().trim())
+                .distinct()
+                .collect(Collectors.toList());
+        try {
+            SubtopicEmbeddingMatrix subtopicMatrix = getSubtopicMatrix(roadmap, subtopics);
+            for (float[] skillEmbedding : embeddingImp.embedBatch(skillNames)) {
+                subtopicMatrix.markSimilar(skillEmbedding, SUBTOPIC_SIMILARITY_THRESHOLD, semanticMatches);
             }
+        } catch (Exception e) {
+            log.error("Failed to compute skill similarity for roadmap: {}", roadmap.getName(), e);
         }
 
+        Set<String> lowerCaseSkillNames = skills.stream()
+                .map(skill -> skill.getSkillName().toLowerCase())
+                .collect(Collectors.toSet());
+
         OffsetDateTime now = OffsetDateTime.now();
 
         // Duyệt qua tất cả subtopics trong roadmap
-        for (Topic topic : roadmap.getTopics()) {
-            for (Subtopic subtopic : topic.getSubtopics()) {
-                // Skip nếu đã match rồi
-                if (matchedSubtopicIds.contains(subtopic.getId())) {
-                    continue;
-                }
-
-                String subtopicName = subtopic.getName().toLowerCase().trim();
-                boolean matched = false;
+        for (int row = 0; row < subtopics.size(); row++) {
+            Subtopic subtopic = subtopics.get(row);
 
-                // Case 1: Exact name match (case-insensitive)
-                for (Skill skill : skills) {
-                    if (skill.getSkillName().equalsIgnoreCase(subtopicName)) {
-                        matched = true;
-                        break;
-                    }
-                }
-
-                // Case 2: Semantic similarity using embeddings
-                if (!matched) {
-                    try {
-                        float[] subtopicEmbedding = embeddingImp.embed(subtopicName);
-                        if (subtopicEmbedding.length > 0) {
-                            for (Map.Entry<String, float[]> entry : skillEmbeddings.entrySet()) {
-                                double similarity = embeddingImp.cosineSimilarity(
-                                        subtopicEmbedding,
-                                        entry.getValue()
-                                );
-                                if (similarity >= 0.8) {
-                                    matched = true;
-                                    break;
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.error("Failed to compute similarity for subtopic: {}", subtopicName, e);
-                    }
-                }
+            // Skip nếu đã match rồi
+            if (matchedSubtopicIds.contains(subtopic.getId())) {
+                continue;
+            }
 
-                // Nếu matched thì tạo progress record
-                if (matched) {
-                    ResumeSubtopicProgress progress = ResumeSubtopicProgress.builder()
-                            .resumeRoadmap(resumeRoadmap)
-                            .subtopic(subtopic)
-                            .updatedAt(now)
-                            .status(ResumeSubtopicProgressStatus.COMPLETED)
-                            .build();
-                    progresses.add(progress);
-                    matchedSubtopicIds.add(subtopic.getId());
-                }
+            String subtopicName = subtopic.getName().toLowerCase().trim();
+
+            // Case 1: Exact name match (case-insensitive)
+            // Case 2: Semantic similarity using embeddings
+            boolean matched = lowerCaseSkillNames.contains(subtopicName) || semanticMatches.get(row);
+
+            // Nếu matched thì tạo progress record
+            if (matched) {
+                ResumeSubtopicProgress progress = ResumeSubtopicProgress.builder()
+                        .resumeRoadmap(resumeRoadmap)
+                        .subtopic(subtopic)
+                        .updatedAt(now)
+                        .status(ResumeSubtopicProgressStatus.COMPLETED)
+                        .build();
+                progresses.add(progress);
+                matchedSubtopicIds.add(subtopic.getId());
             }
         }
 
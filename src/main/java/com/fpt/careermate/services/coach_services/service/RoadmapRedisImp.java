@@ -2,6 +2,7 @@ package com.fpt.careermate.services.coach_services.service;
 
 import com.fpt.careermate.services.coach_services.service.dto.response.ResumeRoadmapPageResponse;
 import com.fpt.careermate.services.coach_services.service.dto.response.RoadmapResponse;
+import com.fpt.careermate.common.util.RedisCacheNamespace;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -22,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 public class RoadmapRedisImp {
 
     RedisTemplate<String, Object> redisTemplate;
+    RedisCacheNamespace redisCacheNamespace;
 
     // Cache key prefix for candidate roadmap
     static String CANDIDATE_ROADMAP_PREFIX = "roadmap:candidate:";
@@ -32,6 +34,11 @@ public class RoadmapRedisImp {
     // Cache key prefix for specific resume roadmap list
     static String SPECIFIC_RESUME_ROADMAP_LIST_PREFIX = "roadmap:list:resume:";
 
+    // Cache tags (per resume / per candidate) used for invalidation
+    static String CANDIDATE_ROADMAP_TAG = "roadmap:candidate:resume:";
+    static String RESUME_ROADMAP_LIST_TAG = "roadmap:list:candidate:";
+    static String SPECIFIC_RESUME_ROADMAP_LIST_TAG = "roadmap:list:resume:";
+
     // Cache TTL: 30 minutes (roadmap data doesn't change often)
     static long CACHE_TTL = 30;
     static TimeUnit CACHE_TTL_UNIT = TimeUnit.MINUTES;
@@ -96,7 +103,7 @@ public class RoadmapRedisImp {
     public void saveCandidateRoadmapToCache(int resumeId, String roadmapName, RoadmapResponse response) {
         try {
             String key = getCandidateRoadmapCacheKey(resumeId, roadmapName);
-            redisTemplate.opsForValue().set(key, response, CACHE_TTL, CACHE_TTL_UNIT);
+            redisCacheNamespace.put(key, response, CACHE_TTL, CACHE_TTL_UNIT, CANDIDATE_ROADMAP_TAG + resumeId);
             log.debug("Saved to cache: resumeId={}, roadmapName={}", resumeId, roadmapName);
         } catch (Exception e) {
             log.error("Error saving candidate roadmap to cache: {}", e.getMessage());
@@ -124,12 +131,8 @@ public class RoadmapRedisImp {
      */
     public void invalidateAllRoadmapCacheForResume(int resumeId) {
         try {
-            String pattern = CANDIDATE_ROADMAP_PREFIX + "resume:" + resumeId + ":*";
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Invalidated {} cache entries for resumeId={}", keys.size(), resumeId);
-            }
+            long deleted = redisCacheNamespace.invalidate(CANDIDATE_ROADMAP_TAG + resumeId);
+            log.debug("Invalidated {} cache entries for resumeId={}", deleted, resumeId);
         } catch (Exception e) {
             log.error("Error invalidating all roadmap cache for resume: {}", e.getMessage());
         }
@@ -263,7 +266,7 @@ public class RoadmapRedisImp {
                                               ResumeRoadmapPageResponse response) {
         try {
             String key = getCandidateRoadmapListCacheKey(candidateId, page, size, sortBy);
-            redisTemplate.opsForValue().set(key, response, CACHE_TTL, CACHE_TTL_UNIT);
+            redisCacheNamespace.put(key, response, CACHE_TTL, CACHE_TTL_UNIT, RESUME_ROADMAP_LIST_TAG + candidateId);
             log.debug("Saved to cache: candidateId={}, page={}, size={}, sortBy={}",
                     candidateId, page, size, sortBy);
         } catch (Exception e) {
@@ -288,7 +291,7 @@ public class RoadmapRedisImp {
 
         try {
             String key = getSpecificResumeRoadmapListCacheKey(resumeId, page, size, sortBy);
-            redisTemplate.opsForValue().set(key, response, CACHE_TTL, CACHE_TTL_UNIT);
+            redisCacheNamespace.put(key, response, CACHE_TTL, CACHE_TTL_UNIT, SPECIFIC_RESUME_ROADMAP_LIST_TAG + resumeId);
             log.debug("Saved to cache: resumeId={}, page={}, size={}, sortBy={}",
                     resumeId, page, size, sortBy);
         } catch (Exception e) {
@@ -303,12 +306,8 @@ public class RoadmapRedisImp {
      */
     public void invalidateResumeRoadmapListCache(int candidateId) {
         try {
-            String pattern = RESUME_ROADMAP_LIST_PREFIX + candidateId + ":*";
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Invalidated {} resume roadmap list cache entries for candidateId={}", keys.size(), candidateId);
-            }
+            long deleted = redisCacheNamespace.invalidate(RESUME_ROADMAP_LIST_TAG + candidateId);
+            log.debug("Invalidated {} resume roadmap list cache entries for candidateId={}", deleted, candidateId);
         } catch (Exception e) {
             log.error("Error invalidating resume roadmap list cache: {}", e.getMessage());
         }
@@ -321,12 +320,8 @@ public class RoadmapRedisImp {
      */
     public void invalidateSpecificResumeRoadmapListCache(int resumeId) {
         try {
-            String pattern = SPECIFIC_RESUME_ROADMAP_LIST_PREFIX + resumeId + ":*";
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Invalidated {} specific resume roadmap list cache entries for resumeId={}", keys.size(), resumeId);
-            }
+            long deleted = redisCacheNamespace.invalidate(SPECIFIC_RESUME_ROADMAP_LIST_TAG + resumeId);
+            log.debug("Invalidated {} specific resume roadmap list cache entries for resumeId={}", deleted, resumeId);
         } catch (Exception e) {
             log.error("Error invalidating specific resume roadmap list cache: {}", e.getMessage());
         }
@@ -0,0 +1,163 @@
+package com.fpt.careermate.services.coach_services.service;
+
+import com.fpt.careermate.services.coach_services.domain.Roadmap;
+import com.fpt.careermate.services.coach_services.domain.Subtopic;
+import com.fpt.careermate.services.coach_services.domain.Topic;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Embeddings of every subtopic of one roadmap, stored row-major in a single array.
+ * Embeddings are L2-normalized, so cosine similarity against a query is one dot product per row
+ * ({@link DotProducts}). Optionally quantized to int8 with one scale per row, a quarter of the
+ * memory at the cost of ~1% error on the similarity.
+ */
+final class SubtopicEmbeddingMatrix {
+
+    private final int[] subtopicIds;
+    private final int dimension;
+    // Exactly one of the two is set
+    private final float[] matrix;
+    private final byte[] quantizedMatrix;
+    private final float[] rowScales;
+    // Rows left zero because their embedding failed (missing, wrong dimension or a zero vector)
+    private final int missingRows;
+
+    private SubtopicEmbeddingMatrix(int[] subtopicIds, int dimension, float[] matrix,
+                                    byte[] quantizedMatrix, float[] rowScales, int missingRows) {
+        this.subtopicIds = subtopicIds;
+        this.dimension = dimension;
+        this.matrix = matrix;
+        this.quantizedMatrix = quantizedMatrix;
+        this.rowScales = rowScales;
+        this.missingRows = missingRows;
+    }
+
+    /**
+     * Embed all subtopic names of a roadmap in one batch.
+     * Rows of subtopics whose embedding failed stay zero and never match.
+     */
+    static SubtopicEmbeddingMatrix build(Roadmap roadmap, EmbeddingImp embeddingImp, boolean quantized) {
+        List<Subtopic> subtopics = subtopicsOf(roadmap);
+        List<String> names = new ArrayList<>(subtopics.size());
+        int[] ids = new int[subtopics.size()];
+        for (int row = 0; row < subtopics.size(); row++) {
+            ids[row] = subtopics.get(row).getId();
+            names.add(subtopics.get(row).getName());
+        }
+        return of(ids, embeddingImp.embedBatch(names), quantized);
+    }
+
+    static SubtopicEmbeddingMatrix of(int[] ids, List<float[]> embeddings, boolean quantized) {
+        int dimension = 0;
+        for (float[] embedding : embeddings) {
+            if (embedding != null) {
+                dimension = Math.max(dimension, embedding.length);
+            }
+        }
+
+        float[] matrix = new float[ids.length * dimension];
+        int missingRows = 0;
+        for (int row = 0; row < ids.length; row++) {
+            float[] embedding = row < embeddings.size() ? embeddings.get(row) : null;
+            if (embedding != null && embedding.length == dimension && !isZero(embedding)) {
+                System.arraycopy(embedding, 0, matrix, row * dimension, dimension);
+            } else {
+                missingRows++;
+            }
+        }
+        if (!quantized) {
+            return new SubtopicEmbeddingMatrix(ids, dimension, matrix, null, null, missingRows);
+        }
+
+        byte[] quantizedMatrix = new byte[matrix.length];
+        float[] rowScales = new float[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            rowScales[row] = quantize(matrix, row * dimension, dimension, quantizedMatrix);
+        }
+        return new SubtopicEmbeddingMatrix(ids, dimension, null, quantizedMatrix, rowScales, missingRows);
+    }
+
+    private static boolean isZero(float[] embedding) {
+        for (float value : embedding) {
+            if (value != 0f) return false;
+        }
+        return true;
+    }
+
+    static List<Subtopic> subtopicsOf(Roadmap roadmap) {
+        List<Subtopic> subtopics = new ArrayList<>();
+        for (Topic topic : roadmap.getTopics()) {
+            subtopics.addAll(topic.getSubtopics());
+        }
+        return subtopics;
+    }
+
+    /**
+     * Whether this matrix was built from exactly these subtopics, in this order
+     */
+    boolean matches(List<Subtopic> subtopics) {
+        if (subtopics.size() != subtopicIds.length) return false;
+        for (int row = 0; row < subtopicIds.length; row++) {
+            if (subtopics.get(row).getId() != subtopicIds[row]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether every subtopic has an embedding; a matrix built while the embedding service was
+     * failing has zero rows (or no dimension at all) that would silently never match
+     */
+    boolean isComplete() {
+        return missingRows == 0 && (dimension > 0 || subtopicIds.length == 0);
+    }
+
+    int missingRows() {
+        return missingRows;
+    }
+
+    /**
+     * Set the row of every subtopic whose similarity to the normalized query is at least the threshold
+     */
+    void markSimilar(float[] query, double threshold, BitSet rows) {
+        if (query.length != dimension || dimension == 0) return;
+        if (quantizedMatrix == null) {
+            for (int row = 0, offset = 0; row < subtopicIds.length; row++, offset += dimension) {
+                if (DotProducts.dot(matrix, offset, query, dimension) >= threshold) {
+                    rows.set(row);
+                }
+            }
+            return;
+        }
+
+        byte[] quantizedQuery = new byte[dimension];
+        float queryScale = quantize(query, 0, dimension, quantizedQuery);
+        for (int row = 0, offset = 0; row < subtopicIds.length; row++, offset += dimension) {
+            float similarity = DotProducts.dot(quantizedMatrix, offset, quantizedQuery, dimension)
+                    * rowScales[row] * queryScale;
+            if (similarity >= threshold) {
+                rows.set(row);
+            }
+        }
+    }
+
+    /**
+     * Symmetric int8 quantization of one vector into target at the same offset; returns its scale
+     */
+    private static float quantize(float[] source, int offset, int length, byte[] target) {
+        float max = 0f;
+        for (int i = 0; i < length; i++) {
+            max = Math.max(max, Math.abs(source[offset + i]));
+        }
+        if (max == 0f) {
+            return 0f;
+        }
+        float scale = max / Byte.MAX_VALUE;
+        for (int i = 0; i < length; i++) {
+            target[offset + i] = (byte) Math.round(source[offset + i] / scale);
+        }
+        return scale;
+    }
+}
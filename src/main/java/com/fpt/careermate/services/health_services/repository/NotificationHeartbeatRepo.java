@@ -2,11 +2,32 @@ package com.fpt.careermate.services.health_services.repository;
 
 import com.fpt.careermate.services.health_services.domain.NotificationHeartbeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface NotificationHeartbeatRepo extends JpaRepository<NotificationHeartbeat, Integer> {
     Optional<NotificationHeartbeat> findByName(String name);
+
+    /**
+     * Add counter deltas in place, so concurrent instances never overwrite each other's counts.
+     * The last error message is kept when {@code lastErrorMessage} is null.
+     * @return number of updated rows (0 if the heartbeat row does not exist yet)
+     */
+    @Modifying
+    @Query("UPDATE NotificationHeartbeat h SET h.messageCount = h.messageCount + :messages, " +
+            "h.errorCount = h.errorCount + :errors, " +
+            "h.lastProcessedAt = :lastProcessedAt, " +
+            "h.lastErrorMessage = COALESCE(:lastErrorMessage, h.lastErrorMessage) " +
+            "WHERE h.name = :name")
+    int addCounts(@Param("name") String name,
+                  @Param("messages") long messages,
+                  @Param("errors") long errors,
+                  @Param("lastProcessedAt") Instant lastProcessedAt,
+                  @Param("lastErrorMessage") String lastErrorMessage);
 }
@@ -1,60 +1,71 @@
 package com.fpt.careermate.services.health_services.service;
 
-import com.fpt.careermate.services.health_services.domain.NotificationHeartbeat;
-import com.fpt.careermate.services.health_services.repository.NotificationHeartbeatRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.Instant;
 
+/**
+ * DOWN when a notification listener container has stopped, or when records are waiting
+ * (consumer lag) but nothing was processed for STALE_THRESHOLD_SECONDS.
+ * A node without traffic stays UP however long it has been idle.
+ */
 @Component("notificationWorker")
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationWorkerHealthIndicator implements HealthIndicator {
 
-    private final NotificationHeartbeatRepo heartbeatRepo;
+    // In-memory heartbeat, so health checks never hit Postgres
+    private final NotificationWorkerMetrics workerMetrics;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
     private static final long STALE_THRESHOLD_SECONDS = 300; // 5 minutes
 
     @Override
     public Health health() {
         try {
-            var heartbeat = heartbeatRepo.findByName("notification-worker");
-            
-            if (heartbeat.isEmpty()) {
-                log.warn("Notification worker health check: No heartbeat record found");
-                return Health.unknown()
-                        .withDetail("message", "No heartbeat record found - worker may not have started")
-                        .build();
+            int containers = 0;
+            for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+                containers++;
+                if (!container.isRunning()) {
+                    log.warn("Notification listener container {} is not running", container.getListenerId());
+                    return Health.down()
+                            .withDetail("listenerId", String.valueOf(container.getListenerId()))
+                            .withDetail("message", "Notification listener container is not running")
+                            .build();
+                }
             }
-            
-            NotificationHeartbeat beat = heartbeat.get();
-            Instant last = beat.getLastProcessedAt();
-            long secondsSinceLastProcess = Duration.between(last, Instant.now()).getSeconds();
-            
-            if (secondsSinceLastProcess > STALE_THRESHOLD_SECONDS) {
-                log.warn("Notification worker is stale. Last processed: {} seconds ago", secondsSinceLastProcess);
-                return Health.down()
-                        .withDetail("lastProcessedSeconds", secondsSinceLastProcess)
-                        .withDetail("lastProcessedAt", last.toString())
-                        .withDetail("messageCount", beat.getMessageCount())
-                        .withDetail("errorCount", beat.getErrorCount())
-                        .withDetail("message", String.format("Worker stale for %d seconds (threshold: %d)", 
-                                secondsSinceLastProcess, STALE_THRESHOLD_SECONDS))
-                        .build();
+
+            Instant last = workerMetrics.getLastProcessedAt();
+            Long secondsSinceLastProcess = last != null ? Duration.between(last, Instant.now()).getSeconds() : null;
+            long lag = workerMetrics.getTotalLag();
+
+            Health.Builder health = Health.up();
+            if (lag > 0 && (secondsSinceLastProcess == null || secondsSinceLastProcess > STALE_THRESHOLD_SECONDS)) {
+                log.warn("Notification worker is stuck. Lag: {}, last processed: {} seconds ago", lag, secondsSinceLastProcess);
+                health = Health.down()
+                        .withDetail("message", String.format("%d records waiting, none processed for %d seconds",
+                                lag, STALE_THRESHOLD_SECONDS));
+            } else {
+                health.withDetail("message", lag > 0 ? "Worker is consuming" : "Worker is caught up");
             }
-            
-            return Health.up()
-                    .withDetail("lastProcessedSeconds", secondsSinceLastProcess)
-                    .withDetail("lastProcessedAt", last.toString())
-                    .withDetail("messageCount", beat.getMessageCount())
-                    .withDetail("errorCount", beat.getErrorCount())
-                    .withDetail("message", "Worker is active")
+
+            return health
+                    .withDetail("listenerContainers", containers)
+                    .withDetail("consumerLag", lag)
+                    .withDetail("lastProcessedSeconds", secondsSinceLastProcess != null ? secondsSinceLastProcess : -1)
+                    .withDetail("lastProcessedAt", last != null ? last.toString() : "never")
+                    .withDetail("messageCount", workerMetrics.getMessageCount())
+                    .withDetail("errorCount", workerMetrics.getErrorCount())
+                    .withDetail("messagesPerSecond", workerMetrics.getMessagesPerSecond())
+                    .withDetail("errorRate", workerMetrics.getErrorRate())
                     .build();
-                    
+
         } catch (Exception e) {
             log.error("Notification worker health check failed", e);
             return Health.down(e)
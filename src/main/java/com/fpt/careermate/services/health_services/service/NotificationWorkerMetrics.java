@@ -0,0 +1,238 @@
+package com.fpt.careermate.services.health_services.service;
+
+import com.fpt.careermate.services.health_services.domain.NotificationHeartbeat;
+import com.fpt.careermate.services.health_services.repository.NotificationHeartbeatRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory liveness and throughput meters of the notification worker.
+ * Consumer threads only bump lock-free counters; the totals are flushed to the
+ * notification_heartbeat row periodically, and health checks read them from memory.
+ * Exposed through actuator/Prometheus as careermate.notification.worker.* and
+ * careermate.notification.consumer.lag (per topic).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationWorkerMetrics {
+
+    public static final String WORKER_NAME = "notification-worker";
+
+    private final NotificationHeartbeatRepo heartbeatRepo;
+    private final MeterRegistry meterRegistry;
+
+    // Totals since startup, on top of the persisted totals loaded at startup
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long persistedMessages;
+    private volatile long persistedErrors;
+
+    // Deltas not yet written to the heartbeat row
+    private final LongAdder pendingMessages = new LongAdder();
+    private final LongAdder pendingErrors = new LongAdder();
+    private volatile String pendingErrorMessage;
+
+    private volatile Instant lastProcessedAt;
+    private volatile String lastErrorMessage;
+
+    // Rates over the last flush interval
+    private volatile double messagesPerSecond;
+    private volatile double errorRate;
+    private volatile long lastFlushNanos = System.nanoTime();
+
+    private final Map<TopicPartition, Long> partitionLag = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> lagGauges = new ConcurrentHashMap<>();
+
+    private Counter successCounter;
+    private Counter failureCounter;
+
+    @PostConstruct
+    public void init() {
+        successCounter = Counter.builder("careermate.notification.worker.messages")
+                .tag("result", "success")
+                .register(meterRegistry);
+        failureCounter = Counter.builder("careermate.notification.worker.messages")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        Gauge.builder("careermate.notification.worker.throughput", this, m -> m.messagesPerSecond)
+                .description("Messages consumed per second over the last flush interval")
+                .register(meterRegistry);
+        Gauge.builder("careermate.notification.worker.error.rate", this, m -> m.errorRate)
+                .description("Failed / consumed messages over the last flush interval")
+                .register(meterRegistry);
+        Gauge.builder("careermate.notification.worker.last.processed.age", this,
+                        NotificationWorkerMetrics::secondsSinceLastProcessed)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        // Seed liveness from the persisted heartbeat so a restart does not look like a dead worker
+        try {
+            heartbeatRepo.findByName(WORKER_NAME).ifPresent(heartbeat -> {
+                lastProcessedAt = heartbeat.getLastProcessedAt();
+                lastErrorMessage = heartbeat.getLastErrorMessage();
+                persistedMessages = heartbeat.getMessageCount();
+                persistedErrors = heartbeat.getErrorCount();
+            });
+        } catch (Exception e) {
+            log.warn("Could not load notification worker heartbeat: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Record the outcome of one consumed batch
+     */
+    public void recordBatch(int processed, int failed, String errorMessage) {
+        int total = processed + failed;
+        messages.add(total);
+        pendingMessages.add(total);
+        successCounter.increment(processed);
+        if (failed > 0) {
+            errors.add(failed);
+            pendingErrors.add(failed);
+            failureCounter.increment(failed);
+            lastErrorMessage = errorMessage;
+            pendingErrorMessage = errorMessage;
+        }
+        lastProcessedAt = Instant.now();
+    }
+
+    /**
+     * Record consumer lag of the partitions assigned to a listener thread.
+     * Uses the lag the consumer cached from its last fetch, so there is no broker round trip;
+     * a partition whose lag is not known yet is left out rather than reported with an old value.
+     * Must be called on the listener thread (KafkaConsumer is not thread-safe).
+     */
+    public void recordLag(Consumer<?, ?> consumer) {
+        try {
+            for (TopicPartition partition : consumer.assignment()) {
+                OptionalLong lag = consumer.currentLag(partition);
+                if (lag.isPresent()) {
+                    partitionLag.put(partition, lag.getAsLong());
+                    registerLagGauge(partition.topic());
+                } else {
+                    partitionLag.remove(partition);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Could not read consumer lag: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Forget the lag of partitions this node no longer owns, so a rebalance does not leave
+     * another node's backlog in the gauge and the health check.
+     * Called from the consumer rebalance listener on revocation and on loss.
+     */
+    public void partitionsRevoked(Collection<TopicPartition> partitions) {
+        partitions.forEach(partitionLag::remove);
+    }
+
+    private void registerLagGauge(String topic) {
+        lagGauges.computeIfAbsent(topic, t -> {
+            Gauge.builder("careermate.notification.consumer.lag", partitionLag, lags -> lags.entrySet().stream()
+                            .filter(entry -> entry.getKey().topic().equals(t))
+                            .mapToLong(Map.Entry::getValue)
+                            .sum())
+                    .tag("topic", t)
+                    .description("Records behind the log end offset, summed over partitions")
+                    .register(meterRegistry);
+            return true;
+        });
+    }
+
+    public Instant getLastProcessedAt() {
+        return lastProcessedAt;
+    }
+
+    public String getLastErrorMessage() {
+        return lastErrorMessage;
+    }
+
+    public long getMessageCount() {
+        return persistedMessages + messages.sum();
+    }
+
+    public long getErrorCount() {
+        return persistedErrors + errors.sum();
+    }
+
+    public double getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Records behind the log end offset over all assigned partitions, as of each partition's last batch
+     */
+    public long getTotalLag() {
+        return partitionLag.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private double secondsSinceLastProcessed() {
+        Instant last = lastProcessedAt;
+        return last == null ? Double.NaN : Duration.between(last, Instant.now()).toSeconds();
+    }
+
+    /**
+     * Write pending deltas to the heartbeat row and refresh the interval rates.
+     * Nothing is written when no message was consumed since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.heartbeat-flush-interval-ms:30000}")
+    @Transactional
+    public void flush() {
+        long now = System.nanoTime();
+        double seconds = Math.max((now - lastFlushNanos) / 1e9, 1e-3);
+        lastFlushNanos = now;
+
+        long messageDelta = pendingMessages.sumThenReset();
+        long errorDelta = pendingErrors.sumThenReset();
+        messagesPerSecond = messageDelta / seconds;
+        errorRate = messageDelta == 0 ? 0.0 : (double) errorDelta / messageDelta;
+
+        if (messageDelta == 0) {
+            return;
+        }
+        String errorMessage = pendingErrorMessage;
+        pendingErrorMessage = null;
+        Instant processedAt = lastProcessedAt != null ? lastProcessedAt : Instant.now();
+
+        try {
+            int updated = heartbeatRepo.addCounts(WORKER_NAME, messageDelta, errorDelta, processedAt, errorMessage);
+            if (updated == 0) {
+                heartbeatRepo.save(NotificationHeartbeat.builder()
+                        .name(WORKER_NAME)
+                        .lastProcessedAt(processedAt)
+                        .messageCount(messageDelta)
+                        .errorCount(errorDelta)
+                        .lastErrorMessage(errorMessage)
+                        .build());
+            }
+        } catch (Exception e) {
+            // Keep the deltas for the next flush
+            pendingMessages.add(messageDelta);
+            pendingErrors.add(errorDelta);
+            log.error("Failed to flush notification worker heartbeat", e);
+        }
+    }
+}
@@ -15,6 +15,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity(name = "job_apply")
+@Table(indexes = {
+    // Monthly apply quota counts per candidate
+    @Index(name = "idx_job_apply_candidate_create_at", columnList = "candidate_id, create_at")
+})
 public class JobApply {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,46 @@
+package com.fpt.careermate.services.job_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Number of job postings / applications of a recruiter currently in a given status.
+ * Maintained incrementally by RecruiterStatsRollup whenever a status changes,
+ * so the recruiter dashboard is a single keyed read instead of one COUNT per status.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity(name = "recruiter_status_count")
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = "uk_recruiter_status_count", columnNames = {"recruiter_id", "kind", "status"})
+})
+public class RecruiterStatusCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Integer id;
+
+    @Column(name = "recruiter_id", nullable = false)
+    int recruiterId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    Kind kind;
+
+    // StatusJobPosting value or StatusJobApply name
+    @Column(nullable = false, length = 30)
+    String status;
+
+    @Column(name = "status_count", nullable = false)
+    long statusCount;
+
+    public enum Kind {
+        POSTING,
+        APPLICATION
+    }
+}
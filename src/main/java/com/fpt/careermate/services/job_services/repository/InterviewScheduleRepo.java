@@ -4,12 +4,14 @@ import com.fpt.careermate.common.constant.InterviewStatus;
 import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
 import com.fpt.careermate.services.job_services.domain.JobApply;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -234,6 +236,62 @@ public interface InterviewScheduleRepo extends JpaRepository<InterviewSchedule,
                                                           @Param("endTime") LocalDateTime endTime,
                                                           @Param("is24h") boolean is24hReminder);
 
+    /**
+     * Claim due 24h reminders: marks up to {@code limit} of them as sent and returns their ids.
+     * Rows locked by another instance's claim are skipped, so each reminder is claimed once.
+     * Must run inside a read-write transaction.
+     */
+    @Query(value = "UPDATE interview_schedule SET reminder_sent24h = true " +
+           "WHERE id IN (SELECT i.id FROM interview_schedule i " +
+           "WHERE i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND i.reminder_sent24h = false " +
+           "AND i.scheduled_date BETWEEN :startTime AND :endTime " +
+           "ORDER BY i.scheduled_date " +
+           "LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+           "RETURNING id", nativeQuery = true)
+    List<Integer> claimReminders24h(@Param("startTime") LocalDateTime startTime,
+                                    @Param("endTime") LocalDateTime endTime,
+                                    @Param("limit") int limit);
+
+    /**
+     * Claim due 2h reminders (see {@link #claimReminders24h})
+     */
+    @Query(value = "UPDATE interview_schedule SET reminder_sent2h = true " +
+           "WHERE id IN (SELECT i.id FROM interview_schedule i " +
+           "WHERE i.status IN ('SCHEDULED', 'CONFIRMED') " +
+           "AND i.reminder_sent2h = false " +
+           "AND i.scheduled_date BETWEEN :startTime AND :endTime " +
+           "ORDER BY i.scheduled_date " +
+           "LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+           "RETURNING id", nativeQuery = true)
+    List<Integer> claimReminders2h(@Param("startTime") LocalDateTime startTime,
+                                   @Param("endTime") LocalDateTime endTime,
+                                   @Param("limit") int limit);
+
+    /**
+     * Give back claimed 24h reminders whose notifications could not be published
+     */
+    @Modifying
+    @Query("UPDATE interview_schedule i SET i.reminderSent24h = false WHERE i.id IN :ids")
+    int releaseReminders24h(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("UPDATE interview_schedule i SET i.reminderSent2h = false WHERE i.id IN :ids")
+    int releaseReminders2h(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Load interviews with everything a reminder notification needs
+     */
+    @Query("SELECT i FROM interview_schedule i " +
+           "JOIN FETCH i.jobApply ja " +
+           "JOIN FETCH ja.candidate c " +
+           "JOIN FETCH c.account " +
+           "JOIN FETCH ja.jobPosting jp " +
+           "JOIN FETCH jp.recruiter r " +
+           "JOIN FETCH r.account " +
+           "WHERE i.id IN :ids")
+    List<InterviewSchedule> findAllWithDetailsByIdIn(@Param("ids") Collection<Integer> ids);
+
     /**
      * Find interviews by recruiter (through job posting)
      */
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +45,24 @@ public interface JobApplyRepo extends JpaRepository<JobApply, Integer> {
                      @Param("month") int month,
                      @Param("year") int year);
 
+       /**
+        * Applications of a candidate created in [from, to); a range predicate, so it can use
+        * idx_job_apply_candidate_create_at
+        */
+       @Query(value = "SELECT COUNT(*) FROM job_apply a WHERE a.candidate_id = :candidateId " +
+                     "AND a.create_at >= :from AND a.create_at < :to", nativeQuery = true)
+       int countByCandidateInPeriod(@Param("candidateId") int candidateId,
+                     @Param("from") LocalDateTime from,
+                     @Param("to") LocalDateTime to);
+
+       /**
+        * Applications per candidate created in [from, to): rows of [candidateId, count]
+        */
+       @Query(value = "SELECT a.candidate_id, COUNT(*) FROM job_apply a " +
+                     "WHERE a.create_at >= :from AND a.create_at < :to GROUP BY a.candidate_id", nativeQuery = true)
+       List<Object[]> countPerCandidateInPeriod(@Param("from") LocalDateTime from,
+                     @Param("to") LocalDateTime to);
+
        /**
         * Find all pending applications for a candidate.
         * Used for statistics and UI display.
@@ -65,6 +84,11 @@ public interface JobApplyRepo extends JpaRepository<JobApply, Integer> {
        @Query("SELECT COUNT(ja) FROM job_apply ja WHERE ja.jobPosting.recruiter.id = :recruiterId AND ja.status = :status")
        long countByRecruiterIdAndStatus(@Param("recruiterId") int recruiterId, @Param("status") StatusJobApply status);
 
+       // Rows of [recruiterId, status, count], used to verify the recruiter dashboard rollup
+       @Query("SELECT ja.jobPosting.recruiter.id, ja.status, COUNT(ja) FROM job_apply ja " +
+                     "GROUP BY ja.jobPosting.recruiter.id, ja.status")
+       List<Object[]> countGroupByRecruiterAndStatus();
+
        // Find applications for all job postings of a recruiter
        @Query("SELECT ja FROM job_apply ja WHERE ja.jobPosting.recruiter.id = :recruiterId ORDER BY ja.createAt DESC")
        List<JobApply> findByRecruiterId(@Param("recruiterId") int recruiterId);
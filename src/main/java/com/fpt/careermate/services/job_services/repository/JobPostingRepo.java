@@ -54,6 +54,10 @@ public interface JobPostingRepo extends JpaRepository<JobPosting, Integer> {
 
     long countByRecruiterIdAndStatus(int recruiterId, String status);
 
+    // Rows of [recruiterId, status, count], used to verify the recruiter dashboard rollup
+    @Query("SELECT jp.recruiter.id, jp.status, COUNT(jp) FROM job_posting jp GROUP BY jp.recruiter.id, jp.status")
+    List<Object[]> countGroupByRecruiterAndStatus();
+
     Page<JobPosting> findAllByStatusAndRecruiter_VerificationStatus(
             String status, String verificationStatus, Pageable pageable
     );
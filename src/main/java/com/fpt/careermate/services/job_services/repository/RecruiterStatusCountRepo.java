@@ -0,0 +1,42 @@
+package com.fpt.careermate.services.job_services.repository;
+
+import com.fpt.careermate.services.job_services.domain.RecruiterStatusCount;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecruiterStatusCountRepo extends JpaRepository<RecruiterStatusCount, Integer> {
+
+    List<RecruiterStatusCount> findByRecruiterId(int recruiterId);
+
+    // Atomic increment/decrement; joins the caller's transaction so it commits with the status change
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO recruiter_status_count (recruiter_id, kind, status, status_count) " +
+            "VALUES (:recruiterId, :kind, :status, :delta) " +
+            "ON CONFLICT (recruiter_id, kind, status) " +
+            "DO UPDATE SET status_count = recruiter_status_count.status_count + EXCLUDED.status_count",
+            nativeQuery = true)
+    void addToCount(@Param("recruiterId") int recruiterId,
+                    @Param("kind") String kind,
+                    @Param("status") String status,
+                    @Param("delta") long delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO recruiter_status_count (recruiter_id, kind, status, status_count) " +
+            "VALUES (:recruiterId, :kind, :status, :count) " +
+            "ON CONFLICT (recruiter_id, kind, status) " +
+            "DO UPDATE SET status_count = EXCLUDED.status_count",
+            nativeQuery = true)
+    void setCount(@Param("recruiterId") int recruiterId,
+                  @Param("kind") String kind,
+                  @Param("status") String status,
+                  @Param("count") long count);
+}
@@ -1,6 +1,7 @@
 package com.fpt.careermate.services.job_services.service;
 
 import com.fpt.careermate.common.response.AdminPageResponse;
+import com.fpt.careermate.common.util.RedisCacheNamespace;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -23,9 +24,11 @@ import java.util.concurrent.TimeUnit;
 public class AdminJobPostingRedisService {
 
     RedisTemplate<String, Object> redisTemplate;
+    RedisCacheNamespace redisCacheNamespace;
 
     // Cache key prefix for admin job postings
     private static final String ADMIN_LIST_PREFIX = "job_posting:admin:list:";
+    private static final String ADMIN_LIST_TAG = "job_posting:admin:list";
     private static final String PENDING_JOBS_KEY = "job_posting:admin:pending";
 
     // List cache TTL: 5 minutes (shorter because list changes more often)
@@ -113,7 +116,7 @@ public class AdminJobPostingRedisService {
             // Convert Spring Page to AdminPageResponse for serialization
             AdminPageResponse<?> adminPageResponse = AdminPageResponse.from(response);
 
-            redisTemplate.opsForValue().set(key, adminPageResponse, LIST_TTL, LIST_TTL_UNIT);
+            redisCacheNamespace.put(key, adminPageResponse, LIST_TTL, LIST_TTL_UNIT, ADMIN_LIST_TAG);
         } catch (Exception e) {
             log.error("Error saving admin job posting list to cache: {}", e.getMessage());
         }
@@ -125,11 +128,7 @@ public class AdminJobPostingRedisService {
      */
     public void clearAllAdminListCache() {
         try {
-            String pattern = ADMIN_LIST_PREFIX + "*";
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            redisCacheNamespace.invalidate(ADMIN_LIST_TAG);
         } catch (Exception e) {
             log.error("Error clearing admin list cache: {}", e.getMessage());
         }
@@ -199,5 +198,18 @@ public class AdminJobPostingRedisService {
             log.error("Error clearing pending jobs cache: {}", e.getMessage());
         }
     }
-}
 
+    /**
+     * Same as {@link #clearAllAdminListCache()}, but Redis errors are thrown, so the outbox relay can retry
+     */
+    public void invalidateAdminLists() {
+        redisCacheNamespace.invalidate(ADMIN_LIST_TAG);
+    }
+
+    /**
+     * Same as {@link #clearPendingJobsCache()}, but Redis errors are thrown, so the outbox relay can retry
+     */
+    public void invalidatePendingJobs() {
+        redisTemplate.delete(PENDING_JOBS_KEY);
+    }
+}
@@ -1,11 +1,20 @@
 package com.fpt.careermate.services.job_services.service;
 
 import com.fpt.careermate.common.response.PageResponse;
+import com.fpt.careermate.common.util.LocalLruCache;
+import com.fpt.careermate.common.util.RedisCacheNamespace;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.TimeUnit;
@@ -13,6 +22,8 @@ import java.util.concurrent.TimeUnit;
 /**
  * Redis caching service for Candidate Job Posting operations
  * Handles caching for public/candidate job posting queries
+ * Two tiers: a bounded in-process LRU (near cache) in front of Redis. Local tiers on all nodes
+ * are cleared through a Redis pub/sub message whenever the list cache is invalidated.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,14 +32,58 @@ import java.util.concurrent.TimeUnit;
 public class CandidateJobPostingRedisService {
 
     RedisTemplate<String, Object> redisTemplate;
+    RedisCacheNamespace redisCacheNamespace;
+    RedisMessageListenerContainer redisMessageListenerContainer;
+    MeterRegistry meterRegistry;
 
     // Cache key prefix for candidate (public) job postings
     private static final String CANDIDATE_LIST_PREFIX = "job_posting:candidate:list:";
 
+    // Tag tracking every candidate list page
+    private static final String CANDIDATE_LIST_TAG = "job_posting:candidate:list";
+
     // List cache TTL: 5 minutes (shorter because list changes more often)
     private static final long LIST_TTL = 5;
     private static final TimeUnit LIST_TTL_UNIT = TimeUnit.MINUTES;
 
+    // Near cache: hot pages kept in-process for a short time, bounded by entry count
+    private static final int LOCAL_MAX_ENTRIES = 200;
+    private static final long LOCAL_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    // Pub/sub channel telling every node to drop its local tier
+    private static final String INVALIDATION_CHANNEL = "cache:invalidate:job_posting:candidate:list";
+
+    LocalLruCache<PageResponse<?>> localCache = new LocalLruCache<>(LOCAL_MAX_ENTRIES, LOCAL_TTL_MILLIS);
+
+    @NonFinal Counter localHits;
+    @NonFinal Counter localMisses;
+    @NonFinal Counter redisHits;
+    @NonFinal Counter redisMisses;
+
+    @PostConstruct
+    void init() {
+        localHits = cacheCounter("local", "hit");
+        localMisses = cacheCounter("local", "miss");
+        redisHits = cacheCounter("redis", "hit");
+        redisMisses = cacheCounter("redis", "miss");
+        meterRegistry.gauge("careermate.cache.local.size",
+                Tags.of("cache", "candidate_job_list"),
+                localCache, LocalLruCache::size);
+
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> localCache.clear(),
+                new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    private Counter cacheCounter(String tier, String result) {
+        return Counter.builder("careermate.cache.requests")
+                .description("Candidate job posting list cache lookups per tier")
+                .tag("cache", "candidate_job_list")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
     /**
      * Generate cache key for candidate (public) job posting list
      * @param page page number
@@ -52,12 +107,24 @@ public class CandidateJobPostingRedisService {
     public PageResponse<?> getCandidateListFromCache(int page, int size, String keyword) {
         try {
             String key = getCandidateListCacheKey(page, size, keyword);
+
+            // Near tier: no network round trip and no deserialization
+            PageResponse<?> local = localCache.get(key);
+            if (local != null) {
+                localHits.increment();
+                return local;
+            }
+            localMisses.increment();
+
+            long generation = localCache.generation();
             Object cached = redisTemplate.opsForValue().get(key);
 
             if (cached != null) {
                 // Check if it's the right type before casting
                 if (cached instanceof PageResponse) {
                     PageResponse<?> result = (PageResponse<?>) cached;
+                    redisHits.increment();
+                    localCache.put(key, result, generation);
 
                     return result;
                 } else {
@@ -67,6 +134,7 @@ public class CandidateJobPostingRedisService {
                 }
             }
 
+            redisMisses.increment();
             return null;
 
         } catch (ClassCastException e) {
@@ -95,7 +163,9 @@ public class CandidateJobPostingRedisService {
     public void saveCandidateListToCache(int page, int size, String keyword, PageResponse<?> response) {
         try {
             String key = getCandidateListCacheKey(page, size, keyword);
-            redisTemplate.opsForValue().set(key, response, LIST_TTL, LIST_TTL_UNIT);
+            long generation = localCache.generation();
+            redisCacheNamespace.put(key, response, LIST_TTL, LIST_TTL_UNIT, CANDIDATE_LIST_TAG);
+            localCache.put(key, response, generation);
         } catch (Exception e) {
             log.error("Error saving candidate job posting list to cache: {}", e.getMessage());
         }
@@ -107,14 +177,20 @@ public class CandidateJobPostingRedisService {
      */
     public void clearAllCandidateListCache() {
         try {
-            String pattern = CANDIDATE_LIST_PREFIX + "*";
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            invalidateCandidateLists();
         } catch (Exception e) {
             log.error("Error clearing candidate list cache: {}", e.getMessage());
         }
     }
+
+    /**
+     * Same as {@link #clearAllCandidateListCache()}, but Redis errors are thrown, so the outbox relay can retry
+     */
+    public void invalidateCandidateLists() {
+        localCache.clear();
+        redisCacheNamespace.invalidate(CANDIDATE_LIST_TAG);
+        // Other nodes drop their local tier on this message (this node receives it too)
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, "clear");
+    }
 }
 
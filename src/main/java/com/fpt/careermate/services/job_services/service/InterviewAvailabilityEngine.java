@@ -0,0 +1,123 @@
+package com.fpt.careermate.services.job_services.service;
+
+import com.fpt.careermate.common.util.LocalLruCache;
+import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
+import com.fpt.careermate.services.job_services.repository.InterviewScheduleRepo;
+import com.fpt.careermate.services.job_services.repository.RecruiterWorkingHoursRepo;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and caches per-recruiter {@link RecruiterAvailabilityIndex}es.
+ * A recruiter's index is loaded with two queries (working hours, interviews in range) and then
+ * answers slots, dates and conflicts for any range it covers. Interview changes are applied to a
+ * cached index in place after their transaction commits; the TTL bounds staleness from writes
+ * on other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class InterviewAvailabilityEngine {
+
+    RecruiterWorkingHoursRepo workingHoursRepo;
+    InterviewScheduleRepo interviewScheduleRepo;
+
+    private static final int MAX_CACHED_RECRUITERS = 500;
+    private static final long CACHE_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+    // Extra days loaded past the requested range, so follow-up calendar views hit the cache
+    private static final int LOOKAHEAD_DAYS = 31;
+    // Ranges wider than this are loaded as requested instead of merged with the cached range
+    private static final int MAX_MERGED_RANGE_DAYS = 366;
+
+    LocalLruCache<RecruiterAvailabilityIndex> indexes = new LocalLruCache<>(MAX_CACHED_RECRUITERS, CACHE_TTL_MS);
+
+    /**
+     * Index of a recruiter covering [from, to], loaded if the cached one does not cover it.
+     * Call inside a (read-only) transaction.
+     */
+    public RecruiterAvailabilityIndex forRange(Integer recruiterId, LocalDate from, LocalDate to) {
+        String key = cacheKey(recruiterId);
+        long generation = indexes.generation();
+        RecruiterAvailabilityIndex cached = indexes.get(key);
+        if (cached != null && cached.covers(from, to)) {
+            return cached;
+        }
+
+        LocalDate loadFrom = from;
+        LocalDate loadTo = to.plusDays(LOOKAHEAD_DAYS);
+        if (cached != null) {
+            LocalDate mergedFrom = cached.getLoadedFrom().isBefore(loadFrom) ? cached.getLoadedFrom() : loadFrom;
+            LocalDate mergedTo = cached.getLoadedTo().isAfter(loadTo) ? cached.getLoadedTo() : loadTo;
+            if (ChronoUnit.DAYS.between(mergedFrom, mergedTo) <= MAX_MERGED_RANGE_DAYS) {
+                loadFrom = mergedFrom;
+                loadTo = mergedTo;
+            }
+        }
+
+        RecruiterAvailabilityIndex loaded = new RecruiterAvailabilityIndex(recruiterId, loadFrom, loadTo,
+                workingHoursRepo.findByRecruiterId(recruiterId),
+                interviewScheduleRepo.findByRecruiterIdAndDateRange(recruiterId, loadFrom, loadTo));
+        indexes.put(key, loaded, generation);
+        log.debug("Loaded availability index for recruiter {} from {} to {}", recruiterId, loadFrom, loadTo);
+        return loaded;
+    }
+
+    /**
+     * Apply a created, rescheduled or cancelled interview to the cached index once the
+     * current transaction commits
+     */
+    public void onInterviewChanged(InterviewSchedule interview) {
+        if (interview.getCreatedByRecruiter() == null || interview.getScheduledDate() == null) {
+            return;
+        }
+        Integer recruiterId = interview.getCreatedByRecruiter().getId();
+        RecruiterAvailabilityIndex.Booking booking = RecruiterAvailabilityIndex.Booking.of(interview);
+        afterCommit(() -> {
+            RecruiterAvailabilityIndex cached = indexes.get(cacheKey(recruiterId));
+            if (cached == null) {
+                return;
+            }
+            LocalDate date = booking.start().toLocalDate();
+            if (cached.covers(date, date)) {
+                cached.upsert(booking);
+            } else {
+                // Moved outside the loaded range: drop any stale copy
+                cached.remove(booking.interviewId());
+            }
+        });
+    }
+
+    /**
+     * Drop a recruiter's index once the current transaction commits (e.g. working hours changed)
+     */
+    public void invalidate(Integer recruiterId) {
+        afterCommit(() -> indexes.invalidate(cacheKey(recruiterId)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String cacheKey(Integer recruiterId) {
+        return String.valueOf(recruiterId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.fpt.careermate.services.job_services.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-run meters of the interview reminder dispatch, tagged by reminder type (24_HOUR, 2_HOUR):
+ * careermate.interview.reminder.claimed / sent / failed (counters) and
+ * careermate.interview.reminder.late (how long after its nominal time a reminder was published).
+ */
+@Component
+@RequiredArgsConstructor
+public class InterviewReminderMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordRun(String reminderType, int claimed, int sent, int failed) {
+        counter("careermate.interview.reminder.claimed", reminderType).increment(claimed);
+        counter("careermate.interview.reminder.sent", reminderType).increment(sent);
+        counter("careermate.interview.reminder.failed", reminderType).increment(failed);
+    }
+
+    /**
+     * Record the delay between when a reminder was due and when it was published
+     */
+    public void recordLateness(String reminderType, Duration lateBy) {
+        DistributionSummary.builder("careermate.interview.reminder.late")
+                .baseUnit("seconds")
+                .tag("type", reminderType)
+                .register(meterRegistry)
+                .record(Math.max(0, lateBy.toSeconds()));
+    }
+
+    private Counter counter(String name, String reminderType) {
+        return Counter.builder(name)
+                .tag("type", reminderType)
+                .register(meterRegistry);
+    }
+}
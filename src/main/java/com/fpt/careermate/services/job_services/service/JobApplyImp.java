@@ -5,7 +5,7 @@ import com.fpt.careermate.common.constant.StatusJobApply;
 import com.fpt.careermate.common.response.PageResponse;
 import com.fpt.careermate.common.util.SecurityUtil;
 import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.PrincipalContext;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
 import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
 import com.fpt.careermate.services.job_services.domain.JobApply;
@@ -24,8 +24,8 @@ import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
 import com.fpt.careermate.services.kafka.producer.NotificationProducer;
+import com.fpt.careermate.services.order_services.service.CandidateApplyQuotaCounter;
 import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
-import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
 import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -58,11 +58,13 @@ public class JobApplyImp implements JobApplyService {
         CandidateRepo candidateRepo;
         JobApplyMapper jobApplyMapper;
         NotificationProducer notificationProducer;
-        AuthenticationImp authenticationImp;
-        RecruiterRepo recruiterRepo;
+        PrincipalContext principalContext;
         InterviewScheduleRepo interviewScheduleRepo;
         SecurityUtil securityUtil;
         EmploymentVerificationRepo employmentVerificationRepo;
+        CandidateApplyQuotaCounter candidateApplyQuotaCounter;
+        RecruiterStatsRollup recruiterStatsRollup;
+        InterviewAvailabilityEngine availabilityEngine;
 
         @Override
         @Transactional
@@ -112,14 +114,16 @@ public class JobApplyImp implements JobApplyService {
                                 .phoneNumber(request.getPhoneNumber())
                                 .preferredWorkLocation(request.getPreferredWorkLocation())
                                 .coverLetter(request.getCoverLetter())
-                                .status(StatusJobApply.SUBMITTED)
                                 .createAt(LocalDateTime.now())
                                 .build();
+                recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.SUBMITTED);
 
                 // Flush early so we don't send notifications for a DB write that later fails on commit
                 JobApply savedJobApply = jobApplyRepo.saveAndFlush(jobApply);
                 log.info("Job application created with ID: {} for job: {}", savedJobApply.getId(),
                                 jobPosting.getTitle());
+                // Monthly apply quota counter, incremented once the transaction commits
+                candidateApplyQuotaCounter.recordApply(candidate.getCandidateId(), savedJobApply.getCreateAt());
 
                 // Send notification to recruiter about new application
                 try {
@@ -223,7 +227,7 @@ public class JobApplyImp implements JobApplyService {
                 // The platform's role is to connect, not enforce employment exclusivity
 
                 // Update status and relevant timestamps
-                jobApply.setStatus(status);
+                recruiterStatsRollup.changeStatus(jobApply, status);
                 jobApply.setStatusChangedAt(LocalDateTime.now());
 
                 // Auto-set timestamps based on status
@@ -275,6 +279,7 @@ public class JobApplyImp implements JobApplyService {
         public void deleteJobApply(int id) {
                 JobApply jobApply = jobApplyRepo.findById(id)
                                 .orElseThrow(() -> new AppException(ErrorCode.JOB_POSTING_NOT_FOUND));
+                recruiterStatsRollup.applicationRemoved(jobApply);
                 jobApplyRepo.delete(jobApply);
         }
 
@@ -806,6 +811,7 @@ public class JobApplyImp implements JobApplyService {
                                                                         "Cancelled: Candidate withdrew application. Previous status: %s",
                                                                         previousStatus));
                                                         interviewScheduleRepo.save(interview);
+                                                        availabilityEngine.onInterviewChanged(interview);
 
                                                         log.info("🗓️ Cancelled interview {} for withdrawn application {} (was: {})",
                                                                         interview.getId(), application.getId(),
@@ -888,6 +894,7 @@ public class JobApplyImp implements JobApplyService {
                                                                         "Cancelled: Application was rejected. Previous status: %s",
                                                                         previousStatus));
                                                         interviewScheduleRepo.save(interview);
+                                                        availabilityEngine.onInterviewChanged(interview);
 
                                                         log.info("🗓️ Cancelled interview {} for rejected application {} (was: {})",
                                                                         interview.getId(), application.getId(),
@@ -951,8 +958,7 @@ public class JobApplyImp implements JobApplyService {
 
         // Get current recruiter helper method
         private Recruiter getMyRecruiter() {
-                Account currentAccount = authenticationImp.findByEmail();
-                Recruiter recruiter = recruiterRepo.findByAccount_Id(currentAccount.getId())
+                Recruiter recruiter = principalContext.currentRecruiter()
                                 .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
 
                 // Check if recruiter is verified (APPROVED status)
@@ -1043,7 +1049,7 @@ public class JobApplyImp implements JobApplyService {
                 StatusJobApply previousStatus = jobApply.getStatus();
                 
                 // Update to WORKING status
-                jobApply.setStatus(StatusJobApply.WORKING);
+                recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.WORKING);
                 jobApply.setStatusChangedAt(LocalDateTime.now());
                 jobApply.setHiredAt(LocalDateTime.now());
                 jobApply.setLastContactAt(LocalDateTime.now());
@@ -1123,7 +1129,7 @@ public class JobApplyImp implements JobApplyService {
 
                 StatusJobApply previousStatus = jobApply.getStatus();
 
-                jobApply.setStatus(StatusJobApply.TERMINATED);
+                recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.TERMINATED);
                 jobApply.setStatusChangedAt(LocalDateTime.now());
                 jobApply.setLeftAt(LocalDateTime.now());
                 jobApply.setLastContactAt(LocalDateTime.now());
@@ -1173,7 +1179,7 @@ public class JobApplyImp implements JobApplyService {
                 StatusJobApply previousStatus = jobApply.getStatus();
                 
                 // Update to WITHDRAWN status (candidate declined)
-                jobApply.setStatus(StatusJobApply.WITHDRAWN);
+                recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.WITHDRAWN);
                 jobApply.setStatusChangedAt(LocalDateTime.now());
                 jobApply.setLastContactAt(LocalDateTime.now());
                 
@@ -0,0 +1,50 @@
+package com.fpt.careermate.services.job_services.service;
+
+import com.fpt.careermate.services.outbox_services.service.OutboxHandler;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts job posting caches after the change that made them stale has committed
+ * (evicting earlier lets a concurrent read cache the old state again)
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JobPostingCacheEvictionHandler implements OutboxHandler<JobPostingOutbox.CacheEviction> {
+
+    RecruiterJobPostingRedisService recruiterJobPostingRedisService;
+    CandidateJobPostingRedisService candidateJobPostingRedisService;
+    AdminJobPostingRedisService adminJobPostingRedisService;
+
+    @Override
+    public String eventType() {
+        return JobPostingOutbox.CACHE_EVICTION;
+    }
+
+    @Override
+    public Class<JobPostingOutbox.CacheEviction> payloadType() {
+        return JobPostingOutbox.CacheEviction.class;
+    }
+
+    @Override
+    public void handle(String aggregateId, JobPostingOutbox.CacheEviction eviction) {
+        for (Integer jobPostingId : eviction.jobPostingIds()) {
+            recruiterJobPostingRedisService.evictJobPosting(jobPostingId);
+        }
+        for (Integer recruiterId : eviction.recruiterIds()) {
+            recruiterJobPostingRedisService.evictRecruiterLists(recruiterId);
+        }
+        if (eviction.candidateLists()) {
+            candidateJobPostingRedisService.invalidateCandidateLists();
+        }
+        if (eviction.adminLists()) {
+            adminJobPostingRedisService.invalidateAdminLists();
+        }
+        if (eviction.pendingJobs()) {
+            adminJobPostingRedisService.invalidatePendingJobs();
+        }
+    }
+}
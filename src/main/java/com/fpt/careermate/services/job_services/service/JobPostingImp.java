@@ -5,6 +5,7 @@ import com.fpt.careermate.common.constant.StatusJobPosting;
 import com.fpt.careermate.common.constant.StatusRecruiter;
 import com.fpt.careermate.common.response.PageResponse;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.PrincipalContext;
 import com.fpt.careermate.services.job_services.domain.SavedJob;
 import com.fpt.careermate.services.job_services.domain.JobApply;
 import com.fpt.careermate.services.job_services.repository.JdSkillRepo;
@@ -35,9 +36,8 @@ import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.services.email_services.service.impl.EmailService;
 import com.fpt.careermate.services.email_services.service.AsyncEmailService;
-import com.fpt.careermate.services.weaviate_services.service.AsyncWeaviateService;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
-import com.fpt.careermate.services.kafka.producer.NotificationProducer;
+import com.fpt.careermate.services.kafka.producer.NotificationOutbox;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -70,25 +70,27 @@ public class JobPostingImp implements JobPostingService {
 
     JobPostingRepo jobPostingRepo;
     JobApplyRepo jobApplyRepo;
+    RecruiterStatsRollup recruiterStatsRollup;
     RecruiterRepo recruiterRepo;
     AdminRepo adminRepo;
     JdSkillRepo jdSkillRepo;
     JobDescriptionRepo jobDescriptionRepo;
     JobPostingMapper jobPostingMapper;
     AuthenticationImp authenticationImp;
+    PrincipalContext principalContext;
     JobPostingValidator jobPostingValidator;
-    WeaviateImp weaviateImp;
     EmailService emailService;
-    NotificationProducer notificationProducer;
+    NotificationOutbox notificationOutbox;
     SavedJobRepo savedJobRepo;
     AsyncEmailService asyncEmailService;
-    AsyncWeaviateService asyncWeaviateService;
+    JobPostingOutbox jobPostingOutbox;
     RecruiterJobPostingRedisService recruiterJobPostingRedisService;
     AdminJobPostingRedisService adminJobPostingRedisService;
     CandidateJobPostingRedisService candidateJobPostingRedisService;
     JobPostingAuditRepo jobPostingAuditRepo;
 
     // Recruiter create job posting
+    @Transactional
     @PreAuthorize("hasRole('RECRUITER')")
     @Override
     public void createJobPosting(JobPostingCreationRequest request) {
@@ -103,7 +105,7 @@ public class JobPostingImp implements JobPostingService {
         jobPosting.setCreateAt(LocalDate.now());
         jobPosting.setWorkModel(request.getWorkModel().getDisplayName());
         jobPosting.setRecruiter(recruiter);
-        jobPosting.setStatus(StatusJobPosting.PENDING);
+        recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.PENDING);
 
         jobPostingRepo.save(jobPosting);
 
@@ -130,14 +132,8 @@ public class JobPostingImp implements JobPostingService {
         // Save to postgres
         JobPosting savedPostgres = jobPostingRepo.save(jobPosting);
 
-        // Clear list cache for this recruiter (new job posting added)
-        recruiterJobPostingRedisService.clearRecruiterListCache(recruiter.getId());
-
-        // Clear pending jobs cache (new pending job added)
-        adminJobPostingRedisService.clearPendingJobsCache();
-
-        // Clear admin list cache (new job posting affects admin views)
-        adminJobPostingRedisService.clearAllAdminListCache();
+        // Clear recruiter list, pending jobs and admin list caches after commit (new pending job added)
+        jobPostingOutbox.evictCaches(savedPostgres, false, true, true);
 
         // Send notification to admin about new job posting pending approval
         sendJobPostingPendingNotification(savedPostgres);
@@ -251,7 +247,7 @@ public class JobPostingImp implements JobPostingService {
 
             // If expired posting date is being updated, change status to ACTIVE
             if (wasExpired) {
-                jobPosting.setStatus(StatusJobPosting.ACTIVE);
+                recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.ACTIVE);
             }
 
             JobPosting updatedJobPosting = jobPostingRepo.save(jobPosting);
@@ -273,20 +269,14 @@ public class JobPostingImp implements JobPostingService {
                 notifySavedJobCandidatesOfDeadlineChange(jobPosting, oldExpirationDate, request.getExpirationDate());
             }
 
-            // Invalidate cache for this job posting
-            recruiterJobPostingRedisService.deleteFromCache(id);
-            // Clear list cache for this recruiter
-            recruiterJobPostingRedisService.clearRecruiterListCache(jobPosting.getRecruiter().getId());
+            // Invalidate cache for this job posting and the recruiter's lists after commit,
+            // and the candidate lists if job is ACTIVE (publicly visible)
+            boolean active = updatedJobPosting.getStatus().equals(StatusJobPosting.ACTIVE);
+            jobPostingOutbox.evictCaches(updatedJobPosting, active, false, false);
 
-            // Clear candidate list cache if job is ACTIVE (publicly visible)
-            if (updatedJobPosting.getStatus().equals(StatusJobPosting.ACTIVE)) {
-                candidateJobPostingRedisService.clearAllCandidateListCache();
-            }
-
-            // Sync with Weaviate: delete old entry and add updated job
-            if (updatedJobPosting.getStatus().equals(StatusJobPosting.ACTIVE)) {
-                weaviateImp.deleteJobPosting(id);
-                weaviateImp.addJobPostingToWeaviate(updatedJobPosting);
+            // Sync with Weaviate after commit: replace the entry with the updated job
+            if (active) {
+                jobPostingOutbox.syncSearchIndex(id);
             }
             return;
         }
@@ -337,7 +327,7 @@ public class JobPostingImp implements JobPostingService {
 
         // If this was a REJECTED job, set status back to PENDING for admin re-review
         if (wasRejected) {
-            jobPosting.setStatus(StatusJobPosting.PENDING);
+            recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.PENDING);
             jobPosting.setRejectionReason(null);  // Clear the old rejection reason
             log.info("Rejected job posting {} resubmitted for review. Status: REJECTED → PENDING", id);
         }
@@ -350,22 +340,18 @@ public class JobPostingImp implements JobPostingService {
             String.format("title=%s, description=%s", oldTitle, oldDescription),
             String.format("title=%s, description=%s", request.getTitle(), request.getDescription()), 0);
 
-        // Invalidate cache for this job posting
-        recruiterJobPostingRedisService.deleteFromCache(id);
-        // Clear list cache for this recruiter
-        recruiterJobPostingRedisService.clearRecruiterListCache(jobPosting.getRecruiter().getId());
+        // Invalidate cache for this job posting and the recruiter's lists after commit;
+        // if resubmitted, also the pending jobs and admin list caches
+        jobPostingOutbox.evictCaches(updatedJobPosting, false, wasRejected, wasRejected);
 
-        // If resubmitted, clear pending jobs cache and notify admin
+        // If resubmitted, notify admin
         if (wasRejected) {
-            adminJobPostingRedisService.clearPendingJobsCache();
-            adminJobPostingRedisService.clearAllAdminListCache();
             sendJobPostingPendingNotification(updatedJobPosting);
         }
 
-        // Sync with Weaviate: delete old entry and add updated job if it's active
+        // Sync with Weaviate after commit if it's active
         if (updatedJobPosting.getStatus().equals(StatusJobPosting.ACTIVE)) {
-            weaviateImp.deleteJobPosting(id);
-            weaviateImp.addJobPostingToWeaviate(updatedJobPosting);
+            jobPostingOutbox.syncSearchIndex(id);
         }
     }
     
@@ -422,7 +408,7 @@ public class JobPostingImp implements JobPostingService {
                         ))
                         .priority(2)
                         .build();
-                notificationProducer.sendNotification("candidate-notifications", notification);
+                notificationOutbox.sendNotification("candidate-notifications", notification);
             }
             log.info("Sent deadline change notifications to {} applicants for job {}", applications.size(), jobPosting.getId());
         } catch (Exception e) {
@@ -459,7 +445,7 @@ public class JobPostingImp implements JobPostingService {
                         ))
                         .priority(3)
                         .build();
-                notificationProducer.sendNotification("candidate-notifications", notification);
+                notificationOutbox.sendNotification("candidate-notifications", notification);
             }
             log.info("Sent deadline change notifications to {} candidates who saved job {}", savedJobs.size(), jobPosting.getId());
         } catch (Exception e) {
@@ -482,7 +468,7 @@ public class JobPostingImp implements JobPostingService {
         }
 
         // Update status to PAUSED
-        jobPosting.setStatus(StatusJobPosting.PAUSED);
+        recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.PAUSED);
         JobPosting updatedJobPosting = jobPostingRepo.save(jobPosting);
 
         // Create audit log
@@ -490,13 +476,11 @@ public class JobPostingImp implements JobPostingService {
             StatusJobPosting.ACTIVE, StatusJobPosting.PAUSED, 
             jobApplyRepo.countByJobPostingId(jobPosting.getId()));
 
-        // Invalidate cache
-        recruiterJobPostingRedisService.deleteFromCache(id);
-        recruiterJobPostingRedisService.clearRecruiterListCache(jobPosting.getRecruiter().getId());
-        candidateJobPostingRedisService.clearAllCandidateListCache();
+        // Invalidate cache after commit
+        jobPostingOutbox.evictCaches(updatedJobPosting, true, false, false);
 
-        // Remove from Weaviate (paused jobs should not appear in search)
-        weaviateImp.deleteJobPosting(id);
+        // Remove from Weaviate after commit (paused jobs should not appear in search)
+        jobPostingOutbox.syncSearchIndex(id);
 
         log.info("Job posting {} paused by recruiter {}", id, jobPosting.getRecruiter().getId());
     }
@@ -521,7 +505,7 @@ public class JobPostingImp implements JobPostingService {
         }
 
         // Update status to ACTIVE
-        jobPosting.setStatus(StatusJobPosting.ACTIVE);
+        recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.ACTIVE);
         JobPosting updatedJobPosting = jobPostingRepo.save(jobPosting);
 
         // Create audit log
@@ -529,13 +513,11 @@ public class JobPostingImp implements JobPostingService {
             StatusJobPosting.PAUSED, StatusJobPosting.ACTIVE, 
             jobApplyRepo.countByJobPostingId(jobPosting.getId()));
 
-        // Invalidate cache
-        recruiterJobPostingRedisService.deleteFromCache(id);
-        recruiterJobPostingRedisService.clearRecruiterListCache(jobPosting.getRecruiter().getId());
-        candidateJobPostingRedisService.clearAllCandidateListCache();
+        // Invalidate cache after commit
+        jobPostingOutbox.evictCaches(updatedJobPosting, true, false, false);
 
-        // Add back to Weaviate
-        weaviateImp.addJobPostingToWeaviate(updatedJobPosting);
+        // Add back to Weaviate after commit
+        jobPostingOutbox.syncSearchIndex(id);
 
         log.info("Job posting {} resumed by recruiter {}", id, jobPosting.getRecruiter().getId());
     }
@@ -555,7 +537,7 @@ public class JobPostingImp implements JobPostingService {
         }
 
         // Update status to CLOSED
-        jobPosting.setStatus(StatusJobPosting.CLOSED);
+        recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.CLOSED);
         JobPosting updatedJobPosting = jobPostingRepo.save(jobPosting);
 
         // Create audit log
@@ -563,18 +545,17 @@ public class JobPostingImp implements JobPostingService {
             StatusJobPosting.ACTIVE, StatusJobPosting.CLOSED, 
             jobApplyRepo.countByJobPostingId(jobPosting.getId()));
 
-        // Invalidate cache
-        recruiterJobPostingRedisService.deleteFromCache(id);
-        recruiterJobPostingRedisService.clearRecruiterListCache(jobPosting.getRecruiter().getId());
-        candidateJobPostingRedisService.clearAllCandidateListCache();
+        // Invalidate cache after commit
+        jobPostingOutbox.evictCaches(updatedJobPosting, true, false, false);
 
-        // Remove from Weaviate (closed jobs should not appear in search)
-        weaviateImp.deleteJobPosting(id);
+        // Remove from Weaviate after commit (closed jobs should not appear in search)
+        jobPostingOutbox.syncSearchIndex(id);
 
         log.info("Job posting {} closed by recruiter {}", id, jobPosting.getRecruiter().getId());
     }
 
     // Recruiter delete job posting
+    @Transactional
     @PreAuthorize("hasRole('RECRUITER')")
     @Override
     public void deleteJobPosting(int id) {
@@ -587,18 +568,15 @@ public class JobPostingImp implements JobPostingService {
                 StatusJobPosting.PAUSED).contains(jobPosting.getStatus()))
             throw new AppException(ErrorCode.CANNOT_DELETE_JOB_POSTING);
 
-        jobPosting.setStatus(StatusJobPosting.DELETED);
+        recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.DELETED);
         jobPostingRepo.save(jobPosting);
 
-        // Invalidate cache for this job posting
-        recruiterJobPostingRedisService.deleteFromCache(id);
-        // Clear list cache for this recruiter
-        recruiterJobPostingRedisService.clearRecruiterListCache(jobPosting.getRecruiter().getId());
+        // Invalidate cache for this job posting and the recruiter's lists.
         // Note: ACTIVE jobs cannot be deleted (validation above), but clear candidate cache for safety
-        candidateJobPostingRedisService.clearAllCandidateListCache();
+        jobPostingOutbox.evictCaches(jobPosting, true, false, false);
 
         // Delete from Weaviate
-        weaviateImp.deleteJobPosting(id);
+        jobPostingOutbox.syncSearchIndex(id);
     }
 
     // Recruiter extend job posting expiration date
@@ -634,20 +612,17 @@ public class JobPostingImp implements JobPostingService {
 
         // If expired posting is being extended, change status back to ACTIVE
         if (jobPosting.getStatus().equals(StatusJobPosting.EXPIRED)) {
-            jobPosting.setStatus(StatusJobPosting.ACTIVE);
+            recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.ACTIVE);
         }
 
         JobPosting updatedJobPosting = jobPostingRepo.save(jobPosting);
 
-        // Invalidate cache for this job posting
-        recruiterJobPostingRedisService.deleteFromCache(id);
-        // Clear list cache for this recruiter
-        recruiterJobPostingRedisService.clearRecruiterListCache(updatedJobPosting.getRecruiter().getId());
+        // Invalidate cache for this job posting and the recruiter's lists after commit
+        jobPostingOutbox.evictCaches(updatedJobPosting, false, false, false);
 
-        // Sync with Weaviate: delete old entry and add updated job
+        // Sync with Weaviate after commit: replace the entry with the updated job
         if (updatedJobPosting.getStatus().equals(StatusJobPosting.ACTIVE)) {
-            weaviateImp.deleteJobPosting(id);
-            weaviateImp.addJobPostingToWeaviate(updatedJobPosting);
+            jobPostingOutbox.syncSearchIndex(id);
         }
 
         log.info("Job posting ID {} extended to {}", id, newExpirationDate);
@@ -659,42 +634,26 @@ public class JobPostingImp implements JobPostingService {
         Recruiter recruiter = getMyRecruiter();
         int recruiterId = recruiter.getId();
 
-        // Count job postings by status
-        long totalJobPostings = jobPostingRepo.findAllByRecruiterId(recruiterId, PageRequest.of(0, 1)).getTotalElements();
-        long pendingJobPostings = jobPostingRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobPosting.PENDING);
-        long activeJobPostings = jobPostingRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobPosting.ACTIVE);
-        long rejectedJobPostings = jobPostingRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobPosting.REJECTED);
-        long pausedJobPostings = jobPostingRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobPosting.PAUSED);
-        long expiredJobPostings = jobPostingRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobPosting.EXPIRED);
-        long deletedJobPostings = jobPostingRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobPosting.DELETED);
-
-        // Count applications by status
-        long totalApplications = jobApplyRepo.countByRecruiterId(recruiterId);
-        long submittedApplications = jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.SUBMITTED);
-        long reviewingApplications = jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.REVIEWING);
-        long approvedApplications = jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.APPROVED);
-        long rejectedApplications = jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.REJECTED);
-        long interviewScheduledApplications = jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.INTERVIEW_SCHEDULED);
-        long hiredApplications = jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.WORKING) +
-                                 jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.ACCEPTED);
-        long withdrawnApplications = jobApplyRepo.countByRecruiterIdAndStatus(recruiterId, StatusJobApply.WITHDRAWN);
+        // One keyed read of the per-status rollup instead of a COUNT per status
+        RecruiterStatsRollup.Snapshot stats = recruiterStatsRollup.snapshot(recruiterId);
 
         return JobPostingStatsResponse.builder()
-                .totalJobPostings(totalJobPostings)
-                .pendingJobPostings(pendingJobPostings)
-                .activeJobPostings(activeJobPostings)
-                .rejectedJobPostings(rejectedJobPostings)
-                .pausedJobPostings(pausedJobPostings)
-                .expiredJobPostings(expiredJobPostings)
-                .deletedJobPostings(deletedJobPostings)
-                .totalApplications(totalApplications)
-                .submittedApplications(submittedApplications)
-                .reviewingApplications(reviewingApplications)
-                .approvedApplications(approvedApplications)
-                .rejectedApplications(rejectedApplications)
-                .interviewScheduledApplications(interviewScheduledApplications)
-                .hiredApplications(hiredApplications)
-                .withdrawnApplications(withdrawnApplications)
+                .totalJobPostings(stats.totalPostings())
+                .pendingJobPostings(stats.posting(StatusJobPosting.PENDING))
+                .activeJobPostings(stats.posting(StatusJobPosting.ACTIVE))
+                .rejectedJobPostings(stats.posting(StatusJobPosting.REJECTED))
+                .pausedJobPostings(stats.posting(StatusJobPosting.PAUSED))
+                .expiredJobPostings(stats.posting(StatusJobPosting.EXPIRED))
+                .deletedJobPostings(stats.posting(StatusJobPosting.DELETED))
+                .totalApplications(stats.totalApplications())
+                .submittedApplications(stats.application(StatusJobApply.SUBMITTED))
+                .reviewingApplications(stats.application(StatusJobApply.REVIEWING))
+                .approvedApplications(stats.application(StatusJobApply.APPROVED))
+                .rejectedApplications(stats.application(StatusJobApply.REJECTED))
+                .interviewScheduledApplications(stats.application(StatusJobApply.INTERVIEW_SCHEDULED))
+                .hiredApplications(stats.application(StatusJobApply.WORKING)
+                        + stats.application(StatusJobApply.ACCEPTED))
+                .withdrawnApplications(stats.application(StatusJobApply.WITHDRAWN))
                 .build();
     }
 
@@ -715,8 +674,7 @@ public class JobPostingImp implements JobPostingService {
 
     // Get current recruiter
     private Recruiter getMyRecruiter() {
-        Account currentAccount = authenticationImp.findByEmail();
-        Recruiter recruiter = recruiterRepo.findByAccount_Id(currentAccount.getId())
+        Recruiter recruiter = principalContext.currentRecruiter()
                 .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
 
         // Check if recruiter is verified (APPROVED status)
@@ -745,7 +703,7 @@ public class JobPostingImp implements JobPostingService {
         }
 
         // Update status to EXPIRED
-        expiredJobs.forEach(jp -> jp.setStatus(StatusJobPosting.EXPIRED));
+        expiredJobs.forEach(jp -> recruiterStatsRollup.changeStatus(jp, StatusJobPosting.EXPIRED));
 
         // Save all updated job postings in batch
         jobPostingRepo.saveAll(expiredJobs);
@@ -759,27 +717,12 @@ public class JobPostingImp implements JobPostingService {
             }
         });
 
-        // Invalidate cache for all expired job postings
-        expiredJobs.forEach(jp -> {
-            recruiterJobPostingRedisService.deleteFromCache(jp.getId());
-            recruiterJobPostingRedisService.clearRecruiterListCache(jp.getRecruiter().getId());
-        });
-
-        // Clear candidate list cache once (jobs removed from public view)
-        candidateJobPostingRedisService.clearAllCandidateListCache();
+        // Invalidate cache for all expired job postings, and the candidate and admin lists once
+        // (jobs removed from public view, status changed for multiple jobs), after commit
+        jobPostingOutbox.evictCaches(expiredJobs, "expired-" + today, true, true, false);
 
-        // Clear admin list cache (status changed for multiple jobs)
-        adminJobPostingRedisService.clearAllAdminListCache();
-
-        // Delete expired jobs from Weaviate
-        expiredJobs.forEach(jp -> {
-            try {
-                weaviateImp.deleteJobPosting(jp.getId());
-                log.info("Deleted expired job posting from Weaviate - ID: {}", jp.getId());
-            } catch (Exception e) {
-                log.error("Failed to delete job posting from Weaviate - ID: {}", jp.getId(), e);
-            }
-        });
+        // Delete expired jobs from Weaviate after commit
+        expiredJobs.forEach(jp -> jobPostingOutbox.syncSearchIndex(jp.getId()));
 
         log.info("Updated {} job postings to EXPIRED status and removed from Weaviate.", expiredJobs.size());
     }
@@ -803,22 +746,12 @@ public class JobPostingImp implements JobPostingService {
             log.info("Job posting {} has expired (expirationDate: {}, today: {}). Updating status to EXPIRED.",
                     jobPosting.getId(), jobPosting.getExpirationDate(), today);
             
-            jobPosting.setStatus(StatusJobPosting.EXPIRED);
+            recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.EXPIRED);
             jobPostingRepo.save(jobPosting);
             
-            // Invalidate cache
-            recruiterJobPostingRedisService.deleteFromCache(jobPosting.getId());
-            recruiterJobPostingRedisService.clearRecruiterListCache(jobPosting.getRecruiter().getId());
-            candidateJobPostingRedisService.clearAllCandidateListCache();
-            adminJobPostingRedisService.clearAllAdminListCache();
-            
-            // Try to delete from Weaviate
-            try {
-                weaviateImp.deleteJobPosting(jobPosting.getId());
-                log.info("Deleted expired job posting from Weaviate - ID: {}", jobPosting.getId());
-            } catch (Exception e) {
-                log.error("Failed to delete job posting from Weaviate - ID: {}", jobPosting.getId(), e);
-            }
+            // Invalidate cache and delete from Weaviate after commit
+            jobPostingOutbox.evictCaches(jobPosting, true, true, false);
+            jobPostingOutbox.syncSearchIndex(jobPosting.getId());
             
             // Send notification
             try {
@@ -924,7 +857,7 @@ public class JobPostingImp implements JobPostingService {
 
         if (newStatus.equals("APPROVED")) {
             // Approve: Set status to ACTIVE
-            jobPosting.setStatus(StatusJobPosting.ACTIVE);
+            recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.ACTIVE);
             jobPosting.setApprovedBy(admin);
             jobPosting.setRejectionReason(null); // Clear any previous rejection reason
             log.info("Job posting ID: {} APPROVED by admin: {}", id, admin.getAccount().getEmail());
@@ -936,7 +869,7 @@ public class JobPostingImp implements JobPostingService {
             if (request.getRejectionReason() == null || request.getRejectionReason().trim().isEmpty()) {
                 throw new AppException(ErrorCode.REJECTION_REASON_REQUIRED);
             }
-            jobPosting.setStatus(StatusJobPosting.REJECTED);
+            recruiterStatsRollup.changeStatus(jobPosting, StatusJobPosting.REJECTED);
             jobPosting.setRejectionReason(request.getRejectionReason());
             jobPosting.setApprovedBy(admin);
             log.info("Job posting ID: {} REJECTED by admin: {}", id, admin.getAccount().getEmail());
@@ -950,26 +883,14 @@ public class JobPostingImp implements JobPostingService {
 
         JobPosting savedPostgres = jobPostingRepo.save(jobPosting);
 
-        // Invalidate cache for this job posting
-        recruiterJobPostingRedisService.deleteFromCache(id);
-
-        // Clear list cache for this recruiter
-        recruiterJobPostingRedisService.clearRecruiterListCache(savedPostgres.getRecruiter().getId());
-
-        // Clear candidate list cache if job is approved (becomes publicly visible)
-        if(savedPostgres.getStatus().equals(StatusJobPosting.ACTIVE)) {
-            candidateJobPostingRedisService.clearAllCandidateListCache();
-        }
-
-        // Clear admin list cache (status changed, affects all admin views)
-        adminJobPostingRedisService.clearAllAdminListCache();
-
-        // Clear pending jobs cache (job is no longer pending)
-        adminJobPostingRedisService.clearPendingJobsCache();
+        // After commit: invalidate cache for this job posting, the recruiter's lists, the admin lists
+        // (status changed) and pending jobs (no longer pending), plus the candidate lists if approved
+        boolean approved = savedPostgres.getStatus().equals(StatusJobPosting.ACTIVE);
+        jobPostingOutbox.evictCaches(savedPostgres, approved, true, true);
 
-        // Add to Weaviate ASYNCHRONOUSLY if approved - prevents blocking response
-        if(savedPostgres.getStatus().equals(StatusJobPosting.ACTIVE)) {
-            asyncWeaviateService.addJobPostingToWeaviateAsync(savedPostgres);
+        // Add to Weaviate after commit if approved - outside the request
+        if (approved) {
+            jobPostingOutbox.syncSearchIndex(id);
         }
     }
 
@@ -1219,7 +1140,7 @@ public class JobPostingImp implements JobPostingService {
                         .priority(2) // MEDIUM priority
                         .build();
 
-                notificationProducer.sendAdminNotification(event);
+                notificationOutbox.sendAdminNotification(event);
             }
             log.info("✅ Sent pending job posting notification to {} admins for job ID: {}", admins.size(), jobPosting.getId());
         } catch (Exception e) {
@@ -1266,7 +1187,7 @@ public class JobPostingImp implements JobPostingService {
                     .priority(2) // MEDIUM priority
                     .build();
 
-            notificationProducer.sendRecruiterNotification(event);
+            notificationOutbox.sendRecruiterNotification(event);
             log.info("✅ Sent approval notification to recruiter for job ID: {}", jobPosting.getId());
         } catch (Exception e) {
             log.error("❌ Failed to send approval notification to recruiter for job ID: {}",
@@ -1327,7 +1248,7 @@ public class JobPostingImp implements JobPostingService {
                     .priority(2) // MEDIUM priority
                     .build();
 
-            notificationProducer.sendRecruiterNotification(event);
+            notificationOutbox.sendRecruiterNotification(event);
             log.info("✅ Sent expiration notification to recruiter for job ID: {}", jobPosting.getId());
         } catch (Exception e) {
             log.error("❌ Failed to send expiration notification to recruiter for job ID: {}",
@@ -1388,7 +1309,7 @@ public class JobPostingImp implements JobPostingService {
                     .priority(2) // MEDIUM priority
                     .build();
 
-            notificationProducer.sendRecruiterNotification(event);
+            notificationOutbox.sendRecruiterNotification(event);
             log.info("✅ Sent extension notification to recruiter for job ID: {}", jobPosting.getId());
         } catch (Exception e) {
             log.error("❌ Failed to send extension notification to recruiter for job ID: {}",
@@ -1448,7 +1369,7 @@ public class JobPostingImp implements JobPostingService {
                     .priority(2) // MEDIUM priority
                     .build();
 
-            notificationProducer.sendRecruiterNotification(event);
+            notificationOutbox.sendRecruiterNotification(event);
             log.info("✅ Sent rejection notification to recruiter for job ID: {}", jobPosting.getId());
         } catch (Exception e) {
             log.error("❌ Failed to send rejection notification to recruiter for job ID: {}",
@@ -1675,7 +1596,7 @@ public class JobPostingImp implements JobPostingService {
                     .priority(2)
                     .build();
 
-            notificationProducer.sendRecruiterNotification(event);
+            notificationOutbox.sendRecruiterNotification(event);
             log.info("✅ Sent approval notification to Kafka for job ID: {}", jobPosting.getId());
         } catch (Exception e) {
             log.error("❌ Failed to send Kafka notification for job ID: {}", jobPosting.getId(), e);
@@ -1729,7 +1650,7 @@ public class JobPostingImp implements JobPostingService {
                     .priority(2)
                     .build();
 
-            notificationProducer.sendRecruiterNotification(event);
+            notificationOutbox.sendRecruiterNotification(event);
             log.info("✅ Sent rejection notification to Kafka for job ID: {}", jobPosting.getId());
         } catch (Exception e) {
             log.error("❌ Failed to send Kafka notification for job ID: {}", jobPosting.getId(), e);
@@ -0,0 +1,66 @@
+package com.fpt.careermate.services.job_services.service;
+
+import com.fpt.careermate.services.job_services.domain.JobPosting;
+import com.fpt.careermate.services.outbox_services.service.OutboxPublisher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Job posting side effects (cache eviction, Weaviate sync), recorded in the outbox so they run
+ * after the transaction commits, with retries, instead of inline while it holds a DB connection.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JobPostingOutbox {
+
+    public static final String AGGREGATE_TYPE = "JobPosting";
+    public static final String SEARCH_SYNC = "JOB_POSTING_SEARCH_SYNC";
+    public static final String CACHE_EVICTION = "JOB_POSTING_CACHE_EVICTION";
+
+    OutboxPublisher outboxPublisher;
+
+    /**
+     * Caches to evict
+     *
+     * @param jobPostingIds  Job posting details to evict
+     * @param recruiterIds   Recruiters whose list pages to evict
+     * @param candidateLists Evict the candidate (public) list pages
+     * @param adminLists     Evict the admin list pages
+     * @param pendingJobs    Evict the admin pending jobs list
+     */
+    public record CacheEviction(List<Integer> jobPostingIds, List<Integer> recruiterIds,
+                                boolean candidateLists, boolean adminLists, boolean pendingJobs) {
+    }
+
+    /**
+     * Bring the job posting's Weaviate entry in line with its state: indexed if ACTIVE, removed otherwise
+     */
+    public void syncSearchIndex(int jobPostingId) {
+        outboxPublisher.publish(AGGREGATE_TYPE, jobPostingId, SEARCH_SYNC, null);
+    }
+
+    /**
+     * Evict the job posting's detail and its recruiter's list pages, plus the given shared lists
+     */
+    public void evictCaches(JobPosting jobPosting, boolean candidateLists, boolean adminLists, boolean pendingJobs) {
+        outboxPublisher.publish(AGGREGATE_TYPE, jobPosting.getId(), CACHE_EVICTION, new CacheEviction(
+                List.of(jobPosting.getId()), List.of(jobPosting.getRecruiter().getId()),
+                candidateLists, adminLists, pendingJobs));
+    }
+
+    /**
+     * Evict the caches of many job postings with one event (e.g. the daily expiry)
+     */
+    public void evictCaches(List<JobPosting> jobPostings, String batchId,
+                            boolean candidateLists, boolean adminLists, boolean pendingJobs) {
+        outboxPublisher.publish(AGGREGATE_TYPE, batchId, CACHE_EVICTION, new CacheEviction(
+                jobPostings.stream().map(JobPosting::getId).toList(),
+                jobPostings.stream().map(jp -> jp.getRecruiter().getId()).distinct().toList(),
+                candidateLists, adminLists, pendingJobs));
+    }
+}
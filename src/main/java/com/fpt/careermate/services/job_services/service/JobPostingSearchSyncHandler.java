@@ -0,0 +1,51 @@
+package com.fpt.careermate.services.job_services.service;
+
+import com.fpt.careermate.common.constant.StatusJobPosting;
+import com.fpt.careermate.services.job_services.domain.JobPosting;
+import com.fpt.careermate.services.job_services.repository.JobPostingRepo;
+import com.fpt.careermate.services.outbox_services.service.OutboxHandler;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Syncs a job posting's Weaviate entry with its current state (idempotent: the latest
+ * state is read when the event is dispatched, not when it was recorded)
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class JobPostingSearchSyncHandler implements OutboxHandler<Void> {
+
+    JobPostingRepo jobPostingRepo;
+    WeaviateImp weaviateImp;
+
+    @Override
+    public String eventType() {
+        return JobPostingOutbox.SEARCH_SYNC;
+    }
+
+    @Override
+    public Class<Void> payloadType() {
+        return Void.class;
+    }
+
+    @Override
+    public void handle(String aggregateId, Void payload) {
+        int jobPostingId = Integer.parseInt(aggregateId);
+        Optional<JobPosting> jobPosting = jobPostingRepo.findById(jobPostingId);
+
+        if (jobPosting.isPresent() && StatusJobPosting.ACTIVE.equals(jobPosting.get().getStatus())) {
+            weaviateImp.replaceJobPosting(jobPosting.get());
+            log.info("Job posting {} indexed in Weaviate", jobPostingId);
+        } else {
+            weaviateImp.removeJobPosting(jobPostingId);
+            log.info("Job posting {} removed from Weaviate", jobPostingId);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.fpt.careermate.services.job_services.service;
+
+import com.fpt.careermate.common.constant.InterviewStatus;
+import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
+import com.fpt.careermate.services.job_services.domain.RecruiterWorkingHours;
+
+import java.time.*;
+import java.util.*;
+
+/**
+ * Availability of one recruiter over a loaded date range: working hours per day of week plus
+ * an interval index of the recruiter's non-cancelled interviews.
+ * <p>
+ * Interviews are kept in a map ordered by start time; since no interview is longer than
+ * {@code maxDurationMinutes}, every interview overlapping [start, end) starts inside
+ * [start - maxDuration, end), so overlap lookups are one range scan instead of a full scan.
+ * Updated in place by {@link InterviewAvailabilityEngine} when interviews change.
+ */
+public class RecruiterAvailabilityIndex {
+
+    // Same defaults as the calendar API when no working hours are configured
+    static final LocalTime DEFAULT_START = LocalTime.of(8, 0);
+    static final LocalTime DEFAULT_END = LocalTime.of(20, 0);
+    static final int SLOT_MINUTES = 15;
+
+    /**
+     * An interview as an interval [start, end)
+     */
+    public record Booking(Integer interviewId, LocalDateTime start, LocalDateTime end, InterviewStatus status) {
+
+        static Booking of(InterviewSchedule interview) {
+            return new Booking(interview.getId(), interview.getScheduledDate(),
+                    interview.getScheduledDate().plusMinutes(interview.getDurationMinutes()),
+                    interview.getStatus());
+        }
+
+        /**
+         * Whether the booking blocks the recruiter's time (no-shows and cancellations do not)
+         */
+        boolean isActive() {
+            return status != InterviewStatus.CANCELLED && status != InterviewStatus.NO_SHOW;
+        }
+    }
+
+    private final Integer recruiterId;
+    private final LocalDate loadedFrom;
+    private final LocalDate loadedTo;
+    private final Map<DayOfWeek, RecruiterWorkingHours> workingHours;
+
+    private final NavigableMap<LocalDateTime, Map<Integer, Booking>> bookingsByStart = new TreeMap<>();
+    private final Map<Integer, Booking> bookingsById = new HashMap<>();
+    private long maxDurationMinutes;
+
+    RecruiterAvailabilityIndex(Integer recruiterId, LocalDate loadedFrom, LocalDate loadedTo,
+                               List<RecruiterWorkingHours> workingHours, List<InterviewSchedule> interviews) {
+        this.recruiterId = recruiterId;
+        this.loadedFrom = loadedFrom;
+        this.loadedTo = loadedTo;
+        Map<DayOfWeek, RecruiterWorkingHours> byDay = new EnumMap<>(DayOfWeek.class);
+        for (RecruiterWorkingHours hours : workingHours) {
+            byDay.put(hours.getDayOfWeek(), hours);
+        }
+        this.workingHours = byDay;
+        for (InterviewSchedule interview : interviews) {
+            upsert(Booking.of(interview));
+        }
+    }
+
+    public Integer getRecruiterId() {
+        return recruiterId;
+    }
+
+    public boolean covers(LocalDate from, LocalDate to) {
+        return !from.isBefore(loadedFrom) && !to.isAfter(loadedTo);
+    }
+
+    LocalDate getLoadedFrom() {
+        return loadedFrom;
+    }
+
+    LocalDate getLoadedTo() {
+        return loadedTo;
+    }
+
+    public Optional<RecruiterWorkingHours> workingHours(DayOfWeek dayOfWeek) {
+        return Optional.ofNullable(workingHours.get(dayOfWeek));
+    }
+
+    /**
+     * Active bookings overlapping [start, end), ordered by start time
+     * @param excludeInterviewId interview to leave out (the one being checked), may be null
+     */
+    public synchronized List<Booking> overlapping(LocalDateTime start, LocalDateTime end, Integer excludeInterviewId) {
+        List<Booking> result = new ArrayList<>();
+        LocalDateTime earliestStart = start.minusMinutes(maxDurationMinutes);
+        for (Map<Integer, Booking> bookings : bookingsByStart.subMap(earliestStart, true, end, false).values()) {
+            for (Booking booking : bookings.values()) {
+                if (booking.isActive() && booking.end().isAfter(start)
+                        && !booking.interviewId().equals(excludeInterviewId)) {
+                    result.add(booking);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of active bookings starting on a date
+     */
+    public synchronized long countActiveOn(LocalDate date, Integer excludeInterviewId) {
+        long count = 0;
+        for (Map<Integer, Booking> bookings : bookingsByStart
+                .subMap(date.atStartOfDay(), true, date.plusDays(1).atStartOfDay(), false).values()) {
+            for (Booking booking : bookings.values()) {
+                if (booking.isActive() && !booking.interviewId().equals(excludeInterviewId)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bookable 15-minute start times on a date.
+     * Slots span the configured working hours (8:00-20:00 when none are configured or the day is off);
+     * lunch breaks, buffers and existing interviews do not block slots, since a company can have
+     * several interviewers.
+     */
+    public List<LocalTime> freeSlots(LocalDate date, int durationMinutes) {
+        LocalTime startTime = DEFAULT_START;
+        LocalTime endTime = DEFAULT_END;
+
+        RecruiterWorkingHours hours = workingHours.get(date.getDayOfWeek());
+        if (hours != null && Boolean.TRUE.equals(hours.getIsWorkingDay())) {
+            startTime = hours.getStartTime() != null ? hours.getStartTime() : startTime;
+            endTime = hours.getEndTime() != null ? hours.getEndTime() : endTime;
+        }
+
+        List<LocalTime> slots = new ArrayList<>();
+        LocalTime current = startTime;
+        while (current.isBefore(endTime)) {
+            LocalTime slotEnd = current.plusMinutes(durationMinutes);
+            if (!slotEnd.isAfter(endTime)) {
+                slots.add(current);
+            }
+            current = current.plusMinutes(SLOT_MINUTES);
+        }
+        return slots;
+    }
+
+    /**
+     * Insert or move an interview; cancelled interviews are removed
+     */
+    synchronized void upsert(Booking booking) {
+        remove(booking.interviewId());
+        if (booking.status() == InterviewStatus.CANCELLED) {
+            return;
+        }
+        bookingsById.put(booking.interviewId(), booking);
+        bookingsByStart.computeIfAbsent(booking.start(), key -> new LinkedHashMap<>())
+                .put(booking.interviewId(), booking);
+        maxDurationMinutes = Math.max(maxDurationMinutes,
+                Duration.between(booking.start(), booking.end()).toMinutes());
+    }
+
+    synchronized void remove(Integer interviewId) {
+        Booking existing = bookingsById.remove(interviewId);
+        if (existing == null) {
+            return;
+        }
+        Map<Integer, Booking> atStart = bookingsByStart.get(existing.start());
+        if (atStart != null) {
+            atStart.remove(interviewId);
+            if (atStart.isEmpty()) {
+                bookingsByStart.remove(existing.start());
+            }
+        }
+    }
+}
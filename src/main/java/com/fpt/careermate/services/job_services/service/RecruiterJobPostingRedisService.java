@@ -3,6 +3,7 @@ package com.fpt.careermate.services.job_services.service;
 import com.fpt.careermate.common.response.PageResponse;
 import com.fpt.careermate.services.job_services.service.dto.response.JobPostingForRecruiterResponse;
 import com.fpt.careermate.services.job_services.service.dto.response.PageJobPostingForRecruiterResponse;
+import com.fpt.careermate.common.util.RedisCacheNamespace;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -23,11 +24,15 @@ import java.util.concurrent.TimeUnit;
 public class RecruiterJobPostingRedisService {
 
     RedisTemplate<String, Object> redisTemplate;
+    RedisCacheNamespace redisCacheNamespace;
 
     // Cache key prefix for recruiter job postings
     private static final String RECRUITER_PREFIX = "job_posting:recruiter:";
     private static final String RECRUITER_LIST_PREFIX = "job_posting:recruiter:list:";
 
+    // Tags: all recruiter list pages, and the list pages of one recruiter
+    private static final String RECRUITER_LIST_TAG = "job_posting:recruiter:list";
+
     // Default TTL: 1 hour
     private static final long DEFAULT_TTL = 60;
     private static final TimeUnit DEFAULT_TTL_UNIT = TimeUnit.MINUTES;
@@ -58,6 +63,10 @@ public class RecruiterJobPostingRedisService {
         return RECRUITER_LIST_PREFIX + recruiterId + ":p" + page + ":s" + size + ":k" + keywordPart;
     }
 
+    private String getRecruiterListTag(int recruiterId) {
+        return RECRUITER_LIST_TAG + ":" + recruiterId;
+    }
+
     /**
      * Get job posting from cache
      * @param jobPostingId the job posting ID
@@ -203,7 +212,8 @@ public class RecruiterJobPostingRedisService {
     public void saveListToCache(int recruiterId, int page, int size, String keyword, PageJobPostingForRecruiterResponse response) {
         try {
             String key = getListCacheKey(recruiterId, page, size, keyword);
-            redisTemplate.opsForValue().set(key, response, LIST_TTL, LIST_TTL_UNIT);
+            redisCacheNamespace.put(key, response, LIST_TTL, LIST_TTL_UNIT,
+                    RECRUITER_LIST_TAG, getRecruiterListTag(recruiterId));
         } catch (Exception e) {
             log.error("Error saving job posting list to cache: {}", e.getMessage());
         }
@@ -216,27 +226,35 @@ public class RecruiterJobPostingRedisService {
      */
     public void clearRecruiterListCache(int recruiterId) {
         try {
-            String pattern = RECRUITER_LIST_PREFIX + recruiterId + ":*";
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            redisCacheNamespace.invalidate(getRecruiterListTag(recruiterId));
         } catch (Exception e) {
             log.error("Error clearing recruiter list cache: {}", e.getMessage());
         }
     }
 
+    /**
+     * Same as {@link #deleteFromCache(int)}, but Redis errors are thrown, so the outbox relay can retry
+     * @param jobPostingId the job posting ID
+     */
+    public void evictJobPosting(int jobPostingId) {
+        redisTemplate.delete(getCacheKey(jobPostingId));
+    }
+
+    /**
+     * Same as {@link #clearRecruiterListCache(int)}, but Redis errors are thrown, so the outbox relay can retry
+     * @param recruiterId the recruiter ID
+     */
+    public void evictRecruiterLists(int recruiterId) {
+        redisCacheNamespace.invalidate(getRecruiterListTag(recruiterId));
+    }
+
     /**
      * Clear all recruiter job posting list caches
      * Call this when any job posting is created, updated, deleted, or status changed
      */
     public void clearAllRecruiterListCache() {
         try {
-            String pattern = RECRUITER_LIST_PREFIX + "*";
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            redisCacheNamespace.invalidate(RECRUITER_LIST_TAG);
         } catch (Exception e) {
             log.error("Error clearing recruiter list cache: {}", e.getMessage());
         }
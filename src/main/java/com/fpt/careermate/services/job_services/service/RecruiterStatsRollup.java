@@ -0,0 +1,168 @@
+package com.fpt.careermate.services.job_services.service;
+
+import com.fpt.careermate.common.constant.StatusJobApply;
+import com.fpt.careermate.services.job_services.domain.JobApply;
+import com.fpt.careermate.services.job_services.domain.JobPosting;
+import com.fpt.careermate.services.job_services.domain.RecruiterStatusCount;
+import com.fpt.careermate.services.job_services.domain.RecruiterStatusCount.Kind;
+import com.fpt.careermate.services.job_services.repository.JobApplyRepo;
+import com.fpt.careermate.services.job_services.repository.JobPostingRepo;
+import com.fpt.careermate.services.job_services.repository.RecruiterStatusCountRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Per-recruiter job posting / application counts by status (recruiter_status_count).
+ * Every status change goes through {@link #changeStatus}, which adjusts the two affected rows
+ * in the caller's transaction. A nightly verifier recomputes all counts with GROUP BY queries,
+ * reports drift (careermate.dashboard.rollup.drift) and overwrites the rollup with the exact values.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class RecruiterStatsRollup {
+
+    RecruiterStatusCountRepo recruiterStatusCountRepo;
+    JobPostingRepo jobPostingRepo;
+    JobApplyRepo jobApplyRepo;
+    MeterRegistry meterRegistry;
+
+    /**
+     * Counts of one recruiter; statuses with no rows read as 0
+     */
+    public record Snapshot(Map<String, Long> postings, Map<String, Long> applications) {
+
+        public long posting(String status) {
+            return postings.getOrDefault(status, 0L);
+        }
+
+        public long application(StatusJobApply status) {
+            return applications.getOrDefault(status.name(), 0L);
+        }
+
+        public long totalPostings() {
+            return postings.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long totalApplications() {
+            return applications.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    public Snapshot snapshot(int recruiterId) {
+        Map<String, Long> postings = new HashMap<>();
+        Map<String, Long> applications = new HashMap<>();
+        for (RecruiterStatusCount row : recruiterStatusCountRepo.findByRecruiterId(recruiterId)) {
+            (row.getKind() == Kind.POSTING ? postings : applications).put(row.getStatus(), row.getStatusCount());
+        }
+        return new Snapshot(postings, applications);
+    }
+
+    /**
+     * Set the status of a job posting (new or existing) and update the rollup
+     */
+    public void changeStatus(JobPosting jobPosting, String newStatus) {
+        String previousStatus = jobPosting.getStatus();
+        jobPosting.setStatus(newStatus);
+        record(jobPosting.getRecruiter().getId(), Kind.POSTING, previousStatus, newStatus);
+    }
+
+    /**
+     * Set the status of a job application (new or existing) and update the rollup
+     */
+    public void changeStatus(JobApply jobApply, StatusJobApply newStatus) {
+        StatusJobApply previousStatus = jobApply.getStatus();
+        jobApply.setStatus(newStatus);
+        record(jobApply.getJobPosting().getRecruiter().getId(), Kind.APPLICATION,
+                previousStatus != null ? previousStatus.name() : null, newStatus.name());
+    }
+
+    /**
+     * A job application is about to be deleted
+     */
+    public void applicationRemoved(JobApply jobApply) {
+        record(jobApply.getJobPosting().getRecruiter().getId(), Kind.APPLICATION,
+                jobApply.getStatus().name(), null);
+    }
+
+    private void record(int recruiterId, Kind kind, String from, String to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) {
+            recruiterStatusCountRepo.addToCount(recruiterId, kind.name(), from, -1);
+        }
+        if (to != null) {
+            recruiterStatusCountRepo.addToCount(recruiterId, kind.name(), to, 1);
+        }
+    }
+
+    // First start with the rollup table: build it from the source tables
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (recruiterStatusCountRepo.count() == 0) {
+            log.info("Recruiter status rollup is empty, building it from job_posting and job_apply");
+            verify();
+        }
+    }
+
+    @Scheduled(cron = "${app.dashboard.rollup-verify-cron:0 30 4 * * *}")
+    public void verify() {
+        try {
+            Map<RollupKey, Long> expected = new HashMap<>();
+            for (Object[] row : jobPostingRepo.countGroupByRecruiterAndStatus()) {
+                expected.put(new RollupKey(((Number) row[0]).intValue(), Kind.POSTING, String.valueOf(row[1])),
+                        ((Number) row[2]).longValue());
+            }
+            for (Object[] row : jobApplyRepo.countGroupByRecruiterAndStatus()) {
+                expected.put(new RollupKey(((Number) row[0]).intValue(), Kind.APPLICATION, ((StatusJobApply) row[1]).name()),
+                        ((Number) row[2]).longValue());
+            }
+
+            Map<RollupKey, Long> actual = new HashMap<>();
+            for (RecruiterStatusCount row : recruiterStatusCountRepo.findAll()) {
+                actual.put(new RollupKey(row.getRecruiterId(), row.getKind(), row.getStatus()), row.getStatusCount());
+            }
+
+            Set<RollupKey> keys = new HashSet<>(expected.keySet());
+            keys.addAll(actual.keySet());
+            int drifted = 0;
+            for (RollupKey key : keys) {
+                long expectedCount = expected.getOrDefault(key, 0L);
+                long actualCount = actual.getOrDefault(key, 0L);
+                if (expectedCount != actualCount) {
+                    drifted++;
+                    // Status changes committed while verifying can show up here too; the next run settles them
+                    log.warn("Recruiter status rollup drift: recruiter={} {} {} rollup={} actual={}",
+                            key.recruiterId(), key.kind(), key.status(), actualCount, expectedCount);
+                    recruiterStatusCountRepo.setCount(key.recruiterId(), key.kind().name(), key.status(), expectedCount);
+                }
+            }
+
+            Counter.builder("careermate.dashboard.rollup.drift")
+                    .register(meterRegistry)
+                    .increment(drifted);
+            log.info("Verified recruiter status rollup: {} rows, {} drifted", keys.size(), drifted);
+        } catch (Exception e) {
+            log.error("Failed to verify recruiter status rollup", e);
+        }
+    }
+
+    private record RollupKey(int recruiterId, Kind kind, String status) {
+    }
+}
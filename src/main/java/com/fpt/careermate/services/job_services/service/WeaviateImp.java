@@ -38,6 +38,28 @@ public class WeaviateImp {
 
     // Thêm job posting vào weaviate để cho job posting recommendation
     public void addJobPostingToWeaviate(JobPosting savedPostgres) {
+        Result<WeaviateObject> result = createJobPostingObject(savedPostgres);
+
+        if(result.hasErrors()) {
+            log.error("Error indexing job posting (id={}) to Weaviate: {}",
+                    savedPostgres.getId(), result.getError().getMessages());
+        }
+    }
+
+    /**
+     * Thay thế job posting trong Weaviate (xóa bản cũ rồi thêm lại).
+     * Ném exception khi Weaviate lỗi để outbox relay thử lại.
+     */
+    public void replaceJobPosting(JobPosting jobPosting) {
+        removeJobPosting(jobPosting.getId());
+        Result<WeaviateObject> result = createJobPostingObject(jobPosting);
+        if (result.hasErrors()) {
+            throw new IllegalStateException("Weaviate rejected job posting " + jobPosting.getId() + ": "
+                    + result.getError().getMessages());
+        }
+    }
+
+    private Result<WeaviateObject> createJobPostingObject(JobPosting savedPostgres) {
         // Re-fetch with jobDescriptions + jdSkill eagerly to avoid lazy loading issues
         JobPosting source = jobPostingRepo.fetchByIdWithSkills(savedPostgres.getId())
                 .orElse(savedPostgres);
@@ -72,15 +94,10 @@ public class WeaviateImp {
             jobPostingMap.put("expirationDate", null);
         }
 
-        Result<WeaviateObject> result = weaviateClient.data().creator()
+        return weaviateClient.data().creator()
                 .withClassName("JobPosting")
                 .withProperties(jobPostingMap)
                 .run();
-
-        if(result.hasErrors()) {
-            log.error("Error indexing job posting '{}' (id={}) to Weaviate: {}",
-                    source.getTitle(), source.getId(), result.getError().getMessages());
-        }
     }
 
     // Kiểm tra xem job posting đã tồn tại trong Weaviate chưa
@@ -120,56 +137,63 @@ public class WeaviateImp {
     // Xóa job posting khỏi Weaviate
     public void deleteJobPosting(Integer jobId) {
         try {
-            // Query to get the object UUID by jobId
-            String query = String.format(
-                "{Get{JobPosting(where:{path:[\"jobId\"],operator:Equal,valueInt:%d}){_additional{id}}}}",
-                jobId
-            );
+            removeJobPosting(jobId);
+        } catch (Exception e) {
+            log.error("Exception while deleting job posting from Weaviate: {}", e.getMessage(), e);
+        }
+    }
 
-            var result = weaviateClient.graphQL().raw()
-                    .withQuery(query)
-                    .run();
+    /**
+     * Xóa job posting khỏi Weaviate; không tìm thấy cũng coi là thành công.
+     * Ném exception khi Weaviate lỗi để outbox relay thử lại.
+     */
+    public void removeJobPosting(Integer jobId) {
+        // Query to get the object UUID by jobId
+        String query = String.format(
+            "{Get{JobPosting(where:{path:[\"jobId\"],operator:Equal,valueInt:%d}){_additional{id}}}}",
+            jobId
+        );
 
-            if (result.hasErrors()) {
-                log.warn("Error querying job posting for deletion in Weaviate: {}",
-                        result.getError().getMessages());
-                return;
-            }
+        var result = weaviateClient.graphQL().raw()
+                .withQuery(query)
+                .run();
 
-            var data = result.getResult();
-            if (data != null && data.getData() != null) {
-                var getData = (Map<String, Object>) data.getData();
-                var get = (Map<String, Object>) getData.get("Get");
-                if (get != null) {
-                    var jobPostings = (List<Map<String, Object>>) get.get("JobPosting");
-                    if (jobPostings != null && !jobPostings.isEmpty()) {
-                        for (Map<String, Object> jobPosting : jobPostings) {
-                            var additional = (Map<String, Object>) jobPosting.get("_additional");
-                            if (additional != null) {
-                                String uuid = (String) additional.get("id");
-                                if (uuid != null) {
-                                    // Delete the object by UUID
-                                    var deleteResult = weaviateClient.data().deleter()
-                                            .withClassName("JobPosting")
-                                            .withID(uuid)
-                                            .run();
+        if (result.hasErrors()) {
+            throw new IllegalStateException("Error querying job posting " + jobId + " for deletion in Weaviate: "
+                    + result.getError().getMessages());
+        }
 
-                                    if (deleteResult.hasErrors()) {
-                                        log.error("Error deleting job posting from Weaviate: {}",
-                                                deleteResult.getError().getMessages());
-                                    } else {
-                                        log.info("Successfully deleted job posting with jobId={} from Weaviate", jobId);
-                                    }
-                                }
-                            }
-                        }
-                    } else {
-                        log.info("Job posting with jobId={} not found in Weaviate", jobId);
-                    }
-                }
+        var data = result.getResult();
+        if (data == null || data.getData() == null) {
+            return;
+        }
+        var getData = (Map<String, Object>) data.getData();
+        var get = (Map<String, Object>) getData.get("Get");
+        if (get == null) {
+            return;
+        }
+        var jobPostings = (List<Map<String, Object>>) get.get("JobPosting");
+        if (jobPostings == null || jobPostings.isEmpty()) {
+            log.info("Job posting with jobId={} not found in Weaviate", jobId);
+            return;
+        }
+        for (Map<String, Object> jobPosting : jobPostings) {
+            var additional = (Map<String, Object>) jobPosting.get("_additional");
+            String uuid = additional != null ? (String) additional.get("id") : null;
+            if (uuid == null) {
+                continue;
             }
-        } catch (Exception e) {
-            log.error("Exception while deleting job posting from Weaviate: {}", e.getMessage(), e);
+            // Delete the object by UUID
+            var deleteResult = weaviateClient.data().deleter()
+                    .withClassName("JobPosting")
+                    .withID(uuid)
+                    .run();
+
+            if (deleteResult.hasErrors()) {
+                throw new IllegalStateException("Error deleting job posting " + jobId + " from Weaviate: "
+                        + deleteResult.getError().getMessages());
+            }
+            log.info("Successfully deleted job posting with jobId={} from Weaviate", jobId);
         }
     }
 
@@ -2,13 +2,14 @@ package com.fpt.careermate.services.job_services.service.impl;
 
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
-import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.PrincipalContext;
 import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
 import com.fpt.careermate.services.job_services.domain.RecruiterWorkingHours;
 import com.fpt.careermate.services.job_services.repository.InterviewScheduleRepo;
 import com.fpt.careermate.services.job_services.repository.RecruiterWorkingHoursRepo;
+import com.fpt.careermate.services.job_services.service.InterviewAvailabilityEngine;
 import com.fpt.careermate.services.job_services.service.InterviewCalendarService;
+import com.fpt.careermate.services.job_services.service.RecruiterAvailabilityIndex;
 import com.fpt.careermate.services.job_services.service.dto.request.BatchWorkingHoursRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.RecruiterWorkingHoursRequest;
 import com.fpt.careermate.services.job_services.service.dto.response.*;
@@ -37,7 +38,8 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
     private final RecruiterRepo recruiterRepo;
     private final RecruiterWorkingHoursMapper workingHoursMapper;
     private final InterviewScheduleMapper interviewScheduleMapper;
-    private final AuthenticationImp authenticationImp;
+    private final PrincipalContext principalContext;
+    private final InterviewAvailabilityEngine availabilityEngine;
 
     @PreAuthorize("hasRole('RECRUITER')")
     @Override
@@ -66,6 +68,7 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         validateWorkingHours(workingHours);
 
         RecruiterWorkingHours saved = workingHoursRepo.save(workingHours);
+        availabilityEngine.invalidate(recruiterId);
         return workingHoursMapper.toResponse(saved);
     }
 
@@ -74,8 +77,7 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
      * Same pattern as JobPostingImp.getMyRecruiter()
      */
     private Recruiter getMyRecruiter() {
-        Account currentAccount = authenticationImp.findByEmail();
-        Recruiter recruiter = recruiterRepo.findByAccount_Id(currentAccount.getId())
+        Recruiter recruiter = principalContext.currentRecruiter()
                 .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
 
         // Check if recruiter is verified (APPROVED status)
@@ -233,6 +235,7 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         validateWorkingHours(workingHours);
 
         RecruiterWorkingHours saved = workingHoursRepo.save(workingHours);
+        availabilityEngine.invalidate(recruiterId);
         return workingHoursMapper.toResponse(saved);
     }
 
@@ -243,8 +246,8 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         LocalTime time = dateTime.toLocalTime();
         DayOfWeek dayOfWeek = date.getDayOfWeek();
 
-        Optional<RecruiterWorkingHours> workingHoursOpt = workingHoursRepo
-                .findByRecruiterIdAndDayOfWeek(recruiterId, dayOfWeek);
+        RecruiterAvailabilityIndex index = availabilityEngine.forRange(recruiterId, date, date);
+        Optional<RecruiterWorkingHours> workingHoursOpt = index.workingHours(dayOfWeek);
 
         if (workingHoursOpt.isEmpty() || !Boolean.TRUE.equals(workingHoursOpt.get().getIsWorkingDay())) {
             return false;
@@ -261,7 +264,7 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         }
 
         LocalDateTime endTime = dateTime.plusMinutes(durationMinutes);
-        boolean hasConflict = interviewScheduleRepo.hasConflict(recruiterId, dateTime, endTime);
+        boolean hasConflict = !index.overlapping(dateTime, endTime, null).isEmpty();
 
         return !hasConflict;
     }
@@ -272,14 +275,29 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
             LocalDateTime proposedStartTime, Integer durationMinutes) {
         log.info("Checking conflict for recruiter {} at {}", recruiterId, proposedStartTime);
 
+        LocalDate date = proposedStartTime.toLocalDate();
+        RecruiterAvailabilityIndex index = availabilityEngine.forRange(recruiterId, date, date);
+        LocalDateTime proposedEndTime = proposedStartTime.plusMinutes(durationMinutes);
+        boolean candidateHasConflict = interviewScheduleRepo.candidateHasConflict(
+                candidateId, proposedStartTime, proposedEndTime);
+
+        return detectConflicts(index, proposedStartTime, durationMinutes, null, candidateHasConflict);
+    }
+
+    /**
+     * Conflicts of an interview slot, answered from the recruiter's availability index
+     * @param excludeInterviewId the interview being checked, so it does not conflict with itself (null for a new slot)
+     */
+    private ConflictCheckResponse detectConflicts(RecruiterAvailabilityIndex index,
+            LocalDateTime proposedStartTime, Integer durationMinutes,
+            Integer excludeInterviewId, boolean candidateHasConflict) {
         List<ConflictCheckResponse.ConflictDetail> conflicts = new ArrayList<>();
         LocalDateTime proposedEndTime = proposedStartTime.plusMinutes(durationMinutes);
         LocalDate date = proposedStartTime.toLocalDate();
         LocalTime time = proposedStartTime.toLocalTime();
         DayOfWeek dayOfWeek = date.getDayOfWeek();
 
-        Optional<RecruiterWorkingHours> workingHoursOpt = workingHoursRepo
-                .findByRecruiterIdAndDayOfWeek(recruiterId, dayOfWeek);
+        Optional<RecruiterWorkingHours> workingHoursOpt = index.workingHours(dayOfWeek);
 
         if (workingHoursOpt.isEmpty() || !Boolean.TRUE.equals(workingHoursOpt.get().getIsWorkingDay())) {
             conflicts.add(ConflictCheckResponse.ConflictDetail.builder()
@@ -319,7 +337,7 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
                 }
             }
 
-            Long interviewCount = interviewScheduleRepo.countInterviewsOnDate(recruiterId, date);
+            long interviewCount = index.countActiveOn(date, excludeInterviewId);
             if (interviewCount >= workingHours.getMaxInterviewsPerDay()) {
                 conflicts.add(ConflictCheckResponse.ConflictDetail.builder()
                         .conflictType("MAX_INTERVIEWS_REACHED")
@@ -331,25 +349,18 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
             }
         }
 
-        List<InterviewSchedule> overlappingInterviews = interviewScheduleRepo
-                .findOverlappingInterviews(recruiterId, proposedStartTime, proposedEndTime);
-
-        for (InterviewSchedule interview : overlappingInterviews) {
+        for (RecruiterAvailabilityIndex.Booking booking
+                : index.overlapping(proposedStartTime, proposedEndTime, excludeInterviewId)) {
             conflicts.add(ConflictCheckResponse.ConflictDetail.builder()
                     .conflictType("INTERVIEW_OVERLAP")
-                    .conflictStart(interview.getScheduledDate())
-                    .conflictEnd(interview.getScheduledDate().plusMinutes(interview.getDurationMinutes()))
-                    .conflictingInterviewId(interview.getId())
+                    .conflictStart(booking.start())
+                    .conflictEnd(booking.end())
+                    .conflictingInterviewId(booking.interviewId())
                     .description(String.format("Overlaps with existing interview (ID: %d, %s - %s)",
-                            interview.getId(),
-                            interview.getScheduledDate(),
-                            interview.getScheduledDate().plusMinutes(interview.getDurationMinutes())))
+                            booking.interviewId(), booking.start(), booking.end()))
                     .build());
         }
 
-        boolean candidateHasConflict = interviewScheduleRepo.candidateHasConflict(
-                candidateId, proposedStartTime, proposedEndTime);
-
         if (candidateHasConflict) {
             conflicts.add(ConflictCheckResponse.ConflictDetail.builder()
                     .conflictType("INTERVIEW_OVERLAP")
@@ -381,13 +392,20 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
 
         List<InterviewSchedule> interviews = interviewScheduleRepo
                 .findByRecruiterIdAndDateRange(recruiterId, startDate, endDate);
+        RecruiterAvailabilityIndex index = availabilityEngine.forRange(recruiterId, startDate, endDate);
 
+        // Each interview is checked against the others, not against itself
         return interviews.stream()
-                .map(interview -> checkConflict(
-                        recruiterId,
-                        interview.getJobApply().getCandidate().getCandidateId(),
+                .map(interview -> detectConflicts(
+                        index,
                         interview.getScheduledDate(),
-                        interview.getDurationMinutes()))
+                        interview.getDurationMinutes(),
+                        interview.getId(),
+                        interviewScheduleRepo.candidateHasConflictExcludingInterview(
+                                interview.getJobApply().getCandidate().getCandidateId(),
+                                interview.getScheduledDate(),
+                                interview.getScheduledDate().plusMinutes(interview.getDurationMinutes()),
+                                interview.getId())))
                 .filter(response -> Boolean.TRUE.equals(response.getHasConflict()))
                 .collect(Collectors.toList());
     }
@@ -397,88 +415,9 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
     public List<LocalTime> getAvailableSlots(Integer recruiterId, LocalDate date, Integer durationMinutes) {
         log.info("Getting available slots for recruiter {} on {}", recruiterId, date);
 
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-
-        Optional<RecruiterWorkingHours> workingHoursOpt = workingHoursRepo
-                .findByRecruiterIdAndDayOfWeek(recruiterId, dayOfWeek);
-
         // SIMPLIFIED: Allow scheduling even on non-working days (company may have
-        // overtime)
-        // Just generate standard business hours if no working hours configured
-        LocalTime startTime = LocalTime.of(8, 0); // Default: 8 AM
-        LocalTime endTime = LocalTime.of(20, 0); // Default: 8 PM (allow overtime)
-
-        if (workingHoursOpt.isPresent() && Boolean.TRUE.equals(workingHoursOpt.get().getIsWorkingDay())) {
-            RecruiterWorkingHours workingHours = workingHoursOpt.get();
-            startTime = workingHours.getStartTime() != null ? workingHours.getStartTime() : startTime;
-            endTime = workingHours.getEndTime() != null ? workingHours.getEndTime() : endTime;
-        }
-
-        // SIMPLIFIED: Generate all 15-minute slots without restrictions
-        // Lunch break and buffer time are no longer enforced - company can have
-        // multiple interviewers
-        List<LocalTime> availableSlots = new ArrayList<>();
-        LocalTime current = startTime;
-
-        while (current.isBefore(endTime)) {
-            // Check if interview would fit before end of day
-            LocalTime interviewEnd = current.plusMinutes(durationMinutes);
-            if (!interviewEnd.isAfter(endTime)) {
-                availableSlots.add(current);
-            }
-            current = current.plusMinutes(15);
-        }
-
-        return availableSlots;
-    }
-
-    private boolean isSlotAvailable(LocalTime slotStart, LocalTime slotEnd,
-            RecruiterWorkingHours workingHours,
-            List<InterviewSchedule> existingInterviews,
-            Integer bufferMinutes) {
-        if (!workingHours.isWithinWorkingHours(slotStart) ||
-                !workingHours.isWithinWorkingHours(slotEnd.minusMinutes(1))) {
-            return false;
-        }
-
-        if (workingHours.getLunchBreakStart() != null) {
-            if (workingHours.isDuringLunchBreak(slotStart) ||
-                    workingHours.isDuringLunchBreak(slotEnd.minusMinutes(1))) {
-                return false;
-            }
-        }
-
-        for (InterviewSchedule interview : existingInterviews) {
-            LocalTime interviewStart = interview.getScheduledDate().toLocalTime();
-            LocalTime interviewEnd = interviewStart.plusMinutes(interview.getDurationMinutes());
-
-            // Check for direct overlap: proposed slot overlaps with existing interview
-            if (slotStart.isBefore(interviewEnd) && slotEnd.isAfter(interviewStart)) {
-                return false;
-            }
-
-            // Check buffer AFTER existing interview (proposed slot starts after interview
-            // ends)
-            // Only check if the proposed slot actually starts after the interview ends
-            if (slotStart.isAfter(interviewEnd) || slotStart.equals(interviewEnd)) {
-                long gapMinutes = Duration.between(interviewEnd, slotStart).toMinutes();
-                if (gapMinutes < bufferMinutes) {
-                    return false;
-                }
-            }
-
-            // Check buffer BEFORE existing interview (proposed slot ends before interview
-            // starts)
-            // Only check if the proposed slot actually ends before the interview starts
-            if (slotEnd.isBefore(interviewStart) || slotEnd.equals(interviewStart)) {
-                long gapMinutes = Duration.between(slotEnd, interviewStart).toMinutes();
-                if (gapMinutes < bufferMinutes) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        // overtime), with all 15-minute slots of the day (see RecruiterAvailabilityIndex.freeSlots)
+        return availabilityEngine.forRange(recruiterId, date, date).freeSlots(date, durationMinutes);
     }
 
     @Override
@@ -487,12 +426,12 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
             LocalDate endDate, Integer durationMinutes) {
         log.info("Getting available dates for recruiter {} from {} to {}", recruiterId, startDate, endDate);
 
+        RecruiterAvailabilityIndex index = availabilityEngine.forRange(recruiterId, startDate, endDate);
         List<LocalDate> availableDates = new ArrayList<>();
         LocalDate current = startDate;
 
         while (!current.isAfter(endDate)) {
-            List<LocalTime> slots = getAvailableSlots(recruiterId, current, durationMinutes);
-            if (!slots.isEmpty()) {
+            if (!index.freeSlots(current, durationMinutes).isEmpty()) {
                 availableDates.add(current);
             }
             current = current.plusDays(1);
@@ -506,21 +445,24 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
     public DailyCalendarResponse getDailyCalendar(Integer recruiterId, LocalDate date) {
         log.info("Getting daily calendar for recruiter {} on {}", recruiterId, date);
 
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        RecruiterAvailabilityIndex index = availabilityEngine.forRange(recruiterId, date, date);
+        List<InterviewSchedule> interviews = interviewScheduleRepo.findByRecruiterIdAndDate(recruiterId, date);
+        return buildDailyCalendar(recruiterId, date, index, interviews);
+    }
 
-        Optional<RecruiterWorkingHours> workingHoursOpt = workingHoursRepo
-                .findByRecruiterIdAndDayOfWeek(recruiterId, dayOfWeek);
+    private DailyCalendarResponse buildDailyCalendar(Integer recruiterId, LocalDate date,
+            RecruiterAvailabilityIndex index, List<InterviewSchedule> interviews) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
 
-        RecruiterWorkingHours workingHours = workingHoursOpt.orElse(null);
+        RecruiterWorkingHours workingHours = index.workingHours(dayOfWeek).orElse(null);
         boolean isWorkingDay = workingHours != null && Boolean.TRUE.equals(workingHours.getIsWorkingDay());
 
-        List<InterviewSchedule> interviews = interviewScheduleRepo.findByRecruiterIdAndDate(recruiterId, date);
         List<InterviewScheduleResponse> interviewResponses = interviews.stream()
                 .map(interviewScheduleMapper::toResponse)
                 .collect(Collectors.toList());
 
         // SIMPLIFIED: Always return available slots (8 AM - 8 PM if no config)
-        List<LocalTime> availableSlots = getAvailableSlots(recruiterId, date, 60);
+        List<LocalTime> availableSlots = index.freeSlots(date, 60);
 
         return DailyCalendarResponse.builder()
                 .recruiterId(recruiterId)
@@ -546,12 +488,21 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
         LocalDate monday = weekStartDate.with(DayOfWeek.MONDAY);
         LocalDate sunday = monday.plusDays(6);
 
+        // One query for the whole week instead of one per day
+        RecruiterAvailabilityIndex index = availabilityEngine.forRange(recruiterId, monday, sunday);
+        Map<LocalDate, List<InterviewSchedule>> interviewsByDate = interviewScheduleRepo
+                .findByRecruiterIdAndDateRange(recruiterId, monday, sunday).stream()
+                .collect(Collectors.groupingBy(
+                        interview -> interview.getScheduledDate().toLocalDate(),
+                        Collectors.toList()));
+
         Map<LocalDate, DailyCalendarResponse> dailyCalendars = new LinkedHashMap<>();
         List<InterviewScheduleResponse> allInterviews = new ArrayList<>();
 
         for (int i = 0; i < 7; i++) {
             LocalDate date = monday.plusDays(i);
-            DailyCalendarResponse dailyCalendar = getDailyCalendar(recruiterId, date);
+            DailyCalendarResponse dailyCalendar = buildDailyCalendar(recruiterId, date, index,
+                    interviewsByDate.getOrDefault(date, List.of()));
             dailyCalendars.put(date, dailyCalendar);
             allInterviews.addAll(dailyCalendar.getInterviews());
         }
@@ -714,7 +665,8 @@ public class InterviewCalendarServiceImpl implements InterviewCalendarService {
     public List<LocalTime> suggestOptimalTimes(Integer recruiterId, LocalDate date, Integer durationMinutes) {
         log.info("Suggesting optimal times for recruiter {} on {}", recruiterId, date);
 
-        List<LocalTime> availableSlots = getAvailableSlots(recruiterId, date, durationMinutes);
+        List<LocalTime> availableSlots = availabilityEngine.forRange(recruiterId, date, date)
+                .freeSlots(date, durationMinutes);
 
         List<LocalTime> optimal = new ArrayList<>();
         LocalTime midMorning = LocalTime.of(10, 0);
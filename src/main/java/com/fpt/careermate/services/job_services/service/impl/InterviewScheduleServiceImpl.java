@@ -9,7 +9,10 @@ import com.fpt.careermate.services.job_services.domain.InterviewSchedule;
 import com.fpt.careermate.services.job_services.domain.JobApply;
 import com.fpt.careermate.services.job_services.repository.InterviewScheduleRepo;
 import com.fpt.careermate.services.job_services.repository.JobApplyRepo;
+import com.fpt.careermate.services.job_services.service.InterviewAvailabilityEngine;
 import com.fpt.careermate.services.job_services.service.InterviewCalendarService;
+import com.fpt.careermate.services.job_services.service.InterviewReminderMetrics;
+import com.fpt.careermate.services.job_services.service.RecruiterStatsRollup;
 import com.fpt.careermate.services.job_services.service.dto.request.CompleteInterviewRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.InterviewScheduleRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.UpdateInterviewRequest;
@@ -24,15 +27,27 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -51,8 +66,15 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
     JobApplyRepo jobApplyRepo;
     InterviewScheduleMapper interviewMapper;
     InterviewCalendarService calendarService;
+    InterviewAvailabilityEngine availabilityEngine;
+    InterviewReminderMetrics reminderMetrics;
+    RecruiterStatsRollup recruiterStatsRollup;
     NotificationProducer notificationProducer;
 
+    // Reminders claimed per query; a run keeps claiming until no due reminder is left
+    static final int REMINDER_CLAIM_BATCH_SIZE = 200;
+    static final long REMINDER_PUBLISH_TIMEOUT_SECONDS = 30;
+
     @Override
     @Transactional
     public InterviewScheduleResponse scheduleInterview(Integer jobApplyId, InterviewScheduleRequest request) {
@@ -123,12 +145,13 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 .build();
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         // Update job application status and timestamps
         if (jobApply.getInterviewScheduledAt() == null) {
             jobApply.setInterviewScheduledAt(LocalDateTime.now());
         }
-        jobApply.setStatus(StatusJobApply.INTERVIEW_SCHEDULED);
+        recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.INTERVIEW_SCHEDULED);
         jobApply.setLastContactAt(LocalDateTime.now());
         jobApplyRepo.save(jobApply);
 
@@ -175,6 +198,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         interview.setStatus(InterviewStatus.CONFIRMED);
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         // Notify recruiter that candidate confirmed the interview
         sendInterviewConfirmedNotificationToRecruiter(interview);
@@ -205,10 +229,11 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
             // Don't set interviewCompletedAt since it's not completed
 
             interview = interviewRepo.save(interview);
+            availabilityEngine.onInterviewChanged(interview);
 
             // Set job application back to REVIEWING for new interview scheduling
             JobApply jobApply = interview.getJobApply();
-            jobApply.setStatus(StatusJobApply.REVIEWING);
+            recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.REVIEWING);
             jobApply.setLastContactAt(LocalDateTime.now());
             jobApplyRepo.save(jobApply);
 
@@ -227,6 +252,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         interview.setOutcome(request.getOutcome());
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         // Update job application status and timestamps based on interview outcome
         JobApply jobApply = interview.getJobApply();
@@ -234,7 +260,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
             jobApply.setInterviewedAt(interview.getInterviewCompletedAt());
         }
         StatusJobApply newStatus = determineJobApplyStatusFromOutcome(request.getOutcome());
-        jobApply.setStatus(newStatus);
+        recruiterStatsRollup.changeStatus(jobApply, newStatus);
         jobApply.setLastContactAt(LocalDateTime.now());
         jobApplyRepo.save(jobApply);
 
@@ -283,9 +309,10 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         interview.setInterviewerNotes(notes != null ? notes : "Candidate did not attend interview");
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         JobApply jobApply = interview.getJobApply();
-        jobApply.setStatus(StatusJobApply.REJECTED);
+        recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.REJECTED);
         jobApply.setLastContactAt(LocalDateTime.now());
         jobApplyRepo.save(jobApply);
 
@@ -311,12 +338,13 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         interview.setInterviewerNotes("Cancelled: " + reason);
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         // Update job application status back to REVIEWING when interview is cancelled
         // This allows the recruiter to schedule a new interview or take other actions
         JobApply jobApply = interview.getJobApply();
         if (jobApply.getStatus() == StatusJobApply.INTERVIEW_SCHEDULED) {
-            jobApply.setStatus(StatusJobApply.REVIEWING);
+            recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.REVIEWING);
             jobApplyRepo.save(jobApply);
             log.info("Updated job application {} status from INTERVIEW_SCHEDULED to REVIEWING after cancellation", 
                     jobApply.getId());
@@ -344,6 +372,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         interview.setDurationMinutes(newDurationMinutes);
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         log.info("Duration adjusted from {} to {} minutes", originalDuration, newDurationMinutes);
         return interviewMapper.toResponse(interview);
@@ -372,9 +401,10 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
             interview.setOutcome(request.getOutcome());
 
             interview = interviewRepo.save(interview);
+            availabilityEngine.onInterviewChanged(interview);
 
             JobApply jobApply = interview.getJobApply();
-            jobApply.setStatus(StatusJobApply.REVIEWING);
+            recruiterStatsRollup.changeStatus(jobApply, StatusJobApply.REVIEWING);
             jobApply.setLastContactAt(LocalDateTime.now());
             jobApplyRepo.save(jobApply);
 
@@ -389,6 +419,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         interview.setOutcome(request.getOutcome());
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         // Update job application status and timestamps based on interview outcome
         JobApply jobApply = interview.getJobApply();
@@ -396,7 +427,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
             jobApply.setInterviewedAt(interview.getInterviewCompletedAt());
         }
         StatusJobApply newStatus = determineJobApplyStatusFromOutcome(request.getOutcome());
-        jobApply.setStatus(newStatus);
+        recruiterStatsRollup.changeStatus(jobApply, newStatus);
         jobApply.setLastContactAt(LocalDateTime.now());
         jobApplyRepo.save(jobApply);
 
@@ -485,6 +516,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         }
 
         interview = interviewRepo.save(interview);
+        availabilityEngine.onInterviewChanged(interview);
 
         // Send notification to candidate about the update
         if (request.getScheduledDate() != null) {
@@ -593,26 +625,10 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         log.info("Sending 24-hour interview reminders");
 
         LocalDateTime targetTime = LocalDateTime.now().plusHours(24);
-        List<InterviewSchedule> interviews = interviewRepo.findInterviewsNeedingReminder(
-                targetTime.minusMinutes(30),
-                targetTime.plusMinutes(30),
-                true // is24hReminder
-        );
-
-        int sentCount = 0;
-        for (InterviewSchedule interview : interviews) {
-            try {
-                sendInterviewReminderNotification(interview, "24_HOUR");
-                interview.setReminderSent24h(true);
-                interviewRepo.save(interview);
-                sentCount++;
-            } catch (Exception e) {
-                log.error("Failed to send 24h reminder for interview {}: {}", interview.getId(), e.getMessage());
-            }
-        }
-
-        log.info("Sent {} 24-hour reminders", sentCount);
-        return sentCount;
+        return dispatchReminders("24_HOUR", Duration.ofHours(24),
+                limit -> interviewRepo.claimReminders24h(
+                        targetTime.minusMinutes(30), targetTime.plusMinutes(30), limit),
+                interviewRepo::releaseReminders24h);
     }
 
     @Override
@@ -621,35 +637,116 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
         log.info("Sending 2-hour interview reminders");
 
         LocalDateTime targetTime = LocalDateTime.now().plusHours(2);
-        List<InterviewSchedule> interviews = interviewRepo.findInterviewsNeedingReminder(
-                targetTime.minusMinutes(15),
-                targetTime.plusMinutes(15),
-                false // is24hReminder (false = 2h reminder)
-        );
+        return dispatchReminders("2_HOUR", Duration.ofHours(2),
+                limit -> interviewRepo.claimReminders2h(
+                        targetTime.minusMinutes(15), targetTime.plusMinutes(15), limit),
+                interviewRepo::releaseReminders2h);
+    }
 
+    /**
+     * Claims due reminders in batches and publishes each batch's notifications in one Kafka burst.
+     * Claiming marks the reminders as sent with SKIP LOCKED, so instances running the same job
+     * never pick the same reminder. Reminders that could not be published are released at the
+     * end of the run for the next run to retry.
+     *
+     * @param leadTime how long before the interview the reminder is due (for lateness metrics)
+     * @param claim    claims up to the given number of due reminders, returning interview ids
+     * @param release  un-marks reminders that were claimed but not published
+     * @return number of interviews whose reminders were published
+     */
+    private int dispatchReminders(String reminderType, Duration leadTime,
+                                  IntFunction<List<Integer>> claim,
+                                  Consumer<Collection<Integer>> release) {
+        int claimedCount = 0;
         int sentCount = 0;
+        Set<Integer> failedIds = new HashSet<>();
+
+        List<Integer> claimedIds;
+        do {
+            claimedIds = claim.apply(REMINDER_CLAIM_BATCH_SIZE);
+            if (claimedIds.isEmpty()) {
+                break;
+            }
+            claimedCount += claimedIds.size();
+
+            List<InterviewSchedule> interviews = interviewRepo.findAllWithDetailsByIdIn(claimedIds);
+            Set<Integer> batchFailedIds = publishReminders(interviews, reminderType, leadTime);
+            sentCount += interviews.size() - batchFailedIds.size();
+            failedIds.addAll(batchFailedIds);
+        } while (claimedIds.size() == REMINDER_CLAIM_BATCH_SIZE);
+
+        // Released only now, otherwise the next claim of this run would pick them up again
+        if (!failedIds.isEmpty()) {
+            release.accept(failedIds);
+            log.warn("Released {} {} reminders that could not be published", failedIds.size(), reminderType);
+        }
+
+        reminderMetrics.recordRun(reminderType, claimedCount, sentCount, failedIds.size());
+        log.info("Sent {} {} reminders ({} claimed, {} failed)",
+                sentCount, reminderType, claimedCount, failedIds.size());
+        return sentCount;
+    }
+
+    /**
+     * Publishes candidate and recruiter reminders of the given interviews in one batch
+     *
+     * @return ids of interviews with at least one notification that was not published
+     */
+    private Set<Integer> publishReminders(List<InterviewSchedule> interviews, String reminderType,
+                                          Duration leadTime) {
+        Set<Integer> failedIds = new HashSet<>();
+        List<ProducerRecord<String, NotificationEvent>> records = new ArrayList<>();
+        List<Integer> recordInterviewIds = new ArrayList<>();
+
         for (InterviewSchedule interview : interviews) {
             try {
-                sendInterviewReminderNotification(interview, "2_HOUR");
-                interview.setReminderSent2h(true);
-                interviewRepo.save(interview);
-                sentCount++;
+                for (ProducerRecord<String, NotificationEvent> record : buildReminderRecords(interview, reminderType)) {
+                    records.add(record);
+                    recordInterviewIds.add(interview.getId());
+                }
             } catch (Exception e) {
-                log.error("Failed to send 2h reminder for interview {}: {}", interview.getId(), e.getMessage());
+                log.error("Failed to build {} reminder for interview {}: {}",
+                        reminderType, interview.getId(), e.getMessage());
+                failedIds.add(interview.getId());
             }
         }
 
-        log.info("Sent {} 2-hour reminders", sentCount);
-        return sentCount;
+        List<CompletableFuture<SendResult<String, NotificationEvent>>> futures =
+                notificationProducer.sendBatch(records);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(REMINDER_PUBLISH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedIds.add(recordInterviewIds.get(i));
+            } catch (ExecutionException | TimeoutException e) {
+                log.error("Failed to send {} reminder for interview {}: {}",
+                        reminderType, recordInterviewIds.get(i), e.getMessage());
+                failedIds.add(recordInterviewIds.get(i));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (InterviewSchedule interview : interviews) {
+            if (!failedIds.contains(interview.getId())) {
+                reminderMetrics.recordLateness(reminderType,
+                        Duration.between(interview.getScheduledDate().minus(leadTime), now));
+            }
+        }
+        return failedIds;
     }
 
     /**
-     * Sends interview reminder notifications to both candidate and recruiter.
+     * Builds the interview reminder notifications for both candidate and recruiter.
+     * Event ids are derived from the interview, its scheduled time and the reminder type, so the
+     * notification consumer drops a reminder published twice (e.g. a batch retried after its
+     * transaction failed to commit), while a rescheduled interview still gets new reminders.
      * 
      * @param interview    The interview to send reminders for
      * @param reminderType Either "24_HOUR" or "2_HOUR"
      */
-    private void sendInterviewReminderNotification(InterviewSchedule interview, String reminderType) {
+    private List<ProducerRecord<String, NotificationEvent>> buildReminderRecords(InterviewSchedule interview,
+                                                                               String reminderType) {
         JobApply jobApply = interview.getJobApply();
         String candidateEmail = jobApply.getCandidate().getAccount().getEmail();
         String recruiterEmail = jobApply.getJobPosting().getRecruiter().getAccount().getEmail();
@@ -684,7 +781,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 interview.getMeetingLink());
 
         NotificationEvent candidateEvent = NotificationEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(reminderEventId(interview, reminderType, "candidate"))
                 .recipientEmail(candidateEmail)
                 .recipientId(String.valueOf(jobApply.getCandidate().getCandidateId()))
                 .category("CANDIDATE")
@@ -696,8 +793,6 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        notificationProducer.sendNotification("candidate-notifications", candidateEvent);
-        log.info("Sent {} interview reminder to candidate: {}", reminderType, candidateEmail);
 
         // Send notification to recruiter
         String recruiterMessage = String.format(
@@ -714,7 +809,7 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 interview.getInterviewType());
 
         NotificationEvent recruiterEvent = NotificationEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(reminderEventId(interview, reminderType, "recruiter"))
                 .recipientEmail(recruiterEmail)
                 .recipientId(String.valueOf(jobApply.getJobPosting().getRecruiter().getId()))
                 .category("RECRUITER")
@@ -726,8 +821,14 @@ public class InterviewScheduleServiceImpl implements InterviewScheduleService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        notificationProducer.sendNotification("recruiter-notifications", recruiterEvent);
-        log.info("Sent {} interview reminder to recruiter: {}", reminderType, recruiterEmail);
+        return List.of(
+                new ProducerRecord<>("candidate-notifications", candidateEvent.getEventId(), candidateEvent),
+                new ProducerRecord<>("recruiter-notifications", recruiterEvent.getEventId(), recruiterEvent));
+    }
+
+    private static String reminderEventId(InterviewSchedule interview, String reminderType, String recipient) {
+        return String.format("interview-reminder-%d-%s-%s-%s", interview.getId(),
+                interview.getScheduledDate().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), reminderType, recipient);
     }
 
     private InterviewSchedule findInterviewById(Integer interviewId) {
@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 /**
  * Scheduled service for interview reminder notifications.
  * Sends 24-hour and 2-hour reminders to candidates.
+ * Safe to run on every instance: due reminders are claimed with SKIP LOCKED,
+ * so each one is published by a single node.
  * 
  * @since 1.0
  */
@@ -2,8 +2,7 @@ package com.fpt.careermate.services.job_services.web;
 
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
-import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.PrincipalContext;
 import com.fpt.careermate.services.job_services.service.InterviewCalendarService;
 import com.fpt.careermate.services.job_services.service.dto.request.BatchWorkingHoursRequest;
 import com.fpt.careermate.services.job_services.service.dto.request.ConflictCheckRequest;
@@ -12,7 +11,6 @@ import com.fpt.careermate.services.job_services.service.dto.request.RecruiterWor
 import com.fpt.careermate.services.job_services.service.dto.response.*;
 import com.fpt.careermate.services.job_services.service.impl.InterviewCalendarServiceImpl;
 import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
-import com.fpt.careermate.services.recruiter_services.repository.RecruiterRepo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -37,22 +35,14 @@ import java.util.List;
 public class InterviewCalendarController {
 
         private final InterviewCalendarService calendarService;
-        private final AuthenticationImp authenticationImp;
-        private final RecruiterRepo recruiterRepo;
+        private final PrincipalContext principalContext;
         
         /**
          * Get current recruiter from JWT token.
          * Uses JWT claims first (efficient), falls back to DB lookup if needed.
          */
         private Recruiter getMyRecruiter() {
-            Integer recruiterId = authenticationImp.getRecruiterIdFromToken();
-            if (recruiterId != null) {
-                return recruiterRepo.findById(recruiterId)
-                        .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
-            }
-            // Fallback for old tokens without recruiterId claim
-            Account currentAccount = authenticationImp.findByEmail();
-            return recruiterRepo.findByAccount_Id(currentAccount.getId())
+            return principalContext.currentRecruiter()
                     .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
         }
 
@@ -3,26 +3,27 @@ package com.fpt.careermate.services.kafka.consumer;
 import com.fpt.careermate.common.util.MailBody;
 import com.fpt.careermate.config.KafkaConfig;
 import com.fpt.careermate.services.email_services.service.impl.EmailService;
-import com.fpt.careermate.services.health_services.domain.NotificationHeartbeat;
-import com.fpt.careermate.services.health_services.repository.NotificationHeartbeatRepo;
+import com.fpt.careermate.services.health_services.service.NotificationWorkerMetrics;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
 import com.fpt.careermate.services.notification_services.domain.Notification;
 import com.fpt.careermate.services.notification_services.repository.NotificationRepo;
+import com.fpt.careermate.services.notification_services.service.AnnouncementService;
 import com.fpt.careermate.services.notification_services.service.FcmPushNotificationService;
 import com.fpt.careermate.services.notification_services.service.NotificationSseService;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Kafka consumer service for processing notifications
@@ -34,43 +35,30 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NotificationConsumer {
 
-    private final NotificationHeartbeatRepo heartbeatRepo;
+    private final NotificationWorkerMetrics workerMetrics;
     private final NotificationRepo notificationRepo;
     private final EmailService emailService;
     private final NotificationSseService sseService;
     private final FcmPushNotificationService fcmService;
+    private final AnnouncementService announcementService;
+
+    // Redeliveries of a failing record before it is skipped, so one bad message cannot block a partition
+    private static final int MAX_DELIVERY_ATTEMPTS = 3;
+    private static final Duration NACK_SLEEP = Duration.ofSeconds(1);
+
+    // Failed delivery attempts by topic-partition@offset
+    private final Map<String, Integer> failedDeliveries = new ConcurrentHashMap<>();
 
     /**
      * Consumer for admin notifications
      */
     @KafkaListener(topics = KafkaConfig.ADMIN_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
     public void consumeAdminNotification(
-            @Payload NotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
-
-        try {
-            log.info("📨 Received ADMIN notification | Topic: {} | Partition: {} | Offset: {} | EventId: {}",
-                    KafkaConfig.ADMIN_NOTIFICATION_TOPIC, partition, offset, event.getEventId());
-
-            // Process the notification
-            processNotification(event);
-
-            // Manually commit offset after successful processing
-            acknowledgment.acknowledge();
-            log.info("✅ Successfully processed ADMIN notification: {}", event.getEventId());
-
-            // Update heartbeat
-            updateHeartbeat(true, null);
-
-        } catch (Exception e) {
-            log.error("❌ Error processing ADMIN notification: {} | Error: {}",
-                    event.getEventId(), e.getMessage(), e);
-            // Update heartbeat with error
-            updateHeartbeat(false, e.getMessage());
-            // Don't acknowledge - message will be reprocessed
-        }
+            List<ConsumerRecord<String, NotificationEvent>> records,
+            Acknowledgment acknowledgment,
+            Consumer<?, ?> consumer) {
+        consumeBatch("ADMIN", records, acknowledgment);
+        workerMetrics.recordLag(consumer);
     }
 
     /**
@@ -78,65 +66,190 @@ public class NotificationConsumer {
      */
     @KafkaListener(topics = KafkaConfig.RECRUITER_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
     public void consumeRecruiterNotification(
-            @Payload NotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+            List<ConsumerRecord<String, NotificationEvent>> records,
+            Acknowledgment acknowledgment,
+            Consumer<?, ?> consumer) {
+        consumeBatch("RECRUITER", records, acknowledgment);
+        workerMetrics.recordLag(consumer);
+    }
 
-        try {
-            log.info("📨 Received RECRUITER notification | Topic: {} | Partition: {} | Offset: {} | EventId: {}",
-                    KafkaConfig.RECRUITER_NOTIFICATION_TOPIC, partition, offset, event.getEventId());
+    /**
+     * Consumer for candidate notifications
+     */
+    @KafkaListener(topics = KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
+    public void consumeCandidateNotification(
+            List<ConsumerRecord<String, NotificationEvent>> records,
+            Acknowledgment acknowledgment,
+            Consumer<?, ?> consumer) {
+        consumeBatch("CANDIDATE", records, acknowledgment);
+        workerMetrics.recordLag(consumer);
+    }
 
-            // Process the notification
-            processNotification(event);
+    /**
+     * Process one polled batch and acknowledge it once.
+     * The fast path dedupes, inserts and counts unread notifications with one query each.
+     * If it fails, records are processed one by one; the first failing record is nacked so it
+     * and everything after it are redelivered (at-least-once), up to MAX_DELIVERY_ATTEMPTS.
+     */
+    private void consumeBatch(String label, List<ConsumerRecord<String, NotificationEvent>> records,
+                              Acknowledgment acknowledgment) {
+        if (records.isEmpty()) {
+            return;
+        }
+        ConsumerRecord<String, NotificationEvent> first = records.get(0);
+        log.info("📨 Received {} {} notifications | Topic: {} | Partition: {} | First offset: {}",
+                records.size(), label, first.topic(), first.partition(), first.offset());
+
+        List<NotificationEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, NotificationEvent> record : records) {
+            if (record.value() != null) {
+                events.add(record.value());
+            }
+        }
 
-            // Manually commit offset after successful processing
-            acknowledgment.acknowledge();
-            log.info("✅ Successfully processed RECRUITER notification: {}", event.getEventId());
+        List<Notification> saved = null;
+        try {
+            saved = persistBatch(events);
+        } catch (Exception e) {
+            log.warn("⚠️ Batch processing failed for {} {} notifications, falling back to one by one | Error: {}",
+                    records.size(), label, e.getMessage());
+        }
+        if (saved != null) {
+            // Rows are committed now: the fallback would skip them as duplicates, so delivery is best effort here
+            dispatchBatch(saved, events);
 
-            // Update heartbeat
-            updateHeartbeat(true, null);
+            // Manually commit offsets after successful processing
+            acknowledgment.acknowledge();
+            records.forEach(record -> failedDeliveries.remove(deliveryKey(record)));
+            log.info("✅ Successfully processed {} {} notifications ({} new)", records.size(), label, saved.size());
+            workerMetrics.recordBatch(records.size(), 0, null);
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("❌ Error processing RECRUITER notification: {} | Error: {}",
-                    event.getEventId(), e.getMessage(), e);
-            // Update heartbeat with error
-            updateHeartbeat(false, e.getMessage());
-            // Don't acknowledge - message will be reprocessed
+        int processed = 0;
+        int failed = 0;
+        String lastError = null;
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, NotificationEvent> record = records.get(i);
+            try {
+                if (record.value() != null) {
+                    processNotification(record.value());
+                }
+                failedDeliveries.remove(deliveryKey(record));
+                processed++;
+            } catch (Exception e) {
+                String eventId = record.value() != null ? record.value().getEventId() : null;
+                int attempts = failedDeliveries.merge(deliveryKey(record), 1, Integer::sum);
+                failed++;
+                lastError = e.getMessage();
+                if (attempts < MAX_DELIVERY_ATTEMPTS) {
+                    log.error("❌ Error processing {} notification: {} | Attempt: {} | Error: {}",
+                            label, eventId, attempts, e.getMessage(), e);
+                    workerMetrics.recordBatch(processed, failed, lastError);
+                    // Commit everything before this record; redeliver it and the rest of the batch
+                    acknowledgment.nack(i, NACK_SLEEP);
+                    return;
+                }
+                log.error("❌ Giving up on {} notification: {} after {} attempts | Error: {}",
+                        label, eventId, attempts, e.getMessage(), e);
+                failedDeliveries.remove(deliveryKey(record));
+            }
         }
+        acknowledgment.acknowledge();
+        workerMetrics.recordBatch(processed, failed, lastError);
     }
 
     /**
-     * Consumer for candidate notifications
+     * Insert the new notifications of a batch.
+     * Event ids are checked against the database with one IN query and deduplicated within the batch.
      */
-    @KafkaListener(topics = KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
-    public void consumeCandidateNotification(
-            @Payload NotificationEvent event,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
-
-        try {
-            log.info("📨 Received CANDIDATE notification | Topic: {} | Partition: {} | Offset: {} | EventId: {}",
-                    KafkaConfig.CANDIDATE_NOTIFICATION_TOPIC, partition, offset, event.getEventId());
+    private List<Notification> persistBatch(List<NotificationEvent> events) {
+        Set<String> eventIds = new HashSet<>();
+        for (NotificationEvent event : events) {
+            eventIds.add(event.getEventId());
+        }
+        eventIds.remove(null);
+        Set<String> existingEventIds = eventIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(notificationRepo.findExistingEventIds(eventIds));
+
+        Map<String, Notification> newNotifications = new LinkedHashMap<>();
+        for (NotificationEvent event : events) {
+            if (existingEventIds.contains(event.getEventId()) || newNotifications.containsKey(event.getEventId())) {
+                log.warn("⚠️ Notification with eventId {} already exists, skipping", event.getEventId());
+                continue;
+            }
+            newNotifications.put(event.getEventId(), toNotification(event));
+        }
 
-            // Process the notification
-            processNotification(event);
+        notificationRepo.insertAll(newNotifications.values());
+        log.info("✅ {} notifications saved to database", newNotifications.size());
+        return new ArrayList<>(newNotifications.values());
+    }
 
-            // Manually commit offset after successful processing
-            acknowledgment.acknowledge();
-            log.info("✅ Successfully processed CANDIDATE notification: {}", event.getEventId());
+    /**
+     * Real-time, push and email delivery for saved notifications.
+     * Unread counts are computed with one grouped query and sent once per recipient.
+     * Never throws: a failing channel or notification must not stop delivery of the others.
+     */
+    private void dispatchBatch(List<Notification> notifications, List<NotificationEvent> events) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Map<String, NotificationEvent> eventsById = new HashMap<>();
+        for (NotificationEvent event : events) {
+            eventsById.putIfAbsent(event.getEventId(), event);
+        }
 
-            // Update heartbeat
-            updateHeartbeat(true, null);
+        Map<String, List<NotificationResponse>> byRecipient = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            byRecipient.computeIfAbsent(notification.getRecipientId(), id -> new ArrayList<>())
+                    .add(toResponse(notification));
+        }
 
+        Map<String, Long> unreadCounts = null;
+        try {
+            unreadCounts = new HashMap<>();
+            for (Object[] row : notificationRepo.countUnreadByRecipientIds(byRecipient.keySet())) {
+                unreadCounts.put((String) row[0], ((Number) row[1]).longValue());
+            }
+            // Plus unread broadcast announcements
+            for (Map.Entry<String, Long> entry : announcementService.countUnread(byRecipient.keySet()).entrySet()) {
+                unreadCounts.merge(entry.getKey(), entry.getValue(), Long::sum);
+            }
         } catch (Exception e) {
-            log.error("❌ Error processing CANDIDATE notification: {} | Error: {}",
-                    event.getEventId(), e.getMessage(), e);
-            // Update heartbeat with error
-            updateHeartbeat(false, e.getMessage());
-            // Don't acknowledge - message will be reprocessed
+            log.warn("⚠️ Failed to count unread notifications for {} recipients | error: {}",
+                    byRecipient.size(), e.getMessage());
+            unreadCounts = null;
+        }
+
+        // Notifications and the new unread count of a recipient go out as one SSE write
+        for (Map.Entry<String, List<NotificationResponse>> entry : byRecipient.entrySet()) {
+            Integer unreadCount = unreadCounts != null
+                    ? unreadCounts.getOrDefault(entry.getKey(), 0L).intValue()
+                    : null;
+            try {
+                sseService.sendNotifications(entry.getKey(), entry.getValue(), unreadCount);
+            } catch (Exception e) {
+                // Don't fail notification processing if SSE fails (users might not be connected)
+                log.warn("⚠️ Failed to send SSE notifications | userId: {} | error: {}",
+                        entry.getKey(), e.getMessage());
+            }
         }
+
+        for (Notification notification : notifications) {
+            sendPushNotification(notification);
+            try {
+                sendAdditionalNotifications(eventsById.get(notification.getEventId()));
+            } catch (Exception e) {
+                log.warn("⚠️ Failed to send additional notifications | eventId: {} | error: {}",
+                        notification.getEventId(), e.getMessage());
+            }
+        }
+    }
+
+    private static String deliveryKey(ConsumerRecord<?, ?> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
     }
 
     /**
@@ -153,28 +266,8 @@ public class NotificationConsumer {
                 return;
             }
 
-            // Defensive: Use subject as fallback if title is null (for backward compatibility with old Kafka messages)
-            String title = event.getTitle();
-            if (title == null || title.trim().isEmpty()) {
-                title = event.getSubject();
-                log.warn("⚠️ Notification title is null, using subject as fallback: {}", title);
-            }
-
             // Save notification to database
-            Notification notification = Notification.builder()
-                    .eventId(event.getEventId())
-                    .eventType(event.getEventType())
-                    .recipientId(event.getRecipientId())
-                    .recipientEmail(event.getRecipientEmail())
-                    .title(title)
-                    .subject(event.getSubject())
-                    .message(event.getMessage())
-                    .category(event.getCategory())
-                    .metadata(event.getMetadata())
-                    .priority(event.getPriority())
-                    .isRead(false)
-                    .createdAt(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now())
-                    .build();
+            Notification notification = toNotification(event);
 
             notificationRepo.save(notification);
             log.info("✅ Notification saved to database | eventId: {} | recipient: {}",
@@ -195,6 +288,30 @@ public class NotificationConsumer {
         }
     }
 
+    private Notification toNotification(NotificationEvent event) {
+        // Defensive: Use subject as fallback if title is null (for backward compatibility with old Kafka messages)
+        String title = event.getTitle();
+        if (title == null || title.trim().isEmpty()) {
+            title = event.getSubject();
+            log.warn("⚠️ Notification title is null, using subject as fallback: {}", title);
+        }
+
+        return Notification.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .recipientId(event.getRecipientId())
+                .recipientEmail(event.getRecipientEmail())
+                .title(title)
+                .subject(event.getSubject())
+                .message(event.getMessage())
+                .category(event.getCategory())
+                .metadata(event.getMetadata())
+                .priority(event.getPriority())
+                .isRead(false)
+                .createdAt(event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now())
+                .build();
+    }
+
     /**
      * Send additional notifications (email, push, SMS, etc.)
      * This can be extended based on requirements
@@ -400,39 +517,27 @@ public class NotificationConsumer {
 
     /**
      * Send real-time notification via Server-Sent Events (SSE).
-     * Broadcasts the notification to all active SSE connections for the user.
-     * Also sends updated unread count to keep notification bell badge current.
+     * Broadcasts the notification to all active SSE connections for the user,
+     * together with the updated unread count to keep notification bell badge current.
      *
      * @param notification The saved notification entity
      */
     private void sendSseNotification(Notification notification) {
+        Integer unreadCount = null;
         try {
-            // Convert entity to response DTO
-            NotificationResponse response = NotificationResponse.builder()
-                    .id(notification.getId())
-                    .eventId(notification.getEventId())
-                    .eventType(notification.getEventType())
-                    .recipientId(notification.getRecipientId())
-                    .title(notification.getTitle())
-                    .message(notification.getMessage())
-                    .category(notification.getCategory())
-                    .metadata(notification.getMetadata())
-                    .priority(notification.getPriority())
-                    .isRead(notification.getIsRead())
-                    .createdAt(notification.getCreatedAt())
-                    .readAt(notification.getReadAt())
-                    .build();
-
-            // Send notification to user via SSE
-            sseService.sendNotification(notification.getRecipientId(), response);
+            String recipientId = notification.getRecipientId();
+            unreadCount = (int) (notificationRepo.countByRecipientIdAndIsReadFalse(recipientId)
+                    + announcementService.countUnread(List.of(recipientId)).getOrDefault(recipientId, 0L));
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to count unread notifications | userId: {} | error: {}",
+                    notification.getRecipientId(), e.getMessage());
+        }
 
-            // Calculate and send updated unread count
-            long unreadCount = notificationRepo.countByRecipientIdAndIsReadFalse(notification.getRecipientId());
-            sseService.sendUnreadCount(notification.getRecipientId(), (int) unreadCount);
+        try {
+            sseService.sendNotifications(notification.getRecipientId(), List.of(toResponse(notification)), unreadCount);
 
             log.info("📡 Real-time notification sent via SSE | userId: {} | notificationId: {} | unreadCount: {}",
                     notification.getRecipientId(), notification.getId(), unreadCount);
-
         } catch (Exception e) {
             // Don't fail notification processing if SSE fails (user might not be connected)
             log.warn("⚠️ Failed to send SSE notification | userId: {} | notificationId: {} | error: {}",
@@ -440,6 +545,23 @@ public class NotificationConsumer {
         }
     }
 
+    private NotificationResponse toResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .eventId(notification.getEventId())
+                .eventType(notification.getEventType())
+                .recipientId(notification.getRecipientId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .category(notification.getCategory())
+                .metadata(notification.getMetadata())
+                .priority(notification.getPriority())
+                .isRead(notification.getIsRead())
+                .createdAt(notification.getCreatedAt())
+                .readAt(notification.getReadAt())
+                .build();
+    }
+
     /**
      * Send push notification to mobile devices via Firebase Cloud Messaging.
      * Sends to all active device tokens registered for the user.
@@ -450,24 +572,8 @@ public class NotificationConsumer {
      */
     private void sendPushNotification(Notification notification) {
         try {
-            // Convert entity to response DTO
-            NotificationResponse response = NotificationResponse.builder()
-                    .id(notification.getId())
-                    .eventId(notification.getEventId())
-                    .eventType(notification.getEventType())
-                    .recipientId(notification.getRecipientId())
-                    .title(notification.getTitle())
-                    .message(notification.getMessage())
-                    .category(notification.getCategory())
-                    .metadata(notification.getMetadata())
-                    .priority(notification.getPriority())
-                    .isRead(notification.getIsRead())
-                    .createdAt(notification.getCreatedAt())
-                    .readAt(notification.getReadAt())
-                    .build();
-
             // Send push notification to all user's devices
-            int sentCount = fcmService.sendNotificationToUser(notification.getRecipientId(), response);
+            int sentCount = fcmService.sendNotificationToUser(notification.getRecipientId(), toResponse(notification));
 
             if (sentCount > 0) {
                 log.info("📱 Push notification sent | userId: {} | notificationId: {} | devices: {}",
@@ -484,31 +590,4 @@ public class NotificationConsumer {
                     notification.getRecipientId(), notification.getId(), e.getMessage());
         }
     }
-
-    /**
-     * Update heartbeat for health monitoring
-     */
-    private void updateHeartbeat(boolean success, String errorMessage) {
-        try {
-            NotificationHeartbeat heartbeat = heartbeatRepo.findByName("notification-worker")
-                    .orElse(NotificationHeartbeat.builder()
-                            .name("notification-worker")
-                            .lastProcessedAt(Instant.now())
-                            .messageCount(0L)
-                            .errorCount(0L)
-                            .build());
-
-            heartbeat.setLastProcessedAt(Instant.now());
-            heartbeat.setMessageCount(heartbeat.getMessageCount() + 1);
-
-            if (!success) {
-                heartbeat.setErrorCount(heartbeat.getErrorCount() + 1);
-                heartbeat.setLastErrorMessage(errorMessage);
-            }
-
-            heartbeatRepo.save(heartbeat);
-        } catch (Exception e) {
-            log.error("Failed to update heartbeat", e);
-        }
-    }
 }
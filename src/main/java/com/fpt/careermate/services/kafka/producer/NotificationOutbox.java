@@ -0,0 +1,50 @@
+package com.fpt.careermate.services.kafka.producer;
+
+import com.fpt.careermate.config.KafkaConfig;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.outbox_services.service.OutboxPublisher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Publishes notification events through the outbox: they are sent to Kafka only if the
+ * surrounding transaction commits, and retried until the broker acknowledges them.
+ * The consumer skips event ids it has already stored, so a resend does not duplicate a notification.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationOutbox {
+
+    public static final String AGGREGATE_TYPE = "Notification";
+    public static final String EVENT_TYPE = "KAFKA_NOTIFICATION";
+
+    OutboxPublisher outboxPublisher;
+
+    public record OutboxNotification(String topic, NotificationEvent event) {
+    }
+
+    public void sendAdminNotification(NotificationEvent event) {
+        sendNotification(KafkaConfig.ADMIN_NOTIFICATION_TOPIC, event);
+    }
+
+    public void sendRecruiterNotification(NotificationEvent event) {
+        sendNotification(KafkaConfig.RECRUITER_NOTIFICATION_TOPIC, event);
+    }
+
+    public void sendNotification(String topic, NotificationEvent event) {
+        // Fixed before recording, so every resend carries the same event id
+        if (event.getEventId() == null) {
+            event.setEventId(UUID.randomUUID().toString());
+        }
+        if (event.getTimestamp() == null) {
+            event.setTimestamp(LocalDateTime.now());
+        }
+        outboxPublisher.publish(AGGREGATE_TYPE, event.getEventId(), EVENT_TYPE, new OutboxNotification(topic, event));
+    }
+}
@@ -0,0 +1,37 @@
+package com.fpt.careermate.services.kafka.producer;
+
+import com.fpt.careermate.services.outbox_services.service.OutboxHandler;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sends notification events recorded by {@link NotificationOutbox} to Kafka
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationOutboxHandler implements OutboxHandler<NotificationOutbox.OutboxNotification> {
+
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    NotificationProducer notificationProducer;
+
+    @Override
+    public String eventType() {
+        return NotificationOutbox.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<NotificationOutbox.OutboxNotification> payloadType() {
+        return NotificationOutbox.OutboxNotification.class;
+    }
+
+    @Override
+    public void handle(String aggregateId, NotificationOutbox.OutboxNotification notification) throws Exception {
+        notificationProducer.sendAndWait(notification.topic(), notification.event(), SEND_TIMEOUT);
+    }
+}
@@ -4,13 +4,18 @@ import com.fpt.careermate.config.KafkaConfig;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Kafka producer service for sending notifications
@@ -69,6 +74,36 @@ public class NotificationProducer {
         }
     }
 
+    /**
+     * Send a notification and wait for the broker's acknowledgement.
+     * Failures are thrown rather than logged (used by the outbox relay, which retries).
+     */
+    public void sendAndWait(String topic, NotificationEvent event, Duration timeout) throws Exception {
+        kafkaTemplate.send(topic, event.getEventId(), event).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("✅ Message sent to topic: {} with eventId: {}", topic, event.getEventId());
+    }
+
+    /**
+     * Send several notifications in one burst: all records are handed to the producer
+     * before a single flush, so they share network batches instead of being sent one by one.
+     * Returns one future per record, in order; a failed send completes its future exceptionally
+     * instead of throwing.
+     */
+    public List<CompletableFuture<SendResult<String, NotificationEvent>>> sendBatch(
+            List<ProducerRecord<String, NotificationEvent>> records) {
+        List<CompletableFuture<SendResult<String, NotificationEvent>>> futures = new ArrayList<>(records.size());
+        for (ProducerRecord<String, NotificationEvent> record : records) {
+            try {
+                futures.add(kafkaTemplate.send(record));
+            } catch (Exception e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        kafkaTemplate.flush();
+        log.info("📤 Sent batch of {} notifications", records.size());
+        return futures;
+    }
+
     /**
      * Send notification with simple message
      */
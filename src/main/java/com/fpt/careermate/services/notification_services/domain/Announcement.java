@@ -0,0 +1,94 @@
+package com.fpt.careermate.services.notification_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Broadcast notification, stored once and merged into the feed of every targeted user when read.
+ * Per-user read/dismiss state lives in {@link AnnouncementReceipt}.
+ */
+@Entity
+@Table(name = "announcements", indexes = {
+        @Index(name = "idx_announcement_created", columnList = "created_at DESC"),
+        @Index(name = "idx_announcement_push_pending", columnList = "push_completed_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Announcement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(nullable = false)
+    String title;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    String message;
+
+    String category;
+
+    @Column(nullable = false)
+    @Builder.Default
+    Integer priority = 2; // 1=HIGH, 2=MEDIUM, 3=LOW (default MEDIUM)
+
+    /**
+     * Role name (CANDIDATE, RECRUITER, ADMIN), or null for every active user
+     */
+    @Column(name = "target_role")
+    String targetRole;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    /**
+     * Id of the last device token the push fan-out has been claimed up to
+     */
+    @Column(name = "push_cursor", nullable = false)
+    @Builder.Default
+    Long pushCursor = 0L;
+
+    @Column(name = "push_completed_at")
+    LocalDateTime pushCompletedAt;
+
+    /**
+     * Consecutive failed push attempts; reset once a page is sent
+     */
+    @Column(name = "push_failures", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Builder.Default
+    Integer pushFailures = 0;
+
+    /**
+     * After a failed push attempt, the fan-out does not try this announcement again before this time
+     */
+    @Column(name = "push_retry_at")
+    LocalDateTime pushRetryAt;
+
+    /**
+     * Why the fan-out gave up, when push delivery was completed as failed
+     */
+    @Column(name = "push_error", length = 1000)
+    String pushError;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (priority == null) {
+            priority = 2;
+        }
+        if (pushCursor == null) {
+            pushCursor = 0L;
+        }
+        if (pushFailures == null) {
+            pushFailures = 0;
+        }
+    }
+}
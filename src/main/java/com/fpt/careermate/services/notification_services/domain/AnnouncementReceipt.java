@@ -0,0 +1,43 @@
+package com.fpt.careermate.services.notification_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's read marker for an announcement; absent while the announcement is unread
+ */
+@Entity
+@Table(name = "announcement_receipts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_announcement_recipient",
+                columnNames = {"announcement_id", "recipient_id"}),
+        indexes = @Index(name = "idx_receipt_recipient", columnList = "recipient_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AnnouncementReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "announcement_id", nullable = false)
+    Long announcementId;
+
+    @Column(name = "recipient_id", nullable = false)
+    String recipientId;
+
+    @Column(name = "read_at", nullable = false)
+    LocalDateTime readAt;
+
+    /**
+     * Deleted by the user: hidden from their feed
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    Boolean dismissed = false;
+}
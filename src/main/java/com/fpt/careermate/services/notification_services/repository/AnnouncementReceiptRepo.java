@@ -0,0 +1,45 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.services.notification_services.domain.AnnouncementReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnnouncementReceiptRepo extends JpaRepository<AnnouncementReceipt, Long> {
+
+    Optional<AnnouncementReceipt> findByAnnouncementIdAndRecipientId(Long announcementId, String recipientId);
+
+    List<AnnouncementReceipt> findByRecipientIdAndAnnouncementIdIn(String recipientId, Collection<Long> announcementIds);
+
+    /**
+     * Set the read marker (idempotent)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO announcement_receipts (announcement_id, recipient_id, read_at, dismissed) " +
+            "VALUES (:announcementId, :recipientId, :readAt, false) " +
+            "ON CONFLICT (announcement_id, recipient_id) DO NOTHING",
+            nativeQuery = true)
+    int markAsRead(@Param("announcementId") Long announcementId,
+                   @Param("recipientId") String recipientId,
+                   @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Hide the announcement from the recipient's feed (also marks it read)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO announcement_receipts (announcement_id, recipient_id, read_at, dismissed) " +
+            "VALUES (:announcementId, :recipientId, :readAt, true) " +
+            "ON CONFLICT (announcement_id, recipient_id) DO UPDATE SET dismissed = true",
+            nativeQuery = true)
+    int dismiss(@Param("announcementId") Long announcementId,
+                @Param("recipientId") String recipientId,
+                @Param("readAt") LocalDateTime readAt);
+}
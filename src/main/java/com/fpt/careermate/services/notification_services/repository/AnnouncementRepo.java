@@ -0,0 +1,125 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.services.notification_services.domain.Announcement;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnnouncementRepo extends JpaRepository<Announcement, Long> {
+
+    /**
+     * Count announcements visible to a recipient (by role) that they have not read yet
+     */
+    @Query("SELECT COUNT(a) FROM Announcement a " +
+            "WHERE a.createdAt >= :since AND (a.targetRole IS NULL OR a.targetRole IN :roles) " +
+            "AND NOT EXISTS (SELECT 1 FROM AnnouncementReceipt r " +
+            "WHERE r.announcementId = a.id AND r.recipientId = :recipientId)")
+    long countUnread(@Param("recipientId") String recipientId,
+                     @Param("roles") Collection<String> roles,
+                     @Param("since") LocalDateTime since);
+
+    /**
+     * Count unread visible announcements per recipient, as [recipientId, count] rows;
+     * recipients without any are left out
+     */
+    @Query("SELECT acc.email, COUNT(DISTINCT a.id) FROM account acc LEFT JOIN acc.roles role, Announcement a " +
+            "WHERE acc.email IN :recipientIds AND a.createdAt >= :since " +
+            "AND (a.targetRole IS NULL OR a.targetRole = role.name) " +
+            "AND NOT EXISTS (SELECT 1 FROM AnnouncementReceipt r " +
+            "WHERE r.announcementId = a.id AND r.recipientId = acc.email) " +
+            "GROUP BY acc.email")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<String> recipientIds,
+                                             @Param("since") LocalDateTime since);
+
+    /**
+     * Find an announcement if it is visible to a recipient with the given roles
+     */
+    @Query("SELECT a FROM Announcement a WHERE a.id = :id AND a.createdAt >= :since " +
+            "AND (a.targetRole IS NULL OR a.targetRole IN :roles)")
+    Optional<Announcement> findVisible(@Param("id") Long id,
+                                       @Param("roles") Collection<String> roles,
+                                       @Param("since") LocalDateTime since);
+
+    /**
+     * Mark every visible announcement as read for a recipient (existing markers are kept)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO announcement_receipts (announcement_id, recipient_id, read_at, dismissed) " +
+            "SELECT a.id, :recipientId, :readAt, false FROM announcements a " +
+            "WHERE a.created_at >= :since AND (a.target_role IS NULL OR a.target_role IN (:roles)) " +
+            "ON CONFLICT (announcement_id, recipient_id) DO NOTHING",
+            nativeQuery = true)
+    int markAllAsRead(@Param("recipientId") String recipientId,
+                      @Param("roles") Collection<String> roles,
+                      @Param("since") LocalDateTime since,
+                      @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Oldest announcement whose push fan-out has not finished and is not backing off after a failure
+     */
+    default Optional<Announcement> findNextPushDue(LocalDateTime now) {
+        return findPushDue(now, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    @Query("SELECT a FROM Announcement a WHERE a.pushCompletedAt IS NULL " +
+            "AND (a.pushRetryAt IS NULL OR a.pushRetryAt <= :now) ORDER BY a.id")
+    List<Announcement> findPushDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Advance the push cursor if no other node has moved it meanwhile
+     *
+     * @return 1 if this caller claimed the page, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Announcement a SET a.pushCursor = :next WHERE a.id = :id AND a.pushCursor = :current")
+    int claimPushPage(@Param("id") Long id, @Param("current") Long current, @Param("next") Long next);
+
+    /**
+     * Move the push cursor back to before a page whose send failed. Pages claimed by other nodes
+     * after it are sent again, so no device is skipped; a cursor already further back is kept.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Announcement a SET a.pushCursor = :cursor WHERE a.id = :id AND a.pushCursor > :cursor")
+    int rewindPushCursor(@Param("id") Long id, @Param("cursor") Long cursor);
+
+    /**
+     * Count a failed push attempt and hold the announcement back until retryAt
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Announcement a SET a.pushFailures = a.pushFailures + 1, a.pushRetryAt = :retryAt " +
+            "WHERE a.id = :id AND a.pushCompletedAt IS NULL")
+    int recordPushFailure(@Param("id") Long id, @Param("retryAt") LocalDateTime retryAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Announcement a SET a.pushFailures = 0, a.pushRetryAt = null WHERE a.id = :id")
+    int resetPushFailures(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Announcement a SET a.pushCompletedAt = :completedAt WHERE a.id = :id AND a.pushCompletedAt IS NULL")
+    int completePush(@Param("id") Long id, @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Give up on push delivery; the announcement stays in every feed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Announcement a SET a.pushCompletedAt = :completedAt, a.pushError = :error " +
+            "WHERE a.id = :id AND a.pushCompletedAt IS NULL")
+    int failPush(@Param("id") Long id, @Param("completedAt") LocalDateTime completedAt, @Param("error") String error);
+}
@@ -1,7 +1,10 @@
 package com.fpt.careermate.services.notification_services.repository;
 
 import com.fpt.careermate.services.notification_services.domain.DeviceToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -51,4 +54,18 @@ public interface DeviceTokenRepo extends JpaRepository<DeviceToken, Long> {
      * @param userId The user ID (email)
      */
     void deleteByUserIdAndIsActiveFalse(String userId);
+
+    /**
+     * Next page (by id) of active tokens owned by ACTIVE accounts, optionally only accounts with a role.
+     * Used by the announcement push fan-out.
+     *
+     * @param role    Role name, or null for every account
+     * @param afterId Id of the last token already handled
+     * @return Active device tokens with id greater than afterId, in id order
+     */
+    @Query("SELECT t FROM DeviceToken t WHERE t.isActive = true AND t.id > :afterId " +
+            "AND EXISTS (SELECT 1 FROM account acc LEFT JOIN acc.roles r " +
+            "WHERE acc.email = t.userId AND acc.status = 'ACTIVE' AND (:role IS NULL OR r.name = :role)) " +
+            "ORDER BY t.id")
+    List<DeviceToken> findActivePage(@Param("role") String role, @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fpt.careermate.services.notification_services.domain.Notification;
+
+import java.util.Collection;
+
+/**
+ * Bulk write operations on notifications that JPA cannot batch
+ * (IDENTITY ids disable Hibernate insert batching)
+ */
+public interface NotificationBatchRepo {
+
+    /**
+     * Insert notifications with one JDBC batch and set their generated ids
+     */
+    void insertAll(Collection<Notification> notifications);
+}
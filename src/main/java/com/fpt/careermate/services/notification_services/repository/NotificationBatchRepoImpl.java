@@ -0,0 +1,98 @@
+package com.fpt.careermate.services.notification_services.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.services.notification_services.domain.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link NotificationBatchRepo}, picked up by Spring Data as a fragment of {@link NotificationRepo}
+ */
+@RequiredArgsConstructor
+public class NotificationBatchRepoImpl implements NotificationBatchRepo {
+
+    private static final String INSERT_SQL = "INSERT INTO notifications " +
+            "(event_id, event_type, recipient_id, recipient_email, title, subject, message, " +
+            "category, metadata, priority, is_read, created_at, read_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void insertAll(Collection<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<Notification> rows = new ArrayList<>(notifications);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Notification notification = rows.get(i);
+                        ps.setString(1, notification.getEventId());
+                        ps.setString(2, notification.getEventType());
+                        ps.setString(3, notification.getRecipientId());
+                        ps.setString(4, notification.getRecipientEmail());
+                        ps.setString(5, notification.getTitle());
+                        ps.setString(6, notification.getSubject());
+                        ps.setString(7, notification.getMessage());
+                        ps.setString(8, notification.getCategory());
+                        String metadata = toJson(notification.getMetadata());
+                        if (metadata != null) {
+                            ps.setString(9, metadata);
+                        } else {
+                            ps.setNull(9, Types.VARCHAR);
+                        }
+                        ps.setInt(10, notification.getPriority() != null ? notification.getPriority() : 2);
+                        ps.setBoolean(11, Boolean.TRUE.equals(notification.getIsRead()));
+                        ps.setObject(12, notification.getCreatedAt() != null
+                                ? notification.getCreatedAt() : LocalDateTime.now());
+                        ps.setObject(13, notification.getReadAt());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < rows.size() && i < keys.size(); i++) {
+            Object id = keys.get(i).get("id");
+            if (id instanceof Number number) {
+                rows.get(i).setId(number.longValue());
+            }
+        }
+    }
+
+    private String toJson(Map<String, Object> metadata) throws SQLException {
+        if (metadata == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Cannot serialize notification metadata", e);
+        }
+    }
+}
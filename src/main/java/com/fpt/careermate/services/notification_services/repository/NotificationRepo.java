@@ -10,10 +10,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface NotificationRepo extends JpaRepository<Notification, Long> {
+public interface NotificationRepo extends JpaRepository<Notification, Long>, NotificationBatchRepo {
 
     /**
      * Find all notifications for a specific recipient with pagination
@@ -25,6 +27,54 @@ public interface NotificationRepo extends JpaRepository<Notification, Long> {
      */
     Page<Notification> findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(String recipientId, Pageable pageable);
 
+    /**
+     * Feed ids of a recipient, newest first: personal notifications (positive ids) merged with the
+     * announcements visible to their roles and not dismissed (negated announcement ids)
+     */
+    @Query(value = "SELECT f.id FROM (" +
+            "SELECT n.id AS id, n.created_at AS created_at FROM notifications n " +
+            "WHERE n.recipient_id = :recipientId " +
+            "UNION ALL " +
+            "SELECT -a.id AS id, a.created_at AS created_at FROM announcements a " +
+            "LEFT JOIN announcement_receipts r ON r.announcement_id = a.id AND r.recipient_id = :recipientId " +
+            "WHERE a.created_at >= :since AND (a.target_role IS NULL OR a.target_role IN (:roles)) " +
+            "AND (r.id IS NULL OR r.dismissed = false)" +
+            ") f ORDER BY f.created_at DESC, f.id DESC",
+            countQuery = "SELECT (SELECT COUNT(*) FROM notifications n WHERE n.recipient_id = :recipientId) + " +
+                    "(SELECT COUNT(*) FROM announcements a " +
+                    "LEFT JOIN announcement_receipts r ON r.announcement_id = a.id AND r.recipient_id = :recipientId " +
+                    "WHERE a.created_at >= :since AND (a.target_role IS NULL OR a.target_role IN (:roles)) " +
+                    "AND (r.id IS NULL OR r.dismissed = false))",
+            nativeQuery = true)
+    Page<Long> findFeedIds(@Param("recipientId") String recipientId,
+                           @Param("roles") Collection<String> roles,
+                           @Param("since") LocalDateTime since,
+                           Pageable pageable);
+
+    /**
+     * Unread feed ids of a recipient, newest first (see {@link #findFeedIds})
+     */
+    @Query(value = "SELECT f.id FROM (" +
+            "SELECT n.id AS id, n.created_at AS created_at FROM notifications n " +
+            "WHERE n.recipient_id = :recipientId AND n.is_read = false " +
+            "UNION ALL " +
+            "SELECT -a.id AS id, a.created_at AS created_at FROM announcements a " +
+            "WHERE a.created_at >= :since AND (a.target_role IS NULL OR a.target_role IN (:roles)) " +
+            "AND NOT EXISTS (SELECT 1 FROM announcement_receipts r " +
+            "WHERE r.announcement_id = a.id AND r.recipient_id = :recipientId)" +
+            ") f ORDER BY f.created_at DESC, f.id DESC",
+            countQuery = "SELECT (SELECT COUNT(*) FROM notifications n " +
+                    "WHERE n.recipient_id = :recipientId AND n.is_read = false) + " +
+                    "(SELECT COUNT(*) FROM announcements a " +
+                    "WHERE a.created_at >= :since AND (a.target_role IS NULL OR a.target_role IN (:roles)) " +
+                    "AND NOT EXISTS (SELECT 1 FROM announcement_receipts r " +
+                    "WHERE r.announcement_id = a.id AND r.recipient_id = :recipientId))",
+            nativeQuery = true)
+    Page<Long> findUnreadFeedIds(@Param("recipientId") String recipientId,
+                                 @Param("roles") Collection<String> roles,
+                                 @Param("since") LocalDateTime since,
+                                 Pageable pageable);
+
     /**
      * Count unread notifications for a recipient
      */
@@ -40,6 +90,19 @@ public interface NotificationRepo extends JpaRepository<Notification, Long> {
      */
     boolean existsByEventId(String eventId);
 
+    /**
+     * Event IDs among the given ones that are already stored (batch idempotency check)
+     */
+    @Query("SELECT n.eventId FROM Notification n WHERE n.eventId IN :eventIds")
+    List<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
+
+    /**
+     * Count unread notifications per recipient, as [recipientId, count] rows
+     */
+    @Query("SELECT n.recipientId, COUNT(n) FROM Notification n " +
+            "WHERE n.recipientId IN :recipientIds AND n.isRead = false GROUP BY n.recipientId")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<String> recipientIds);
+
     /**
      * Find notification by event ID
      */
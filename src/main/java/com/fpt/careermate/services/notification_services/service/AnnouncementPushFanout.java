@@ -0,0 +1,119 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.domain.Announcement;
+import com.fpt.careermate.services.notification_services.domain.DeviceToken;
+import com.fpt.careermate.services.notification_services.repository.AnnouncementRepo;
+import com.fpt.careermate.services.notification_services.repository.DeviceTokenRepo;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background push delivery of announcements.
+ * Each run sends one page of active device tokens (keyset by token id) for the oldest announcement
+ * still being delivered, which caps the rate at batch-size pushes per interval and node.
+ * A page is claimed by moving the announcement's cursor with a compare-and-set update,
+ * so several nodes never push the same page twice. If the FCM request fails, the cursor is moved
+ * back and the announcement waits with exponential backoff; after max-attempts consecutive
+ * failures its push delivery is completed as failed, so it does not hold back newer announcements.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class AnnouncementPushFanout {
+
+    AnnouncementRepo announcementRepo;
+    DeviceTokenRepo deviceTokenRepo;
+    FcmPushNotificationService fcmService;
+
+    // Devices per page; FCM accepts at most 500 messages per batch request
+    @NonFinal
+    @Value("${app.notification.announcement-push.batch-size:500}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${app.notification.announcement-push.max-attempts:5}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${app.notification.announcement-push.retry-backoff-ms:30000}")
+    long retryBackoffMs;
+
+    @NonFinal
+    @Value("${app.notification.announcement-push.max-retry-backoff-ms:1800000}")
+    long maxRetryBackoffMs;
+
+    @Scheduled(fixedDelayString = "${app.notification.announcement-push.interval-ms:1000}")
+    public void pushNextPage() {
+        if (!fcmService.isAvailable()) {
+            // Firebase is not configured; announcements are still in every feed
+            return;
+        }
+        try {
+            announcementRepo.findNextPushDue(LocalDateTime.now()).ifPresent(this::pushPage);
+        } catch (Exception e) {
+            log.error("❌ Announcement push fan-out failed | error: {}", e.getMessage());
+        }
+    }
+
+    private void pushPage(Announcement announcement) {
+        int pageSize = Math.min(batchSize, 500);
+        List<DeviceToken> page = deviceTokenRepo.findActivePage(
+                announcement.getTargetRole(), announcement.getPushCursor(), PageRequest.of(0, pageSize));
+
+        if (!page.isEmpty()) {
+            Long previous = announcement.getPushCursor();
+            Long next = page.get(page.size() - 1).getId();
+            if (announcementRepo.claimPushPage(announcement.getId(), previous, next) == 0) {
+                // Another node took this page
+                return;
+            }
+            try {
+                fcmService.sendAnnouncement(page, announcement);
+            } catch (Exception e) {
+                pushFailed(announcement, previous, e);
+                return;
+            }
+            if (announcement.getPushFailures() > 0) {
+                announcementRepo.resetPushFailures(announcement.getId());
+            }
+        }
+
+        if (page.size() < pageSize) {
+            announcementRepo.completePush(announcement.getId(), LocalDateTime.now());
+            log.info("✅ Announcement {} push fan-out completed", announcement.getId());
+        }
+    }
+
+    private void pushFailed(Announcement announcement, Long previous, Exception cause) {
+        announcementRepo.rewindPushCursor(announcement.getId(), previous);
+
+        int failures = announcement.getPushFailures() + 1;
+        if (failures >= maxAttempts) {
+            announcementRepo.failPush(announcement.getId(), LocalDateTime.now(), truncate(cause.getMessage()));
+            log.error("❌ Announcement {} push failed {} times, giving up after device {} | error: {}",
+                    announcement.getId(), failures, previous, cause.getMessage());
+            return;
+        }
+
+        long backoff = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(failures - 1, 20));
+        announcementRepo.recordPushFailure(announcement.getId(), LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+        log.warn("⚠️ Announcement {} push failed (attempt {}/{}), page after {} will be retried in {} ms | error: {}",
+                announcement.getId(), failures, maxAttempts, previous, backoff, cause.getMessage());
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
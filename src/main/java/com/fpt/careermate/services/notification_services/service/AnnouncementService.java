@@ -0,0 +1,173 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.notification_services.domain.Announcement;
+import com.fpt.careermate.services.notification_services.domain.AnnouncementReceipt;
+import com.fpt.careermate.services.notification_services.repository.AnnouncementReceiptRepo;
+import com.fpt.careermate.services.notification_services.repository.AnnouncementRepo;
+import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Broadcast announcements (fan-out on read).
+ * An announcement is stored once with its target role; feeds and unread counts merge in the
+ * announcements visible to the reader, and a per-user receipt records that it was read or dismissed.
+ * In a feed, an announcement has the negated announcement id, so the regular notification
+ * endpoints (mark as read, delete) work on it.
+ * Push delivery is done in the background by {@link AnnouncementPushFanout}.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class AnnouncementService {
+
+    public static final String EVENT_TYPE = "BROADCAST_NOTIFICATION";
+
+    AnnouncementRepo announcementRepo;
+    AnnouncementReceiptRepo receiptRepo;
+
+    // Announcements older than this drop out of feeds and unread counts
+    @NonFinal
+    @Value("${app.notification.announcement-retention-days:30}")
+    int retentionDays;
+
+    /**
+     * Store a broadcast announcement
+     *
+     * @param targetRole Role name, or null for all active users
+     */
+    @Transactional
+    public Announcement publish(String targetRole, String title, String message, String category, Integer priority) {
+        Announcement announcement = announcementRepo.save(Announcement.builder()
+                .title(title)
+                .message(message)
+                .category(category != null ? category : "ANNOUNCEMENT")
+                .priority(priority != null ? priority : 2)
+                .targetRole(targetRole)
+                .build());
+        log.info("📢 Announcement {} stored | target: {}", announcement.getId(),
+                targetRole != null ? targetRole : "ALL");
+        return announcement;
+    }
+
+    public static boolean isAnnouncement(Long feedId) {
+        return feedId != null && feedId < 0;
+    }
+
+    public LocalDateTime visibleSince() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
+
+    @Transactional(readOnly = true)
+    public long countUnread(String recipientId, Collection<String> roles) {
+        return announcementRepo.countUnread(recipientId, nonEmpty(roles), visibleSince());
+    }
+
+    /**
+     * Unread announcement counts of several recipients, roles looked up from their accounts
+     *
+     * @return Counts by recipient id; recipients without unread announcements are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countUnread(Collection<String> recipientIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (recipientIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : announcementRepo.countUnreadByRecipientIds(recipientIds, visibleSince())) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Feed entries for announcements, keyed by feed id (negated announcement id)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, NotificationResponse> findFeedEntries(Collection<Long> feedIds, String recipientId) {
+        if (feedIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = feedIds.stream().map(feedId -> -feedId).toList();
+        Map<Long, AnnouncementReceipt> receipts = new HashMap<>();
+        for (AnnouncementReceipt receipt : receiptRepo.findByRecipientIdAndAnnouncementIdIn(recipientId, ids)) {
+            receipts.put(receipt.getAnnouncementId(), receipt);
+        }
+
+        Map<Long, NotificationResponse> entries = new HashMap<>();
+        for (Announcement announcement : announcementRepo.findAllById(ids)) {
+            entries.put(-announcement.getId(),
+                    toResponse(announcement, recipientId, receipts.get(announcement.getId())));
+        }
+        return entries;
+    }
+
+    @Transactional
+    public NotificationResponse markAsRead(Long feedId, String recipientId, Collection<String> roles) {
+        Announcement announcement = findVisible(feedId, roles);
+        receiptRepo.markAsRead(announcement.getId(), recipientId, LocalDateTime.now());
+        AnnouncementReceipt receipt = receiptRepo
+                .findByAnnouncementIdAndRecipientId(announcement.getId(), recipientId)
+                .orElse(null);
+        return toResponse(announcement, recipientId, receipt);
+    }
+
+    @Transactional
+    public int markAllAsRead(String recipientId, Collection<String> roles) {
+        return announcementRepo.markAllAsRead(recipientId, nonEmpty(roles), visibleSince(), LocalDateTime.now());
+    }
+
+    /**
+     * Hide an announcement from the recipient's feed; the announcement itself is kept
+     */
+    @Transactional
+    public void dismiss(Long feedId, String recipientId, Collection<String> roles) {
+        Announcement announcement = findVisible(feedId, roles);
+        receiptRepo.dismiss(announcement.getId(), recipientId, LocalDateTime.now());
+    }
+
+    private Announcement findVisible(Long feedId, Collection<String> roles) {
+        return announcementRepo.findVisible(-feedId, nonEmpty(roles), visibleSince())
+                .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
+    }
+
+    private NotificationResponse toResponse(Announcement announcement, String recipientId, AnnouncementReceipt receipt) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("broadcastType", announcement.getTargetRole() != null ? "role" : "all");
+        if (announcement.getTargetRole() != null) {
+            metadata.put("targetRole", announcement.getTargetRole());
+        }
+
+        return NotificationResponse.builder()
+                .id(-announcement.getId())
+                .eventId("announcement-" + announcement.getId())
+                .eventType(EVENT_TYPE)
+                .recipientId(recipientId)
+                .title(announcement.getTitle())
+                .message(announcement.getMessage())
+                .category(announcement.getCategory())
+                .metadata(metadata)
+                .priority(announcement.getPriority())
+                .isRead(receipt != null)
+                .createdAt(announcement.getCreatedAt())
+                .readAt(receipt != null ? receipt.getReadAt() : null)
+                .build();
+    }
+
+    // IN () is not valid SQL; a user without roles only sees announcements for everyone
+    static Collection<String> nonEmpty(Collection<String> roles) {
+        return roles == null || roles.isEmpty() ? List.of("") : roles;
+    }
+}
@@ -1,5 +1,6 @@
 package com.fpt.careermate.services.notification_services.service;
 
+import com.fpt.careermate.services.notification_services.domain.Announcement;
 import com.fpt.careermate.services.notification_services.domain.DeviceToken;
 import com.fpt.careermate.services.notification_services.repository.DeviceTokenRepo;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
@@ -79,6 +80,13 @@ public class FcmPushNotificationService {
         }
     }
 
+    /**
+     * Whether Firebase was initialized; without it every send fails
+     */
+    public boolean isAvailable() {
+        return !FirebaseApp.getApps().isEmpty();
+    }
+
     /**
      * Send a push notification to a specific user.
      * Sends to all active device tokens registered for that user.
@@ -127,38 +135,8 @@ public class FcmPushNotificationService {
      */
     private boolean sendToDevice(DeviceToken deviceToken, NotificationResponse notification, Map<String, String> data) {
         try {
-            // Build notification payload
-            Notification fcmNotification = Notification.builder()
-                    .setTitle(notification.getTitle())
-                    .setBody(notification.getMessage())
-                    .build();
-
-            // Build Android-specific config
-            AndroidConfig androidConfig = AndroidConfig.builder()
-                    .setPriority(getAndroidPriority(notification.getPriority()))
-                    .setNotification(AndroidNotification.builder()
-                            .setSound("default")
-                            .setColor("#667eea") // CareerMate brand color
-                            .setChannelId("careermate_notifications")
-                            .build())
-                    .build();
-
-            // Build iOS-specific config
-            ApnsConfig apnsConfig = ApnsConfig.builder()
-                    .setAps(Aps.builder()
-                            .setSound("default")
-                            .setBadge(notification.getPriority())
-                            .build())
-                    .build();
-
-            // Build the complete message
-            Message message = Message.builder()
-                    .setToken(deviceToken.getToken())
-                    .setNotification(fcmNotification)
-                    .putAllData(data)
-                    .setAndroidConfig(androidConfig)
-                    .setApnsConfig(apnsConfig)
-                    .build();
+            Message message = buildMessage(deviceToken.getToken(), notification.getTitle(),
+                    notification.getMessage(), notification.getPriority(), data);
 
             // Send the message
             String response = FirebaseMessaging.getInstance().send(message);
@@ -182,6 +160,79 @@ public class FcmPushNotificationService {
         }
     }
 
+    /**
+     * Send an announcement to a page of device tokens with one FCM batch request.
+     *
+     * @param tokens       Device tokens (at most 500, the FCM batch limit)
+     * @param announcement The announcement
+     * @return Number of devices successfully sent to
+     * @throws FirebaseMessagingException if the batch request itself failed, so the caller can retry the page
+     */
+    public int sendAnnouncement(List<DeviceToken> tokens, Announcement announcement) throws FirebaseMessagingException {
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, String> data = new HashMap<>();
+        data.put("notificationId", String.valueOf(-announcement.getId()));
+        data.put("eventType", AnnouncementService.EVENT_TYPE);
+        data.put("category", announcement.getCategory() != null ? announcement.getCategory() : "");
+        data.put("priority", String.valueOf(announcement.getPriority()));
+        data.put("timestamp", announcement.getCreatedAt().toString());
+
+        List<Message> messages = tokens.stream()
+                .map(token -> buildMessage(token.getToken(), announcement.getTitle(),
+                        announcement.getMessage(), announcement.getPriority(), data))
+                .toList();
+
+        BatchResponse response = FirebaseMessaging.getInstance().sendEach(messages);
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < responses.size(); i++) {
+            if (!responses.get(i).isSuccessful()) {
+                handleFirebaseError(tokens.get(i), responses.get(i).getException());
+            }
+        }
+
+        log.info("📢 Announcement push sent | announcementId: {} | devices: {} | success: {}",
+                announcement.getId(), tokens.size(), response.getSuccessCount());
+        return response.getSuccessCount();
+    }
+
+    private Message buildMessage(String token, String title, String body, Integer priority, Map<String, String> data) {
+        // Build notification payload
+        Notification fcmNotification = Notification.builder()
+                .setTitle(title)
+                .setBody(body)
+                .build();
+
+        // Build Android-specific config
+        AndroidConfig androidConfig = AndroidConfig.builder()
+                .setPriority(getAndroidPriority(priority))
+                .setNotification(AndroidNotification.builder()
+                        .setSound("default")
+                        .setColor("#667eea") // CareerMate brand color
+                        .setChannelId("careermate_notifications")
+                        .build())
+                .build();
+
+        // Build iOS-specific config
+        ApnsConfig apnsConfig = ApnsConfig.builder()
+                .setAps(Aps.builder()
+                        .setSound("default")
+                        .setBadge(priority)
+                        .build())
+                .build();
+
+        // Build the complete message
+        return Message.builder()
+                .setToken(token)
+                .setNotification(fcmNotification)
+                .putAllData(data)
+                .setAndroidConfig(androidConfig)
+                .setApnsConfig(apnsConfig)
+                .build();
+    }
+
     /**
      * Handle Firebase Messaging errors and mark invalid tokens as inactive.
      *
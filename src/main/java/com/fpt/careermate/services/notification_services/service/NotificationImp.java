@@ -2,8 +2,6 @@ package com.fpt.careermate.services.notification_services.service;
 
 import com.fpt.careermate.common.exception.AppException;
 import com.fpt.careermate.common.exception.ErrorCode;
-import com.fpt.careermate.services.account_services.domain.Account;
-import com.fpt.careermate.services.account_services.repository.AccountRepo;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
 import com.fpt.careermate.services.kafka.producer.NotificationProducer;
 import com.fpt.careermate.services.notification_services.domain.Notification;
@@ -18,15 +16,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -37,7 +33,7 @@ public class NotificationImp implements NotificationService {
     NotificationRepo notificationRepo;
     NotificationMapper notificationMapper;
     NotificationProducer notificationProducer;
-    AccountRepo accountRepo;
+    AnnouncementService announcementService;
 
     /**
      * Get current authenticated user ID
@@ -50,14 +46,48 @@ public class NotificationImp implements NotificationService {
         return authentication.getName(); // Returns user email or ID
     }
 
+    /**
+     * Role names of the current user (JWT authorities "ROLE_X"), used to target announcements
+     */
+    private List<String> getCurrentUserRoles() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return List.of();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring("ROLE_".length()))
+                .toList();
+    }
+
+    /**
+     * Load the notifications and announcements of a page of feed ids, keeping the page order
+     */
+    private Page<NotificationResponse> toFeedPage(Page<Long> feedIds, String userId) {
+        List<Long> notificationIds = new ArrayList<>();
+        List<Long> announcementIds = new ArrayList<>();
+        for (Long feedId : feedIds) {
+            (AnnouncementService.isAnnouncement(feedId) ? announcementIds : notificationIds).add(feedId);
+        }
+
+        Map<Long, NotificationResponse> entries = new HashMap<>(announcementService.findFeedEntries(announcementIds, userId));
+        for (Notification notification : notificationRepo.findAllById(notificationIds)) {
+            entries.put(notification.getId(), notificationMapper.toResponse(notification));
+        }
+        return feedIds.map(entries::get);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<NotificationResponse> getMyNotifications(Pageable pageable) {
         String userId = getCurrentUserId();
         log.info("Fetching notifications for user: {}", userId);
 
-        Page<Notification> notifications = notificationRepo.findByRecipientIdOrderByCreatedAtDesc(userId, pageable);
-        return notifications.map(notificationMapper::toResponse);
+        // Personal notifications merged with the broadcast announcements visible to the user
+        Page<Long> feedIds = notificationRepo.findFeedIds(userId,
+                AnnouncementService.nonEmpty(getCurrentUserRoles()), announcementService.visibleSince(), pageable);
+        return toFeedPage(feedIds, userId);
     }
 
     @Override
@@ -66,16 +96,17 @@ public class NotificationImp implements NotificationService {
         String userId = getCurrentUserId();
         log.info("Fetching unread notifications for user: {}", userId);
 
-        Page<Notification> notifications = notificationRepo.findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(userId,
-                pageable);
-        return notifications.map(notificationMapper::toResponse);
+        Page<Long> feedIds = notificationRepo.findUnreadFeedIds(userId,
+                AnnouncementService.nonEmpty(getCurrentUserRoles()), announcementService.visibleSince(), pageable);
+        return toFeedPage(feedIds, userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getUnreadCount() {
         String userId = getCurrentUserId();
-        long count = notificationRepo.countByRecipientIdAndIsReadFalse(userId);
+        long count = notificationRepo.countByRecipientIdAndIsReadFalse(userId)
+                + announcementService.countUnread(userId, getCurrentUserRoles());
         log.debug("Unread count for user {}: {}", userId, count);
         return count;
     }
@@ -86,6 +117,10 @@ public class NotificationImp implements NotificationService {
         String userId = getCurrentUserId();
         log.info("Marking notification {} as read for user: {}", notificationId, userId);
 
+        if (AnnouncementService.isAnnouncement(notificationId)) {
+            return announcementService.markAsRead(notificationId, userId, getCurrentUserRoles());
+        }
+
         Notification notification = notificationRepo.findByIdAndRecipientId(notificationId, userId)
                 .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
 
@@ -105,7 +140,8 @@ public class NotificationImp implements NotificationService {
         String userId = getCurrentUserId();
         log.info("Marking all notifications as read for user: {}", userId);
 
-        int updatedCount = notificationRepo.markAllAsRead(userId, LocalDateTime.now());
+        int updatedCount = notificationRepo.markAllAsRead(userId, LocalDateTime.now())
+                + announcementService.markAllAsRead(userId, getCurrentUserRoles());
         log.info("✅ Marked {} notifications as read for user: {}", updatedCount, userId);
     }
 
@@ -115,6 +151,13 @@ public class NotificationImp implements NotificationService {
         String userId = getCurrentUserId();
         log.info("Deleting notification {} for user: {}", notificationId, userId);
 
+        if (AnnouncementService.isAnnouncement(notificationId)) {
+            // Announcements are shared; only hide it for this user
+            announcementService.dismiss(notificationId, userId, getCurrentUserRoles());
+            log.info("✅ Announcement {} dismissed", notificationId);
+            return;
+        }
+
         Notification notification = notificationRepo.findByIdAndRecipientId(notificationId, userId)
                 .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
 
@@ -129,7 +172,8 @@ public class NotificationImp implements NotificationService {
         log.debug("Fetching notification stats for user: {}", userId);
 
         long total = notificationRepo.countByRecipientIdAndIsReadFalse(userId);
-        long unread = notificationRepo.countByRecipientIdAndIsReadFalse(userId);
+        long unread = notificationRepo.countByRecipientIdAndIsReadFalse(userId)
+                + announcementService.countUnread(userId, getCurrentUserRoles());
 
         return NotificationStatsResponse.builder()
                 .totalNotifications(total)
@@ -183,53 +227,9 @@ public class NotificationImp implements NotificationService {
     public void sendNotificationToRole(String roleName, String title, String message, String category, Integer priority) {
         log.info("📢 Sending notification to all users with role: {}", roleName);
 
-        try {
-            // Get all accounts with the specified role
-            List<Account> accounts = accountRepo.searchAccounts(
-                    List.of(roleName),
-                    List.of("ACTIVE"),
-                    null,
-                    Pageable.unpaged()
-            ).getContent();
-
-            log.info("Found {} active users with role: {}", accounts.size(), roleName);
-
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("broadcastType", "role");
-            metadata.put("targetRole", roleName);
-            metadata.put("timestamp", LocalDateTime.now().toString());
-
-            // Send notification to each user
-            for (Account account : accounts) {
-                NotificationEvent event = NotificationEvent.builder()
-                        .eventId(UUID.randomUUID().toString())
-                        .eventType("BROADCAST_NOTIFICATION")
-                        .recipientId(account.getEmail())
-                        .recipientEmail(account.getEmail())
-                        .title(title)
-                        .subject(title)
-                        .message(message)
-                        .category(category != null ? category : "ANNOUNCEMENT")
-                        .metadata(metadata)
-                        .priority(priority != null ? priority : 2)
-                        .timestamp(LocalDateTime.now())
-                        .build();
-
-                // Route to appropriate topic based on role
-                if (roleName.equalsIgnoreCase("ADMIN")) {
-                    notificationProducer.sendAdminNotification(event);
-                } else if (roleName.equalsIgnoreCase("RECRUITER")) {
-                    notificationProducer.sendRecruiterNotification(event);
-                } else if (roleName.equalsIgnoreCase("CANDIDATE")) {
-                    notificationProducer.sendNotification("candidate-notifications", event);
-                }
-            }
-
-            log.info("✅ Successfully sent {} notifications to role: {}", accounts.size(), roleName);
-        } catch (Exception e) {
-            log.error("❌ Failed to send notification to role: {}", roleName, e);
-            throw new AppException(ErrorCode.INVALID_REQUEST);
-        }
+        // One announcement, merged into each user's feed when read; push goes out in the background
+        announcementService.publish(roleName.toUpperCase(), title, message, category, priority);
+        log.info("✅ Announcement published to role: {}", roleName);
     }
 
     @Override
@@ -237,51 +237,7 @@ public class NotificationImp implements NotificationService {
     public void sendBroadcastNotification(String title, String message, String category, Integer priority) {
         log.info("📢 Sending broadcast notification to all active users");
 
-        try {
-            // Get all active accounts
-            List<Account> accounts = accountRepo.searchAccounts(
-                    null,
-                    List.of("ACTIVE"),
-                    null,
-                    Pageable.unpaged()
-            ).getContent();
-
-            log.info("Found {} active users for broadcast", accounts.size());
-
-            Map<String, Object> metadata = new HashMap<>();
-            metadata.put("broadcastType", "all");
-            metadata.put("timestamp", LocalDateTime.now().toString());
-
-            // Send notification to each user
-            for (Account account : accounts) {
-                NotificationEvent event = NotificationEvent.builder()
-                        .eventId(UUID.randomUUID().toString())
-                        .eventType("BROADCAST_NOTIFICATION")
-                        .recipientId(account.getEmail())
-                        .recipientEmail(account.getEmail())
-                        .title(title)
-                        .subject(title)
-                        .message(message)
-                        .category(category != null ? category : "ANNOUNCEMENT")
-                        .metadata(metadata)
-                        .priority(priority != null ? priority : 2)
-                        .timestamp(LocalDateTime.now())
-                        .build();
-
-                // Route to appropriate topic based on user's primary role
-                if (account.getRoles().stream().anyMatch(role -> role.getName().equals("ADMIN"))) {
-                    notificationProducer.sendAdminNotification(event);
-                } else if (account.getRoles().stream().anyMatch(role -> role.getName().equals("RECRUITER"))) {
-                    notificationProducer.sendRecruiterNotification(event);
-                } else if (account.getRoles().stream().anyMatch(role -> role.getName().equals("CANDIDATE"))) {
-                    notificationProducer.sendNotification("candidate-notifications", event);
-                }
-            }
-
-            log.info("✅ Successfully sent {} broadcast notifications", accounts.size());
-        } catch (Exception e) {
-            log.error("❌ Failed to send broadcast notification", e);
-            throw new AppException(ErrorCode.INVALID_REQUEST);
-        }
+        announcementService.publish(null, title, message, category, priority);
+        log.info("✅ Broadcast announcement published");
     }
 }
@@ -2,35 +2,79 @@ package com.fpt.careermate.services.notification_services.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fpt.careermate.services.notification_services.service.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service to manage Server-Sent Events (SSE) connections for real-time
  * notifications.
- * Maintains active connections per user and broadcasts notifications to
- * connected clients.
+ * Maintains active connections per user on this node; events are rendered once and
+ * routed through {@link SseClusterRouter} to every node holding a connection of the recipient.
+ * Callers only queue events: each connection is written by its own virtual thread
+ * ({@link SseConnection}), and a connection whose queue overflows is closed (the client reconnects).
+ * Meters: careermate.sse.connections, careermate.sse.queue.depth (gauges),
+ * careermate.sse.dropped (by reason), careermate.sse.frame.events (events per written frame).
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class NotificationSseService {
+public class NotificationSseService implements SseClusterRouter.LocalConnections {
 
     private final ObjectMapper objectMapper;
+    private final SseClusterRouter sseClusterRouter;
+    private final MeterRegistry meterRegistry;
 
     // Store multiple SSE connections per user (user can have multiple tabs/devices)
-    private final Map<String, CopyOnWriteArrayList<SseEmitter>> userConnections = new ConcurrentHashMap<>();
+    private final Map<String, CopyOnWriteArrayList<SseConnection>> userConnections = new ConcurrentHashMap<>();
 
     // SSE timeout: 30 minutes (1800000ms)
     private static final long SSE_TIMEOUT = 30 * 60 * 1000L;
 
+    // Keepalive timer wheel: one slot is visited per tick, so every connection gets a keepalive
+    // once per KEEPALIVE_SLOTS ticks (30s with the default 1s tick)
+    private static final int KEEPALIVE_SLOTS = 30;
+    private final List<Set<SseConnection>> keepaliveWheel = createKeepaliveWheel();
+    private final AtomicInteger nextKeepaliveSlot = new AtomicInteger();
+    private final AtomicLong keepaliveTicks = new AtomicLong();
+
+    private static final SseConnection.Event KEEPALIVE =
+            new SseConnection.Event("keepalive", "ping", null, true);
+
+    // Events a connection can have waiting before it is considered too slow and dropped
+    @Value("${app.sse.queue-capacity:32}")
+    private int queueCapacity;
+
+    private DistributionSummary frameEvents;
+
+    @PostConstruct
+    void init() {
+        sseClusterRouter.attach(this);
+        meterRegistry.gauge("careermate.sse.connections", this, NotificationSseService::getTotalConnectionCount);
+        meterRegistry.gauge("careermate.sse.queue.depth", this, NotificationSseService::getQueuedEventCount);
+        frameEvents = DistributionSummary.builder("careermate.sse.frame.events")
+                .description("Events coalesced into one SSE write")
+                .register(meterRegistry);
+    }
+
     /**
      * Create a new SSE connection for a user.
      *
@@ -39,152 +83,208 @@ public class NotificationSseService {
      */
     public SseEmitter createConnection(String userId) {
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT);
-
-        // Add connection to user's connection list
-        userConnections.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        SseConnection connection = new SseConnection(userId, emitter, queueCapacity,
+                (failed, error) -> {
+                    log.error("❌ Failed to write SSE events | userId: {} | error: {}", userId, error.getMessage());
+                    dropped("write-error");
+                    removeConnection(userId, failed);
+                },
+                events -> frameEvents.record(events));
+
+        // Add connection to user's connection list; atomic with removeConnection dropping the list
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.compute(userId, (id, existing) -> {
+            CopyOnWriteArrayList<SseConnection> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(connection);
+            return list;
+        });
+        // Registering the route is idempotent, so it is done on every connect rather than guessing
+        // which concurrent connect is the first one
+        sseClusterRouter.userConnected(userId);
+        keepaliveWheel.get(Math.floorMod(nextKeepaliveSlot.getAndIncrement(), KEEPALIVE_SLOTS)).add(connection);
 
         log.info("📡 SSE connection established | userId: {} | totalConnections: {}",
-                userId, userConnections.get(userId).size());
+                userId, connections.size());
 
         // Handle completion (client closes connection normally)
         emitter.onCompletion(() -> {
-            removeConnection(userId, emitter);
+            removeConnection(userId, connection);
             log.info("✅ SSE connection completed | userId: {}", userId);
         });
 
         // Handle timeout (connection idle for too long)
         emitter.onTimeout(() -> {
-            removeConnection(userId, emitter);
+            removeConnection(userId, connection);
             log.warn("⏱️ SSE connection timeout | userId: {}", userId);
         });
 
         // Handle errors (network issues, client disconnect)
         emitter.onError((error) -> {
-            removeConnection(userId, emitter);
+            removeConnection(userId, connection);
             log.error("❌ SSE connection error | userId: {} | error: {}", userId, error.getMessage());
         });
 
         // Send initial connection event
-        try {
-            emitter.send(SseEmitter.event()
-                    .name("connected")
-                    .data(Map.of(
-                            "message", "Connected to notification stream",
-                            "userId", userId,
-                            "timestamp", System.currentTimeMillis())));
-        } catch (IOException e) {
-            log.error("❌ Failed to send initial SSE event | userId: {}", userId, e);
-            removeConnection(userId, emitter);
-        }
+        connection.start();
+        connection.enqueue(List.of(new SseConnection.Event("connected", Map.of(
+                "message", "Connected to notification stream",
+                "userId", userId,
+                "timestamp", System.currentTimeMillis()), null, false)));
 
         return emitter;
     }
 
     /**
      * Send a notification to a specific user via SSE.
-     * If user has multiple connections (tabs/devices), send to all.
+     * If user has multiple connections (tabs/devices), send to all, on whichever node they are.
      *
      * @param userId       The recipient user ID
      * @param notification The notification to send
      */
     public void sendNotification(String userId, NotificationResponse notification) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        sendNotifications(userId, List.of(notification), null);
+    }
 
-        if (connections == null || connections.isEmpty()) {
-            log.debug("⚠️ No active SSE connections for user: {}", userId);
-            return;
+    /**
+     * Send notifications to a user together with the updated unread count,
+     * so connected clients get them in a single write.
+     *
+     * @param userId        The recipient user ID
+     * @param notifications The notifications to send
+     * @param unreadCount   The number of unread notifications, or null to leave the badge as is
+     */
+    public void sendNotifications(String userId, List<NotificationResponse> notifications, Integer unreadCount) {
+        List<SseClusterRouter.SseEvent> events = new ArrayList<>(notifications.size() + 1);
+        for (NotificationResponse notification : notifications) {
+            events.add(new SseClusterRouter.SseEvent("notification", render(notification)));
         }
-
-        log.info("📨 Broadcasting SSE notification | userId: {} | connections: {} | eventType: {}",
-                userId, connections.size(), notification.getEventType());
-
-        // Send to all user's connections
-        connections.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("notification")
-                        .data(notification));
-
-                log.debug("✅ SSE notification sent | userId: {} | notificationId: {}",
-                        userId, notification.getId());
-
-            } catch (IOException e) {
-                log.error("❌ Failed to send SSE notification | userId: {} | notificationId: {} | error: {}",
-                        userId, notification.getId(), e.getMessage());
-                removeConnection(userId, emitter);
-            }
-        });
+        if (unreadCount != null) {
+            events.add(unreadCountEvent(unreadCount));
+        }
+        sseClusterRouter.publish(userId, events);
     }
 
     /**
      * Send unread count update to a specific user.
+     * Only the latest count is kept while earlier ones are still waiting to be written.
      *
      * @param userId      The user ID
      * @param unreadCount The number of unread notifications
      */
     public void sendUnreadCount(String userId, int unreadCount) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        sseClusterRouter.publish(userId, List.of(unreadCountEvent(unreadCount)));
+    }
+
+    private SseClusterRouter.SseEvent unreadCountEvent(int unreadCount) {
+        return new SseClusterRouter.SseEvent("unread-count", render(Map.of("count", unreadCount)));
+    }
+
+    /**
+     * Queue already rendered (JSON) events on the user's connections on this node.
+     *
+     * @param userId The recipient user ID
+     * @param events The events, data as JSON
+     */
+    @Override
+    public void deliver(String userId, List<SseClusterRouter.SseEvent> events) {
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.get(userId);
 
         if (connections == null || connections.isEmpty()) {
+            log.debug("⚠️ No active SSE connections for user: {}", userId);
             return;
         }
 
-        log.info("🔔 Broadcasting unread count | userId: {} | count: {}", userId, unreadCount);
+        log.info("📨 Broadcasting SSE events | userId: {} | connections: {} | events: {}",
+                userId, connections.size(), events.size());
 
-        connections.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("unread-count")
-                        .data(Map.of("count", unreadCount)));
-            } catch (IOException e) {
-                log.error("❌ Failed to send unread count | userId: {}", userId);
-                removeConnection(userId, emitter);
+        List<SseConnection.Event> queued = new ArrayList<>(events.size());
+        for (SseClusterRouter.SseEvent event : events) {
+            // Only the latest unread count matters
+            queued.add(new SseConnection.Event(
+                    event.name(), event.data(), MediaType.APPLICATION_JSON, "unread-count".equals(event.name())));
+        }
+        for (SseConnection connection : connections) {
+            if (!connection.enqueue(queued)) {
+                log.warn("🐢 SSE client too slow, closing connection | userId: {} | queued: {}",
+                        userId, connection.queueDepth());
+                dropped("overflow");
+                removeConnection(userId, connection);
             }
-        });
+        }
+    }
+
+    @Override
+    public Set<String> connectedUsers() {
+        return Set.copyOf(userConnections.keySet());
+    }
+
+    private String render(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize SSE event", e);
+        }
     }
 
     /**
      * Send a keepalive ping to maintain connection.
-     * Called periodically to prevent connection timeout.
+     * Connections already get one from the keepalive wheel; this forces one for a user.
      *
      * @param userId The user ID
      */
     public void sendKeepalive(String userId) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.get(userId);
 
         if (connections == null || connections.isEmpty()) {
             return;
         }
 
-        connections.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("keepalive")
-                        .data("ping"));
-            } catch (IOException e) {
-                removeConnection(userId, emitter);
-            }
-        });
+        connections.forEach(connection -> connection.keepalive(KEEPALIVE));
+    }
+
+    /**
+     * Advance the keepalive wheel by one slot and ping the connections in it
+     * that have nothing else waiting to be written.
+     */
+    @Scheduled(fixedRateString = "${app.sse.keepalive-tick-ms:1000}")
+    public void keepaliveTick() {
+        int slot = (int) (keepaliveTicks.getAndIncrement() % KEEPALIVE_SLOTS);
+        for (SseConnection connection : keepaliveWheel.get(slot)) {
+            connection.keepalive(KEEPALIVE);
+        }
     }
 
     /**
      * Remove a specific SSE connection for a user.
      *
-     * @param userId  The user ID
-     * @param emitter The emitter to remove
+     * @param userId     The user ID
+     * @param connection The connection to remove
      */
-    private void removeConnection(String userId, SseEmitter emitter) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
-        if (connections != null) {
-            connections.remove(emitter);
-            if (connections.isEmpty()) {
-                userConnections.remove(userId);
+    private void removeConnection(String userId, SseConnection connection) {
+        connection.close();
+        keepaliveWheel.forEach(slot -> slot.remove(connection));
+
+        // Remove the connection and drop the list once empty in one step, so a concurrent connect
+        // never adds to a list that is no longer in the map
+        boolean[] removed = new boolean[1];
+        int[] remaining = new int[1];
+        userConnections.computeIfPresent(userId, (id, connections) -> {
+            removed[0] = connections.remove(connection);
+            remaining[0] = connections.size();
+            return connections.isEmpty() ? null : connections;
+        });
+        if (removed[0]) {
+            if (remaining[0] == 0) {
+                sseClusterRouter.userDisconnected(userId);
+                if (userConnections.containsKey(userId)) {
+                    // A new connection opened meanwhile; keep its route
+                    sseClusterRouter.userConnected(userId);
+                }
                 log.info("🔌 All SSE connections closed for user: {}", userId);
             } else {
-                log.info("🔌 SSE connection removed | userId: {} | remaining: {}", userId, connections.size());
+                log.info("🔌 SSE connection removed | userId: {} | remaining: {}", userId, remaining[0]);
             }
         }
-        emitter.complete();
+        connection.emitter().complete();
     }
 
     /**
@@ -193,9 +293,14 @@ public class NotificationSseService {
      * @param userId The user ID
      */
     public void removeAllConnections(String userId) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.remove(userId);
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.remove(userId);
         if (connections != null) {
-            connections.forEach(SseEmitter::complete);
+            sseClusterRouter.userDisconnected(userId);
+            for (SseConnection connection : connections) {
+                connection.close();
+                keepaliveWheel.forEach(slot -> slot.remove(connection));
+                connection.emitter().complete();
+            }
             log.info("🔌 All SSE connections removed for user: {} | count: {}", userId, connections.size());
         }
     }
@@ -207,7 +312,7 @@ public class NotificationSseService {
      * @return Number of active connections
      */
     public int getConnectionCount(String userId) {
-        CopyOnWriteArrayList<SseEmitter> connections = userConnections.get(userId);
+        CopyOnWriteArrayList<SseConnection> connections = userConnections.get(userId);
         return connections != null ? connections.size() : 0;
     }
 
@@ -230,4 +335,34 @@ public class NotificationSseService {
     public int getConnectedUserCount() {
         return userConnections.size();
     }
+
+    /**
+     * Get the number of events waiting to be written, across all connections.
+     *
+     * @return Queued event count
+     */
+    public int getQueuedEventCount() {
+        int queued = 0;
+        for (CopyOnWriteArrayList<SseConnection> connections : userConnections.values()) {
+            for (SseConnection connection : connections) {
+                queued += connection.queueDepth();
+            }
+        }
+        return queued;
+    }
+
+    private void dropped(String reason) {
+        Counter.builder("careermate.sse.dropped")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static List<Set<SseConnection>> createKeepaliveWheel() {
+        List<Set<SseConnection>> wheel = new ArrayList<>(KEEPALIVE_SLOTS);
+        for (int i = 0; i < KEEPALIVE_SLOTS; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        return wheel;
+    }
 }
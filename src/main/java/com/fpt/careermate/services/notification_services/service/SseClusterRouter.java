@@ -0,0 +1,247 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Routes SSE events to the app node(s) holding the recipient's connections.
+ * Redis keeps, per user, the set of nodes with at least one of their connections
+ * ({@code sse:route:{userId}}), updated only when a user's first connection on a node opens or
+ * their last one closes. Each node subscribes to its own channel ({@code sse:node:{nodeId}:events})
+ * and refreshes a heartbeat key; when a heartbeat expires, the first live node to notice removes
+ * the dead node's routes, using the per-node user set {@code sse:node:{nodeId}:users}.
+ * Without Redis, events are still delivered to connections on the local node.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class SseClusterRouter {
+
+    private static final String NODES_KEY = "sse:nodes";
+    private static final String ROUTE_PREFIX = "sse:route:";
+    private static final String NODE_PREFIX = "sse:node:";
+
+    StringRedisTemplate stringRedisTemplate;
+    RedisMessageListenerContainer redisMessageListenerContainer;
+    ObjectMapper objectMapper;
+
+    String nodeId = UUID.randomUUID().toString();
+
+    @NonFinal
+    @Value("${app.sse.node-ttl-seconds:30}")
+    long nodeTtlSeconds;
+
+    @NonFinal
+    volatile LocalConnections localConnections;
+
+    // Nodes with a live heartbeat, refreshed by heartbeat()
+    @NonFinal
+    volatile Set<String> liveNodes = Set.of();
+
+    /**
+     * The SSE connections held by this node
+     */
+    public interface LocalConnections {
+
+        /**
+         * Deliver events to the user's connections on this node, in order and as one write if possible
+         */
+        void deliver(String userId, List<SseEvent> events);
+
+        Set<String> connectedUsers();
+    }
+
+    /**
+     * An SSE event with its data already serialized
+     */
+    public record SseEvent(String name, String data) {
+    }
+
+    record RoutedEvents(String userId, List<SseEvent> events) {
+    }
+
+    @PostConstruct
+    void init() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> onRoutedEvent(message.getBody()),
+                new ChannelTopic(eventsChannel(nodeId)));
+    }
+
+    public void attach(LocalConnections localConnections) {
+        this.localConnections = localConnections;
+    }
+
+    /**
+     * Deliver events to every connection of the user, on this node and on the nodes routed to
+     */
+    public void publish(String userId, List<SseEvent> events) {
+        localConnections.deliver(userId, events);
+
+        Set<String> nodes;
+        try {
+            nodes = stringRedisTemplate.opsForSet().members(routeKey(userId));
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to read SSE route, delivered locally only | userId: {} | error: {}", userId, e.getMessage());
+            return;
+        }
+        if (nodes == null || nodes.isEmpty()) {
+            return;
+        }
+
+        String message = null;
+        for (String node : nodes) {
+            if (node.equals(nodeId) || !liveNodes.contains(node)) {
+                continue;
+            }
+            try {
+                if (message == null) {
+                    message = objectMapper.writeValueAsString(new RoutedEvents(userId, events));
+                }
+                stringRedisTemplate.convertAndSend(eventsChannel(node), message);
+            } catch (Exception e) {
+                log.warn("⚠️ Failed to route SSE event | userId: {} | node: {} | error: {}", userId, node, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A user's first connection on this node opened
+     */
+    public void userConnected(String userId) {
+        try {
+            stringRedisTemplate.opsForSet().add(routeKey(userId), nodeId);
+            stringRedisTemplate.opsForSet().add(usersKey(nodeId), userId);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to register SSE route | userId: {} | error: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * A user's last connection on this node closed
+     */
+    public void userDisconnected(String userId) {
+        try {
+            stringRedisTemplate.opsForSet().remove(routeKey(userId), nodeId);
+            stringRedisTemplate.opsForSet().remove(usersKey(nodeId), userId);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to remove SSE route | userId: {} | error: {}", userId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        try {
+            stringRedisTemplate.opsForValue().set(heartbeatKey(nodeId), "1", Duration.ofSeconds(nodeTtlSeconds));
+            Long added = stringRedisTemplate.opsForSet().add(NODES_KEY, nodeId);
+            if (added != null && added > 0) {
+                // First heartbeat, or another node declared this one dead (e.g. after a long pause)
+                registerLocalUsers();
+            }
+
+            Set<String> live = new HashSet<>();
+            Set<String> nodes = stringRedisTemplate.opsForSet().members(NODES_KEY);
+            for (String node : nodes != null ? nodes : Set.<String>of()) {
+                if (node.equals(nodeId) || Boolean.TRUE.equals(stringRedisTemplate.hasKey(heartbeatKey(node)))) {
+                    live.add(node);
+                } else {
+                    Long removed = stringRedisTemplate.opsForSet().remove(NODES_KEY, node);
+                    // Only the node that removed it from the set cleans up
+                    if (removed != null && removed > 0) {
+                        log.warn("🧹 SSE node {} stopped sending heartbeats, clearing its routes", node);
+                        clearRoutes(node);
+                    }
+                }
+            }
+            liveNodes = live;
+        } catch (Exception e) {
+            log.error("❌ SSE node heartbeat failed | node: {} | error: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            stringRedisTemplate.opsForSet().remove(NODES_KEY, nodeId);
+            stringRedisTemplate.delete(heartbeatKey(nodeId));
+            clearRoutes(nodeId);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to clear SSE routes on shutdown | node: {} | error: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private void onRoutedEvent(byte[] body) {
+        try {
+            RoutedEvents routed = objectMapper.readValue(body, RoutedEvents.class);
+            localConnections.deliver(routed.userId(), routed.events());
+        } catch (Exception e) {
+            log.error("❌ Failed to handle routed SSE event | error: {}", e.getMessage());
+        }
+    }
+
+    private void registerLocalUsers() {
+        Set<String> users = localConnections.connectedUsers();
+        if (users.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String userId : users) {
+                redis.sAdd(routeKey(userId), nodeId);
+            }
+            redis.sAdd(usersKey(nodeId), users.toArray(new String[0]));
+            return null;
+        });
+    }
+
+    private void clearRoutes(String node) {
+        String usersKey = usersKey(node);
+        Set<String> users = stringRedisTemplate.opsForSet().members(usersKey);
+        if (users != null && !users.isEmpty()) {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (String userId : users) {
+                    redis.sRem(routeKey(userId), node);
+                }
+                return null;
+            });
+        }
+        stringRedisTemplate.delete(usersKey);
+    }
+
+    private static String routeKey(String userId) {
+        return ROUTE_PREFIX + userId;
+    }
+
+    private static String heartbeatKey(String node) {
+        return NODE_PREFIX + node;
+    }
+
+    private static String usersKey(String node) {
+        return NODE_PREFIX + node + ":users";
+    }
+
+    private static String eventsChannel(String node) {
+        return NODE_PREFIX + node + ":events";
+    }
+}
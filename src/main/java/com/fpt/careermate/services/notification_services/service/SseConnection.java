@@ -0,0 +1,172 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * One SSE connection: a bounded queue of outgoing events, written to the emitter by a dedicated
+ * virtual thread, so a slow client only ever blocks its own writer.
+ * Everything queued when the writer wakes up goes out as one frame (one write and flush), and a
+ * queued "latest value" event (unread count, keepalive) is replaced rather than queued twice.
+ */
+@Slf4j
+final class SseConnection {
+
+    /**
+     * @param latestOnly a newer event with the same name replaces this one while it is queued
+     */
+    record Event(String name, Object data, MediaType mediaType, boolean latestOnly) {
+    }
+
+    private final String userId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    // Called from the writer thread when a write fails
+    private final BiConsumer<SseConnection, Exception> onWriteFailure;
+    // Called with the number of events in each frame written
+    private final IntConsumer onFrame;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Deque<Event> queue = new ArrayDeque<>();
+    private boolean closed;
+
+    SseConnection(String userId, SseEmitter emitter, int capacity,
+                  BiConsumer<SseConnection, Exception> onWriteFailure,
+                  IntConsumer onFrame) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.onWriteFailure = onWriteFailure;
+        this.onFrame = onFrame;
+    }
+
+    String userId() {
+        return userId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void start() {
+        Thread.ofVirtual().name("sse-writer-" + userId).start(this::writeLoop);
+    }
+
+    /**
+     * Queue events for this connection; they are written together (in one frame or more).
+     * Only the backlog already waiting counts against the capacity: a list larger than the
+     * capacity (e.g. a whole consumer batch for one user) is accepted by an idle connection.
+     *
+     * @return false if the queue is full (the client is not keeping up)
+     */
+    boolean enqueue(List<Event> events) {
+        lock.lock();
+        try {
+            if (closed) {
+                return true;
+            }
+            for (Event event : events) {
+                if (event.latestOnly()) {
+                    queue.removeIf(queued -> queued.name().equals(event.name()));
+                }
+            }
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            queue.addAll(events);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue a keepalive unless other events are already waiting to be written
+     */
+    void keepalive(Event keepalive) {
+        lock.lock();
+        try {
+            if (queue.isEmpty()) {
+                enqueue(List.of(keepalive));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop the writer; queued events are discarded
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            List<Event> frame;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closed) {
+                    notEmpty.await();
+                }
+                if (closed) {
+                    return;
+                }
+                frame = new ArrayList<>(queue);
+                queue.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> items = new LinkedHashSet<>();
+                for (Event event : frame) {
+                    items.addAll(SseEmitter.event()
+                            .name(event.name())
+                            .data(event.data(), event.mediaType())
+                            .build());
+                }
+                emitter.send(items);
+                onFrame.accept(frame.size());
+            } catch (Exception e) {
+                log.debug("SSE write failed | userId: {} | error: {}", userId, e.getMessage());
+                onWriteFailure.accept(this, e);
+                return;
+            }
+        }
+    }
+}
@@ -2,10 +2,18 @@ package com.fpt.careermate.services.order_services.repository;
 
 import com.fpt.careermate.services.order_services.domain.CandidateEntitlementPackage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 @Repository
 public interface CandidateEntitlementPackageRepo extends JpaRepository<CandidateEntitlementPackage,Integer> {
     CandidateEntitlementPackage findByCandidatePackage_NameAndCandidateEntitlement_Code(String packageName, String entitlementCode);
+
+    @Query("SELECT cep FROM candidate_entitlement_package cep " +
+            "JOIN FETCH cep.candidatePackage " +
+            "JOIN FETCH cep.candidateEntitlement")
+    List<CandidateEntitlementPackage> findAllWithPackageAndEntitlement();
 }
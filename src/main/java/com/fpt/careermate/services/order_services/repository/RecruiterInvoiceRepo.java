@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -34,4 +35,8 @@ public interface RecruiterInvoiceRepo extends JpaRepository<RecruiterInvoice,Int
             @Param("isActive") Boolean isActive,
             Pageable pageable
     );
+
+    // Rows of [isActive, invoice count, amount sum], for the admin dashboard
+    @Query("SELECT i.isActive, COUNT(i), COALESCE(SUM(i.amount), 0) FROM recruiter_invoice i GROUP BY i.isActive")
+    List<Object[]> summarizeByActive();
 }
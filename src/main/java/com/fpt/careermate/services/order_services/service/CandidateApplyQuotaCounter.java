@@ -0,0 +1,145 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.services.job_services.repository.JobApplyRepo;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Số lần apply job trong tháng của từng Candidate, giữ trong Redis.
+ * Key: quota:apply:{candidateId}:{yyyyMM}, tạo lần đầu từ job_apply và tăng nguyên tử khi một
+ * đơn apply được commit. Job đối soát hằng đêm ghi lại các counter từ job_apply.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class CandidateApplyQuotaCounter {
+
+    private static final String KEY_PREFIX = "quota:apply:";
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    // Giữ counter thêm vài ngày sau khi hết tháng
+    private static final Duration COUNTER_TTL = Duration.ofDays(40);
+
+    // Chỉ tăng counter đã có; counter chưa có sẽ được tạo từ DB (đã gồm đơn vừa commit)
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCR', KEYS[1]) else return -1 end",
+            Long.class);
+
+    StringRedisTemplate stringRedisTemplate;
+    JobApplyRepo jobApplyRepo;
+
+    /**
+     * Số đơn apply của candidate trong tháng hiện tại
+     */
+    public int currentMonthCount(int candidateId) {
+        YearMonth period = YearMonth.now();
+        String key = key(candidateId, period);
+        try {
+            String cached = stringRedisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return Integer.parseInt(cached);
+            }
+        } catch (Exception e) {
+            log.error("Error reading apply quota counter {}: {}", key, e.getMessage());
+            return countFromDatabase(candidateId, period);
+        }
+
+        int count = countFromDatabase(candidateId, period);
+        try {
+            // Không ghi đè nếu node khác vừa tạo counter
+            stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(count), COUNTER_TTL);
+        } catch (Exception e) {
+            log.error("Error seeding apply quota counter {}: {}", key, e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Tăng counter khi transaction hiện tại commit (gọi khi tạo đơn apply)
+     */
+    public void recordApply(int candidateId, LocalDateTime appliedAt) {
+        String key = key(candidateId, YearMonth.from(appliedAt));
+        Runnable increment = () -> {
+            try {
+                stringRedisTemplate.execute(INCREMENT_IF_EXISTS, List.of(key));
+            } catch (Exception e) {
+                // Đối soát sẽ sửa counter
+                log.error("Error incrementing apply quota counter {}: {}", key, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment.run();
+                }
+            });
+        } else {
+            increment.run();
+        }
+    }
+
+    /**
+     * Đối soát: ghi lại counter tháng hiện tại của mọi candidate từ job_apply.
+     * Counter của candidate không còn đơn nào trong tháng bị xóa (lần đọc sau sẽ tạo lại = 0).
+     */
+    @Scheduled(cron = "${app.entitlement.apply-quota-reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        YearMonth period = YearMonth.now();
+        try {
+            Map<String, String> expected = new HashMap<>();
+            for (Object[] row : jobApplyRepo.countPerCandidateInPeriod(
+                    period.atDay(1).atStartOfDay(), period.plusMonths(1).atDay(1).atStartOfDay())) {
+                int candidateId = ((Number) row[0]).intValue();
+                expected.put(key(candidateId, period), String.valueOf(((Number) row[1]).longValue()));
+            }
+
+            int removed = 0;
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(KEY_PREFIX + "*:" + period.format(PERIOD_FORMAT))
+                    .count(500)
+                    .build();
+            try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = cursor.next();
+                    if (!expected.containsKey(key)) {
+                        stringRedisTemplate.delete(key);
+                        removed++;
+                    }
+                }
+            }
+            expected.forEach((key, count) -> stringRedisTemplate.opsForValue().set(key, count, COUNTER_TTL));
+            log.info("Reconciled apply quota counters for {}: {} set, {} removed", period, expected.size(), removed);
+        } catch (Exception e) {
+            log.error("Failed to reconcile apply quota counters", e);
+        }
+    }
+
+    private int countFromDatabase(int candidateId, YearMonth period) {
+        return jobApplyRepo.countByCandidateInPeriod(candidateId,
+                period.atDay(1).atStartOfDay(), period.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    private static String key(int candidateId, YearMonth period) {
+        return KEY_PREFIX + candidateId + ":" + period.format(PERIOD_FORMAT);
+    }
+}
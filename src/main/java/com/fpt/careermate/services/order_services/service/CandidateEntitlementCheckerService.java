@@ -5,12 +5,8 @@ import com.fpt.careermate.common.constant.EntitlementCode;
 import com.fpt.careermate.common.constant.PackageCode;
 import com.fpt.careermate.common.constant.StatusInvoice;
 import com.fpt.careermate.common.util.CoachUtil;
-import com.fpt.careermate.services.job_services.repository.JobApplyRepo;
-import com.fpt.careermate.services.order_services.domain.CandidatePackage;
-import com.fpt.careermate.services.order_services.domain.CandidateEntitlementPackage;
 import com.fpt.careermate.services.order_services.domain.CandidateInvoice;
-import com.fpt.careermate.services.order_services.repository.CandidateEntitlementPackageRepo;
-import com.fpt.careermate.services.order_services.repository.CandidatePackageRepo;
+import com.fpt.careermate.services.order_services.service.CandidateEntitlementMatrix.Entitlement;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
+import java.util.Optional;
 
 /**
  * Service kiểm tra quyền hạn của Candidate khi mua gói dịch vụ
@@ -31,36 +27,28 @@ import java.time.LocalDate;
 @PreAuthorize("hasRole('CANDIDATE')")
 public class CandidateEntitlementCheckerService {
 
-    CandidateEntitlementPackageRepo candidateEntitlementPackageRepo;
     CoachUtil coachUtil;
-    CandidatePackageRepo candidatePackageRepo;
-    JobApplyRepo jobApplyRepo;
+    CandidateEntitlementMatrix candidateEntitlementMatrix;
+    CandidateApplyQuotaCounter candidateApplyQuotaCounter;
 
 
     public boolean core(String entitlementCode) {
-        // Kiểm tra gói Free
-        if (checkFreePackage()) {
-            // Nếu là Free package
-            log.info("Candidate is on Free CandidatePackage");
-            CandidatePackage freeCandidatePackage = candidatePackageRepo.findByName(PackageCode.FREE);
-            CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                    .findByCandidatePackage_NameAndCandidateEntitlement_Code(freeCandidatePackage.getName(), entitlementCode);
-            return entitlement != null && entitlement.isEnabled();
-        }
-
-        CandidatePackage currentCandidatePackage = coachUtil.getCurrentCandidate().getCandidateInvoice().getCandidatePackage();
-
-        // Lấy candidateEntitlement "entitlementCode"
-        CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                .findByCandidatePackage_NameAndCandidateEntitlement_Code(currentCandidatePackage.getName(), entitlementCode);
+        // Tra bảng quyền lợi trong bộ nhớ theo gói hiện tại
+        return findEntitlement(coachUtil.getCurrentCandidate(), entitlementCode)
+                .map(Entitlement::enabled)
+                .orElse(false);
+    }
 
-        // Trả kết quả
-        return entitlement != null && entitlement.isEnabled();
+    // Quyền lợi "entitlementCode" của gói hiện tại (Free nếu không có candidateInvoice hoạt động)
+    private Optional<Entitlement> findEntitlement(Candidate candidate, String entitlementCode) {
+        String packageName = checkFreePackage(candidate)
+                ? PackageCode.FREE
+                : candidate.getCandidateInvoice().getCandidatePackage().getName();
+        return candidateEntitlementMatrix.lookup(packageName, entitlementCode);
     }
 
     // Khi có candidate mới, kiểm tra candidateInvoice == null hoặc active == false hoặc status != PAID là Free
-    private boolean checkFreePackage() {
-        Candidate currentCandidate = coachUtil.getCurrentCandidate();
+    private boolean checkFreePackage(Candidate currentCandidate) {
         CandidateInvoice candidateInvoice = currentCandidate.getCandidateInvoice();
 
         if(candidateInvoice == null || !candidateInvoice.isActive() || !StatusInvoice.PAID.equals(candidateInvoice.getStatus())) {
@@ -105,27 +93,17 @@ public class CandidateEntitlementCheckerService {
         // Đếm số lượng CV hiện có của candidate
         int currentCvCount = candidate.getResumes().size();
 
-        // Lấy gói hiện tại (Free nếu không có candidateInvoice hoạt động)
-        CandidatePackage candidatePackage = checkFreePackage()
-                ? candidatePackageRepo.findByName(PackageCode.FREE)
-                : candidate.getCandidateInvoice().getCandidatePackage();
-
-        // Lấy candidateEntitlement CV_BUILDER tương ứng với gói đó
-        CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                .findByCandidatePackage_NameAndCandidateEntitlement_Code(
-                        candidatePackage.getName(),
-                        EntitlementCode.CV_BUILDER
-                );
+        // Lấy candidateEntitlement CV_BUILDER của gói hiện tại
+        Entitlement entitlement = findEntitlement(candidate, EntitlementCode.CV_BUILDER).orElse(null);
 
         // Nếu candidateEntitlement không tồn tại hoặc bị disable → không được tạo
-        if (entitlement == null || !entitlement.isEnabled()) return false;
+        if (entitlement == null || !entitlement.enabled()) return false;
 
         // Nếu limit = 0 → nghĩa là không giới hạn
-        Integer limit = entitlement.getLimitValue();
-        if (limit == null || limit == 0) return true;
+        if (entitlement.isUnlimited()) return true;
 
         // Chỉ cho phép tạo mới nếu chưa vượt giới hạn
-        return currentCvCount < limit;
+        return currentCvCount < entitlement.limitValue();
     }
 
     /**
@@ -138,35 +116,20 @@ public class CandidateEntitlementCheckerService {
     public boolean canApplyJob() {
         Candidate candidate = coachUtil.getCurrentCandidate();
 
-        // Lấy tháng hiện tại
-        int currentMonth = LocalDate.now().getMonth().getValue();
-        // Lấy năm hiện tại
-        int currentYear = LocalDate.now().getYear();
-
-        // Đếm số lần apply trong tháng này
-        int appliedCountThisMonth = jobApplyRepo.countByCandidateAndMonth(candidate.getCandidateId(), currentMonth, currentYear);
-
-        // Lấy gói hiện tại
-        CandidatePackage candidatePackage = checkFreePackage()
-                ? candidatePackageRepo.findByName(PackageCode.FREE)
-                : candidate.getCandidateInvoice().getCandidatePackage();
-
-        // Lấy candidateEntitlement APPLY_JOB tương ứng với gói đó
-        CandidateEntitlementPackage entitlement = candidateEntitlementPackageRepo
-                .findByCandidatePackage_NameAndCandidateEntitlement_Code(
-                        candidatePackage.getName(),
-                        EntitlementCode.APPLY_JOB
-                );
+        // Lấy candidateEntitlement APPLY_JOB của gói hiện tại
+        Entitlement entitlement = findEntitlement(candidate, EntitlementCode.APPLY_JOB).orElse(null);
 
         // Nếu candidateEntitlement không tồn tại hoặc bị disable → không được apply
-        if (entitlement == null || !entitlement.isEnabled()) return false;
+        if (entitlement == null || !entitlement.enabled()) return false;
 
         // Nếu candidateEntitlement có limitCount = 0 → không giới hạn apply
-        Integer limit = entitlement.getLimitValue();
-        if (limit == null || limit == 0) return true;
+        if (entitlement.isUnlimited()) return true;
+
+        // Đếm số lần apply trong tháng này (counter Redis, chỉ đọc DB khi chưa có)
+        int appliedCountThisMonth = candidateApplyQuotaCounter.currentMonthCount(candidate.getCandidateId());
 
         // Chỉ cho phép apply nếu chưa vượt giới hạn trong tháng
-        return appliedCountThisMonth < limit;
+        return appliedCountThisMonth < entitlement.limitValue();
     }
 
     /**
@@ -0,0 +1,111 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.services.order_services.domain.CandidateEntitlementPackage;
+import com.fpt.careermate.services.order_services.repository.CandidateEntitlementPackageRepo;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bảng package × entitlement của Candidate, giữ trong bộ nhớ dưới dạng map bất biến.
+ * Kiểm tra quyền hạn chỉ là 2 lần tra map, không có SQL.
+ * Nạp lại khi seeder/admin thay đổi gói (gọi {@link #reload()}, mọi node nhận qua Redis pub/sub)
+ * và định kỳ để nhận các thay đổi sửa trực tiếp trong DB.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class CandidateEntitlementMatrix {
+
+    private static final String RELOAD_CHANNEL = "entitlement:candidate:reload";
+
+    CandidateEntitlementPackageRepo candidateEntitlementPackageRepo;
+    RedisTemplate<String, Object> redisTemplate;
+    RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // package name -> entitlement code -> entitlement; replaced as a whole on reload
+    @NonFinal
+    volatile Map<String, Map<String, Entitlement>> matrix;
+
+    /**
+     * Quyền lợi của một gói
+     * @param limitValue 0 nghĩa là không giới hạn
+     */
+    public record Entitlement(boolean enabled, int limitValue) {
+
+        public boolean isUnlimited() {
+            return limitValue == 0;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> load(),
+                new ChannelTopic(RELOAD_CHANNEL));
+    }
+
+    /**
+     * Quyền lợi {@code entitlementCode} của gói {@code packageName}, empty nếu gói không có quyền lợi này
+     */
+    public Optional<Entitlement> lookup(String packageName, String entitlementCode) {
+        Map<String, Map<String, Entitlement>> current = matrix;
+        if (current == null) {
+            current = load();
+        }
+        Map<String, Entitlement> entitlements = current.get(packageName);
+        return entitlements == null ? Optional.empty() : Optional.ofNullable(entitlements.get(entitlementCode));
+    }
+
+    /**
+     * Nạp lại bảng trên node này và báo các node khác nạp lại.
+     * Gọi sau khi thay đổi gói hoặc quyền lợi đã được commit.
+     */
+    public void reload() {
+        load();
+        try {
+            redisTemplate.convertAndSend(RELOAD_CHANNEL, "reload");
+        } catch (Exception e) {
+            log.error("Error publishing entitlement matrix reload: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.entitlement.matrix-refresh-interval-ms:600000}",
+            initialDelayString = "${app.entitlement.matrix-refresh-interval-ms:600000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (Exception e) {
+            // Giữ bảng cũ nếu DB lỗi
+            log.error("Failed to refresh candidate entitlement matrix", e);
+        }
+    }
+
+    private Map<String, Map<String, Entitlement>> load() {
+        List<CandidateEntitlementPackage> rows = candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement();
+        Map<String, Map<String, Entitlement>> loaded = new HashMap<>();
+        for (CandidateEntitlementPackage row : rows) {
+            loaded.computeIfAbsent(row.getCandidatePackage().getName(), name -> new HashMap<>())
+                    .put(row.getCandidateEntitlement().getCode(), new Entitlement(row.isEnabled(), row.getLimitValue()));
+        }
+        Map<String, Map<String, Entitlement>> immutable = new HashMap<>();
+        loaded.forEach((packageName, entitlements) -> immutable.put(packageName, Map.copyOf(entitlements)));
+        matrix = Map.copyOf(immutable);
+        log.info("Loaded candidate entitlement matrix: {} packages, {} entries", immutable.size(), rows.size());
+        return matrix;
+    }
+}
@@ -0,0 +1,91 @@
+package com.fpt.careermate.services.outbox_services.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A side effect (search index sync, cache eviction, Kafka event...) recorded in the transaction
+ * that caused it and dispatched after commit by the outbox relay.
+ * Events of the same aggregate are dispatched one at a time, in id order.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregate_type, aggregate_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxEvent {
+
+    public enum Status {
+        PENDING,
+        DONE,
+        // Gave up after the maximum number of attempts, or no handler for the event type
+        DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 64)
+    String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    String eventType;
+
+    @Column(columnDefinition = "TEXT")
+    String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    /**
+     * Claimed by a relay until then; another relay may take it over afterwards
+     */
+    @Column(name = "locked_until")
+    LocalDateTime lockedUntil;
+
+    /**
+     * Identifies the claim holding the lease; updates by a relay whose lease was taken over match no row
+     */
+    @Column(name = "lease_token", length = 36)
+    String leaseToken;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fpt.careermate.services.outbox_services.repository;
+
+import com.fpt.careermate.services.outbox_services.domain.OutboxEvent;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Ids of due events that are not claimed by another relay and are the oldest pending event
+     * of their aggregate. Rows are locked (SKIP LOCKED) until the caller's transaction ends.
+     */
+    @Query(value = "SELECT o.id FROM outbox_events o " +
+            "WHERE o.status = 'PENDING' AND o.next_attempt_at <= :now " +
+            "AND (o.locked_until IS NULL OR o.locked_until < :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p " +
+            "WHERE p.aggregate_type = o.aggregate_type AND p.aggregate_id = o.aggregate_id " +
+            "AND p.status = 'PENDING' AND p.id < o.id) " +
+            "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Claim events until lockedUntil under the given lease token and count the attempt
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.lockedUntil = :lockedUntil, o.leaseToken = :leaseToken, " +
+            "o.attempts = o.attempts + 1 WHERE o.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("lockedUntil") LocalDateTime lockedUntil,
+              @Param("leaseToken") String leaseToken);
+
+    /**
+     * Extend the lease of an event still held by this claim
+     *
+     * @return 0 if the event was taken over by another relay (or finished) in the meantime
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.lockedUntil = :lockedUntil WHERE o.id = :id AND o.leaseToken = :leaseToken")
+    int renewLease(@Param("id") Long id,
+                   @Param("leaseToken") String leaseToken,
+                   @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    default int markDone(Long id, String leaseToken, LocalDateTime processedAt) {
+        return finish(id, leaseToken, OutboxEvent.Status.DONE, processedAt, null);
+    }
+
+    default int markDead(Long id, String leaseToken, LocalDateTime processedAt, String error) {
+        return finish(id, leaseToken, OutboxEvent.Status.DEAD, processedAt, error);
+    }
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.status = :status, o.processedAt = :processedAt, o.lockedUntil = NULL, " +
+            "o.leaseToken = NULL, o.lastError = :error WHERE o.id = :id AND o.leaseToken = :leaseToken")
+    int finish(@Param("id") Long id,
+               @Param("leaseToken") String leaseToken,
+               @Param("status") OutboxEvent.Status status,
+               @Param("processedAt") LocalDateTime processedAt,
+               @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.nextAttemptAt = :nextAttemptAt, o.lockedUntil = NULL, o.leaseToken = NULL, " +
+            "o.lastError = :error WHERE o.id = :id AND o.leaseToken = :leaseToken")
+    int scheduleRetry(@Param("id") Long id,
+                      @Param("leaseToken") String leaseToken,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("error") String error);
+
+    long countByStatus(OutboxEvent.Status status);
+
+    /**
+     * Delete dispatched events (cleanup); dead events are kept for inspection
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.status = :status AND o.processedAt < :cutoff")
+    int deleteFinishedBefore(@Param("status") OutboxEvent.Status status, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,17 @@
+package com.fpt.careermate.services.outbox_services.service;
+
+/**
+ * Dispatches outbox events of one type. Handlers must be idempotent, since an event is delivered
+ * at least once: it is retried when the handler throws or when its relay dies mid-dispatch.
+ * A handler must throw on failure (rather than log) for the event to be retried.
+ *
+ * @param <T> Payload type, serialized as JSON in the outbox row
+ */
+public interface OutboxHandler<T> {
+
+    String eventType();
+
+    Class<T> payloadType();
+
+    void handle(String aggregateId, T payload) throws Exception;
+}
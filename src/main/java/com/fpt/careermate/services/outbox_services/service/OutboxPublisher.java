@@ -0,0 +1,65 @@
+package com.fpt.careermate.services.outbox_services.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.services.outbox_services.domain.OutboxEvent;
+import com.fpt.careermate.services.outbox_services.repository.OutboxEventRepo;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records side effects as outbox rows in the caller's transaction (or a new one when called
+ * outside a transaction). They are dispatched by {@link OutboxRelay} once the transaction commits,
+ * and never if it rolls back.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class OutboxPublisher {
+
+    OutboxEventRepo outboxEventRepo;
+    OutboxRelay outboxRelay;
+    ObjectMapper objectMapper;
+
+    /**
+     * @param aggregateType Kind of entity the event is about, e.g. "JobPosting"
+     * @param aggregateId   Entity id; events with the same type and id are dispatched in order
+     * @param eventType     Selects the {@link OutboxHandler}
+     * @param payload       Serialized as JSON; may be null
+     */
+    @Transactional
+    public void publish(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = payload != null ? objectMapper.writeValueAsString(payload) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload of " + eventType + " is not serializable", e);
+        }
+
+        OutboxEvent event = outboxEventRepo.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(String.valueOf(aggregateId))
+                .eventType(eventType)
+                .payload(json)
+                .build());
+        log.debug("Outbox event {} recorded | type: {} | aggregate: {}:{}",
+                event.getId(), eventType, aggregateType, aggregateId);
+
+        // Dispatch right after commit instead of waiting for the next poll
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.wakeUp();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.fpt.careermate.services.outbox_services.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.services.outbox_services.domain.OutboxEvent;
+import com.fpt.careermate.services.outbox_services.repository.OutboxEventRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches outbox events to their {@link OutboxHandler}.
+ * One relay thread per node claims a batch of due events in a short transaction
+ * (SELECT ... FOR UPDATE SKIP LOCKED, then a lease until now + lease-seconds under a random lease token)
+ * and runs the handlers outside any transaction, so no DB connection is held during remote calls.
+ * Handlers of a batch run one after another, so the lease of each event is renewed right before
+ * its handler runs; an event whose lease was taken over by another relay in the meantime is skipped,
+ * and all later updates of an event are conditional on its lease token.
+ * Only the oldest pending event of an aggregate can be claimed, which keeps per-aggregate order
+ * across nodes; a failed event blocks later events of its aggregate until it succeeds or is dead.
+ * Failures are retried with exponential backoff, up to max-attempts.
+ * Meters: careermate.outbox.dispatched (by type and outcome), careermate.outbox.lag (commit to
+ * dispatch), careermate.outbox.pending and careermate.outbox.dead (gauges, refreshed every minute).
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class OutboxRelay {
+
+    OutboxEventRepo outboxEventRepo;
+    List<OutboxHandler<?>> handlerList;
+    PlatformTransactionManager transactionManager;
+    ObjectMapper objectMapper;
+    MeterRegistry meterRegistry;
+
+    Map<String, OutboxHandler<?>> handlers = new HashMap<>();
+    Semaphore wakeups = new Semaphore(0);
+    AtomicLong pending = new AtomicLong();
+    AtomicLong dead = new AtomicLong();
+
+    @NonFinal
+    @Value("${app.outbox.batch-size:50}")
+    int batchSize;
+
+    // Poll for due retries and for events committed on other nodes
+    @NonFinal
+    @Value("${app.outbox.poll-interval-ms:1000}")
+    long pollIntervalMs;
+
+    // A claimed event not finished by then is taken over by another relay; renewed per event
+    // before dispatch, so it must only exceed the run time of a single handler
+    @NonFinal
+    @Value("${app.outbox.lease-seconds:60}")
+    long leaseSeconds;
+
+    @NonFinal
+    @Value("${app.outbox.max-attempts:10}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${app.outbox.retry-backoff-ms:1000}")
+    long retryBackoffMs;
+
+    @NonFinal
+    @Value("${app.outbox.max-retry-backoff-ms:600000}")
+    long maxRetryBackoffMs;
+
+    @NonFinal
+    @Value("${app.outbox.retention-days:7}")
+    int retentionDays;
+
+    @NonFinal
+    TransactionTemplate claimTransaction;
+
+    @NonFinal
+    volatile Thread worker;
+
+    @NonFinal
+    volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        for (OutboxHandler<?> handler : handlerList) {
+            OutboxHandler<?> previous = handlers.put(handler.eventType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Two outbox handlers for event type " + handler.eventType());
+            }
+        }
+        claimTransaction = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("careermate.outbox.pending", pending);
+        meterRegistry.gauge("careermate.outbox.dead", dead);
+    }
+
+    // Start once the application (handlers' dependencies included) is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = new Thread(this::relayLoop, "Outbox-Relay");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("📮 Outbox relay started | handlers: {}", handlers.keySet());
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Dispatch without waiting for the next poll (called after a transaction with outbox events commits)
+     */
+    public void wakeUp() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                int dispatched = dispatchBatch();
+                if (dispatched < batchSize) {
+                    // Nothing (more) due: sleep until woken up or the next poll
+                    wakeups.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Outbox relay iteration failed | error: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim and dispatch one batch of due events
+     *
+     * @return Number of events claimed
+     */
+    int dispatchBatch() {
+        List<OutboxEvent> batch = claimBatch();
+        for (OutboxEvent event : batch) {
+            dispatch(event);
+        }
+        return batch.size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        String leaseToken = UUID.randomUUID().toString();
+        List<OutboxEvent> batch = claimTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxEventRepo.findClaimableIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxEventRepo.claim(ids, now.plusSeconds(leaseSeconds), leaseToken);
+            return outboxEventRepo.findAllById(ids);
+        });
+        if (batch == null || batch.isEmpty()) {
+            return List.of();
+        }
+        List<OutboxEvent> sorted = new ArrayList<>(batch);
+        sorted.sort(Comparator.comparing(OutboxEvent::getId));
+        return sorted;
+    }
+
+    private void dispatch(OutboxEvent event) {
+        String leaseToken = event.getLeaseToken();
+        // Earlier handlers of the batch may have used up the lease: renew it, unless another relay
+        // has claimed the event since
+        if (outboxEventRepo.renewLease(event.getId(), leaseToken, LocalDateTime.now().plusSeconds(leaseSeconds)) == 0) {
+            log.warn("⚠️ Outbox event {} ({}) was taken over by another relay, skipping",
+                    event.getId(), event.getEventType());
+            count(event, "lease-lost");
+            return;
+        }
+
+        OutboxHandler<?> handler = handlers.get(event.getEventType());
+        if (handler == null) {
+            log.error("❌ No outbox handler for event type {} | eventId: {}", event.getEventType(), event.getId());
+            outboxEventRepo.markDead(event.getId(), leaseToken, LocalDateTime.now(), "No handler for event type");
+            count(event, "dead");
+            return;
+        }
+
+        try {
+            invoke(handler, event);
+            outboxEventRepo.markDone(event.getId(), leaseToken, LocalDateTime.now());
+            count(event, "success");
+            Timer.builder("careermate.outbox.lag")
+                    .description("Time from recording an outbox event to its successful dispatch")
+                    .tag("type", event.getEventType())
+                    .register(meterRegistry)
+                    .record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+        } catch (Exception e) {
+            // Already counts this attempt (incremented when the event was claimed)
+            int attempts = event.getAttempts();
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (attempts >= maxAttempts) {
+                log.error("❌ Outbox event {} ({}) failed {} times, giving up | aggregate: {}:{} | error: {}",
+                        event.getId(), event.getEventType(), attempts,
+                        event.getAggregateType(), event.getAggregateId(), error);
+                outboxEventRepo.markDead(event.getId(), leaseToken, LocalDateTime.now(), error);
+                count(event, "dead");
+            } else {
+                long backoff = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(attempts - 1, 20));
+                log.warn("⚠️ Outbox event {} ({}) failed, retry {} in {}ms | aggregate: {}:{} | error: {}",
+                        event.getId(), event.getEventType(), attempts, backoff,
+                        event.getAggregateType(), event.getAggregateId(), error);
+                outboxEventRepo.scheduleRetry(event.getId(), leaseToken,
+                        LocalDateTime.now().plus(Duration.ofMillis(backoff)), error);
+                count(event, "retry");
+            }
+        }
+    }
+
+    private <T> void invoke(OutboxHandler<T> handler, OutboxEvent event) throws Exception {
+        T payload = event.getPayload() != null
+                ? objectMapper.readValue(event.getPayload(), handler.payloadType())
+                : null;
+        handler.handle(event.getAggregateId(), payload);
+    }
+
+    private void count(OutboxEvent event, String outcome) {
+        Counter.builder("careermate.outbox.dispatched")
+                .tag("type", event.getEventType())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.stats-interval-ms:60000}")
+    public void refreshStats() {
+        try {
+            pending.set(outboxEventRepo.countByStatus(OutboxEvent.Status.PENDING));
+            dead.set(outboxEventRepo.countByStatus(OutboxEvent.Status.DEAD));
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to count outbox events | error: {}", e.getMessage());
+        }
+    }
+
+    // Dispatched events are only kept for a while; dead ones stay until handled manually
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 15 4 * * *}")
+    public void cleanup() {
+        int deleted = outboxEventRepo.deleteFinishedBefore(OutboxEvent.Status.DONE,
+                LocalDateTime.now().minusDays(retentionDays));
+        log.info("🧹 Deleted {} dispatched outbox events older than {} days", deleted, retentionDays);
+    }
+}
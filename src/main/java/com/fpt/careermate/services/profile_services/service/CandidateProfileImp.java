@@ -2,6 +2,7 @@ package com.fpt.careermate.services.profile_services.service;
 
 import com.fpt.careermate.services.account_services.repository.AccountRepo;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.PrincipalContext;
 import com.fpt.careermate.services.account_services.domain.Account;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
 import com.fpt.careermate.services.profile_services.domain.IndustryExperiences;
@@ -38,6 +39,7 @@ public class CandidateProfileImp implements CandidateProfileService {
     CandidateRepo candidateRepo;
     CandidateMapper candidateMapper;
     AuthenticationImp authenticationService;
+    PrincipalContext principalContext;
     WorkModelRepo workModelRepo;
     IndustryExperienceRepo industryExperienceRepo;
     AccountRepo accountRepo;
@@ -219,8 +221,7 @@ public class CandidateProfileImp implements CandidateProfileService {
 
 
     public Candidate generateProfile() {
-        Account account = authenticationService.findByEmail();
-        return candidateRepo.findByAccount_Id(account.getId())
+        return principalContext.currentCandidate()
                 .orElseThrow(() -> new AppException(ErrorCode.CANDIDATE_NOT_FOUND));
     }
 }
@@ -0,0 +1,74 @@
+package com.fpt.careermate.services.recommendation.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk reindex of candidate profiles into Weaviate.
+ * Candidates are indexed in resume id order; lastResumeId is the checkpoint an interrupted
+ * run continues from.
+ */
+@Entity
+@Table(name = "candidate_reindex_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CandidateReindexRun {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        // Stopped by an error; can be resumed from the checkpoint
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    Status status;
+
+    // Checkpoint: all candidates up to this resume id are indexed
+    @Column(name = "last_resume_id", nullable = false)
+    @Builder.Default
+    Integer lastResumeId = 0;
+
+    // Candidates with a resume when the run started
+    @Column(name = "total_candidates", nullable = false)
+    @Builder.Default
+    Long totalCandidates = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    Long indexed = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    Long failed = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    LocalDateTime startedAt;
+
+    // Also the heartbeat of the node running it
+    @Column(name = "updated_at", nullable = false)
+    LocalDateTime updatedAt;
+
+    /**
+     * Identifies the claim of the node running it; writes by a node whose run was taken over match no row
+     */
+    @Column(name = "owner_token", length = 36)
+    String ownerToken;
+
+    @Column(name = "finished_at")
+    LocalDateTime finishedAt;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+}
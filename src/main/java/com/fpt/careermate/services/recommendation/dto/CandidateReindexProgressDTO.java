@@ -0,0 +1,33 @@
+package com.fpt.careermate.services.recommendation.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CandidateReindexProgressDTO {
+
+    Long runId;
+    // NONE (never run), RUNNING, COMPLETED or FAILED
+    String status;
+    // RUNNING, but the node running it stopped sending heartbeats; starting again resumes it
+    boolean stalled;
+    long totalCandidates;
+    long indexed;
+    long failed;
+    double percentComplete;
+    // Checkpoint: candidates up to this resume id are done
+    int lastResumeId;
+    double candidatesPerSecond;
+    Long estimatedSecondsRemaining;
+    LocalDateTime startedAt;
+    LocalDateTime updatedAt;
+    LocalDateTime finishedAt;
+    String lastError;
+}
@@ -16,6 +16,10 @@ public class RecommendationResponseDTO {
     int jobPostingId;
     String jobTitle;
     int totalCandidatesFound;
+    // Applicant coverage of the vector search: scored + skipped = totalApplicants
+    int totalApplicants;
+    int candidatesScored;
+    int candidatesSkipped;
     List<CandidateRecommendationDTO> recommendations;
     long processingTimeMs;
 }
@@ -0,0 +1,70 @@
+package com.fpt.careermate.services.recommendation.repository;
+
+import com.fpt.careermate.services.recommendation.domain.CandidateReindexRun;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CandidateReindexRunRepo extends JpaRepository<CandidateReindexRun, Long> {
+
+    Optional<CandidateReindexRun> findFirstByOrderByIdDesc();
+
+    /**
+     * Take over a run that is not running, or whose node stopped sending heartbeats.
+     * Only one node wins, so a run is never processed twice at the same time; the previous
+     * owner's later writes no longer match its owner token.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CandidateReindexRun r SET r.status = :running, r.ownerToken = :ownerToken, r.updatedAt = :now, " +
+            "r.finishedAt = null, r.lastError = null " +
+            "WHERE r.id = :id AND (r.status <> :running OR r.updatedAt < :staleBefore)")
+    int claim(@Param("id") Long id,
+              @Param("running") CandidateReindexRun.Status running,
+              @Param("ownerToken") String ownerToken,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Save the checkpoint of a run still owned by this claim; also its heartbeat
+     *
+     * @return 0 if the run was taken over by another node in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CandidateReindexRun r SET r.lastResumeId = :lastResumeId, r.indexed = :indexed, " +
+            "r.failed = :failed, r.updatedAt = :now WHERE r.id = :id AND r.ownerToken = :ownerToken")
+    int checkpoint(@Param("id") Long id,
+                   @Param("ownerToken") String ownerToken,
+                   @Param("lastResumeId") Integer lastResumeId,
+                   @Param("indexed") Long indexed,
+                   @Param("failed") Long failed,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Record the outcome of a run still owned by this claim
+     *
+     * @return 0 if the run was taken over by another node in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CandidateReindexRun r SET r.status = :status, r.lastResumeId = :lastResumeId, " +
+            "r.indexed = :indexed, r.failed = :failed, r.updatedAt = :now, r.finishedAt = :finishedAt, " +
+            "r.lastError = :error WHERE r.id = :id AND r.ownerToken = :ownerToken")
+    int finish(@Param("id") Long id,
+               @Param("ownerToken") String ownerToken,
+               @Param("status") CandidateReindexRun.Status status,
+               @Param("lastResumeId") Integer lastResumeId,
+               @Param("indexed") Long indexed,
+               @Param("failed") Long failed,
+               @Param("now") LocalDateTime now,
+               @Param("finishedAt") LocalDateTime finishedAt,
+               @Param("error") String error);
+}
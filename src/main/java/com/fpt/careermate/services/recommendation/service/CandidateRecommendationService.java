@@ -1,6 +1,7 @@
 package com.fpt.careermate.services.recommendation.service;
 
 import com.fpt.careermate.services.recommendation.dto.CandidateRecommendationDTO;
+import com.fpt.careermate.services.recommendation.dto.CandidateReindexProgressDTO;
 import com.fpt.careermate.services.recommendation.dto.RecommendationResponseDTO;
 
 import java.util.List;
@@ -27,9 +28,16 @@ public interface CandidateRecommendationService {
     void syncCandidateToWeaviate(int candidateId);
     
     /**
-     * Sync all candidates to Weaviate
+     * Reindex all candidates into Weaviate in the background
+     * @param restart Start over instead of resuming the last run that did not complete
+     * @return Progress of the started (or resumed) run
      */
-    void syncAllCandidatesToWeaviate();
+    CandidateReindexProgressDTO syncAllCandidatesToWeaviate(boolean restart);
+
+    /**
+     * Progress of the last candidate reindex
+     */
+    CandidateReindexProgressDTO getReindexProgress();
     
     /**
      * Delete candidate from Weaviate
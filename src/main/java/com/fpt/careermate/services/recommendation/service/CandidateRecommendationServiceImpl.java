@@ -8,7 +8,11 @@ import com.fpt.careermate.services.job_services.repository.JobPostingRepo;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
 import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
 import com.fpt.careermate.services.recommendation.dto.CandidateRecommendationDTO;
+import com.fpt.careermate.services.recommendation.dto.CandidateReindexProgressDTO;
 import com.fpt.careermate.services.recommendation.dto.RecommendationResponseDTO;
+import com.fpt.careermate.services.recommendation.util.CompiledSkills;
+import com.fpt.careermate.services.recommendation.util.SkillMatchResult;
+import com.fpt.careermate.services.recommendation.util.SkillMatcher;
 import com.fpt.careermate.services.resume_services.domain.Resume;
 import com.fpt.careermate.services.resume_services.domain.Skill;
 import com.fpt.careermate.services.resume_services.repository.ResumeRepo;
@@ -18,6 +22,8 @@ import com.google.gson.GsonBuilder;
 import io.weaviate.client.WeaviateClient;
 import io.weaviate.client.base.Result;
 import io.weaviate.client.v1.data.model.WeaviateObject;
+import io.weaviate.client.v1.filters.Operator;
+import io.weaviate.client.v1.filters.WhereFilter;
 import io.weaviate.client.v1.graphql.model.GraphQLResponse;
 import io.weaviate.client.v1.graphql.query.fields.Field;
 import io.weaviate.client.v1.schema.model.WeaviateClass;
@@ -43,11 +49,14 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
     CandidateRepo candidateRepo;
     ResumeRepo resumeRepo;
     JobApplyRepo jobApplyRepo;
-    com.fpt.careermate.services.recommendation.util.SkillMatcher skillMatcher;
+    SkillMatcher skillMatcher;
+    CandidateReindexService candidateReindexService;
 
     private static final String CANDIDATE_CLASS = "CandidateProfile";
     private static final int DEFAULT_MAX_CANDIDATES = 10;
     private static final double DEFAULT_MIN_MATCH_SCORE = 0.0; // No minimum threshold - show all applicants ranked by match score
+    // Max candidate ids per Weaviate where filter; larger applicant sets are queried in chunks
+    private static final int FILTER_CHUNK_SIZE = 250;
     
     // Statuses that are eligible for recommendation (candidates actively being considered)
     private static final List<StatusJobApply> ELIGIBLE_STATUSES = Arrays.asList(
@@ -134,14 +143,16 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
         log.info("📋 Found {} eligible candidates (SUBMITTED/REVIEWING) for job posting {}", 
                 eligibleCandidateIds.size(), jobPostingId);
 
-        // Search in Weaviate using vector similarity, then filter by applied candidates
-        List<CandidateRecommendationDTO> recommendations = searchCandidatesInWeaviate(
+        // Search in Weaviate using vector similarity restricted to the applicant set
+        SemanticSearchResult searchResult = searchCandidatesInWeaviate(
                 requiredSkills,
                 jobPosting.getYearsOfExperience(),
                 Math.min(limit, eligibleCandidateIds.size()),
                 threshold,
                 eligibleCandidateIds,
                 candidateApplicationMap);
+        List<CandidateRecommendationDTO> recommendations = searchResult.recommendations();
+        int candidatesScored = searchResult.scoredCount();
 
         // FALLBACK: If Weaviate returns no results (candidates not synced), return applicants directly
         if (recommendations.isEmpty() && !eligibleCandidateIds.isEmpty()) {
@@ -158,6 +169,9 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
                 .jobPostingId(jobPostingId)
                 .jobTitle(jobPosting.getTitle())
                 .totalCandidatesFound(recommendations.size())
+                .totalApplicants(eligibleCandidateIds.size())
+                .candidatesScored(candidatesScored)
+                .candidatesSkipped(eligibleCandidateIds.size() - candidatesScored)
                 .recommendations(recommendations)
                 .processingTimeMs(processingTime)
                 .build();
@@ -171,6 +185,7 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
             Map<Integer, JobApply> candidateApplicationMap,
             List<String> requiredSkills) {
         List<CandidateRecommendationDTO> recommendations = new ArrayList<>();
+        CompiledSkills compiledRequired = skillMatcher.compile(requiredSkills);
         
         for (Map.Entry<Integer, JobApply> entry : candidateApplicationMap.entrySet()) {
             JobApply application = entry.getValue();
@@ -182,9 +197,9 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
             List<String> candidateSkills = new ArrayList<>();
             String profileSummary = "";
             try {
-                List<Resume> resumes = resumeRepo.findByCandidateCandidateId(candidate.getCandidateId());
-                if (!resumes.isEmpty()) {
-                    Resume resume = resumes.get(0);
+                Resume resume = resumeRepo.findFirstByCandidateCandidateIdOrderByResumeIdAsc(
+                        candidate.getCandidateId()).orElse(null);
+                if (resume != null) {
                     if (resume.getSkills() != null) {
                         candidateSkills = resume.getSkills().stream()
                                 .map(Skill::getSkillName)
@@ -198,10 +213,10 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
             }
             
             // Calculate basic skill match
-            Set<String> matchedSkillsSet = skillMatcher.findMatchingSkills(requiredSkills, candidateSkills);
-            Set<String> missingSkillsSet = skillMatcher.findMissingSkills(requiredSkills, candidateSkills);
-            double matchScore = requiredSkills.isEmpty() ? 0.0 : 
-                    skillMatcher.calculateEnhancedMatchScore(requiredSkills, candidateSkills);
+            SkillMatchResult skillMatch = skillMatcher.match(compiledRequired, skillMatcher.compile(candidateSkills));
+            Set<String> matchedSkillsSet = skillMatch.getMatchedSkills();
+            Set<String> missingSkillsSet = skillMatch.getMissingSkills();
+            double matchScore = requiredSkills.isEmpty() ? 0.0 : skillMatch.getEnhancedScore();
             
             // Get candidate name from account or fullName
             String candidateName = candidate.getFullName();
@@ -246,7 +261,13 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
         return recommendations;
     }
 
-    private List<CandidateRecommendationDTO> searchCandidatesInWeaviate(
+    /**
+     * Filtered vector search: the eligible applicant ids are pushed into the Weaviate query
+     * as a {@code where} filter, so every applicant is ranked instead of only those that happen
+     * to fall inside a global top-N. Large applicant sets are split into chunks of
+     * {@link #FILTER_CHUNK_SIZE} ids, one query per chunk.
+     */
+    private SemanticSearchResult searchCandidatesInWeaviate(
             List<String> requiredSkills,
             int minYearsExperience,
             int limit,
@@ -256,7 +277,9 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
         try {
             // Create semantic search query from skills
             String searchQuery = String.join(" ", requiredSkills);
-            log.info("🔎 Searching Weaviate with semantic query: '{}' (limit: {})", searchQuery, limit);
+            List<List<Integer>> idChunks = chunkCandidateIds(eligibleCandidateIds, FILTER_CHUNK_SIZE);
+            log.info("🔎 Searching Weaviate with semantic query: '{}' (limit: {}, applicants: {}, chunks: {})",
+                    searchQuery, limit, eligibleCandidateIds.size(), idChunks.size());
 
             Field[] fields = new Field[] {
                     Field.builder().name("candidateId").build(),
@@ -274,42 +297,88 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
                             .build()
             };
 
-            // Use nearText for semantic search with embeddings
-            // This uses the configured sentence-transformers model
-            // Use lower certainty (0.3) for initial fetch to get more candidates
-            // We'll apply the actual threshold after combining with skill matching
-            Result<GraphQLResponse> result = weaviateClient.graphQL().get()
-                    .withClassName(CANDIDATE_CLASS)
-                    .withNearText(weaviateClient.graphQL().arguments().nearTextArgBuilder()
-                            .concepts(new String[] { searchQuery })
-                            .certainty(0.3f) // Lower threshold for initial fetch
-                            .build())
-                    .withLimit(limit * 3) // Fetch more candidates to filter and rank
-                    .withFields(fields)
-                    .run();
+            List<Map<String, Object>> candidates = new ArrayList<>();
+            for (List<Integer> chunk : idChunks) {
+                WhereFilter applicantFilter = WhereFilter.builder()
+                        .path(new String[] { "candidateId" })
+                        .operator(Operator.ContainsAny)
+                        .valueInt(chunk.toArray(new Integer[0]))
+                        .build();
 
-            if (result.hasErrors()) {
-                log.error("❌ Weaviate semantic search error: {}", result.getError().getMessages());
-                return Collections.emptyList();
+                // No certainty floor here: the filter already restricts the search to applicants,
+                // and every one of them should get a semantic score. The threshold from the request
+                // is applied after combining with skill matching.
+                Result<GraphQLResponse> result = weaviateClient.graphQL().get()
+                        .withClassName(CANDIDATE_CLASS)
+                        .withNearText(weaviateClient.graphQL().arguments().nearTextArgBuilder()
+                                .concepts(new String[] { searchQuery })
+                                .build())
+                        .withWhere(applicantFilter)
+                        .withLimit(chunk.size())
+                        .withFields(fields)
+                        .run();
+
+                if (result.hasErrors()) {
+                    log.error("❌ Weaviate filtered search error: {}", result.getError().getMessages());
+                    continue;
+                }
+                candidates.addAll(extractCandidates(result.getResult()));
             }
 
-            log.info("✅ Weaviate semantic search completed, parsing results...");
+            log.info("✅ Weaviate filtered search completed, parsing results...");
             // Parse and rank results
             List<CandidateRecommendationDTO> recommendations = parseSemanticSearchResults(
-                    result.getResult(), requiredSkills, minYearsExperience, limit, threshold, 
+                    candidates, requiredSkills, minYearsExperience, limit, threshold,
                     eligibleCandidateIds, candidateApplicationMap);
-            log.info("📈 Found {} matching candidates", recommendations.size());
-            return recommendations;
+            int scoredCount = (int) candidates.stream()
+                    .map(candidate -> candidate.get("candidateId"))
+                    .filter(Number.class::isInstance)
+                    .map(id -> ((Number) id).intValue())
+                    .filter(eligibleCandidateIds::contains)
+                    .distinct()
+                    .count();
+            log.info("📈 Scored {} of {} applicants, {} matching candidates returned",
+                    scoredCount, eligibleCandidateIds.size(), recommendations.size());
+            return new SemanticSearchResult(recommendations, scoredCount);
 
         } catch (Exception e) {
             log.error("❌ Error in semantic search: {}", e.getMessage(), e);
-            return Collections.emptyList();
+            return new SemanticSearchResult(Collections.emptyList(), 0);
+        }
+    }
+
+    private static List<List<Integer>> chunkCandidateIds(Set<Integer> candidateIds, int chunkSize) {
+        List<Integer> ids = new ArrayList<>(candidateIds);
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
         }
+        return chunks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> extractCandidates(GraphQLResponse response) {
+        Object dataObj = response.getData();
+        if (!(dataObj instanceof Map))
+            return Collections.emptyList();
+
+        Object getObj = ((Map<String, Object>) dataObj).get("Get");
+        if (!(getObj instanceof Map))
+            return Collections.emptyList();
+
+        Object candidatesObj = ((Map<String, Object>) getObj).get(CANDIDATE_CLASS);
+        if (!(candidatesObj instanceof List))
+            return Collections.emptyList();
+
+        return (List<Map<String, Object>>) candidatesObj;
+    }
+
+    private record SemanticSearchResult(List<CandidateRecommendationDTO> recommendations, int scoredCount) {
     }
 
     @SuppressWarnings("unchecked")
     private List<CandidateRecommendationDTO> parseSemanticSearchResults(
-            GraphQLResponse response,
+            List<Map<String, Object>> candidates,
             List<String> requiredSkills,
             int minYearsExperience,
             int limit,
@@ -319,23 +388,8 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
         List<CandidateRecommendationDTO> recommendations = new ArrayList<>();
 
         try {
-            Object dataObj = response.getData();
-            if (dataObj == null || !(dataObj instanceof Map))
-                return recommendations;
-
-            Map<String, Object> data = (Map<String, Object>) dataObj;
-            Object getObj = data.get("Get");
-            if (getObj == null || !(getObj instanceof Map))
-                return recommendations;
-
-            Map<String, Object> get = (Map<String, Object>) getObj;
-            Object candidatesObj = get.get(CANDIDATE_CLASS);
-            if (candidatesObj == null || !(candidatesObj instanceof List))
-                return recommendations;
-
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) candidatesObj;
-
             log.info("📦 Processing {} candidates from semantic search", candidates.size());
+            CompiledSkills compiledRequired = skillMatcher.compile(requiredSkills);
 
             for (Map<String, Object> candidate : candidates) {
                 try {
@@ -380,15 +434,13 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
                         }
                     }
 
-                    // Use SkillMatcher for additional skill analysis
-                    Set<String> matchedSkillsSet = skillMatcher.findMatchingSkills(requiredSkills, candidateSkills);
-                    List<String> matchedSkills = new ArrayList<>(matchedSkillsSet);
-
-                    Set<String> missingSkillsSet = skillMatcher.findMissingSkills(requiredSkills, candidateSkills);
-                    List<String> missingSkills = new ArrayList<>(missingSkillsSet);
+                    // Use SkillMatcher for additional skill analysis (single pass over compiled skills)
+                    SkillMatchResult skillMatch = skillMatcher.match(compiledRequired, skillMatcher.compile(candidateSkills));
+                    List<String> matchedSkills = new ArrayList<>(skillMatch.getMatchedSkills());
+                    List<String> missingSkills = new ArrayList<>(skillMatch.getMissingSkills());
 
                     // Calculate exact skill matching score (more weight)
-                    double skillMatchScore = skillMatcher.calculateEnhancedMatchScore(requiredSkills, candidateSkills);
+                    double skillMatchScore = skillMatch.getEnhancedScore();
 
                     // Calculate experience factor (0.8 to 1.2 multiplier based on experience)
                     double experienceFactor = 1.0;
@@ -505,6 +557,7 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
             List<Map<String, Object>> candidates = (List<Map<String, Object>>) candidatesObj;
 
             log.info("📦 Processing {} candidates from Weaviate", candidates.size());
+            CompiledSkills compiledRequired = skillMatcher.compile(requiredSkills);
 
             for (Map<String, Object> candidate : candidates) {
                 try {
@@ -534,14 +587,12 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
                     // Recruiters can see the experience level and make their own decision.
 
                     // Use SkillMatcher for intelligent skill matching with synonyms and hierarchy
-                    Set<String> matchedSkillsSet = skillMatcher.findMatchingSkills(requiredSkills, candidateSkills);
-                    List<String> matchedSkills = new ArrayList<>(matchedSkillsSet);
-
-                    Set<String> missingSkillsSet = skillMatcher.findMissingSkills(requiredSkills, candidateSkills);
-                    List<String> missingSkills = new ArrayList<>(missingSkillsSet);
+                    SkillMatchResult skillMatch = skillMatcher.match(compiledRequired, skillMatcher.compile(candidateSkills));
+                    List<String> matchedSkills = new ArrayList<>(skillMatch.getMatchedSkills());
+                    List<String> missingSkills = new ArrayList<>(skillMatch.getMissingSkills());
 
                     // Calculate enhanced match score with synonym matching and hierarchy bonus
-                    double matchScore = skillMatcher.calculateEnhancedMatchScore(requiredSkills, candidateSkills);
+                    double matchScore = skillMatch.getEnhancedScore();
 
                     // Apply minMatchScore threshold
                     if (matchScore < threshold) {
@@ -600,12 +651,11 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
             log.info("🔄 Refreshing candidate {} profile in Weaviate", candidateId);
 
             // Get candidate's resume
-            List<Resume> resumes = resumeRepo.findByCandidateCandidateId(candidateId);
-            if (resumes.isEmpty()) {
-                log.warn("❌ No resume found for candidate ID: {}", candidateId);
-                throw new AppException(ErrorCode.RESUME_NOT_FOUND);
-            }
-            Resume resume = resumes.get(0);
+            Resume resume = resumeRepo.findFirstByCandidateCandidateIdOrderByResumeIdAsc(candidateId)
+                    .orElseThrow(() -> {
+                        log.warn("❌ No resume found for candidate ID: {}", candidateId);
+                        return new AppException(ErrorCode.RESUME_NOT_FOUND);
+                    });
 
             log.info("📋 Refreshing candidate {} with comprehensive profile data", candidateId);
 
@@ -624,53 +674,18 @@ public class CandidateRecommendationServiceImpl implements CandidateRecommendati
     }
 
     @Override
-    @Transactional
-    public void syncAllCandidatesToWeaviate() {
-        try {
-            log.info("🔄 Starting comprehensive refresh of all candidate profiles in Weaviate...");
+    public CandidateReindexProgressDTO syncAllCandidatesToWeaviate(boolean restart) {
+        log.info("🔄 Starting comprehensive refresh of all candidate profiles in Weaviate...");
 
-            // Ensure schema exists with proper structure
-            ensureWeaviateSchema();
-
-            // Get all resumes (not candidates) since resume is required
-            List<Resume> resumes = resumeRepo.findAll();
-            log.info("📊 Found {} candidate profiles with resumes", resumes.size());
-
-            CandidateWeaviateService candidateWeaviateService = new CandidateWeaviateService(weaviateClient);
+        // Ensure schema exists with proper structure
+        ensureWeaviateSchema();
 
-            int successCount = 0;
-            int failCount = 0;
-            int skippedCount = 0;
-
-            for (Resume resume : resumes) {
-                try {
-                    if (resume.getCandidate() == null) {
-                        log.warn("⚠️ Resume without candidate found, skipping");
-                        skippedCount++;
-                        continue;
-                    }
-
-                    log.info("📝 Refreshing candidate {} profile...",
-                            resume.getCandidate().getCandidateId());
-
-                    candidateWeaviateService.storeCandidateProfile(resume);
-                    successCount++;
-
-                } catch (Exception e) {
-                    log.error("❌ Failed to refresh candidate {}: {}",
-                            resume.getCandidate() != null ? resume.getCandidate().getCandidateId() : "unknown",
-                            e.getMessage());
-                    failCount++;
-                }
-            }
-
-            log.info("✅ Profile refresh completed: {} succeeded, {} failed, {} skipped",
-                    successCount, failCount, skippedCount);
+        return candidateReindexService.start(restart);
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Error during batch profile refresh: {}", e.getMessage(), e);
-            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
-        }
+    @Override
+    public CandidateReindexProgressDTO getReindexProgress() {
+        return candidateReindexService.getProgress();
     }
 
     @Override
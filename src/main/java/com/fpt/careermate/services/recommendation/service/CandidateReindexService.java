@@ -0,0 +1,304 @@
+package com.fpt.careermate.services.recommendation.service;
+
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.recommendation.domain.CandidateReindexRun;
+import com.fpt.careermate.services.recommendation.dto.CandidateReindexProgressDTO;
+import com.fpt.careermate.services.recommendation.repository.CandidateReindexRunRepo;
+import com.fpt.careermate.services.resume_services.domain.Resume;
+import com.fpt.careermate.services.resume_services.repository.ResumeRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk reindex of all candidate profiles into Weaviate.
+ * Candidates are streamed in keyset pages of their first resume id; each page is loaded with
+ * fetch joins, its properties are built in parallel and it is written with one Weaviate batch
+ * request (upsert by deterministic id, no delete). The run row is checkpointed after every page,
+ * so a failed or interrupted run continues where it stopped.
+ * A run is owned by one node at a time; its updatedAt doubles as the owner's heartbeat, and
+ * every write is conditional on the owner token, so a node whose run was taken over stops.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class CandidateReindexService {
+
+    ResumeRepo resumeRepo;
+    CandidateReindexRunRepo runRepo;
+    CandidateWeaviateService candidateWeaviateService;
+    PlatformTransactionManager transactionManager;
+    MeterRegistry meterRegistry;
+
+    AtomicBoolean running = new AtomicBoolean();
+
+    // Candidates per page and Weaviate batch request
+    @NonFinal
+    @Value("${app.candidate-reindex.batch-size:200}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${app.candidate-reindex.max-batch-attempts:3}")
+    int maxBatchAttempts;
+
+    // A RUNNING run without a checkpoint for this long is considered interrupted
+    @NonFinal
+    @Value("${app.candidate-reindex.stale-after-seconds:300}")
+    long staleAfterSeconds;
+
+    // Throughput of the part of the run done by this node
+    @NonFinal
+    volatile long segmentStartedNanos;
+
+    @NonFinal
+    volatile long segmentProcessed;
+
+    /**
+     * Start a reindex in the background, or resume the last one if it did not complete
+     *
+     * @param restart Start over from the first candidate even if the last run did not complete
+     */
+    public CandidateReindexProgressDTO start(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            throw new AppException(ErrorCode.CANDIDATE_REINDEX_RUNNING);
+        }
+        CandidateReindexRun run;
+        try {
+            run = claimRun(restart);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+
+        segmentStartedNanos = System.nanoTime();
+        segmentProcessed = 0;
+        Thread worker = new Thread(() -> execute(run), "Candidate-Reindex");
+        worker.setDaemon(true);
+        worker.start();
+        return toProgress(run);
+    }
+
+    public CandidateReindexProgressDTO getProgress() {
+        return runRepo.findFirstByOrderByIdDesc()
+                .map(this::toProgress)
+                .orElseGet(() -> CandidateReindexProgressDTO.builder().status("NONE").build());
+    }
+
+    private CandidateReindexRun claimRun(boolean restart) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusSeconds(staleAfterSeconds);
+        CandidateReindexRun latest = runRepo.findFirstByOrderByIdDesc().orElse(null);
+
+        if (latest != null && latest.getStatus() == CandidateReindexRun.Status.RUNNING
+                && latest.getUpdatedAt().isAfter(staleBefore)) {
+            // Running on another node
+            throw new AppException(ErrorCode.CANDIDATE_REINDEX_RUNNING);
+        }
+
+        String ownerToken = UUID.randomUUID().toString();
+        if (latest != null && !restart && latest.getStatus() != CandidateReindexRun.Status.COMPLETED) {
+            if (runRepo.claim(latest.getId(), CandidateReindexRun.Status.RUNNING, ownerToken, now, staleBefore) == 0) {
+                throw new AppException(ErrorCode.CANDIDATE_REINDEX_RUNNING);
+            }
+            CandidateReindexRun resumed = runRepo.findById(latest.getId()).orElseThrow();
+            log.info("🔄 Resuming candidate reindex {} after resume id {} ({}/{} done)", resumed.getId(),
+                    resumed.getLastResumeId(), resumed.getIndexed() + resumed.getFailed(), resumed.getTotalCandidates());
+            return resumed;
+        }
+
+        CandidateReindexRun created = runRepo.save(CandidateReindexRun.builder()
+                .status(CandidateReindexRun.Status.RUNNING)
+                .totalCandidates(resumeRepo.countCandidatesWithResume())
+                .startedAt(now)
+                .updatedAt(now)
+                .ownerToken(ownerToken)
+                .build());
+        log.info("🔄 Starting candidate reindex {} of {} candidates", created.getId(), created.getTotalCandidates());
+        return created;
+    }
+
+    private void execute(CandidateReindexRun run) {
+        try {
+            try {
+                indexAll(run);
+                run.setStatus(CandidateReindexRun.Status.COMPLETED);
+                run.setFinishedAt(LocalDateTime.now());
+                log.info("✅ Candidate reindex {} completed: {} indexed, {} failed", run.getId(),
+                        run.getIndexed(), run.getFailed());
+            } catch (RunTakenOverException e) {
+                throw e;
+            } catch (Exception e) {
+                run.setStatus(CandidateReindexRun.Status.FAILED);
+                run.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+                log.error("❌ Candidate reindex {} failed after resume id {}: {}", run.getId(),
+                        run.getLastResumeId(), e.getMessage(), e);
+            }
+            run.setUpdatedAt(LocalDateTime.now());
+            owned(runRepo.finish(run.getId(), run.getOwnerToken(), run.getStatus(), run.getLastResumeId(),
+                    run.getIndexed(), run.getFailed(), run.getUpdatedAt(), run.getFinishedAt(), run.getLastError()));
+        } catch (RunTakenOverException e) {
+            // The new owner continues from the last checkpoint it read; nothing of this node's state is written
+            log.warn("⚠️ Candidate reindex {} was taken over by another node; stopping after resume id {}",
+                    run.getId(), run.getLastResumeId());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void indexAll(CandidateReindexRun run) throws InterruptedException {
+        while (true) {
+            List<Integer> resumeIds = resumeRepo.findIndexedResumeIdsAfter(
+                    run.getLastResumeId(), PageRequest.of(0, batchSize));
+            if (resumeIds.isEmpty()) {
+                return;
+            }
+
+            Map<Integer, Map<String, Object>> profiles = buildProfiles(resumeIds);
+            Set<Integer> rejected = upsertWithRetry(run, profiles);
+            int indexed = profiles.size() - rejected.size();
+
+            run.setLastResumeId(resumeIds.get(resumeIds.size() - 1));
+            run.setIndexed(run.getIndexed() + indexed);
+            run.setFailed(run.getFailed() + rejected.size());
+            checkpoint(run);
+
+            segmentProcessed += profiles.size();
+            count("indexed", indexed);
+            count("failed", rejected.size());
+
+            if (resumeIds.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write the checkpoint and heartbeat of a run, or stop if another node has taken it over
+     */
+    private void checkpoint(CandidateReindexRun run) {
+        run.setUpdatedAt(LocalDateTime.now());
+        owned(runRepo.checkpoint(run.getId(), run.getOwnerToken(), run.getLastResumeId(),
+                run.getIndexed(), run.getFailed(), run.getUpdatedAt()));
+    }
+
+    private static void owned(int updated) {
+        if (updated == 0) {
+            throw new RunTakenOverException();
+        }
+    }
+
+    private static class RunTakenOverException extends RuntimeException {
+        RunTakenOverException() {
+            super("Candidate reindex run was taken over by another node", null, false, false);
+        }
+    }
+
+    /**
+     * Load a page of resume graphs in a short read-only transaction, then build the Weaviate
+     * properties in parallel from the fully fetched (detached) entities
+     *
+     * @return Properties by candidate id
+     */
+    private Map<Integer, Map<String, Object>> buildProfiles(List<Integer> resumeIds) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<Resume> resumes = readOnly.execute(status -> {
+            List<Resume> loaded = resumeRepo.findWithSkillsByResumeIdIn(resumeIds);
+            resumeRepo.fetchWorkExperiences(resumeIds);
+            resumeRepo.fetchEducations(resumeIds);
+            resumeRepo.fetchCertificates(resumeIds);
+            resumeRepo.fetchHighlightProjects(resumeIds);
+            resumeRepo.fetchAwards(resumeIds);
+            resumeRepo.fetchForeignLanguages(resumeIds);
+            return loaded;
+        });
+
+        return resumes.parallelStream().collect(Collectors.toConcurrentMap(
+                resume -> resume.getCandidate().getCandidateId(),
+                candidateWeaviateService::buildCandidateProperties));
+    }
+
+    private Set<Integer> upsertWithRetry(CandidateReindexRun run, Map<Integer, Map<String, Object>> profiles)
+            throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return candidateWeaviateService.upsertCandidateProfiles(profiles);
+            } catch (RuntimeException e) {
+                if (attempt >= maxBatchAttempts) {
+                    throw e;
+                }
+                log.warn("⚠️ Weaviate batch failed (attempt {}/{}), retrying: {}", attempt, maxBatchAttempts,
+                        e.getMessage());
+                // Keep the heartbeat going while retrying, so the run is not handed to another node
+                checkpoint(run);
+                Thread.sleep(1000L * attempt);
+            }
+        }
+    }
+
+    private void count(String outcome, long amount) {
+        Counter.builder("careermate.recommendation.reindex.candidates")
+                .description("Candidate profiles written by bulk reindex")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    private CandidateReindexProgressDTO toProgress(CandidateReindexRun run) {
+        long processed = run.getIndexed() + run.getFailed();
+        long total = Math.max(run.getTotalCandidates(), processed);
+        boolean runningHere = running.get() && run.getStatus() == CandidateReindexRun.Status.RUNNING;
+
+        // Rate of this node's segment while it runs, otherwise the average over the whole run
+        double rate;
+        if (runningHere) {
+            double seconds = (System.nanoTime() - segmentStartedNanos) / 1e9;
+            rate = seconds > 0 ? segmentProcessed / seconds : 0;
+        } else {
+            long seconds = Duration.between(run.getStartedAt(), run.getUpdatedAt()).toSeconds();
+            rate = seconds > 0 ? (double) processed / seconds : 0;
+        }
+
+        boolean active = run.getStatus() == CandidateReindexRun.Status.RUNNING;
+        return CandidateReindexProgressDTO.builder()
+                .runId(run.getId())
+                .status(run.getStatus().name())
+                .stalled(active && run.getUpdatedAt().isBefore(LocalDateTime.now().minusSeconds(staleAfterSeconds)))
+                .totalCandidates(total)
+                .indexed(run.getIndexed())
+                .failed(run.getFailed())
+                .percentComplete(total > 0 ? Math.round(processed * 1000.0 / total) / 10.0 : 100.0)
+                .lastResumeId(run.getLastResumeId())
+                .candidatesPerSecond(Math.round(rate * 10) / 10.0)
+                .estimatedSecondsRemaining(active && rate > 0 ? (long) ((total - processed) / rate) : null)
+                .startedAt(run.getStartedAt())
+                .updatedAt(run.getUpdatedAt())
+                .finishedAt(run.getFinishedAt())
+                .lastError(run.getLastError())
+                .build();
+    }
+
+    private static String truncate(String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
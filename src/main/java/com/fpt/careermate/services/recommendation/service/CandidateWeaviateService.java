@@ -3,6 +3,7 @@ package com.fpt.careermate.services.recommendation.service;
 import com.fpt.careermate.services.resume_services.domain.*;
 import io.weaviate.client.WeaviateClient;
 import io.weaviate.client.base.Result;
+import io.weaviate.client.v1.batch.model.ObjectGetResponse;
 import io.weaviate.client.v1.data.model.WeaviateObject;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -93,11 +94,97 @@ public class CandidateWeaviateService {
         }
     }
 
+    /**
+     * Replace the candidate's Weaviate entry with the given properties
+     * Throws on failure so the caller (outbox relay) can retry
+     */
+    public void upsertCandidateProfile(int candidateId, Map<String, Object> properties) {
+        removeCandidateProfile(candidateId);
+
+        Result<WeaviateObject> result = weaviateClient.data().creator()
+                .withClassName(CANDIDATE_CLASS)
+                .withID(generateUUID(candidateId))
+                .withProperties(properties)
+                .run();
+
+        if (result.hasErrors()) {
+            throw new IllegalStateException("Failed to store candidate " + candidateId + " in Weaviate: "
+                    + result.getError().getMessages());
+        }
+        log.info("✅ Successfully stored candidate {} in Weaviate", candidateId);
+    }
+
+    /**
+     * Upsert many candidate profiles with one Weaviate batch request
+     * Objects keep their deterministic UUID, so a batch import replaces existing entries without a delete
+     *
+     * @param profiles Properties by candidate id
+     * @return Candidate ids whose object was rejected by Weaviate
+     * @throws IllegalStateException if the batch request itself failed
+     */
+    public Set<Integer> upsertCandidateProfiles(Map<Integer, Map<String, Object>> profiles) {
+        if (profiles.isEmpty()) {
+            return Set.of();
+        }
+        Map<String, Integer> candidateIdsByUuid = new HashMap<>();
+        List<WeaviateObject> objects = new ArrayList<>(profiles.size());
+        profiles.forEach((candidateId, properties) -> {
+            String uuid = generateUUID(candidateId);
+            candidateIdsByUuid.put(uuid, candidateId);
+            objects.add(WeaviateObject.builder()
+                    .className(CANDIDATE_CLASS)
+                    .id(uuid)
+                    .properties(properties)
+                    .build());
+        });
+
+        Result<ObjectGetResponse[]> result = weaviateClient.batch().objectsBatcher()
+                .withObjects(objects.toArray(new WeaviateObject[0]))
+                .run();
+
+        if (result.hasErrors()) {
+            throw new IllegalStateException("Weaviate batch of " + objects.size() + " candidates failed: "
+                    + result.getError().getMessages());
+        }
+
+        Set<Integer> rejected = new HashSet<>();
+        for (ObjectGetResponse response : result.getResult()) {
+            if (response.getResult() != null && response.getResult().getErrors() != null) {
+                Integer candidateId = candidateIdsByUuid.get(response.getId());
+                log.warn("⚠️ Weaviate rejected candidate {}: {}", candidateId,
+                        response.getResult().getErrors());
+                rejected.add(candidateId);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Remove the candidate's Weaviate entry; an entry that does not exist counts as removed
+     * Throws on failure so the caller (outbox relay) can retry
+     */
+    public void removeCandidateProfile(int candidateId) {
+        Result<Boolean> result = weaviateClient.data().deleter()
+                .withClassName(CANDIDATE_CLASS)
+                .withID(generateUUID(candidateId))
+                .run();
+
+        if (result.hasErrors()) {
+            if (result.getError().getStatusCode() == 404) {
+                log.debug("Candidate {} not found in Weaviate (may not exist yet)", candidateId);
+                return;
+            }
+            throw new IllegalStateException("Failed to delete candidate " + candidateId + " from Weaviate: "
+                    + result.getError().getMessages());
+        }
+        log.info("🗑️ Deleted candidate {} from Weaviate", candidateId);
+    }
+
     /**
      * Build comprehensive candidate properties for Weaviate storage
      * Includes all resume components with proper weighting
      */
-    private Map<String, Object> buildCandidateProperties(Resume resume) {
+    public Map<String, Object> buildCandidateProperties(Resume resume) {
         Map<String, Object> properties = new HashMap<>();
 
         // Basic candidate info
@@ -0,0 +1,82 @@
+package com.fpt.careermate.services.recommendation.util;
+
+import java.util.*;
+
+/**
+ * A skill list resolved once against a {@link SkillDictionary}.
+ * Known skills are held as a bitset of canonical ids; skills outside the dictionary
+ * fall back to their normalized names and only ever match exactly.
+ */
+public final class CompiledSkills {
+
+    private final SkillDictionary dictionary;
+    private final String[] originals;
+    private final String[] normalized;
+    private final int[] ids;
+    private final BitSet knownIds;
+    private final Set<String> unknownTerms;
+
+    CompiledSkills(SkillDictionary dictionary, List<String> skills) {
+        this.dictionary = dictionary;
+        int size = skills == null ? 0 : skills.size();
+        this.originals = new String[size];
+        this.normalized = new String[size];
+        this.ids = new int[size];
+        this.knownIds = new BitSet(dictionary.size());
+        this.unknownTerms = new HashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            String original = skills.get(i);
+            String term = SkillDictionary.normalize(original);
+            int id = dictionary.idOf(term);
+            originals[i] = original;
+            normalized[i] = term;
+            ids[i] = id;
+            if (id != SkillDictionary.UNKNOWN) {
+                knownIds.set(id);
+            } else if (term != null) {
+                unknownTerms.add(term);
+            }
+        }
+    }
+
+    CompiledSkills recompile(SkillDictionary newDictionary) {
+        return new CompiledSkills(newDictionary, Arrays.asList(originals));
+    }
+
+    SkillDictionary dictionary() {
+        return dictionary;
+    }
+
+    int size() {
+        return originals.length;
+    }
+
+    String original(int index) {
+        return originals[index];
+    }
+
+    int id(int index) {
+        return ids[index];
+    }
+
+    boolean isEmpty() {
+        return originals.length == 0;
+    }
+
+    /**
+     * Whether this list contains the skill at {@code index} of another compiled list
+     */
+    boolean contains(CompiledSkills other, int index) {
+        int id = other.ids[index];
+        if (id != SkillDictionary.UNKNOWN) {
+            return knownIds.get(id);
+        }
+        String term = other.normalized[index];
+        return term != null && unknownTerms.contains(term);
+    }
+
+    boolean containsId(int id) {
+        return knownIds.get(id);
+    }
+}
@@ -0,0 +1,199 @@
+package com.fpt.careermate.services.recommendation.util;
+
+import java.util.*;
+
+/**
+ * Immutable, precompiled skill vocabulary.
+ * Every synonym variant and every hierarchy term is mapped to an integer canonical id;
+ * terms that share a synonym share an id. Parent skills of a hierarchy child are kept
+ * as an int array per id, so matching never touches strings after compilation.
+ */
+public final class SkillDictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> termIds;
+    private final String[] canonicalNames;
+    private final List<Set<String>> termsById;
+    private final int[][] parentIds;
+
+    private SkillDictionary(Map<String, Integer> termIds, String[] canonicalNames,
+                            List<Set<String>> termsById, int[][] parentIds) {
+        this.termIds = termIds;
+        this.canonicalNames = canonicalNames;
+        this.termsById = termsById;
+        this.parentIds = parentIds;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Lower-case and trim a raw skill name, the only string work done per skill
+     */
+    public static String normalize(String skill) {
+        return skill == null ? null : skill.toLowerCase().trim();
+    }
+
+    /**
+     * Canonical id of an already normalized term, or {@link #UNKNOWN}
+     */
+    public int idOf(String normalizedTerm) {
+        if (normalizedTerm == null) return UNKNOWN;
+        Integer id = termIds.get(normalizedTerm);
+        return id != null ? id : UNKNOWN;
+    }
+
+    public String canonicalName(int id) {
+        return canonicalNames[id];
+    }
+
+    public Set<String> termsOf(int id) {
+        return termsById.get(id);
+    }
+
+    /**
+     * Ids of the hierarchy parents of a skill (e.g. "javascript" for "react")
+     */
+    public int[] parentsOf(int id) {
+        return parentIds[id];
+    }
+
+    public int size() {
+        return canonicalNames.length;
+    }
+
+    public static final class Builder {
+
+        // Union-find over term nodes: variants of one synonym group are unioned together,
+        // and groups that share a variant end up merged, as with the old overlapping-set check
+        private final Map<String, Integer> termNodes = new LinkedHashMap<>();
+        private final List<Integer> unionParent = new ArrayList<>();
+        private final Map<Integer, String> canonicalByNode = new LinkedHashMap<>();
+        private final Map<String, Set<String>> hierarchy = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addSynonyms(String canonical, Collection<String> variants) {
+            String canonicalTerm = normalize(canonical);
+            int root = node(canonicalTerm);
+            canonicalByNode.putIfAbsent(root, canonicalTerm);
+            for (String variant : variants) {
+                String term = normalize(variant);
+                if (term == null || term.isEmpty()) continue;
+                union(root, node(term));
+            }
+            return this;
+        }
+
+        public Builder addSynonyms(String canonical, String... variants) {
+            return addSynonyms(canonical, Arrays.asList(variants));
+        }
+
+        public Builder addHierarchy(String parent, Collection<String> children) {
+            String parentTerm = normalize(parent);
+            node(parentTerm);
+            Set<String> childTerms = hierarchy.computeIfAbsent(parentTerm, key -> new LinkedHashSet<>());
+            for (String child : children) {
+                String term = normalize(child);
+                if (term == null || term.isEmpty()) continue;
+                node(term);
+                childTerms.add(term);
+            }
+            return this;
+        }
+
+        public Builder addHierarchy(String parent, String... children) {
+            return addHierarchy(parent, Arrays.asList(children));
+        }
+
+        public SkillDictionary build() {
+            // Assign dense ids to union-find roots in insertion order
+            Map<Integer, Integer> idByRoot = new HashMap<>();
+            Map<String, Integer> termIds = new HashMap<>(termNodes.size() * 2);
+            List<Set<String>> termsById = new ArrayList<>();
+            List<String> canonicalNames = new ArrayList<>();
+
+            for (Map.Entry<String, Integer> entry : termNodes.entrySet()) {
+                int root = find(entry.getValue());
+                Integer id = idByRoot.get(root);
+                if (id == null) {
+                    id = termsById.size();
+                    idByRoot.put(root, id);
+                    termsById.add(new LinkedHashSet<>());
+                    canonicalNames.add(entry.getKey());
+                }
+                termIds.put(entry.getKey(), id);
+                termsById.get(id).add(entry.getKey());
+            }
+
+            // First registered canonical name of a merged synonym group wins
+            Set<Integer> namedIds = new HashSet<>();
+            for (Map.Entry<Integer, String> entry : canonicalByNode.entrySet()) {
+                int id = idByRoot.get(find(entry.getKey()));
+                if (namedIds.add(id)) {
+                    canonicalNames.set(id, entry.getValue());
+                }
+            }
+
+            List<Set<Integer>> parents = new ArrayList<>();
+            for (int i = 0; i < termsById.size(); i++) {
+                parents.add(new LinkedHashSet<>());
+            }
+            for (Map.Entry<String, Set<String>> entry : hierarchy.entrySet()) {
+                int parentId = termIds.get(entry.getKey());
+                for (String child : entry.getValue()) {
+                    parents.get(termIds.get(child)).add(parentId);
+                }
+            }
+
+            int[][] parentIds = new int[parents.size()][];
+            for (int i = 0; i < parents.size(); i++) {
+                parentIds[i] = parents.get(i).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            List<Set<String>> frozenTerms = new ArrayList<>(termsById.size());
+            for (Set<String> terms : termsById) {
+                frozenTerms.add(Collections.unmodifiableSet(terms));
+            }
+
+            return new SkillDictionary(
+                    Collections.unmodifiableMap(termIds),
+                    canonicalNames.toArray(new String[0]),
+                    Collections.unmodifiableList(frozenTerms),
+                    parentIds);
+        }
+
+        private int node(String term) {
+            Integer existing = termNodes.get(term);
+            if (existing != null) return existing;
+            int created = unionParent.size();
+            unionParent.add(created);
+            termNodes.put(term, created);
+            return created;
+        }
+
+        private int find(int node) {
+            int root = node;
+            while (unionParent.get(root) != root) {
+                root = unionParent.get(root);
+            }
+            while (unionParent.get(node) != root) {
+                int next = unionParent.get(node);
+                unionParent.set(node, root);
+                node = next;
+            }
+            return root;
+        }
+
+        private void union(int a, int b) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA != rootB) {
+                unionParent.set(rootB, rootA);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.fpt.careermate.services.recommendation.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+
+/**
+ * Outcome of matching a candidate's skills against a job's required skills in one pass
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SkillMatchResult {
+
+    Set<String> matchedSkills;
+    Set<String> missingSkills;
+    double matchScore;
+    double hierarchyBonus;
+
+    /**
+     * Match score plus hierarchy bonus, capped at 1.0
+     */
+    public double getEnhancedScore() {
+        return Math.min(matchScore + hierarchyBonus, 1.0);
+    }
+}
@@ -1,138 +1,237 @@
 package com.fpt.careermate.services.recommendation.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Utility class for intelligent skill matching with synonym and hierarchy support
+ * Utility class for intelligent skill matching with synonym and hierarchy support.
+ * Skills are resolved against a precompiled {@link SkillDictionary}; the built-in table can be
+ * extended with an external JSON file ({@code app.skill-matching.dictionary-path}) of the form
+ * {@code {"synonyms": {"react": ["reactjs"]}, "hierarchy": {"javascript": ["react"]}}},
+ * which is reloaded when the file changes.
  */
 @Slf4j
 @Component
 public class SkillMatcher {
 
-    // Skill synonym mappings (lowercase for case-insensitive matching)
-    private static final Map<String, Set<String>> SKILL_SYNONYMS = new HashMap<>();
+    private static final double HIERARCHY_BONUS_PER_PARENT = 0.1;
+    private static final double MAX_HIERARCHY_BONUS = 0.3;
 
-    // Skill hierarchy (parent -> children skills)
-    private static final Map<String, Set<String>> SKILL_HIERARCHY = new HashMap<>();
+    private final String dictionaryPath;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    static {
-        initializeSkillSynonyms();
-        initializeSkillHierarchy();
+    private volatile SkillDictionary dictionary;
+    private volatile long dictionaryLastModified = -1L;
+
+    public SkillMatcher(@Value("${app.skill-matching.dictionary-path:}") String dictionaryPath) {
+        this.dictionaryPath = dictionaryPath;
+        this.dictionary = buildDictionary();
+    }
+
+    /**
+     * Reload the external skill table if it changed on disk since the last load
+     */
+    @Scheduled(fixedDelayString = "${app.skill-matching.reload-interval-ms:60000}")
+    public void reloadDictionaryIfChanged() {
+        if (dictionaryPath == null || dictionaryPath.isBlank()) return;
+        File file = new File(dictionaryPath);
+        if (file.isFile() && file.lastModified() != dictionaryLastModified) {
+            reloadDictionary();
+        }
+    }
+
+    /**
+     * Rebuild the dictionary from the built-in table plus the external file, and swap it in atomically
+     */
+    public void reloadDictionary() {
+        this.dictionary = buildDictionary();
+        log.info("🔁 Skill dictionary reloaded: {} canonical skills", dictionary.size());
+    }
+
+    public SkillDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private SkillDictionary buildDictionary() {
+        SkillDictionary.Builder builder = SkillDictionary.builder();
+        addDefaultSynonyms(builder);
+        addDefaultHierarchy(builder);
+
+        if (dictionaryPath != null && !dictionaryPath.isBlank()) {
+            File file = new File(dictionaryPath);
+            try {
+                long lastModified = file.lastModified();
+                JsonNode root = objectMapper.readTree(file);
+                root.path("synonyms").fields().forEachRemaining(entry ->
+                        builder.addSynonyms(entry.getKey(), textValues(entry.getValue())));
+                root.path("hierarchy").fields().forEachRemaining(entry ->
+                        builder.addHierarchy(entry.getKey(), textValues(entry.getValue())));
+                dictionaryLastModified = lastModified;
+            } catch (Exception e) {
+                log.error("❌ Failed to load skill dictionary from {}, using built-in table: {}",
+                        dictionaryPath, e.getMessage());
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<String> textValues(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(node -> values.add(node.asText()));
+        return values;
     }
 
-    private static void initializeSkillSynonyms() {
+    private static void addDefaultSynonyms(SkillDictionary.Builder builder) {
         // Programming Languages
-        addSynonyms("javascript", "js", "javascript", "ecmascript", "es6", "es2015");
-        addSynonyms("typescript", "ts", "typescript");
-        addSynonyms("python", "python", "python3", "py");
-        addSynonyms("java", "java", "java8", "java11", "java17", "java21");
-        addSynonyms("c#", "c#", "csharp", "c sharp", ".net");
-        addSynonyms("c++", "c++", "cpp", "cplusplus");
-        addSynonyms("golang", "go", "golang");
-        addSynonyms("ruby", "ruby", "ruby on rails", "rails", "ror");
-        addSynonyms("php", "php", "php7", "php8");
+        builder.addSynonyms("javascript", "js", "javascript", "ecmascript", "es6", "es2015");
+        builder.addSynonyms("typescript", "ts", "typescript");
+        builder.addSynonyms("python", "python", "python3", "py");
+        builder.addSynonyms("java", "java", "java8", "java11", "java17", "java21");
+        builder.addSynonyms("c#", "c#", "csharp", "c sharp", ".net");
+        builder.addSynonyms("c++", "c++", "cpp", "cplusplus");
+        builder.addSynonyms("golang", "go", "golang");
+        builder.addSynonyms("ruby", "ruby", "ruby on rails", "rails", "ror");
+        builder.addSynonyms("php", "php", "php7", "php8");
 
         // Frontend Frameworks
-        addSynonyms("react", "react", "reactjs", "react.js");
-        addSynonyms("vue", "vue", "vuejs", "vue.js");
-        addSynonyms("angular", "angular", "angularjs", "angular2+");
-        addSynonyms("next.js", "next", "nextjs", "next.js");
-        addSynonyms("nuxt", "nuxt", "nuxtjs", "nuxt.js");
+        builder.addSynonyms("react", "react", "reactjs", "react.js");
+        builder.addSynonyms("vue", "vue", "vuejs", "vue.js");
+        builder.addSynonyms("angular", "angular", "angularjs", "angular2+");
+        builder.addSynonyms("next.js", "next", "nextjs", "next.js");
+        builder.addSynonyms("nuxt", "nuxt", "nuxtjs", "nuxt.js");
 
         // Backend Frameworks
-        addSynonyms("spring", "spring", "spring boot", "spring framework", "springboot");
-        addSynonyms("express", "express", "expressjs", "express.js");
-        addSynonyms("django", "django", "django rest framework", "drf");
-        addSynonyms("flask", "flask", "flask framework");
-        addSynonyms("nest.js", "nest", "nestjs", "nest.js");
-        addSynonyms("fastapi", "fastapi", "fast api");
+        builder.addSynonyms("spring", "spring", "spring boot", "spring framework", "springboot");
+        builder.addSynonyms("express", "express", "expressjs", "express.js");
+        builder.addSynonyms("django", "django", "django rest framework", "drf");
+        builder.addSynonyms("flask", "flask", "flask framework");
+        builder.addSynonyms("nest.js", "nest", "nestjs", "nest.js");
+        builder.addSynonyms("fastapi", "fastapi", "fast api");
 
         // Databases
-        addSynonyms("postgresql", "postgres", "postgresql", "psql");
-        addSynonyms("mysql", "mysql", "mariadb");
-        addSynonyms("mongodb", "mongo", "mongodb");
-        addSynonyms("sql server", "sql server", "mssql", "microsoft sql server");
-        addSynonyms("oracle", "oracle", "oracle db", "oracle database");
-        addSynonyms("redis", "redis", "redis cache");
+        builder.addSynonyms("postgresql", "postgres", "postgresql", "psql");
+        builder.addSynonyms("mysql", "mysql", "mariadb");
+        builder.addSynonyms("mongodb", "mongo", "mongodb");
+        builder.addSynonyms("sql server", "sql server", "mssql", "microsoft sql server");
+        builder.addSynonyms("oracle", "oracle", "oracle db", "oracle database");
+        builder.addSynonyms("redis", "redis", "redis cache");
 
         // Cloud Platforms
-        addSynonyms("aws", "aws", "amazon web services");
-        addSynonyms("azure", "azure", "microsoft azure");
-        addSynonyms("gcp", "gcp", "google cloud", "google cloud platform");
+        builder.addSynonyms("aws", "aws", "amazon web services");
+        builder.addSynonyms("azure", "azure", "microsoft azure");
+        builder.addSynonyms("gcp", "gcp", "google cloud", "google cloud platform");
 
         // DevOps & Tools
-        addSynonyms("docker", "docker", "containerization", "containers");
-        addSynonyms("kubernetes", "kubernetes", "k8s");
-        addSynonyms("jenkins", "jenkins", "ci/cd");
-        addSynonyms("git", "git", "github", "gitlab", "version control");
-        addSynonyms("terraform", "terraform", "iac", "infrastructure as code");
+        builder.addSynonyms("docker", "docker", "containerization", "containers");
+        builder.addSynonyms("kubernetes", "kubernetes", "k8s");
+        builder.addSynonyms("jenkins", "jenkins", "ci/cd");
+        builder.addSynonyms("git", "git", "github", "gitlab", "version control");
+        builder.addSynonyms("terraform", "terraform", "iac", "infrastructure as code");
 
         // Testing
-        addSynonyms("junit", "junit", "unit testing", "java testing");
-        addSynonyms("jest", "jest", "javascript testing");
-        addSynonyms("pytest", "pytest", "python testing");
-        addSynonyms("selenium", "selenium", "automation testing", "e2e testing");
+        builder.addSynonyms("junit", "junit", "unit testing", "java testing");
+        builder.addSynonyms("jest", "jest", "javascript testing");
+        builder.addSynonyms("pytest", "pytest", "python testing");
+        builder.addSynonyms("selenium", "selenium", "automation testing", "e2e testing");
 
         // Soft Skills
-        addSynonyms("teamwork", "teamwork", "team work", "collaboration", "team collaboration");
-        addSynonyms("communication", "communication", "verbal communication", "written communication");
-        addSynonyms("problem solving", "problem solving", "problem-solving", "critical thinking");
-        addSynonyms("leadership", "leadership", "team lead", "team leadership");
-        addSynonyms("agile", "agile", "scrum", "agile methodology");
+        builder.addSynonyms("teamwork", "teamwork", "team work", "collaboration", "team collaboration");
+        builder.addSynonyms("communication", "communication", "verbal communication", "written communication");
+        builder.addSynonyms("problem solving", "problem solving", "problem-solving", "critical thinking");
+        builder.addSynonyms("leadership", "leadership", "team lead", "team leadership");
+        builder.addSynonyms("agile", "agile", "scrum", "agile methodology");
     }
 
-    private static void initializeSkillHierarchy() {
+    private static void addDefaultHierarchy(SkillDictionary.Builder builder) {
         // Frontend Development
-        addHierarchy("frontend development",
+        builder.addHierarchy("frontend development",
             "html", "css", "javascript", "typescript", "react", "vue", "angular");
 
         // Backend Development
-        addHierarchy("backend development",
+        builder.addHierarchy("backend development",
             "java", "python", "node.js", "go", "c#", "ruby", "php");
 
         // Java Ecosystem
-        addHierarchy("java",
+        builder.addHierarchy("java",
             "spring", "hibernate", "maven", "gradle", "junit");
 
         // JavaScript Ecosystem
-        addHierarchy("javascript",
+        builder.addHierarchy("javascript",
             "react", "vue", "angular", "node.js", "express", "next.js");
 
         // Python Ecosystem
-        addHierarchy("python",
+        builder.addHierarchy("python",
             "django", "flask", "fastapi", "pandas", "numpy", "pytest");
 
         // Database Skills
-        addHierarchy("database",
+        builder.addHierarchy("database",
             "sql", "postgresql", "mysql", "mongodb", "redis", "oracle");
 
         // Cloud Skills
-        addHierarchy("cloud computing",
+        builder.addHierarchy("cloud computing",
             "aws", "azure", "gcp", "docker", "kubernetes", "terraform");
 
         // DevOps
-        addHierarchy("devops",
+        builder.addHierarchy("devops",
             "docker", "kubernetes", "jenkins", "ci/cd", "terraform", "ansible");
     }
 
-    private static void addSynonyms(String canonical, String... variants) {
-        Set<String> synonymSet = new HashSet<>(Arrays.asList(variants));
-        for (String variant : variants) {
-            SKILL_SYNONYMS.put(variant.toLowerCase(), synonymSet.stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet()));
+    /**
+     * Resolve a skill list against the current dictionary once, for repeated matching
+     */
+    public CompiledSkills compile(List<String> skills) {
+        return new CompiledSkills(dictionary, skills);
+    }
+
+    /**
+     * Matched skills, missing skills, match score and hierarchy bonus in a single pass over the
+     * required skills. Each lookup is a bitset probe on the candidate's canonical ids.
+     */
+    public SkillMatchResult match(CompiledSkills required, CompiledSkills candidate) {
+        if (candidate.dictionary() != required.dictionary()) {
+            // Dictionary was reloaded between the two compilations
+            candidate = candidate.recompile(required.dictionary());
         }
+
+        Set<String> matched = new LinkedHashSet<>();
+        Set<String> missing = new LinkedHashSet<>();
+        double bonus = 0.0;
+        SkillDictionary dict = required.dictionary();
+
+        for (int i = 0; i < required.size(); i++) {
+            String skill = required.original(i);
+            if (candidate.contains(required, i)) {
+                matched.add(skill);
+            } else {
+                missing.add(skill);
+            }
+
+            // Bonus for having a parent skill, e.g. job requires "React" and candidate has "JavaScript"
+            int id = required.id(i);
+            if (id != SkillDictionary.UNKNOWN) {
+                for (int parentId : dict.parentsOf(id)) {
+                    if (candidate.containsId(parentId)) {
+                        bonus += HIERARCHY_BONUS_PER_PARENT;
+                    }
+                }
+            }
+        }
+
+        missing.removeAll(matched);
+        double score = required.isEmpty() ? 0.0 : (double) matched.size() / required.size();
+        return new SkillMatchResult(matched, missing, score, Math.min(bonus, MAX_HIERARCHY_BONUS));
     }
 
-    private static void addHierarchy(String parent, String... children) {
-        SKILL_HIERARCHY.put(parent.toLowerCase(),
-            Arrays.stream(children)
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet()));
+    public SkillMatchResult match(List<String> requiredSkills, List<String> candidateSkills) {
+        SkillDictionary dict = dictionary;
+        return match(new CompiledSkills(dict, requiredSkills), new CompiledSkills(dict, candidateSkills));
     }
 
     /**
@@ -140,15 +239,10 @@ public class SkillMatcher {
      */
     public String normalizeSkill(String skill) {
         if (skill == null) return null;
-        String normalized = skill.toLowerCase().trim();
-
-        // Return the first (canonical) synonym if found
-        Set<String> synonyms = SKILL_SYNONYMS.get(normalized);
-        if (synonyms != null && !synonyms.isEmpty()) {
-            return synonyms.iterator().next();
-        }
-
-        return normalized;
+        String normalized = SkillDictionary.normalize(skill);
+        SkillDictionary dict = dictionary;
+        int id = dict.idOf(normalized);
+        return id != SkillDictionary.UNKNOWN ? dict.canonicalName(id) : normalized;
     }
 
     /**
@@ -157,52 +251,31 @@ public class SkillMatcher {
     public boolean skillsMatch(String skill1, String skill2) {
         if (skill1 == null || skill2 == null) return false;
 
-        String normalized1 = skill1.toLowerCase().trim();
-        String normalized2 = skill2.toLowerCase().trim();
+        String normalized1 = SkillDictionary.normalize(skill1);
+        String normalized2 = SkillDictionary.normalize(skill2);
 
         // Exact match
         if (normalized1.equals(normalized2)) {
             return true;
         }
 
-        // Check if they're synonyms
-        Set<String> synonyms1 = SKILL_SYNONYMS.get(normalized1);
-        Set<String> synonyms2 = SKILL_SYNONYMS.get(normalized2);
-
-        if (synonyms1 != null && synonyms2 != null) {
-            // If they share any synonyms, they match
-            return !Collections.disjoint(synonyms1, synonyms2);
-        }
-
-        return false;
+        SkillDictionary dict = dictionary;
+        int id1 = dict.idOf(normalized1);
+        return id1 != SkillDictionary.UNKNOWN && id1 == dict.idOf(normalized2);
     }
 
     /**
      * Find all matching skills from candidate's skills that match required skills
      */
     public Set<String> findMatchingSkills(List<String> requiredSkills, List<String> candidateSkills) {
-        Set<String> matches = new HashSet<>();
-
-        for (String required : requiredSkills) {
-            for (String candidate : candidateSkills) {
-                if (skillsMatch(required, candidate)) {
-                    matches.add(required);
-                    break; // Found a match for this required skill
-                }
-            }
-        }
-
-        return matches;
+        return match(requiredSkills, candidateSkills).getMatchedSkills();
     }
 
     /**
      * Find missing skills (required skills not in candidate's skills)
      */
     public Set<String> findMissingSkills(List<String> requiredSkills, List<String> candidateSkills) {
-        Set<String> missing = new HashSet<>(requiredSkills);
-        Set<String> matched = findMatchingSkills(requiredSkills, candidateSkills);
-        missing.removeAll(matched);
-        return missing;
+        return match(requiredSkills, candidateSkills).getMissingSkills();
     }
 
     /**
@@ -212,9 +285,7 @@ public class SkillMatcher {
         if (requiredSkills == null || requiredSkills.isEmpty()) {
             return 0.0;
         }
-
-        Set<String> matched = findMatchingSkills(requiredSkills, candidateSkills);
-        return (double) matched.size() / requiredSkills.size();
+        return match(requiredSkills, candidateSkills).getMatchScore();
     }
 
     /**
@@ -222,37 +293,14 @@ public class SkillMatcher {
      * E.g., if job requires "React" and candidate has "JavaScript", give bonus
      */
     public double calculateHierarchyBonus(List<String> requiredSkills, List<String> candidateSkills) {
-        double bonus = 0.0;
-
-        for (String required : requiredSkills) {
-            String normalizedRequired = required.toLowerCase().trim();
-
-            // Check if candidate has parent skill of the required skill
-            for (Map.Entry<String, Set<String>> entry : SKILL_HIERARCHY.entrySet()) {
-                Set<String> children = entry.getValue();
-                if (children.contains(normalizedRequired)) {
-                    // This is a child skill, check if candidate has parent
-                    String parent = entry.getKey();
-                    for (String candidate : candidateSkills) {
-                        if (skillsMatch(parent, candidate)) {
-                            bonus += 0.1; // 10% bonus for having parent skill
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-
-        return Math.min(bonus, 0.3); // Cap bonus at 30%
+        return match(requiredSkills, candidateSkills).getHierarchyBonus();
     }
 
     /**
      * Enhanced match score with hierarchy bonus
      */
     public double calculateEnhancedMatchScore(List<String> requiredSkills, List<String> candidateSkills) {
-        double baseScore = calculateMatchScore(requiredSkills, candidateSkills);
-        double hierarchyBonus = calculateHierarchyBonus(requiredSkills, candidateSkills);
-        return Math.min(baseScore + hierarchyBonus, 1.0);
+        return match(requiredSkills, candidateSkills).getEnhancedScore();
     }
 
     /**
@@ -260,7 +308,9 @@ public class SkillMatcher {
      */
     public Set<String> getSynonyms(String skill) {
         if (skill == null) return Collections.emptySet();
-        return SKILL_SYNONYMS.getOrDefault(skill.toLowerCase().trim(), Collections.emptySet());
+        SkillDictionary dict = dictionary;
+        int id = dict.idOf(SkillDictionary.normalize(skill));
+        return id != SkillDictionary.UNKNOWN ? dict.termsOf(id) : Collections.emptySet();
     }
 
     /**
@@ -271,14 +321,12 @@ public class SkillMatcher {
         log.info("Required skills: {}", requiredSkills);
         log.info("Candidate skills: {}", candidateSkills);
 
-        Set<String> matched = findMatchingSkills(requiredSkills, candidateSkills);
-        Set<String> missing = findMissingSkills(requiredSkills, candidateSkills);
+        SkillMatchResult result = match(requiredSkills, candidateSkills);
 
-        log.info("✅ Matched skills: {}", matched);
-        log.info("❌ Missing skills: {}", missing);
-        log.info("📊 Base score: {}", calculateMatchScore(requiredSkills, candidateSkills));
-        log.info("🎁 Hierarchy bonus: {}", calculateHierarchyBonus(requiredSkills, candidateSkills));
-        log.info("🏆 Enhanced score: {}", calculateEnhancedMatchScore(requiredSkills, candidateSkills));
+        log.info("✅ Matched skills: {}", result.getMatchedSkills());
+        log.info("❌ Missing skills: {}", result.getMissingSkills());
+        log.info("📊 Base score: {}", result.getMatchScore());
+        log.info("🎁 Hierarchy bonus: {}", result.getHierarchyBonus());
+        log.info("🏆 Enhanced score: {}", result.getEnhancedScore());
     }
 }
-
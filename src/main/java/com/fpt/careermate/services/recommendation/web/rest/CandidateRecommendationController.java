@@ -1,6 +1,7 @@
 package com.fpt.careermate.services.recommendation.web.rest;
 
 import com.fpt.careermate.common.response.ApiResponse;
+import com.fpt.careermate.services.recommendation.dto.CandidateReindexProgressDTO;
 import com.fpt.careermate.services.recommendation.dto.RecommendationResponseDTO;
 import com.fpt.careermate.services.recommendation.service.CandidateRecommendationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -80,13 +81,29 @@ public class CandidateRecommendationController {
     @Operation(
             summary = "Refresh all candidate profiles in Weaviate",
             description = "Batch refreshes all candidate profiles with comprehensive data (skills, experience, education, etc.) " +
-                    "in Weaviate for the AI recommendation system. Use this after schema recreation or for bulk updates."
+                    "in Weaviate for the AI recommendation system. Use this after schema recreation or for bulk updates. " +
+                    "Runs in the background and resumes the last run if it did not complete, unless restart is set."
     )
-    public ApiResponse<String> refreshAllCandidateProfiles() {
-        log.info("🔄 Admin refreshing all candidate profiles in Weaviate");
-        recommendationService.syncAllCandidatesToWeaviate();
-        return ApiResponse.<String>builder()
-                .result("All candidate profiles refresh started")
+    public ApiResponse<CandidateReindexProgressDTO> refreshAllCandidateProfiles(
+            @Parameter(description = "Start over instead of resuming an incomplete run") @RequestParam(defaultValue = "false") boolean restart
+    ) {
+        log.info("🔄 Admin refreshing all candidate profiles in Weaviate (restart: {})", restart);
+        return ApiResponse.<CandidateReindexProgressDTO>builder()
+                .result(recommendationService.syncAllCandidatesToWeaviate(restart))
+                .message("All candidate profiles refresh started")
+                .build();
+    }
+
+    @GetMapping("/admin/recommendations/refresh-all-candidates/progress")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearerToken")
+    @Operation(
+            summary = "Progress of the candidate profile refresh",
+            description = "Status, checkpoint, counts and throughput of the last bulk refresh of candidate profiles in Weaviate"
+    )
+    public ApiResponse<CandidateReindexProgressDTO> getRefreshProgress() {
+        return ApiResponse.<CandidateReindexProgressDTO>builder()
+                .result(recommendationService.getReindexProgress())
                 .build();
     }
 
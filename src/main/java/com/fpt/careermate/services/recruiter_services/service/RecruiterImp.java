@@ -2,6 +2,7 @@ package com.fpt.careermate.services.recruiter_services.service;
 
 import com.fpt.careermate.common.response.PageResponse;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
+import com.fpt.careermate.services.authentication_services.service.PrincipalContext;
 import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
 import com.fpt.careermate.services.recruiter_services.domain.RecruiterProfileUpdateRequest;
 import com.fpt.careermate.services.recruiter_services.repository.RecruiterProfileUpdateRequestRepo;
@@ -49,6 +50,7 @@ public class RecruiterImp implements RecruiterService {
     RecruiterMapper recruiterMapper;
     UrlValidator urlValidator;
     AuthenticationImp authenticationImp;
+    PrincipalContext principalContext;
     EmailService emailService;
     NotificationProducer notificationProducer;
     AdminRepo adminRepo;
@@ -170,11 +172,8 @@ public class RecruiterImp implements RecruiterService {
 
     @Override
     public RecruiterApprovalResponse getMyRecruiterProfile() {
-        // Get current authenticated user's account
-        var currentAccount = authenticationImp.findByEmail();
-
-        // Find recruiter profile by account
-        Recruiter recruiter = recruiterRepo.findByAccount_Id(currentAccount.getId())
+        // Recruiter profile of the authenticated user
+        Recruiter recruiter = principalContext.currentRecruiter()
                 .orElseThrow(() -> new AppException(ErrorCode.RECRUITER_NOT_FOUND));
 
         return mapToApprovalResponse(recruiter);
@@ -2,8 +2,12 @@ package com.fpt.careermate.services.resume_services.repository;
 
 import com.fpt.careermate.common.constant.ResumeType;
 import com.fpt.careermate.services.resume_services.domain.Resume;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +15,46 @@ public interface ResumeRepo extends JpaRepository<Resume, Integer> {
     List<Resume> findByCandidateCandidateId(int candidateId);
     Optional<Resume> findByResumeIdAndCandidateCandidateId(int resumeId, int candidateId);
     List<Resume> findByCandidateCandidateIdAndType(int candidateId, ResumeType type);
-}
\ No newline at end of file
+
+    /**
+     * The resume a candidate's Weaviate profile is built from: their first resume (lowest id)
+     */
+    Optional<Resume> findFirstByCandidateCandidateIdOrderByResumeIdAsc(int candidateId);
+
+    /**
+     * Keyset page of the resume indexed for each candidate (their first resume, as in
+     * {@link #findFirstByCandidateCandidateIdOrderByResumeIdAsc}), after the given resume id
+     */
+    @Query("SELECT r.resumeId FROM resume r WHERE r.resumeId > :afterId " +
+            "AND r.resumeId = (SELECT MIN(r2.resumeId) FROM resume r2 WHERE r2.candidate = r.candidate) " +
+            "ORDER BY r.resumeId")
+    List<Integer> findIndexedResumeIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(DISTINCT r.candidate.candidateId) FROM resume r")
+    long countCandidatesWithResume();
+
+    // Resume graphs for bulk indexing: one collection per query (several bag fetch joins are not
+    // allowed), each query filling in the resumes already loaded in the persistence context
+
+    @Query("SELECT DISTINCT r FROM resume r JOIN FETCH r.candidate c JOIN FETCH c.account " +
+            "LEFT JOIN FETCH c.candidateInvoice LEFT JOIN FETCH r.skills WHERE r.resumeId IN :ids")
+    List<Resume> findWithSkillsByResumeIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT r FROM resume r LEFT JOIN FETCH r.workExperiences WHERE r.resumeId IN :ids")
+    List<Resume> fetchWorkExperiences(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT r FROM resume r LEFT JOIN FETCH r.educations WHERE r.resumeId IN :ids")
+    List<Resume> fetchEducations(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT r FROM resume r LEFT JOIN FETCH r.certificates WHERE r.resumeId IN :ids")
+    List<Resume> fetchCertificates(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT r FROM resume r LEFT JOIN FETCH r.highlightProjects WHERE r.resumeId IN :ids")
+    List<Resume> fetchHighlightProjects(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT r FROM resume r LEFT JOIN FETCH r.awards WHERE r.resumeId IN :ids")
+    List<Resume> fetchAwards(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT r FROM resume r LEFT JOIN FETCH r.foreignLanguages WHERE r.resumeId IN :ids")
+    List<Resume> fetchForeignLanguages(@Param("ids") Collection<Integer> ids);
+}
@@ -0,0 +1,34 @@
+package com.fpt.careermate.services.resume_services.service;
+
+import com.fpt.careermate.services.outbox_services.service.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Records candidate profile syncs to Weaviate in the outbox, so they run after the resume change
+ * commits (and are retried) instead of inline in the request transaction
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CandidateProfileOutbox {
+
+    public static final String AGGREGATE_TYPE = "Candidate";
+    public static final String EVENT_TYPE = "CANDIDATE_PROFILE_SYNC";
+
+    OutboxPublisher outboxPublisher;
+
+    /**
+     * @param resumeId Resume whose change triggered the sync, null when one was deleted. The profile
+     *                 is always rebuilt from the candidate's first resume, or removed when none is left.
+     */
+    public record ProfileSync(Integer resumeId) {
+    }
+
+    public void syncCandidateProfile(int candidateId, Integer resumeId) {
+        outboxPublisher.publish(AGGREGATE_TYPE, candidateId, EVENT_TYPE, new ProfileSync(resumeId));
+    }
+}
@@ -0,0 +1,60 @@
+package com.fpt.careermate.services.resume_services.service;
+
+import com.fpt.careermate.services.outbox_services.service.OutboxHandler;
+import com.fpt.careermate.services.recommendation.service.CandidateWeaviateService;
+import com.fpt.careermate.services.resume_services.domain.Resume;
+import com.fpt.careermate.services.resume_services.repository.ResumeRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Brings the candidate's Weaviate profile in line with their current resumes.
+ * The profile is built from the database at dispatch time, so a retried or late event
+ * never writes stale data.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CandidateProfileSyncHandler implements OutboxHandler<CandidateProfileOutbox.ProfileSync> {
+
+    ResumeRepo resumeRepo;
+    CandidateWeaviateService candidateWeaviateService;
+    PlatformTransactionManager transactionManager;
+
+    @Override
+    public String eventType() {
+        return CandidateProfileOutbox.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<CandidateProfileOutbox.ProfileSync> payloadType() {
+        return CandidateProfileOutbox.ProfileSync.class;
+    }
+
+    @Override
+    public void handle(String aggregateId, CandidateProfileOutbox.ProfileSync payload) {
+        int candidateId = Integer.parseInt(aggregateId);
+        // Read the resume graph in a short read-only transaction; the Weaviate call runs outside it
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Map<String, Object> properties = readOnly.execute(status -> {
+            // Always the candidate's first resume, the same one the bulk reindex indexes
+            return resumeRepo.findFirstByCandidateCandidateIdOrderByResumeIdAsc(candidateId)
+                    .map(candidateWeaviateService::buildCandidateProperties)
+                    .orElse(null);
+        });
+
+        if (properties != null) {
+            candidateWeaviateService.upsertCandidateProfile(candidateId, properties);
+        } else {
+            candidateWeaviateService.removeCandidateProfile(candidateId);
+        }
+    }
+}
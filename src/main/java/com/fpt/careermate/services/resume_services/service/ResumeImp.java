@@ -5,7 +5,6 @@ import com.fpt.careermate.services.profile_services.repository.CandidateRepo;
 import com.fpt.careermate.services.authentication_services.service.AuthenticationImp;
 import com.fpt.careermate.services.profile_services.service.CandidateProfileImp;
 import com.fpt.careermate.services.profile_services.domain.Candidate;
-import com.fpt.careermate.services.recommendation.service.CandidateWeaviateService;
 import com.fpt.careermate.services.resume_services.repository.ResumeRepo;
 import com.fpt.careermate.services.resume_services.service.dto.request.ResumeStatusRequest;
 import com.fpt.careermate.services.resume_services.service.dto.response.ResumeResponse;
@@ -38,7 +37,7 @@ public class ResumeImp implements ResumeService {
     ResumeMapper resumeMapper;
     CandidateProfileImp candidateProfileImp;
     AuthenticationImp authenticationService;
-    CandidateWeaviateService candidateWeaviateService;
+    CandidateProfileOutbox candidateProfileOutbox;
 
     @Override
     @Transactional
@@ -97,14 +96,8 @@ public class ResumeImp implements ResumeService {
 
         resumeRepo.delete(resume);
 
-        // If the candidate still has another resume, sync that one; otherwise remove
-        // from Weaviate
-        List<Resume> remaining = resumeRepo.findByCandidateCandidateId(candidate.getCandidateId());
-        if (!remaining.isEmpty()) {
-            syncCandidateProfile(remaining.get(0));
-        } else {
-            deleteCandidateProfile(candidate.getCandidateId());
-        }
+        // Re-index from the candidate's first remaining resume, or remove from Weaviate when none is left
+        deleteCandidateProfile(candidate.getCandidateId());
     }
 
     @Transactional
@@ -204,27 +197,23 @@ public class ResumeImp implements ResumeService {
     }
 
     /**
-     * Push the latest resume snapshot to Weaviate. Errors are logged so we don't
-     * block the main transaction.
+     * Sync the candidate's Weaviate profile once the transaction commits (recorded in the outbox,
+     * retried on failure). The profile is built from the candidate's first resume, as in the bulk
+     * reindex, so changing another resume leaves it as it is.
      */
     public void syncCandidateProfile(Resume resume) {
-        try {
-            candidateWeaviateService.storeCandidateProfile(resume);
-        } catch (Exception ex) {
-            log.warn("Failed to sync candidate {} resume {} to Weaviate: {}", resume.getCandidate().getCandidateId(),
-                    resume.getResumeId(), ex.getMessage());
-        }
+        candidateProfileOutbox.syncCandidateProfile(resume.getCandidate().getCandidateId(), resume.getResumeId());
     }
 
     public void syncCandidateProfileByResumeId(int resumeId) {
         resumeRepo.findById(resumeId).ifPresent(this::syncCandidateProfile);
     }
 
+    /**
+     * Remove the candidate's Weaviate profile once the transaction commits, unless a resume is left
+     * by then, in which case it is rebuilt from the first one
+     */
     public void deleteCandidateProfile(int candidateId) {
-        try {
-            candidateWeaviateService.deleteCandidateProfile(candidateId);
-        } catch (Exception ex) {
-            log.warn("Failed to delete candidate {} profile from Weaviate: {}", candidateId, ex.getMessage());
-        }
+        candidateProfileOutbox.syncCandidateProfile(candidateId, null);
     }
 }
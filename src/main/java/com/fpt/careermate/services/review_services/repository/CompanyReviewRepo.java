@@ -59,6 +59,27 @@ public interface CompanyReviewRepo
             "WHERE cr.recruiter_id = :recruiterId AND cr.status = 'ACTIVE'", nativeQuery = true)
     Double getAverageRatingByRecruiterId(Integer recruiterId);
 
+    /**
+     * Rating summary of a company's ACTIVE reviews in one pass, grouped by
+     * (review type, overall rating, verified, anonymous). Each row:
+     * [reviewType, overallRating, isVerified, isAnonymous, count,
+     *  then SUM and COUNT of communication, responsiveness, interview process, work culture,
+     *  management, benefits, work-life balance ratings, then SUM and COUNT of sentiment score]
+     */
+    @Query(value = "SELECT cr.review_type, cr.overall_rating, cr.is_verified, cr.is_anonymous, COUNT(*), " +
+            "SUM(cr.communication_rating), COUNT(cr.communication_rating), " +
+            "SUM(cr.responsiveness_rating), COUNT(cr.responsiveness_rating), " +
+            "SUM(cr.interview_process_rating), COUNT(cr.interview_process_rating), " +
+            "SUM(cr.work_culture_rating), COUNT(cr.work_culture_rating), " +
+            "SUM(cr.management_rating), COUNT(cr.management_rating), " +
+            "SUM(cr.benefits_rating), COUNT(cr.benefits_rating), " +
+            "SUM(cr.work_life_balance_rating), COUNT(cr.work_life_balance_rating), " +
+            "SUM(cr.sentiment_score), COUNT(cr.sentiment_score) " +
+            "FROM company_review cr " +
+            "WHERE cr.recruiter_id = :recruiterId AND cr.status = 'ACTIVE' " +
+            "GROUP BY cr.review_type, cr.overall_rating, cr.is_verified, cr.is_anonymous", nativeQuery = true)
+    List<Object[]> summarizeActiveByRecruiterId(@Param("recruiterId") Integer recruiterId);
+
     /**
      * Get average rating by recruiter and status
      */
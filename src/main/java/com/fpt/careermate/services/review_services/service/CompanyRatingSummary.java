@@ -0,0 +1,296 @@
+package com.fpt.careermate.services.review_services.service;
+
+import com.fpt.careermate.services.review_services.constant.ReviewStatus;
+import com.fpt.careermate.services.review_services.constant.ReviewType;
+import com.fpt.careermate.services.review_services.domain.CompanyReview;
+import com.fpt.careermate.services.review_services.repository.CompanyReviewRepo;
+import com.fpt.careermate.services.review_services.service.dto.response.CompanyReviewStatsResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Rating summary of a company's ACTIVE reviews, kept per recruiter as a Redis hash of additive
+ * totals (counts and sums), so averages are derived at read time and every review change is a
+ * delta: {@link #capture} a review before changing it, then pass both captures to {@link #reviewChanged}.
+ * A missing hash is rebuilt with one grouped query; deltas only apply to an existing hash.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class CompanyRatingSummary {
+
+    private static final String KEY_PREFIX = "review:summary:";
+    // Bounds how long a delta lost to a concurrent rebuild can stay visible
+    private static final Duration SUMMARY_TTL = Duration.ofHours(1);
+
+    private static final String TOTAL = "total";
+    private static final String OVERALL_SUM = "overall:sum";
+    private static final String VERIFIED = "verified";
+    private static final String ANONYMOUS = "anonymous";
+    private static final String SENTIMENT_SUM = "sentiment:sum";
+    private static final String SENTIMENT_COUNT = "sentiment:count";
+
+    // Same order as the aspect columns of CompanyReviewRepo#summarizeActiveByRecruiterId
+    private static final List<Aspect> ASPECTS = List.of(
+            new Aspect("communication", CompanyReview::getCommunicationRating),
+            new Aspect("responsiveness", CompanyReview::getResponsivenessRating),
+            new Aspect("interviewProcess", CompanyReview::getInterviewProcessRating),
+            new Aspect("workCulture", CompanyReview::getWorkCultureRating),
+            new Aspect("management", CompanyReview::getManagementRating),
+            new Aspect("benefits", CompanyReview::getBenefitsRating),
+            new Aspect("workLifeBalance", CompanyReview::getWorkLifeBalanceRating));
+
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "for i = 1, #ARGV, 2 do redis.call('HINCRBYFLOAT', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "return 1",
+            Long.class);
+
+    CompanyReviewRepo reviewRepo;
+    StringRedisTemplate stringRedisTemplate;
+
+    private record Aspect(String name, Function<CompanyReview, Integer> rating) {
+    }
+
+    /**
+     * What one review adds to its company's summary; null for reviews that are not ACTIVE
+     */
+    public record Contribution(int recruiterId, Map<String, Double> totals) {
+    }
+
+    public Contribution capture(CompanyReview review) {
+        if (review == null || review.getStatus() != ReviewStatus.ACTIVE) {
+            return null;
+        }
+        Map<String, Double> totals = new HashMap<>();
+        totals.put(TOTAL, 1.0);
+        totals.put(OVERALL_SUM, review.getOverallRating().doubleValue());
+        totals.put(ratingField(review.getOverallRating()), 1.0);
+        totals.put(typeField(review.getReviewType()), 1.0);
+        for (Aspect aspect : ASPECTS) {
+            Integer rating = aspect.rating().apply(review);
+            if (rating != null) {
+                totals.put(aspectSumField(aspect), rating.doubleValue());
+                totals.put(aspectCountField(aspect), 1.0);
+            }
+        }
+        if (Boolean.TRUE.equals(review.getIsVerified())) {
+            totals.put(VERIFIED, 1.0);
+        }
+        if (Boolean.TRUE.equals(review.getIsAnonymous())) {
+            totals.put(ANONYMOUS, 1.0);
+        }
+        if (review.getSentimentScore() != null) {
+            totals.put(SENTIMENT_SUM, review.getSentimentScore());
+            totals.put(SENTIMENT_COUNT, 1.0);
+        }
+        return new Contribution(review.getRecruiter().getId(), totals);
+    }
+
+    /**
+     * Apply the difference between two captures of a review (null = absent / not ACTIVE)
+     * once the current transaction commits
+     */
+    public void reviewChanged(Contribution before, Contribution after) {
+        if (before != null && after != null && before.recruiterId() != after.recruiterId()) {
+            reviewChanged(before, null);
+            reviewChanged(null, after);
+            return;
+        }
+        Contribution any = before != null ? before : after;
+        if (any == null) {
+            return;
+        }
+
+        Set<String> fields = new HashSet<>();
+        if (before != null) fields.addAll(before.totals().keySet());
+        if (after != null) fields.addAll(after.totals().keySet());
+        List<String> args = new ArrayList<>();
+        for (String field : fields) {
+            double delta = (after != null ? after.totals().getOrDefault(field, 0.0) : 0.0)
+                    - (before != null ? before.totals().getOrDefault(field, 0.0) : 0.0);
+            if (delta != 0.0) {
+                args.add(field);
+                args.add(String.valueOf(delta));
+            }
+        }
+        if (args.isEmpty()) {
+            return;
+        }
+
+        String key = key(any.recruiterId());
+        Runnable increment = () -> {
+            try {
+                stringRedisTemplate.execute(INCREMENT_IF_EXISTS, List.of(key), args.toArray());
+            } catch (Exception e) {
+                // Drop the summary rather than keep a wrong one
+                log.error("Error updating rating summary {}: {}", key, e.getMessage());
+                evict(key);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment.run();
+                }
+            });
+        } else {
+            increment.run();
+        }
+    }
+
+    public CompanyReviewStatsResponse getStatistics(Integer recruiterId) {
+        String key = key(recruiterId);
+        Map<String, Double> totals = null;
+        try {
+            Map<Object, Object> cached = stringRedisTemplate.opsForHash().entries(key);
+            if (!cached.isEmpty()) {
+                totals = new HashMap<>();
+                for (Map.Entry<Object, Object> entry : cached.entrySet()) {
+                    totals.put((String) entry.getKey(), Double.parseDouble((String) entry.getValue()));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error reading rating summary {}: {}", key, e.getMessage());
+        }
+
+        if (totals == null) {
+            totals = load(recruiterId);
+            store(key, totals);
+        }
+        return toResponse(recruiterId, totals);
+    }
+
+    private Map<String, Double> load(Integer recruiterId) {
+        Map<String, Double> totals = new HashMap<>();
+        // Present even for a company without reviews, so the hash exists and receives deltas
+        totals.put(TOTAL, 0.0);
+        for (Object[] row : reviewRepo.summarizeActiveByRecruiterId(recruiterId)) {
+            double count = number(row[4]);
+            totals.merge(TOTAL, count, Double::sum);
+            totals.merge(typeField(ReviewType.valueOf((String) row[0])), count, Double::sum);
+            int overallRating = (int) number(row[1]);
+            totals.merge(ratingField(overallRating), count, Double::sum);
+            totals.merge(OVERALL_SUM, overallRating * count, Double::sum);
+            if (Boolean.TRUE.equals(row[2])) {
+                totals.merge(VERIFIED, count, Double::sum);
+            }
+            if (Boolean.TRUE.equals(row[3])) {
+                totals.merge(ANONYMOUS, count, Double::sum);
+            }
+            int column = 5;
+            for (Aspect aspect : ASPECTS) {
+                totals.merge(aspectSumField(aspect), number(row[column++]), Double::sum);
+                totals.merge(aspectCountField(aspect), number(row[column++]), Double::sum);
+            }
+            totals.merge(SENTIMENT_SUM, number(row[column++]), Double::sum);
+            totals.merge(SENTIMENT_COUNT, number(row[column]), Double::sum);
+        }
+        return totals;
+    }
+
+    private void store(String key, Map<String, Double> totals) {
+        try {
+            Map<String, String> hash = new HashMap<>();
+            totals.forEach((field, value) -> hash.put(field, String.valueOf(value)));
+            stringRedisTemplate.opsForHash().putAll(key, hash);
+            stringRedisTemplate.expire(key, SUMMARY_TTL);
+        } catch (Exception e) {
+            log.error("Error caching rating summary {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void evict(String key) {
+        try {
+            stringRedisTemplate.delete(key);
+        } catch (Exception e) {
+            log.error("Error evicting rating summary {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static CompanyReviewStatsResponse toResponse(Integer recruiterId, Map<String, Double> totals) {
+        long total = count(totals, TOTAL);
+
+        Map<Integer, Long> distribution = new HashMap<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            distribution.put(rating, count(totals, ratingField(rating)));
+        }
+
+        return CompanyReviewStatsResponse.builder()
+                .recruiterId(recruiterId)
+                .totalReviews(total)
+                .averageOverallRating(total > 0 ? totals.getOrDefault(OVERALL_SUM, 0.0) / total : null)
+                .applicationReviews(count(totals, typeField(ReviewType.APPLICATION_EXPERIENCE)))
+                .interviewReviews(count(totals, typeField(ReviewType.INTERVIEW_EXPERIENCE)))
+                .workExperienceReviews(count(totals, typeField(ReviewType.WORK_EXPERIENCE)))
+                .avgCommunication(aspectAverage(totals, ASPECTS.get(0)))
+                .avgResponsiveness(aspectAverage(totals, ASPECTS.get(1)))
+                .avgInterviewProcess(aspectAverage(totals, ASPECTS.get(2)))
+                .avgWorkCulture(aspectAverage(totals, ASPECTS.get(3)))
+                .avgManagement(aspectAverage(totals, ASPECTS.get(4)))
+                .avgBenefits(aspectAverage(totals, ASPECTS.get(5)))
+                .avgWorkLifeBalance(aspectAverage(totals, ASPECTS.get(6)))
+                .ratingDistribution(distribution)
+                .avgSentimentScore(average(totals, SENTIMENT_SUM, SENTIMENT_COUNT))
+                .verifiedReviews(count(totals, VERIFIED))
+                .anonymousReviews(count(totals, ANONYMOUS))
+                .build();
+    }
+
+    private static Double aspectAverage(Map<String, Double> totals, Aspect aspect) {
+        return average(totals, aspectSumField(aspect), aspectCountField(aspect));
+    }
+
+    // 0.0 when there is nothing to average, as Collectors.averagingDouble did
+    private static Double average(Map<String, Double> totals, String sumField, String countField) {
+        double count = totals.getOrDefault(countField, 0.0);
+        return count > 0 ? totals.getOrDefault(sumField, 0.0) / count : 0.0;
+    }
+
+    private static long count(Map<String, Double> totals, String field) {
+        return Math.round(totals.getOrDefault(field, 0.0));
+    }
+
+    private static double number(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    private static String key(int recruiterId) {
+        return KEY_PREFIX + recruiterId;
+    }
+
+    private static String ratingField(int rating) {
+        return "rating:" + rating;
+    }
+
+    private static String typeField(ReviewType type) {
+        return "type:" + type.name();
+    }
+
+    private static String aspectSumField(Aspect aspect) {
+        return "aspect:" + aspect.name() + ":sum";
+    }
+
+    private static String aspectCountField(Aspect aspect) {
+        return "aspect:" + aspect.name() + ":count";
+    }
+}
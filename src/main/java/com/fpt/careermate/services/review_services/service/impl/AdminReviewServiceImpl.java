@@ -7,6 +7,7 @@ import com.fpt.careermate.services.review_services.constant.ReviewType;
 import com.fpt.careermate.services.review_services.domain.CompanyReview;
 import com.fpt.careermate.services.review_services.repository.CompanyReviewRepo;
 import com.fpt.careermate.services.review_services.service.AdminReviewService;
+import com.fpt.careermate.services.review_services.service.CompanyRatingSummary;
 import com.fpt.careermate.services.review_services.service.dto.request.AdminBulkReviewActionRequest;
 import com.fpt.careermate.services.review_services.service.dto.request.AdminReviewFilterRequest;
 import com.fpt.careermate.services.review_services.service.dto.response.AdminReviewResponse;
@@ -31,6 +32,7 @@ import java.util.stream.Collectors;
 public class AdminReviewServiceImpl implements AdminReviewService {
 
     private final CompanyReviewRepo reviewRepo;
+    private final CompanyRatingSummary ratingSummary;
 
     @Override
     @Transactional(readOnly = true)
@@ -125,8 +127,10 @@ public class AdminReviewServiceImpl implements AdminReviewService {
         CompanyReview review = reviewRepo.findById(reviewId)
                 .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
 
+        CompanyRatingSummary.Contribution before = ratingSummary.capture(review);
         review.setStatus(newStatus);
         review.setUpdatedAt(LocalDateTime.now());
+        ratingSummary.reviewChanged(before, ratingSummary.capture(review));
 
         if (reason != null && !reason.isEmpty()) {
             review.setRemovalReason(reason);
@@ -151,7 +155,9 @@ public class AdminReviewServiceImpl implements AdminReviewService {
         LocalDateTime now = LocalDateTime.now();
 
         reviews.forEach(review -> {
+            CompanyRatingSummary.Contribution before = ratingSummary.capture(review);
             review.setStatus(request.getNewStatus());
+            ratingSummary.reviewChanged(before, ratingSummary.capture(review));
             review.setUpdatedAt(now);
             if (request.getReason() != null && !request.getReason().isEmpty()) {
                 review.setRemovalReason(request.getReason());
@@ -17,6 +17,7 @@ import com.fpt.careermate.services.review_services.service.dto.response.PublicCo
 import com.fpt.careermate.services.review_services.service.dto.response.ReviewEligibilityResponse;
 import com.fpt.careermate.services.review_services.service.dto.response.JobApplicationReviewStatusResponse;
 import com.fpt.careermate.services.review_services.service.mapper.CompanyReviewMapper;
+import com.fpt.careermate.services.review_services.service.CompanyRatingSummary;
 import com.fpt.careermate.services.review_services.service.CompanyReviewService;
 import com.fpt.careermate.services.review_services.service.ReviewEligibilityService;
 import com.fpt.careermate.services.kafka.dto.NotificationEvent;
@@ -52,6 +53,7 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
     private final CompanyReviewMapper reviewMapper;
     private final NotificationProducer notificationProducer;
     private final ReviewEligibilityService reviewEligibilityService;
+    private final CompanyRatingSummary ratingSummary;
 
     @Override
     @Transactional
@@ -103,6 +105,7 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
                 .build();
 
         CompanyReview saved = reviewRepo.save(review);
+        ratingSummary.reviewChanged(null, ratingSummary.capture(saved));
         log.info("Review {} submitted successfully", saved.getId());
 
         // TODO: Notify company of new review
@@ -127,6 +130,8 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
             throw new AppException(ErrorCode.UNAUTHORIZED_REVIEW);
         }
 
+        CompanyRatingSummary.Contribution before = ratingSummary.capture(existingReview);
+
         // Update fields
         existingReview.setOverallRating(request.getOverallRating());
         existingReview.setReviewText(request.getReviewText());
@@ -144,6 +149,7 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         existingReview.setUpdatedAt(LocalDateTime.now());
 
         CompanyReview updated = reviewRepo.save(existingReview);
+        ratingSummary.reviewChanged(before, ratingSummary.capture(updated));
         log.info("Review {} updated successfully", reviewId);
 
         return reviewMapper.toResponse(updated);
@@ -246,11 +252,13 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         CompanyReview review = reviewRepo.findById(reviewId)
                 .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
 
+        CompanyRatingSummary.Contribution before = ratingSummary.capture(review);
         review.setStatus(status);
         if (status == ReviewStatus.REMOVED) {
             review.setRemovalReason(reason);
         }
         reviewRepo.save(review);
+        ratingSummary.reviewChanged(before, ratingSummary.capture(review));
     }
 
     @Override
@@ -262,10 +270,12 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         }
 
         for (CompanyReview review : reviews) {
+            CompanyRatingSummary.Contribution before = ratingSummary.capture(review);
             review.setStatus(request.getStatus());
             if (request.getStatus() == ReviewStatus.REMOVED) {
                 review.setRemovalReason(request.getReason());
             }
+            ratingSummary.reviewChanged(before, ratingSummary.capture(review));
         }
 
         reviewRepo.saveAll(reviews);
@@ -297,66 +307,8 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
     public CompanyReviewStatsResponse getCompanyStatistics(Integer recruiterId) {
         log.debug("Calculating statistics for recruiter {}", recruiterId);
 
-        Long totalReviews = reviewRepo.countByRecruiterIdAndStatus(recruiterId, ReviewStatus.ACTIVE);
-        Double avgRating = reviewRepo.getAverageRatingByRecruiterId(recruiterId);
-
-        // Count by type
-        Long appReviews = reviewRepo.countByRecruiterIdAndReviewTypeAndStatus(
-                recruiterId, ReviewType.APPLICATION_EXPERIENCE, ReviewStatus.ACTIVE);
-        Long interviewReviews = reviewRepo.countByRecruiterIdAndReviewTypeAndStatus(
-                recruiterId, ReviewType.INTERVIEW_EXPERIENCE, ReviewStatus.ACTIVE);
-        Long workReviews = reviewRepo.countByRecruiterIdAndReviewTypeAndStatus(
-                recruiterId, ReviewType.WORK_EXPERIENCE, ReviewStatus.ACTIVE);
-
-        // Calculate rating distribution
-        List<CompanyReview> allReviews = reviewRepo.findByRecruiterIdAndStatus(
-                recruiterId, ReviewStatus.ACTIVE, Pageable.unpaged()).getContent();
-
-        Map<Integer, Long> distribution = new HashMap<>();
-        for (int i = 1; i <= 5; i++) {
-            final int rating = i;
-            long count = allReviews.stream()
-                    .filter(r -> r.getOverallRating().equals(rating))
-                    .count();
-            distribution.put(rating, count);
-        }
-
-        // Calculate average aspect ratings
-        Double avgComm = calculateAverageAspect(allReviews, CompanyReview::getCommunicationRating);
-        Double avgResp = calculateAverageAspect(allReviews, CompanyReview::getResponsivenessRating);
-        Double avgInterview = calculateAverageAspect(allReviews, CompanyReview::getInterviewProcessRating);
-        Double avgCulture = calculateAverageAspect(allReviews, CompanyReview::getWorkCultureRating);
-        Double avgMgmt = calculateAverageAspect(allReviews, CompanyReview::getManagementRating);
-        Double avgBenefits = calculateAverageAspect(allReviews, CompanyReview::getBenefitsRating);
-        Double avgWLB = calculateAverageAspect(allReviews, CompanyReview::getWorkLifeBalanceRating);
-
-        long verified = allReviews.stream().filter(CompanyReview::getIsVerified).count();
-        long anonymous = allReviews.stream().filter(CompanyReview::getIsAnonymous).count();
-
-        Double avgSentiment = allReviews.stream()
-                .map(CompanyReview::getSentimentScore)
-                .filter(s -> s != null)
-                .collect(Collectors.averagingDouble(Double::doubleValue));
-
-        return CompanyReviewStatsResponse.builder()
-                .recruiterId(recruiterId)
-                .totalReviews(totalReviews)
-                .averageOverallRating(avgRating)
-                .applicationReviews(appReviews)
-                .interviewReviews(interviewReviews)
-                .workExperienceReviews(workReviews)
-                .avgCommunication(avgComm)
-                .avgResponsiveness(avgResp)
-                .avgInterviewProcess(avgInterview)
-                .avgWorkCulture(avgCulture)
-                .avgManagement(avgMgmt)
-                .avgBenefits(avgBenefits)
-                .avgWorkLifeBalance(avgWLB)
-                .ratingDistribution(distribution)
-                .avgSentimentScore(avgSentiment)
-                .verifiedReviews(verified)
-                .anonymousReviews(anonymous)
-                .build();
+        // Cached per company, rebuilt with one grouped query when missing
+        return ratingSummary.getStatistics(recruiterId);
     }
 
     @Override
@@ -367,6 +319,7 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         CompanyReview review = reviewRepo.findById(reviewId)
                 .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
 
+        CompanyRatingSummary.Contribution before = ratingSummary.capture(review);
         review.setFlagCount(review.getFlagCount() + 1);
 
         // Auto-remove if flagged too many times
@@ -377,6 +330,7 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         }
 
         reviewRepo.save(review);
+        ratingSummary.reviewChanged(before, ratingSummary.capture(review));
 
         // TODO: Notify moderators
         // notificationService.notifyModeratorReviewFlagged(reviewId,
@@ -391,9 +345,11 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         CompanyReview review = reviewRepo.findById(reviewId)
                 .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
 
+        CompanyRatingSummary.Contribution before = ratingSummary.capture(review);
         review.setStatus(ReviewStatus.REMOVED);
         review.setRemovalReason(reason);
         reviewRepo.save(review);
+        ratingSummary.reviewChanged(before, ratingSummary.capture(review));
 
         log.info("Review {} removed successfully", reviewId);
 
@@ -428,21 +384,11 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
 
         // Actually delete the review
         reviewRepo.delete(review);
+        ratingSummary.reviewChanged(ratingSummary.capture(review), null);
 
         log.info("Review {} deleted successfully by candidate {}", reviewId, candidateId);
     }
 
-    /**
-     * Helper method to calculate average of aspect ratings
-     */
-    private Double calculateAverageAspect(List<CompanyReview> reviews,
-            java.util.function.Function<CompanyReview, Integer> ratingGetter) {
-        return reviews.stream()
-                .map(ratingGetter)
-                .filter(rating -> rating != null)
-                .collect(Collectors.averagingDouble(Integer::doubleValue));
-    }
-
     /**
      * Get all job applications that are eligible for review but haven't been
      * reviewed yet
@@ -0,0 +1,56 @@
+package com.fpt.careermate.services.coach_services.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DotProducts} kernel on the JDK Vector API.
+ * Lives in src/main/vector, which only the vector-api Maven profile compiles, so the default build
+ * needs no incubator module; DotProducts loads it by name.
+ */
+final class VectorDotProducts implements DotProducts.Kernel {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    // Same bit size as BYTES, so one byte vector widens into BYTES.length() / INTS.length() int vectors
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public float dot(float[] matrix, int offset, float[] query, int length) {
+        FloatVector sum = FloatVector.zero(FLOATS);
+        int i = 0;
+        for (int bound = FLOATS.loopBound(length); i < bound; i += FLOATS.length()) {
+            FloatVector row = FloatVector.fromArray(FLOATS, matrix, offset + i);
+            sum = row.fma(FloatVector.fromArray(FLOATS, query, i), sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += matrix[offset + i] * query[i];
+        }
+        return result;
+    }
+
+    @Override
+    public int dot(byte[] matrix, int offset, byte[] query, int length) {
+        IntVector sum = IntVector.zero(INTS);
+        int parts = BYTES.length() / INTS.length();
+        int i = 0;
+        for (int bound = BYTES.loopBound(length); i < bound; i += BYTES.length()) {
+            ByteVector row = ByteVector.fromArray(BYTES, matrix, offset + i);
+            ByteVector q = ByteVector.fromArray(BYTES, query, i);
+            for (int part = 0; part < parts; part++) {
+                IntVector rowInts = (IntVector) row.convertShape(VectorOperators.B2I, INTS, part);
+                IntVector queryInts = (IntVector) q.convertShape(VectorOperators.B2I, INTS, part);
+                sum = sum.add(rowInts.mul(queryInts));
+            }
+        }
+        int result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += matrix[offset + i] * query[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtTokenVerifier
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtTokenVerifierTest {
+
+    private static final String SIGNER_KEY = "test-signer-key-test-signer-key-test-signer-key-test-signer-key-0123";
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @InjectMocks
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(verifier, "SIGNER_KEY", SIGNER_KEY);
+        verifier.init();
+    }
+
+    private static String token(JWSAlgorithm algorithm, String key, String tokenId, long expiresInMillis) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("candidate@careermate.vn")
+                .jwtID(tokenId)
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + expiresInMillis))
+                .claim("scope", "ROLE_CANDIDATE")
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(algorithm), claims);
+        jwt.sign(new MACSigner(key.getBytes()));
+        return jwt.serialize();
+    }
+
+    @Test
+    void verify_ValidToken_ReturnsConvertedJwt() throws Exception {
+        String token = token(JWSAlgorithm.HS512, SIGNER_KEY, "id-1", 60_000);
+
+        Jwt jwt = verifier.verify(token);
+
+        assertEquals("candidate@careermate.vn", jwt.getSubject());
+        assertEquals("id-1", jwt.getId());
+        assertEquals("ROLE_CANDIDATE", jwt.getClaimAsString("scope"));
+        assertNotNull(jwt.getExpiresAt());
+        assertEquals(token, jwt.getTokenValue());
+    }
+
+    @Test
+    void verify_WrongSignature_Throws() throws Exception {
+        String token = token(JWSAlgorithm.HS512, SIGNER_KEY.replace('t', 'x'), "id-1", 60_000);
+
+        assertThrows(JwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void verify_OtherAlgorithm_Throws() throws Exception {
+        String token = token(JWSAlgorithm.HS256, SIGNER_KEY, "id-1", 60_000);
+
+        assertThrows(JwtException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    void verify_ExpiredToken_Throws() throws Exception {
+        String token = token(JWSAlgorithm.HS512, SIGNER_KEY, "id-1", -1_000);
+
+        JwtException e = assertThrows(JwtException.class, () -> verifier.verify(token));
+        assertEquals("Token expired", e.getMessage());
+    }
+
+    @Test
+    void verify_Malformed_Throws() {
+        assertThrows(JwtException.class, () -> verifier.verify("not-a-jwt"));
+    }
+
+    @Test
+    void verify_CachedToken_StillChecksRevocation() throws Exception {
+        String token = token(JWSAlgorithm.HS512, SIGNER_KEY, "id-1", 60_000);
+        when(tokenRevocationRegistry.isRevoked("id-1")).thenReturn(false, true);
+
+        verifier.verify(token);
+        JwtException e = assertThrows(JwtException.class, () -> verifier.verify(token));
+
+        assertEquals("Token invalid", e.getMessage());
+        verify(tokenRevocationRegistry, times(2)).isRevoked("id-1");
+    }
+
+    @Test
+    void verify_CachedTokenPastExpiry_Throws() throws Exception {
+        String token = token(JWSAlgorithm.HS512, SIGNER_KEY, "id-1", 1_500);
+        verifier.verify(token);
+
+        Thread.sleep(1_600);
+
+        JwtException e = assertThrows(JwtException.class, () -> verifier.verify(token));
+        assertEquals("Token expired", e.getMessage());
+    }
+}
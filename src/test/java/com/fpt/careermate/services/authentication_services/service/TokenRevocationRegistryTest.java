@@ -0,0 +1,130 @@
+package com.fpt.careermate.services.authentication_services.service;
+
+import com.fpt.careermate.services.authentication_services.repository.InvalidDateTokenRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TokenRevocationRegistry
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationRegistryTest {
+
+    @Mock
+    private InvalidDateTokenRepo invalidTokenRepo;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @InjectMocks
+    private TokenRevocationRegistry registry;
+
+    @Test
+    void isRevoked_NotInFilter_SkipsDatabase() {
+        when(invalidTokenRepo.findUnexpiredIds(any())).thenReturn(List.of("revoked-1", "revoked-2"));
+        registry.init();
+
+        assertFalse(registry.isRevoked("active-1"));
+        assertFalse(registry.isRevoked(null));
+
+        verify(invalidTokenRepo, never()).existsById(anyString());
+    }
+
+    @Test
+    void isRevoked_FilterHit_ConfirmsWithDatabaseOnce() {
+        when(invalidTokenRepo.findUnexpiredIds(any())).thenReturn(List.of("revoked-1"));
+        when(invalidTokenRepo.existsById("revoked-1")).thenReturn(true);
+        registry.init();
+
+        assertTrue(registry.isRevoked("revoked-1"));
+        assertTrue(registry.isRevoked("revoked-1"));
+
+        verify(invalidTokenRepo, times(1)).existsById("revoked-1");
+    }
+
+    @Test
+    void isRevoked_BeforeFirstLoad_AsksDatabase() {
+        when(invalidTokenRepo.findUnexpiredIds(any())).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(invalidTokenRepo.existsById("token-1")).thenReturn(false);
+        registry.init();
+
+        assertFalse(registry.isRevoked("token-1"));
+
+        verify(invalidTokenRepo).existsById("token-1");
+    }
+
+    @Test
+    void revoke_IsRevokedAtOnceAndPublished() {
+        when(invalidTokenRepo.findUnexpiredIds(any())).thenReturn(List.of());
+        registry.init();
+
+        registry.revoke("token-1", new Date(System.currentTimeMillis() + 60_000));
+
+        assertTrue(registry.isRevoked("token-1"));
+        verify(redisTemplate).convertAndSend(eq("auth:token:revoked"), startsWith("token-1|"));
+        verify(invalidTokenRepo, never()).existsById(anyString());
+    }
+
+    @Test
+    void revoke_WhenPublishFails_StillRevokedLocally() {
+        when(invalidTokenRepo.findUnexpiredIds(any())).thenReturn(List.of());
+        when(redisTemplate.convertAndSend(anyString(), any())).thenThrow(new IllegalStateException("redis down"));
+        registry.init();
+
+        registry.revoke("token-1", null);
+
+        assertTrue(registry.isRevoked("token-1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revocationMessage_FromAnotherNode_RevokesToken() {
+        when(invalidTokenRepo.findUnexpiredIds(any())).thenReturn(List.of());
+        registry.init();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(redisMessageListenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        Message message = mock(Message.class);
+        byte[] body = new byte[]{1};
+        when(message.getBody()).thenReturn(body);
+        when(serializer.deserialize(body)).thenReturn("token-2|" + (System.currentTimeMillis() + 60_000));
+
+        listener.getValue().onMessage(message, null);
+
+        assertTrue(registry.isRevoked("token-2"));
+        verify(invalidTokenRepo, never()).existsById(anyString());
+    }
+
+    @Test
+    void rebuild_PicksUpRevocationsFromDatabase() {
+        when(invalidTokenRepo.findUnexpiredIds(any())).thenReturn(List.of()).thenReturn(List.of("token-3"));
+        when(invalidTokenRepo.existsById("token-3")).thenReturn(true);
+        registry.init();
+        assertFalse(registry.isRevoked("token-3"));
+
+        registry.rebuild();
+
+        assertTrue(registry.isRevoked("token-3"));
+    }
+}
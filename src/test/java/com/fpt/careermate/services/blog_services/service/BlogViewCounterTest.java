@@ -0,0 +1,85 @@
+package com.fpt.careermate.services.blog_services.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BlogViewCounter
+ */
+@ExtendWith(MockitoExtension.class)
+class BlogViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BlogViewCounter blogViewCounter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesOneDeltaPerBlog() {
+        blogViewCounter.record(1L);
+        blogViewCounter.record(1L);
+        blogViewCounter.record(2L);
+        assertEquals(2, blogViewCounter.pendingViews(1L));
+
+        blogViewCounter.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        for (Object[] row : batch.getValue()) {
+            assertEquals(row[1].equals(1L) ? 2L : 1L, row[0]);
+        }
+        assertEquals(0, blogViewCounter.pendingViews(1L));
+    }
+
+    @Test
+    void flush_RemovesBlogsNotViewedSinceLastFlush() {
+        blogViewCounter.record(1L);
+        blogViewCounter.record(2L);
+        blogViewCounter.flush();
+        assertEquals(2, blogViewCounter.trackedBlogs());
+
+        blogViewCounter.record(2L);
+        blogViewCounter.flush();
+
+        // Blog 1 had no views since the previous flush
+        assertEquals(1, blogViewCounter.trackedBlogs());
+
+        blogViewCounter.flush();
+        assertEquals(0, blogViewCounter.trackedBlogs());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void flush_WhenUpdateFails_KeepsViewsForNextRun() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        blogViewCounter.record(1L);
+        blogViewCounter.record(1L);
+
+        blogViewCounter.flush();
+
+        assertEquals(2, blogViewCounter.pendingViews(1L));
+    }
+
+    @Test
+    void flush_WithNoViews_DoesNotTouchDatabase() {
+        blogViewCounter.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,143 @@
+package com.fpt.careermate.services.blog_services.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the automaton-based profanity/keyword scan with the previous per-call regex implementation.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.fpt.careermate.services.blog_services.service.ContentModerationBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentModerationBenchmark {
+
+    private static final String[] SENTENCES = {
+            "Great article, thanks for sharing your experience with Spring Boot microservices.",
+            "I had a similar interview last week and the system design round was really tough.",
+            "Does anyone know if this company offers remote work for junior developers?",
+            "This advice is sh*t, nobody hires like that anymore.",
+            "The salary range in the post seems low for 5 years of Java experience.",
+            "Click here to get rich quick working from home!!!",
+            "My team lead said the same thing about unit testing and code reviews.",
+            "What a stupid take, you clearly never worked in a real company.",
+    };
+
+    // Typical comment sizes: one-liner, paragraph, and the 2000-char moderation limit
+    @Param({"80", "400", "2000"})
+    int commentLength;
+
+    String comment;
+    ModerationAutomaton automaton;
+    LegacyRegexModeration legacy;
+
+    @Setup
+    public void setUp() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        Random random = new Random(42);
+        while (builder.length() < commentLength) {
+            builder.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(' ');
+        }
+        comment = builder.substring(0, commentLength).toLowerCase().trim();
+
+        Set<String> profanity = readWordList("PROFANITY_WORDS");
+        Set<String> controversial = readWordList("CONTROVERSIAL_KEYWORDS");
+        automaton = ModerationAutomaton.build(profanity, controversial);
+        legacy = new LegacyRegexModeration(profanity, controversial);
+    }
+
+    @Benchmark
+    public void automaton(Blackhole blackhole) {
+        blackhole.consume(automaton.scan(comment));
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        blackhole.consume(legacy.detectProfanity(comment));
+        blackhole.consume(legacy.detectControversialKeywords(comment));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> readWordList(String fieldName) throws Exception {
+        Field field = ContentModerationService.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return new HashSet<>((Set<String>) field.get(null));
+    }
+
+    /**
+     * The previous implementation: up to three regex compilations per dictionary word per call
+     */
+    static class LegacyRegexModeration {
+        private final Set<String> profanityWords;
+        private final Set<String> controversialKeywords;
+
+        LegacyRegexModeration(Set<String> profanityWords, Set<String> controversialKeywords) {
+            this.profanityWords = profanityWords;
+            this.controversialKeywords = controversialKeywords;
+        }
+
+        Set<String> detectProfanity(String normalizedContent) {
+            Set<String> found = new HashSet<>();
+            String cleanedContent = normalizedContent
+                    .replaceAll("[\\*\\@\\#\\$\\&]", "")
+                    .replaceAll("\\s+", " ");
+
+            for (String word : profanityWords) {
+                Pattern exactPattern = Pattern.compile("\\b" + Pattern.quote(word) + "\\b", Pattern.CASE_INSENSITIVE);
+                if (exactPattern.matcher(normalizedContent).find()) {
+                    found.add(word);
+                    continue;
+                }
+                String specialCharRegex = word.chars()
+                        .mapToObj(c -> "[" + (char) c + "\\*\\@\\#\\$\\&]")
+                        .collect(Collectors.joining());
+                Pattern specialPattern = Pattern.compile("\\b" + specialCharRegex + "\\b", Pattern.CASE_INSENSITIVE);
+                if (specialPattern.matcher(normalizedContent).find()) {
+                    found.add(word + " (obfuscated)");
+                    continue;
+                }
+                String spacedRegex = word.chars()
+                        .mapToObj(c -> String.valueOf((char) c))
+                        .collect(Collectors.joining("\\s*"));
+                Pattern spacedPattern = Pattern.compile("\\b" + spacedRegex + "\\b", Pattern.CASE_INSENSITIVE);
+                if (spacedPattern.matcher(normalizedContent).find()) {
+                    found.add(word + " (spaced)");
+                    continue;
+                }
+                if (cleanedContent.contains(word)) {
+                    found.add(word + " (hidden)");
+                }
+            }
+            return found;
+        }
+
+        Set<String> detectControversialKeywords(String normalizedContent) {
+            Set<String> found = new HashSet<>();
+            for (String keyword : controversialKeywords) {
+                if (normalizedContent.contains(keyword)) {
+                    found.add(keyword);
+                }
+            }
+            return found;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContentModerationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
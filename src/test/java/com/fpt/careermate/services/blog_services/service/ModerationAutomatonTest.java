@@ -0,0 +1,84 @@
+package com.fpt.careermate.services.blog_services.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ModerationAutomaton
+ */
+class ModerationAutomatonTest {
+
+    private final ModerationAutomaton automaton = ModerationAutomaton.build(
+            List.of("fuck", "shit", "đụ"),
+            List.of("politics", "religion"));
+
+    @Test
+    void scan_CleanContent_FindsNothing() {
+        ModerationAutomaton.ScanResult result = automaton.scan("great article, thanks for sharing!");
+
+        assertTrue(result.profanity().isEmpty());
+        assertTrue(result.controversial().isEmpty());
+    }
+
+    @Test
+    void scan_ExactWord_ReportsPlainLabel() {
+        assertEquals(Set.of("shit"), automaton.scan("this is shit.").profanity());
+    }
+
+    @Test
+    void scan_SpacedLetters_ReportsSpaced() {
+        assertEquals(Set.of("fuck (spaced)"), automaton.scan("f u c k this").profanity());
+    }
+
+    @Test
+    void scan_SubstitutedLetter_ReportsObfuscated() {
+        assertEquals(Set.of("fuck (obfuscated)"), automaton.scan("what the f*ck").profanity());
+        assertEquals(Set.of("shit (obfuscated)"), automaton.scan("sh#t happens").profanity());
+    }
+
+    @Test
+    void scan_InsertedSymbol_ReportsHidden() {
+        assertEquals(Set.of("fuck (hidden)"), automaton.scan("f*uck").profanity());
+    }
+
+    @Test
+    void scan_WordInsideLongerWord_ReportsHidden() {
+        assertEquals(Set.of("shit (hidden)"), automaton.scan("a shitty day").profanity());
+    }
+
+    @Test
+    void scan_SameWordSeveralWays_KeepsStrongestMatch() {
+        assertEquals(Set.of("shit"), automaton.scan("s h i t and shit").profanity());
+    }
+
+    @Test
+    void scan_ControversialKeyword_IsReportedSeparately() {
+        ModerationAutomaton.ScanResult result = automaton.scan("no politics or religion here, shit");
+
+        assertEquals(Set.of("politics", "religion"), result.controversial());
+        assertEquals(Set.of("shit"), result.profanity());
+    }
+
+    @Test
+    void scan_SpacedControversialKeyword_IsNotReported() {
+        assertTrue(automaton.scan("p o l i t i c s").controversial().isEmpty());
+    }
+
+    @Test
+    void scan_NonAsciiWord_IsMatched() {
+        assertEquals(Set.of("đụ"), automaton.scan("đụ má").profanity());
+    }
+
+    @Test
+    void build_WithEmptyDictionary_MatchesNothing() {
+        ModerationAutomaton empty = ModerationAutomaton.build(List.of(), List.of());
+
+        ModerationAutomaton.ScanResult result = empty.scan("fuck politics");
+        assertTrue(result.profanity().isEmpty());
+        assertTrue(result.controversial().isEmpty());
+    }
+}
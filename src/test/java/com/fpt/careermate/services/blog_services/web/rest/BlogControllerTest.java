@@ -1,6 +1,8 @@
 package com.fpt.careermate.services.blog_services.web.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
 import com.fpt.careermate.services.blog_services.service.BlogImp;
 import com.fpt.careermate.services.blog_services.service.dto.request.BlogCreationRequest;
 import com.fpt.careermate.services.blog_services.service.dto.request.BlogUpdateRequest;
@@ -123,6 +125,18 @@ class BlogControllerTest {
                     .andExpect(status().isOk());
 
             verify(blogImp).getBlogById(1L);
+            verify(blogImp).incrementViewCount(1L);
+        }
+
+        @Test
+        @DisplayName("Should not count a view of a missing blog")
+        void shouldNotCountViewOfMissingBlog() throws Exception {
+            when(blogImp.getBlogById(404L)).thenThrow(new AppException(ErrorCode.BLOG_NOT_FOUND));
+
+            mockMvc.perform(get("/api/blogs/404"))
+                    .andExpect(status().is4xxClientError());
+
+            verify(blogImp, never()).incrementViewCount(anyLong());
         }
     }
 
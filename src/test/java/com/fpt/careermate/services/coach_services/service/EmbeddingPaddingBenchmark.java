@@ -0,0 +1,156 @@
+package com.fpt.careermate.services.coach_services.service;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.InputStream;
+import java.nio.LongBuffer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares embedding inference with length-bucketed padding (EmbeddingInferenceService) against the previous
+ * fixed 128-token padding from tokenizer.json, on skill-name sized inputs.
+ * Needs /onnx/model.onnx on the classpath, like the application.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.fpt.careermate.services.coach_services.service.EmbeddingPaddingBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmbeddingPaddingBenchmark {
+
+    // Skill and roadmap topic names as stored by the seeders; most are under 8 tokens
+    private static final String[] TEXTS = {
+            "HTML/CSS", "JavaScript", "React", "Spring Boot", "Node.js", ".NET", "Java", "Python",
+            "Docker", "Kubernetes", "SQL", "PostgreSQL", "Git", "REST API", "Microservices basics",
+            "Jetpack Compose", "TypeScript", "Unit testing with JUnit and Mockito",
+            "CI/CD pipelines with GitHub Actions", "Object-oriented programming principles",
+            "Data structures and algorithms", "Responsive web design with Flexbox and Grid",
+            "Authentication and authorization with JWT and OAuth2",
+            "Designing scalable distributed systems with message queues and caching",
+    };
+
+    // Single lookup and a full inference chunk
+    @Param({"1", "32"})
+    int batchSize;
+
+    List<String> batch;
+    EmbeddingInferenceService bucketed;
+    LegacyFixedPadding fixed;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(TEXTS[random.nextInt(TEXTS.length)].toLowerCase());
+        }
+
+        // One worker and no batch window, so both variants run one inference per call
+        bucketed = new EmbeddingInferenceService(new EmbeddingInferenceService.Settings(
+                "", 2, 1, OrtSession.SessionOptions.OptLevel.ALL_OPT, true, false,
+                1, 16, 32, 0, 1000, 30000, true), new SimpleMeterRegistry());
+        bucketed.start();
+        if (!bucketed.isAvailable()) {
+            throw new IllegalStateException("ONNX model could not be loaded, is /onnx/model.onnx on the classpath?");
+        }
+        fixed = new LegacyFixedPadding();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        bucketed.stop();
+        fixed.session.close();
+    }
+
+    @Benchmark
+    public void bucketedPadding(Blackhole blackhole) {
+        blackhole.consume(bucketed.embed(batch));
+    }
+
+    @Benchmark
+    public void fixedPadding(Blackhole blackhole) throws Exception {
+        blackhole.consume(fixed.embed(batch));
+    }
+
+    /**
+     * Previous behaviour: tokenizer.json pads every input to 128 tokens, one inference per batch
+     */
+    static class LegacyFixedPadding {
+        final OrtEnvironment env = OrtEnvironment.getEnvironment();
+        final HuggingFaceTokenizer tokenizer;
+        final OrtSession session;
+
+        LegacyFixedPadding() throws Exception {
+            try (InputStream tokenizerStream = getClass().getResourceAsStream("/onnx/tokenizer.json");
+                 InputStream modelStream = getClass().getResourceAsStream("/onnx/model.onnx")) {
+                tokenizer = HuggingFaceTokenizer.newInstance(tokenizerStream, Map.of());
+                session = env.createSession(modelStream.readAllBytes());
+            }
+        }
+
+        float[][] embed(List<String> texts) throws Exception {
+            Encoding[] encodings = tokenizer.batchEncode(texts);
+            int batchSize = encodings.length;
+            int seqLen = encodings[0].getIds().length;
+            long[] inputIds = new long[batchSize * seqLen];
+            long[] attentionMask = new long[batchSize * seqLen];
+            long[] tokenTypeIds = new long[batchSize * seqLen];
+            for (int row = 0; row < batchSize; row++) {
+                System.arraycopy(encodings[row].getIds(), 0, inputIds, row * seqLen, seqLen);
+                System.arraycopy(encodings[row].getAttentionMask(), 0, attentionMask, row * seqLen, seqLen);
+                System.arraycopy(encodings[row].getTypeIds(), 0, tokenTypeIds, row * seqLen, seqLen);
+            }
+            long[] shape = {batchSize, seqLen};
+
+            try (OnnxTensor ids = OnnxTensor.createTensor(env, LongBuffer.wrap(inputIds), shape);
+                 OnnxTensor mask = OnnxTensor.createTensor(env, LongBuffer.wrap(attentionMask), shape);
+                 OnnxTensor types = OnnxTensor.createTensor(env, LongBuffer.wrap(tokenTypeIds), shape);
+                 OrtSession.Result result = session.run(Map.of(
+                         "input_ids", ids, "attention_mask", mask, "token_type_ids", types))) {
+                float[][][] tokenEmbeddings = (float[][][]) result.get(0).getValue();
+                float[][] sentenceEmbeddings = new float[batchSize][];
+                for (int row = 0; row < batchSize; row++) {
+                    sentenceEmbeddings[row] = meanPooling(tokenEmbeddings[row], attentionMask, row * seqLen, seqLen);
+                }
+                return sentenceEmbeddings;
+            }
+        }
+
+        private static float[] meanPooling(float[][] tokenEmbeddings, long[] attentionMask, int offset, int seqLen) {
+            float[] embedding = new float[tokenEmbeddings[0].length];
+            int count = 0;
+            for (int i = 0; i < seqLen; i++) {
+                if (attentionMask[offset + i] == 1) {
+                    count++;
+                    for (int j = 0; j < embedding.length; j++) {
+                        embedding[j] += tokenEmbeddings[i][j];
+                    }
+                }
+            }
+            for (int j = 0; j < embedding.length; j++) {
+                embedding[j] /= Math.max(count, 1);
+            }
+            return embedding;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmbeddingPaddingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
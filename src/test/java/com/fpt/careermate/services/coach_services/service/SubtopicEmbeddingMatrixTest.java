@@ -0,0 +1,77 @@
+package com.fpt.careermate.services.coach_services.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SubtopicEmbeddingMatrix
+ */
+class SubtopicEmbeddingMatrixTest {
+
+    private static float[] unit(float... values) {
+        double norm = 0;
+        for (float value : values) {
+            norm += value * value;
+        }
+        float[] normalized = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = (float) (values[i] / Math.sqrt(norm));
+        }
+        return normalized;
+    }
+
+    @Test
+    void markSimilar_SetsRowsAboveThreshold() {
+        SubtopicEmbeddingMatrix matrix = SubtopicEmbeddingMatrix.of(new int[]{1, 2, 3},
+                List.of(unit(1, 0, 0), unit(0, 1, 0), unit(1, 1, 0)), false);
+
+        BitSet rows = new BitSet();
+        matrix.markSimilar(unit(1, 0, 0), 0.7, rows);
+
+        assertTrue(matrix.isComplete());
+        assertEquals(BitSet.valueOf(new long[]{0b101}), rows);
+    }
+
+    @Test
+    void markSimilar_Quantized_AgreesWithFloatMatrix() {
+        List<float[]> embeddings = List.of(unit(1, 0.2f, 0), unit(0, 1, 0.3f), unit(0.6f, 0.6f, 0.1f));
+        SubtopicEmbeddingMatrix floats = SubtopicEmbeddingMatrix.of(new int[]{1, 2, 3}, embeddings, false);
+        SubtopicEmbeddingMatrix int8 = SubtopicEmbeddingMatrix.of(new int[]{1, 2, 3}, embeddings, true);
+
+        BitSet floatRows = new BitSet();
+        BitSet int8Rows = new BitSet();
+        floats.markSimilar(unit(1, 0.1f, 0), 0.6, floatRows);
+        int8.markSimilar(unit(1, 0.1f, 0), 0.6, int8Rows);
+
+        assertEquals(floatRows, int8Rows);
+    }
+
+    @Test
+    void of_WithFailedEmbeddings_IsIncomplete() {
+        SubtopicEmbeddingMatrix matrix = SubtopicEmbeddingMatrix.of(new int[]{1, 2, 3},
+                List.of(unit(1, 0, 0), new float[0], new float[3]), false);
+
+        assertFalse(matrix.isComplete());
+        assertEquals(2, matrix.missingRows());
+    }
+
+    @Test
+    void of_WhenEveryEmbeddingFailed_IsIncomplete() {
+        SubtopicEmbeddingMatrix matrix = SubtopicEmbeddingMatrix.of(new int[]{1, 2},
+                List.of(new float[0], new float[0]), true);
+
+        assertFalse(matrix.isComplete());
+        BitSet rows = new BitSet();
+        matrix.markSimilar(unit(1, 0, 0), 0.0, rows);
+        assertTrue(rows.isEmpty());
+    }
+
+    @Test
+    void of_WithoutSubtopics_IsComplete() {
+        assertTrue(SubtopicEmbeddingMatrix.of(new int[0], List.of(), false).isComplete());
+    }
+}
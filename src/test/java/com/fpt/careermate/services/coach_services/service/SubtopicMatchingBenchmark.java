@@ -0,0 +1,128 @@
+package com.fpt.careermate.services.coach_services.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches the skills of one resume against the subtopics of a roadmap: the previous pairwise
+ * EmbeddingImp.cosineSimilarity loop versus SubtopicEmbeddingMatrix (Vector API, scalar fallback, int8).
+ * Uses random unit vectors of the model's dimension, so no model is needed.
+ * Run with: mvn -Pvector-api test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.fpt.careermate.services.coach_services.service.SubtopicMatchingBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class SubtopicMatchingBenchmark {
+
+    private static final int DIMENSION = 384;
+    private static final int SKILLS = 30;
+    private static final double THRESHOLD = 0.8;
+
+    // Typical roadmap, large roadmap, and a very large one
+    @Param({"120", "1000", "5000"})
+    int subtopicCount;
+
+    List<float[]> subtopics;
+    List<float[]> skills;
+    SubtopicEmbeddingMatrix floatMatrix;
+    SubtopicEmbeddingMatrix int8Matrix;
+    float[] rawMatrix;
+    EmbeddingImp embeddingImp;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        subtopics = new ArrayList<>();
+        int[] ids = new int[subtopicCount];
+        for (int i = 0; i < subtopicCount; i++) {
+            subtopics.add(randomUnitVector(random));
+            ids[i] = i;
+        }
+        skills = new ArrayList<>();
+        for (int i = 0; i < SKILLS; i++) {
+            skills.add(randomUnitVector(random));
+        }
+
+        floatMatrix = SubtopicEmbeddingMatrix.of(ids, subtopics, false);
+        int8Matrix = SubtopicEmbeddingMatrix.of(ids, subtopics, true);
+        rawMatrix = new float[subtopicCount * DIMENSION];
+        for (int i = 0; i < subtopicCount; i++) {
+            System.arraycopy(subtopics.get(i), 0, rawMatrix, i * DIMENSION, DIMENSION);
+        }
+        embeddingImp = new EmbeddingImp(null);
+    }
+
+    @Benchmark
+    public void pairwiseCosine(Blackhole blackhole) {
+        BitSet rows = new BitSet(subtopicCount);
+        for (float[] skill : skills) {
+            for (int row = 0; row < subtopicCount; row++) {
+                if (embeddingImp.cosineSimilarity(subtopics.get(row), skill) >= THRESHOLD) {
+                    rows.set(row);
+                }
+            }
+        }
+        blackhole.consume(rows);
+    }
+
+    @Benchmark
+    public void matrixScalar(Blackhole blackhole) {
+        BitSet rows = new BitSet(subtopicCount);
+        for (float[] skill : skills) {
+            for (int row = 0; row < subtopicCount; row++) {
+                if (DotProducts.scalarDot(rawMatrix, row * DIMENSION, skill, DIMENSION) >= THRESHOLD) {
+                    rows.set(row);
+                }
+            }
+        }
+        blackhole.consume(rows);
+    }
+
+    @Benchmark
+    public void matrixFloat(Blackhole blackhole) {
+        BitSet rows = new BitSet(subtopicCount);
+        for (float[] skill : skills) {
+            floatMatrix.markSimilar(skill, THRESHOLD, rows);
+        }
+        blackhole.consume(rows);
+    }
+
+    @Benchmark
+    public void matrixInt8(Blackhole blackhole) {
+        BitSet rows = new BitSet(subtopicCount);
+        for (float[] skill : skills) {
+            int8Matrix.markSimilar(skill, THRESHOLD, rows);
+        }
+        blackhole.consume(rows);
+    }
+
+    private static float[] randomUnitVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        double norm = 0.0;
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) (vector[i] / norm);
+        }
+        return vector;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SubtopicMatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
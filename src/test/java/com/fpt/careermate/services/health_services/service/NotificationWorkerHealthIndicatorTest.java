@@ -0,0 +1,130 @@
+package com.fpt.careermate.services.health_services.service;
+
+import com.fpt.careermate.services.health_services.domain.NotificationHeartbeat;
+import com.fpt.careermate.services.health_services.repository.NotificationHeartbeatRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationWorkerHealthIndicator
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationWorkerHealthIndicatorTest {
+
+    @Mock
+    private NotificationWorkerMetrics workerMetrics;
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+    @Mock
+    private MessageListenerContainer container;
+
+    @InjectMocks
+    private NotificationWorkerHealthIndicator healthIndicator;
+
+    @Test
+    void health_IdleWithoutLag_IsUp() {
+        when(container.isRunning()).thenReturn(true);
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(workerMetrics.getLastProcessedAt()).thenReturn(Instant.now().minusSeconds(3600));
+        when(workerMetrics.getTotalLag()).thenReturn(0L);
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    void health_NeverProcessedWithoutLag_IsUp() {
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of());
+        when(workerMetrics.getTotalLag()).thenReturn(0L);
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    void health_LagWithoutRecentProgress_IsDown() {
+        when(container.isRunning()).thenReturn(true);
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(workerMetrics.getLastProcessedAt()).thenReturn(Instant.now().minusSeconds(600));
+        when(workerMetrics.getTotalLag()).thenReturn(42L);
+
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    void health_LagWhileConsuming_IsUp() {
+        when(container.isRunning()).thenReturn(true);
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(workerMetrics.getLastProcessedAt()).thenReturn(Instant.now().minusSeconds(5));
+        when(workerMetrics.getTotalLag()).thenReturn(42L);
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    void health_StoppedContainer_IsDown() {
+        when(container.isRunning()).thenReturn(false);
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+        verifyNoInteractions(workerMetrics);
+    }
+
+    @Test
+    void health_IdleAfterPartitionsRevoked_IsUp() {
+        NotificationHeartbeatRepo heartbeatRepo = mock(NotificationHeartbeatRepo.class);
+        when(heartbeatRepo.findByName(NotificationWorkerMetrics.WORKER_NAME)).thenReturn(Optional.of(
+                NotificationHeartbeat.builder().lastProcessedAt(Instant.now().minusSeconds(600)).build()));
+        NotificationWorkerMetrics metrics = new NotificationWorkerMetrics(heartbeatRepo, new SimpleMeterRegistry());
+        metrics.init();
+
+        TopicPartition partition = new TopicPartition("candidate-notifications", 0);
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        when(consumer.assignment()).thenReturn(Set.of(partition));
+        when(consumer.currentLag(partition)).thenReturn(OptionalLong.of(42));
+        metrics.recordLag(consumer);
+        assertEquals(42L, metrics.getTotalLag());
+
+        // The partition moved to another node, which now owns its backlog
+        metrics.partitionsRevoked(Set.of(partition));
+
+        when(container.isRunning()).thenReturn(true);
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        NotificationWorkerHealthIndicator idleNode = new NotificationWorkerHealthIndicator(metrics, listenerRegistry);
+
+        assertEquals(0L, metrics.getTotalLag());
+        assertEquals(Status.UP, idleNode.health().getStatus());
+    }
+
+    @Test
+    void recordLag_UnknownLag_DropsOldValue() {
+        NotificationWorkerMetrics metrics = new NotificationWorkerMetrics(
+                mock(NotificationHeartbeatRepo.class), new SimpleMeterRegistry());
+        metrics.init();
+        TopicPartition partition = new TopicPartition("candidate-notifications", 0);
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        when(consumer.assignment()).thenReturn(Set.of(partition));
+        when(consumer.currentLag(partition)).thenReturn(OptionalLong.of(42), OptionalLong.empty());
+
+        metrics.recordLag(consumer);
+        metrics.recordLag(consumer);
+
+        assertEquals(0L, metrics.getTotalLag());
+    }
+}
@@ -1,6 +1,8 @@
 package com.fpt.careermate.services.job_services.service;
 
+import com.fpt.careermate.common.util.RedisCacheNamespace;
 import com.fpt.careermate.services.job_services.service.dto.response.JobPostingForRecruiterResponse;
+import com.fpt.careermate.services.job_services.service.dto.response.PageJobPostingForRecruiterResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,6 +32,9 @@ class RecruiterJobPostingRedisServiceTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private RedisCacheNamespace redisCacheNamespace;
+
     @InjectMocks
     private RecruiterJobPostingRedisService redisService;
 
@@ -177,4 +182,32 @@ class RecruiterJobPostingRedisServiceTest {
         // Assert
         verify(redisTemplate).expire(EXPECTED_KEY, 120L, TimeUnit.MINUTES);
     }
+
+    @Test
+    void saveListToCache_RegistersKeyUnderRecruiterTags() {
+        // Arrange
+        PageJobPostingForRecruiterResponse page = PageJobPostingForRecruiterResponse.builder()
+                .content(Collections.singletonList(testResponse))
+                .build();
+
+        // Act
+        redisService.saveListToCache(7, 0, 10, "java dev", page);
+
+        // Assert
+        verify(redisCacheNamespace).put("job_posting:recruiter:list:7:p0:s10:kjava_dev", page,
+                5L, TimeUnit.MINUTES, "job_posting:recruiter:list", "job_posting:recruiter:list:7");
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    @Test
+    void clearRecruiterListCache_InvalidatesRecruiterTagWithoutKeysScan() {
+        // Act
+        redisService.clearRecruiterListCache(7);
+        redisService.clearAllRecruiterListCache();
+
+        // Assert
+        verify(redisCacheNamespace).invalidate("job_posting:recruiter:list:7");
+        verify(redisCacheNamespace).invalidate("job_posting:recruiter:list");
+        verify(redisTemplate, never()).keys(anyString());
+    }
 }
@@ -0,0 +1,145 @@
+package com.fpt.careermate.services.job_services.service;
+
+import com.fpt.careermate.common.constant.StatusJobApply;
+import com.fpt.careermate.common.constant.StatusJobPosting;
+import com.fpt.careermate.services.job_services.domain.JobApply;
+import com.fpt.careermate.services.job_services.domain.JobPosting;
+import com.fpt.careermate.services.job_services.domain.RecruiterStatusCount;
+import com.fpt.careermate.services.job_services.domain.RecruiterStatusCount.Kind;
+import com.fpt.careermate.services.job_services.repository.JobApplyRepo;
+import com.fpt.careermate.services.job_services.repository.JobPostingRepo;
+import com.fpt.careermate.services.job_services.repository.RecruiterStatusCountRepo;
+import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RecruiterStatsRollup
+ */
+class RecruiterStatsRollupTest {
+
+    private static final int RECRUITER_ID = 7;
+
+    private RecruiterStatusCountRepo recruiterStatusCountRepo;
+    private JobPostingRepo jobPostingRepo;
+    private JobApplyRepo jobApplyRepo;
+    private MeterRegistry meterRegistry;
+    private RecruiterStatsRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        recruiterStatusCountRepo = mock(RecruiterStatusCountRepo.class);
+        jobPostingRepo = mock(JobPostingRepo.class);
+        jobApplyRepo = mock(JobApplyRepo.class);
+        meterRegistry = new SimpleMeterRegistry();
+        rollup = new RecruiterStatsRollup(recruiterStatusCountRepo, jobPostingRepo, jobApplyRepo, meterRegistry);
+    }
+
+    private static JobPosting posting(String status) {
+        return JobPosting.builder()
+                .recruiter(Recruiter.builder().id(RECRUITER_ID).build())
+                .status(status)
+                .build();
+    }
+
+    private static JobApply application(StatusJobApply status) {
+        return JobApply.builder()
+                .jobPosting(posting(StatusJobPosting.ACTIVE))
+                .status(status)
+                .build();
+    }
+
+    private static RecruiterStatusCount count(Kind kind, String status, long value) {
+        return RecruiterStatusCount.builder().recruiterId(RECRUITER_ID).kind(kind).status(status).statusCount(value).build();
+    }
+
+    @Test
+    void changeStatus_MovesOneCountBetweenStatuses() {
+        JobApply jobApply = application(StatusJobApply.SUBMITTED);
+
+        rollup.changeStatus(jobApply, StatusJobApply.REJECTED);
+
+        assertEquals(StatusJobApply.REJECTED, jobApply.getStatus());
+        verify(recruiterStatusCountRepo).addToCount(RECRUITER_ID, "APPLICATION", "SUBMITTED", -1);
+        verify(recruiterStatusCountRepo).addToCount(RECRUITER_ID, "APPLICATION", "REJECTED", 1);
+    }
+
+    @Test
+    void changeStatus_NewPosting_OnlyIncrements() {
+        JobPosting jobPosting = posting(null);
+
+        rollup.changeStatus(jobPosting, StatusJobPosting.ACTIVE);
+
+        verify(recruiterStatusCountRepo).addToCount(RECRUITER_ID, "POSTING", StatusJobPosting.ACTIVE, 1);
+        verifyNoMoreInteractions(recruiterStatusCountRepo);
+    }
+
+    @Test
+    void changeStatus_SameStatus_DoesNothing() {
+        rollup.changeStatus(posting(StatusJobPosting.ACTIVE), StatusJobPosting.ACTIVE);
+
+        verifyNoInteractions(recruiterStatusCountRepo);
+    }
+
+    @Test
+    void applicationRemoved_OnlyDecrements() {
+        rollup.applicationRemoved(application(StatusJobApply.REVIEWING));
+
+        verify(recruiterStatusCountRepo).addToCount(RECRUITER_ID, "APPLICATION", "REVIEWING", -1);
+        verifyNoMoreInteractions(recruiterStatusCountRepo);
+    }
+
+    @Test
+    void snapshot_MissingStatusesReadAsZero() {
+        when(recruiterStatusCountRepo.findByRecruiterId(RECRUITER_ID)).thenReturn(List.of(
+                count(Kind.POSTING, StatusJobPosting.ACTIVE, 3),
+                count(Kind.APPLICATION, "SUBMITTED", 5),
+                count(Kind.APPLICATION, "REJECTED", 2)));
+
+        RecruiterStatsRollup.Snapshot snapshot = rollup.snapshot(RECRUITER_ID);
+
+        assertEquals(3, snapshot.posting(StatusJobPosting.ACTIVE));
+        assertEquals(0, snapshot.posting(StatusJobPosting.REJECTED));
+        assertEquals(5, snapshot.application(StatusJobApply.SUBMITTED));
+        assertEquals(0, snapshot.application(StatusJobApply.APPROVED));
+        assertEquals(3, snapshot.totalPostings());
+        assertEquals(7, snapshot.totalApplications());
+    }
+
+    @Test
+    void verify_OverwritesDriftedRowsAndCountsThem() {
+        when(jobPostingRepo.countGroupByRecruiterAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{RECRUITER_ID, StatusJobPosting.ACTIVE, 3L}));
+        when(jobApplyRepo.countGroupByRecruiterAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{RECRUITER_ID, StatusJobApply.SUBMITTED, 4L}));
+        when(recruiterStatusCountRepo.findAll()).thenReturn(List.of(
+                count(Kind.POSTING, StatusJobPosting.ACTIVE, 3),
+                count(Kind.APPLICATION, "SUBMITTED", 5),
+                count(Kind.APPLICATION, "REJECTED", 1)));
+
+        rollup.verify();
+
+        verify(recruiterStatusCountRepo).setCount(RECRUITER_ID, "APPLICATION", "SUBMITTED", 4);
+        // No source rows left in this status
+        verify(recruiterStatusCountRepo).setCount(RECRUITER_ID, "APPLICATION", "REJECTED", 0);
+        verify(recruiterStatusCountRepo, never()).setCount(anyInt(), eq("POSTING"), anyString(), anyLong());
+        assertEquals(2.0, meterRegistry.counter("careermate.dashboard.rollup.drift").count());
+    }
+
+    @Test
+    void bootstrap_WithExistingRollup_DoesNotRebuild() {
+        when(recruiterStatusCountRepo.count()).thenReturn(12L);
+
+        rollup.bootstrap();
+
+        verifyNoInteractions(jobPostingRepo, jobApplyRepo);
+    }
+}
@@ -0,0 +1,117 @@
+package com.fpt.careermate.services.kafka.consumer;
+
+import com.fpt.careermate.services.email_services.service.impl.EmailService;
+import com.fpt.careermate.services.health_services.service.NotificationWorkerMetrics;
+import com.fpt.careermate.services.kafka.dto.NotificationEvent;
+import com.fpt.careermate.services.notification_services.repository.NotificationRepo;
+import com.fpt.careermate.services.notification_services.service.AnnouncementService;
+import com.fpt.careermate.services.notification_services.service.FcmPushNotificationService;
+import com.fpt.careermate.services.notification_services.service.NotificationSseService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationConsumer batch processing
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationConsumerTest {
+
+    private static final String TOPIC = "candidate-notifications";
+
+    @Mock
+    private NotificationWorkerMetrics workerMetrics;
+    @Mock
+    private NotificationRepo notificationRepo;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private NotificationSseService sseService;
+    @Mock
+    private FcmPushNotificationService fcmService;
+    @Mock
+    private AnnouncementService announcementService;
+    @Mock
+    private Acknowledgment acknowledgment;
+    @Mock
+    private Consumer<?, ?> consumer;
+
+    @InjectMocks
+    private NotificationConsumer notificationConsumer;
+
+    private static List<ConsumerRecord<String, NotificationEvent>> records(String... recipientIds) {
+        List<ConsumerRecord<String, NotificationEvent>> records = new ArrayList<>();
+        for (int i = 0; i < recipientIds.length; i++) {
+            NotificationEvent event = NotificationEvent.builder()
+                    .eventId("event-" + i)
+                    .eventType("DAILY_REMINDER")
+                    .recipientId(recipientIds[i])
+                    .title("Reminder")
+                    .message("Keep going")
+                    .priority(2)
+                    .build();
+            records.add(new ConsumerRecord<>(TOPIC, 0, i, recipientIds[i], event));
+        }
+        return records;
+    }
+
+    @Test
+    void consume_WhenDeliveryFailsAfterInsert_StillDeliversStoredRows() {
+        when(notificationRepo.findExistingEventIds(anyCollection())).thenReturn(List.of());
+        when(notificationRepo.countUnreadByRecipientIds(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        doThrow(new IllegalStateException("sse down")).when(sseService).sendNotifications(anyString(), anyList(), any());
+
+        notificationConsumer.consumeCandidateNotification(records("user-1", "user-2"), acknowledgment, consumer);
+
+        verify(notificationRepo).insertAll(anyCollection());
+        verify(sseService).sendNotifications(eq("user-1"), anyList(), isNull());
+        verify(sseService).sendNotifications(eq("user-2"), anyList(), isNull());
+        verify(fcmService).sendNotificationToUser(eq("user-1"), any());
+        verify(fcmService).sendNotificationToUser(eq("user-2"), any());
+        verify(acknowledgment).acknowledge();
+        verify(acknowledgment, never()).nack(anyInt(), any());
+        // The one-by-one fallback would skip the stored rows as duplicates
+        verify(notificationRepo, never()).existsByEventId(anyString());
+    }
+
+    @Test
+    void consume_WhenInsertFails_FallsBackToOneByOne() {
+        when(notificationRepo.findExistingEventIds(anyCollection())).thenReturn(List.of());
+        doThrow(new DataAccessResourceFailureException("batch insert failed"))
+                .when(notificationRepo).insertAll(anyCollection());
+        when(notificationRepo.existsByEventId(anyString())).thenReturn(false);
+
+        notificationConsumer.consumeCandidateNotification(records("user-1", "user-2"), acknowledgment, consumer);
+
+        verify(notificationRepo, times(2)).save(any());
+        verify(fcmService, times(2)).sendNotificationToUser(anyString(), any());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void consume_WhenRecordFailsInFallback_NacksFromThatRecord() {
+        when(notificationRepo.findExistingEventIds(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        when(notificationRepo.existsByEventId("event-0")).thenReturn(true);
+        when(notificationRepo.existsByEventId("event-1"))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        notificationConsumer.consumeCandidateNotification(records("user-1", "user-2", "user-3"), acknowledgment, consumer);
+
+        verify(acknowledgment).nack(eq(1), any());
+        verify(acknowledgment, never()).acknowledge();
+    }
+}
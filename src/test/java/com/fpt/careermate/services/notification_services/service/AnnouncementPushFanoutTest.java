@@ -0,0 +1,163 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fpt.careermate.services.notification_services.domain.Announcement;
+import com.fpt.careermate.services.notification_services.domain.DeviceToken;
+import com.fpt.careermate.services.notification_services.repository.AnnouncementRepo;
+import com.fpt.careermate.services.notification_services.repository.DeviceTokenRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AnnouncementPushFanout
+ */
+@ExtendWith(MockitoExtension.class)
+class AnnouncementPushFanoutTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private AnnouncementRepo announcementRepo;
+    @Mock
+    private DeviceTokenRepo deviceTokenRepo;
+    @Mock
+    private FcmPushNotificationService fcmService;
+
+    @InjectMocks
+    private AnnouncementPushFanout fanout;
+
+    private Announcement announcement;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fanout, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(fanout, "maxAttempts", 3);
+        ReflectionTestUtils.setField(fanout, "retryBackoffMs", 30000L);
+        ReflectionTestUtils.setField(fanout, "maxRetryBackoffMs", 1800000L);
+        announcement = Announcement.builder().id(7L).title("Maintenance").message("Tonight").pushCursor(10L).build();
+    }
+
+    private void page(long... ids) {
+        when(fcmService.isAvailable()).thenReturn(true);
+        when(announcementRepo.findNextPushDue(any())).thenReturn(Optional.of(announcement));
+        List<DeviceToken> tokens = LongStream.of(ids)
+                .mapToObj(id -> DeviceToken.builder().id(id).token("token-" + id).build())
+                .toList();
+        when(deviceTokenRepo.findActivePage(any(), eq(10L), any())).thenReturn(tokens);
+    }
+
+    @Test
+    void pushNextPage_ClaimsAndSendsPage() throws Exception {
+        page(11, 12, 13);
+        when(announcementRepo.claimPushPage(7L, 10L, 13L)).thenReturn(1);
+
+        fanout.pushNextPage();
+
+        verify(fcmService).sendAnnouncement(anyList(), eq(announcement));
+        verify(announcementRepo, never()).completePush(anyLong(), any());
+    }
+
+    @Test
+    void pushNextPage_WhenAnotherNodeClaimedPage_DoesNotSend() throws Exception {
+        page(11, 12, 13);
+        when(announcementRepo.claimPushPage(7L, 10L, 13L)).thenReturn(0);
+
+        fanout.pushNextPage();
+
+        verify(fcmService, never()).sendAnnouncement(anyList(), any());
+    }
+
+    @Test
+    void pushNextPage_WhenSendFails_RollsCursorBackAndBacksOff() throws Exception {
+        page(11, 12);
+        when(announcementRepo.claimPushPage(7L, 10L, 12L)).thenReturn(1);
+        when(fcmService.sendAnnouncement(anyList(), eq(announcement)))
+                .thenThrow(new IllegalStateException("FCM unavailable"));
+
+        fanout.pushNextPage();
+
+        verify(announcementRepo).rewindPushCursor(7L, 10L);
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(announcementRepo).recordPushFailure(eq(7L), retryAt.capture());
+        assertTrue(retryAt.getValue().isAfter(LocalDateTime.now().plusSeconds(25)));
+        assertTrue(retryAt.getValue().isBefore(LocalDateTime.now().plusSeconds(35)));
+        // A short page would otherwise complete the announcement
+        verify(announcementRepo, never()).completePush(anyLong(), any());
+        verify(announcementRepo, never()).failPush(anyLong(), any(), any());
+    }
+
+    @Test
+    void pushNextPage_RepeatedFailure_BackoffDoubles() throws Exception {
+        announcement.setPushFailures(1);
+        page(11, 12);
+        when(announcementRepo.claimPushPage(7L, 10L, 12L)).thenReturn(1);
+        when(fcmService.sendAnnouncement(anyList(), eq(announcement)))
+                .thenThrow(new IllegalStateException("FCM unavailable"));
+
+        fanout.pushNextPage();
+
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(announcementRepo).recordPushFailure(eq(7L), retryAt.capture());
+        assertTrue(retryAt.getValue().isAfter(LocalDateTime.now().plusSeconds(55)));
+        assertTrue(retryAt.getValue().isBefore(LocalDateTime.now().plusSeconds(65)));
+    }
+
+    @Test
+    void pushNextPage_WhenLastAttemptFails_GivesUp() throws Exception {
+        announcement.setPushFailures(2);
+        page(11, 12);
+        when(announcementRepo.claimPushPage(7L, 10L, 12L)).thenReturn(1);
+        when(fcmService.sendAnnouncement(anyList(), eq(announcement)))
+                .thenThrow(new IllegalStateException("FCM unavailable"));
+
+        fanout.pushNextPage();
+
+        verify(announcementRepo).failPush(eq(7L), any(), eq("FCM unavailable"));
+        verify(announcementRepo, never()).recordPushFailure(anyLong(), any());
+    }
+
+    @Test
+    void pushNextPage_SentAfterFailures_ResetsFailureCount() throws Exception {
+        announcement.setPushFailures(2);
+        page(11, 12, 13);
+        when(announcementRepo.claimPushPage(7L, 10L, 13L)).thenReturn(1);
+
+        fanout.pushNextPage();
+
+        verify(announcementRepo).resetPushFailures(7L);
+    }
+
+    @Test
+    void pushNextPage_WithoutFirebase_DoesNothing() {
+        when(fcmService.isAvailable()).thenReturn(false);
+
+        fanout.pushNextPage();
+
+        verifyNoInteractions(announcementRepo, deviceTokenRepo);
+    }
+
+    @Test
+    void pushNextPage_LastPage_CompletesAnnouncement() throws Exception {
+        page(11);
+        when(announcementRepo.claimPushPage(7L, 10L, 11L)).thenReturn(1);
+
+        fanout.pushNextPage();
+
+        verify(fcmService).sendAnnouncement(anyList(), eq(announcement));
+        verify(announcementRepo).completePush(eq(7L), any());
+    }
+}
@@ -0,0 +1,79 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationSseService connection bookkeeping
+ */
+class NotificationSseServiceTest {
+
+    private SseClusterRouter sseClusterRouter;
+    private NotificationSseService sseService;
+
+    @BeforeEach
+    void setUp() {
+        sseClusterRouter = mock(SseClusterRouter.class);
+        sseService = new NotificationSseService(new ObjectMapper(), sseClusterRouter, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sseService, "queueCapacity", 32);
+        sseService.init();
+    }
+
+    @Test
+    void createConnection_RegistersRouteOnEveryConnect() {
+        sseService.createConnection("user-1");
+        sseService.createConnection("user-1");
+
+        assertEquals(2, sseService.getConnectionCount("user-1"));
+        verify(sseClusterRouter, times(2)).userConnected("user-1");
+    }
+
+    @Test
+    void createConnection_ConcurrentConnects_AllRegisteredAndRouted() throws Exception {
+        int connects = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < connects; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return sseService.createConnection("user-1");
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(connects, sseService.getConnectionCount("user-1"));
+        assertEquals(1, sseService.getConnectedUserCount());
+        verify(sseClusterRouter, times(connects)).userConnected("user-1");
+    }
+
+    @Test
+    void removeAllConnections_DropsRoute() {
+        sseService.createConnection("user-1");
+        sseService.createConnection("user-2");
+
+        sseService.removeAllConnections("user-1");
+
+        assertEquals(0, sseService.getConnectionCount("user-1"));
+        assertEquals(1, sseService.getConnectionCount("user-2"));
+        verify(sseClusterRouter).userDisconnected("user-1");
+        verify(sseClusterRouter, never()).userDisconnected("user-2");
+    }
+}
@@ -0,0 +1,142 @@
+package com.fpt.careermate.services.notification_services.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SseConnection
+ */
+class SseConnectionTest {
+
+    private static final int CAPACITY = 4;
+
+    private static SseConnection.Event notification(int i) {
+        return new SseConnection.Event("notification", "n" + i, MediaType.APPLICATION_JSON, false);
+    }
+
+    private static SseConnection.Event unreadCount(long count) {
+        return new SseConnection.Event("unread-count", count, MediaType.APPLICATION_JSON, true);
+    }
+
+    private static List<SseConnection.Event> notifications(int count) {
+        return IntStream.range(0, count).mapToObj(SseConnectionTest::notification).toList();
+    }
+
+    private static SseConnection connection(SseEmitter emitter) {
+        return new SseConnection("user-1", emitter, CAPACITY, (connection, e) -> { }, frame -> { });
+    }
+
+    @Test
+    void enqueue_ListLargerThanCapacityOnIdleConnection_IsAccepted() {
+        SseConnection connection = connection(new SseEmitter());
+
+        List<SseConnection.Event> batch = new ArrayList<>(notifications(CAPACITY * 3));
+        batch.add(unreadCount(12));
+
+        assertTrue(connection.enqueue(batch));
+        assertEquals(CAPACITY * 3 + 1, connection.queueDepth());
+    }
+
+    @Test
+    void enqueue_WhenBacklogIsFull_IsRejected() {
+        SseConnection connection = connection(new SseEmitter());
+        assertTrue(connection.enqueue(notifications(CAPACITY)));
+
+        assertFalse(connection.enqueue(List.of(notification(99))));
+        assertEquals(CAPACITY, connection.queueDepth());
+    }
+
+    @Test
+    void enqueue_WhenBacklogBelowCapacity_AcceptsWholeList() {
+        SseConnection connection = connection(new SseEmitter());
+        assertTrue(connection.enqueue(notifications(CAPACITY - 1)));
+
+        assertTrue(connection.enqueue(notifications(CAPACITY)));
+        assertEquals(2 * CAPACITY - 1, connection.queueDepth());
+    }
+
+    @Test
+    void enqueue_LatestOnlyEvent_ReplacesQueuedOne() {
+        SseConnection connection = connection(new SseEmitter());
+
+        connection.enqueue(List.of(notification(1), unreadCount(1)));
+        connection.enqueue(List.of(unreadCount(2)));
+
+        assertEquals(2, connection.queueDepth());
+    }
+
+    @Test
+    void keepalive_WhenEventsAreWaiting_IsNotQueued() {
+        SseConnection connection = connection(new SseEmitter());
+        SseConnection.Event keepalive = new SseConnection.Event("keepalive", "ping", MediaType.TEXT_PLAIN, true);
+
+        connection.keepalive(keepalive);
+        assertEquals(1, connection.queueDepth());
+
+        connection.enqueue(List.of(notification(1)));
+        connection.keepalive(keepalive);
+        assertEquals(2, connection.queueDepth());
+    }
+
+    @Test
+    void enqueue_AfterClose_IsDiscarded() {
+        SseConnection connection = connection(new SseEmitter());
+        connection.enqueue(notifications(2));
+
+        connection.close();
+
+        assertTrue(connection.enqueue(notifications(CAPACITY * 2)));
+        assertEquals(0, connection.queueDepth());
+    }
+
+    @Test
+    void writer_WritesQueuedEventsAsOneFrame() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        CountDownLatch written = new CountDownLatch(1);
+        AtomicInteger frameSize = new AtomicInteger();
+        SseConnection connection = new SseConnection("user-1", emitter, CAPACITY, (c, e) -> { }, size -> {
+            frameSize.set(size);
+            written.countDown();
+        });
+
+        connection.enqueue(notifications(3));
+        connection.start();
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertEquals(3, frameSize.get());
+        verify(emitter, times(1)).send(anySet());
+        connection.close();
+    }
+
+    @Test
+    void writer_WhenSendFails_ReportsFailure() throws Exception {
+        SseEmitter emitter = mock(SseEmitter.class);
+        doThrow(new IOException("broken pipe")).when(emitter).send(anySet());
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        SseConnection connection = new SseConnection("user-1", emitter, CAPACITY, (c, e) -> {
+            failure.set(e);
+            failed.countDown();
+        }, size -> { });
+
+        connection.start();
+        connection.enqueue(List.of(notification(1)));
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, failure.get());
+    }
+}
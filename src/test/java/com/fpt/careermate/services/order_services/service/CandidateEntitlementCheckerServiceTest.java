@@ -0,0 +1,109 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.common.constant.EntitlementCode;
+import com.fpt.careermate.common.constant.PackageCode;
+import com.fpt.careermate.common.constant.StatusInvoice;
+import com.fpt.careermate.common.util.CoachUtil;
+import com.fpt.careermate.services.order_services.domain.CandidateInvoice;
+import com.fpt.careermate.services.order_services.domain.CandidatePackage;
+import com.fpt.careermate.services.order_services.service.CandidateEntitlementMatrix.Entitlement;
+import com.fpt.careermate.services.profile_services.domain.Candidate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CandidateEntitlementCheckerService
+ */
+@ExtendWith(MockitoExtension.class)
+class CandidateEntitlementCheckerServiceTest {
+
+    @Mock
+    private CoachUtil coachUtil;
+    @Mock
+    private CandidateEntitlementMatrix candidateEntitlementMatrix;
+    @Mock
+    private CandidateApplyQuotaCounter candidateApplyQuotaCounter;
+
+    @InjectMocks
+    private CandidateEntitlementCheckerService checkerService;
+
+    private Candidate candidate(String packageName, String status, boolean active) {
+        Candidate candidate = new Candidate();
+        candidate.setCandidateId(42);
+        if (packageName != null) {
+            candidate.setCandidateInvoice(CandidateInvoice.builder()
+                    .candidatePackage(CandidatePackage.builder().name(packageName).build())
+                    .status(status)
+                    .isActive(active)
+                    .build());
+        }
+        when(coachUtil.getCurrentCandidate()).thenReturn(candidate);
+        return candidate;
+    }
+
+    @Test
+    void canApplyJob_UnderMonthlyLimit_IsAllowed() {
+        candidate(PackageCode.PLUS, StatusInvoice.PAID, true);
+        when(candidateEntitlementMatrix.lookup(PackageCode.PLUS, EntitlementCode.APPLY_JOB))
+                .thenReturn(Optional.of(new Entitlement(true, 20)));
+        when(candidateApplyQuotaCounter.currentMonthCount(42)).thenReturn(19);
+
+        assertTrue(checkerService.canApplyJob());
+    }
+
+    @Test
+    void canApplyJob_AtMonthlyLimit_IsDenied() {
+        candidate(PackageCode.PLUS, StatusInvoice.PAID, true);
+        when(candidateEntitlementMatrix.lookup(PackageCode.PLUS, EntitlementCode.APPLY_JOB))
+                .thenReturn(Optional.of(new Entitlement(true, 20)));
+        when(candidateApplyQuotaCounter.currentMonthCount(42)).thenReturn(20);
+
+        assertFalse(checkerService.canApplyJob());
+    }
+
+    @Test
+    void canApplyJob_Unlimited_DoesNotCount() {
+        candidate(PackageCode.PREMIUM, StatusInvoice.PAID, true);
+        when(candidateEntitlementMatrix.lookup(PackageCode.PREMIUM, EntitlementCode.APPLY_JOB))
+                .thenReturn(Optional.of(new Entitlement(true, 0)));
+
+        assertTrue(checkerService.canApplyJob());
+        verify(candidateApplyQuotaCounter, never()).currentMonthCount(anyInt());
+    }
+
+    @Test
+    void core_WithoutPaidActiveInvoice_UsesFreePackage() {
+        candidate(PackageCode.PREMIUM, "PENDING", true);
+        when(candidateEntitlementMatrix.lookup(PackageCode.FREE, EntitlementCode.AI_ROADMAP))
+                .thenReturn(Optional.of(new Entitlement(false, 0)));
+
+        assertFalse(checkerService.canUseRoadmapRecommendation());
+    }
+
+    @Test
+    void core_NoInvoice_UsesFreePackage() {
+        candidate(null, null, false);
+        when(candidateEntitlementMatrix.lookup(PackageCode.FREE, EntitlementCode.AI_ROADMAP))
+                .thenReturn(Optional.of(new Entitlement(true, 0)));
+
+        assertTrue(checkerService.canUseRoadmapRecommendation());
+    }
+
+    @Test
+    void core_EntitlementMissingFromPackage_IsDenied() {
+        candidate(PackageCode.PLUS, StatusInvoice.PAID, true);
+        when(candidateEntitlementMatrix.lookup(PackageCode.PLUS, EntitlementCode.CV_DOWNLOAD))
+                .thenReturn(Optional.empty());
+
+        assertFalse(checkerService.canDownloadCV());
+    }
+}
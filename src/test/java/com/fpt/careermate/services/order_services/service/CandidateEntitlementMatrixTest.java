@@ -0,0 +1,96 @@
+package com.fpt.careermate.services.order_services.service;
+
+import com.fpt.careermate.common.constant.EntitlementCode;
+import com.fpt.careermate.common.constant.PackageCode;
+import com.fpt.careermate.services.order_services.domain.CandidateEntitlement;
+import com.fpt.careermate.services.order_services.domain.CandidateEntitlementPackage;
+import com.fpt.careermate.services.order_services.domain.CandidatePackage;
+import com.fpt.careermate.services.order_services.repository.CandidateEntitlementPackageRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CandidateEntitlementMatrix
+ */
+@ExtendWith(MockitoExtension.class)
+class CandidateEntitlementMatrixTest {
+
+    @Mock
+    private CandidateEntitlementPackageRepo candidateEntitlementPackageRepo;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @InjectMocks
+    private CandidateEntitlementMatrix matrix;
+
+    private static CandidateEntitlementPackage row(String packageName, String code, boolean enabled, int limit) {
+        return CandidateEntitlementPackage.builder()
+                .candidatePackage(CandidatePackage.builder().name(packageName).build())
+                .candidateEntitlement(CandidateEntitlement.builder().code(code).build())
+                .enabled(enabled)
+                .limitValue(limit)
+                .build();
+    }
+
+    @Test
+    void lookup_LoadsOnceAndAnswersFromMemory() {
+        when(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement()).thenReturn(List.of(
+                row(PackageCode.FREE, EntitlementCode.APPLY_JOB, true, 5),
+                row(PackageCode.PREMIUM, EntitlementCode.APPLY_JOB, true, 0)));
+
+        assertEquals(Optional.of(new CandidateEntitlementMatrix.Entitlement(true, 5)),
+                matrix.lookup(PackageCode.FREE, EntitlementCode.APPLY_JOB));
+        assertTrue(matrix.lookup(PackageCode.PREMIUM, EntitlementCode.APPLY_JOB).orElseThrow().isUnlimited());
+
+        verify(candidateEntitlementPackageRepo, times(1)).findAllWithPackageAndEntitlement();
+    }
+
+    @Test
+    void lookup_UnknownPackageOrEntitlement_IsEmpty() {
+        when(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement()).thenReturn(List.of(
+                row(PackageCode.FREE, EntitlementCode.APPLY_JOB, true, 5)));
+
+        assertTrue(matrix.lookup(PackageCode.PLUS, EntitlementCode.APPLY_JOB).isEmpty());
+        assertTrue(matrix.lookup(PackageCode.FREE, EntitlementCode.AI_ROADMAP).isEmpty());
+    }
+
+    @Test
+    void reload_ReplacesMatrixAndNotifiesOtherNodes() {
+        when(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement())
+                .thenReturn(List.of(row(PackageCode.PLUS, EntitlementCode.AI_ROADMAP, false, 0)))
+                .thenReturn(List.of(row(PackageCode.PLUS, EntitlementCode.AI_ROADMAP, true, 0)));
+        assertFalse(matrix.lookup(PackageCode.PLUS, EntitlementCode.AI_ROADMAP).orElseThrow().enabled());
+
+        matrix.reload();
+
+        assertTrue(matrix.lookup(PackageCode.PLUS, EntitlementCode.AI_ROADMAP).orElseThrow().enabled());
+        verify(redisTemplate).convertAndSend(anyString(), eq("reload"));
+    }
+
+    @Test
+    void refresh_WhenDatabaseFails_KeepsPreviousMatrix() {
+        when(candidateEntitlementPackageRepo.findAllWithPackageAndEntitlement())
+                .thenReturn(List.of(row(PackageCode.FREE, EntitlementCode.APPLY_JOB, true, 5)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        matrix.lookup(PackageCode.FREE, EntitlementCode.APPLY_JOB);
+
+        matrix.refresh();
+
+        assertEquals(5, matrix.lookup(PackageCode.FREE, EntitlementCode.APPLY_JOB).orElseThrow().limitValue());
+    }
+}
@@ -0,0 +1,194 @@
+package com.fpt.careermate.services.outbox_services.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.services.outbox_services.domain.OutboxEvent;
+import com.fpt.careermate.services.outbox_services.repository.OutboxEventRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay: claiming, lease renewal, retry and dead-lettering
+ */
+class OutboxRelayTest {
+
+    private static final String TYPE = "TEST_EVENT";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private OutboxEventRepo outboxEventRepo;
+    private RecordingHandler handler;
+    private OutboxRelay relay;
+
+    /**
+     * Records dispatched aggregate ids; fails while {@code failure} is set
+     */
+    static class RecordingHandler implements OutboxHandler<String> {
+        final List<String> handled = new ArrayList<>();
+        RuntimeException failure;
+
+        @Override
+        public String eventType() {
+            return TYPE;
+        }
+
+        @Override
+        public Class<String> payloadType() {
+            return String.class;
+        }
+
+        @Override
+        public void handle(String aggregateId, String payload) {
+            if (failure != null) {
+                throw failure;
+            }
+            handled.add(aggregateId + ":" + payload);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepo = mock(OutboxEventRepo.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(outboxEventRepo.renewLease(anyLong(), anyString(), any())).thenReturn(1);
+
+        handler = new RecordingHandler();
+        relay = new OutboxRelay(outboxEventRepo, List.of(handler), transactionManager,
+                new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", 50);
+        ReflectionTestUtils.setField(relay, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(relay, "retryBackoffMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxRetryBackoffMs", 600000L);
+        relay.init();
+    }
+
+    private OutboxEvent claimed(long id, String type, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("Test")
+                .aggregateId(String.valueOf(id))
+                .eventType(type)
+                .payload("\"payload-" + id + "\"")
+                .attempts(attempts)
+                .leaseToken("lease")
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void claimable(OutboxEvent... events) {
+        List<Long> ids = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            ids.add(event.getId());
+        }
+        when(outboxEventRepo.findClaimableIds(any(), eq(50))).thenReturn(ids);
+        when(outboxEventRepo.findAllById(ids)).thenReturn(List.of(events));
+    }
+
+    @Test
+    void dispatchBatch_ClaimsWithLeaseAndDispatchesInIdOrder() {
+        claimable(claimed(2, TYPE, 1), claimed(1, TYPE, 1));
+
+        int dispatched = relay.dispatchBatch();
+
+        assertEquals(2, dispatched);
+        ArgumentCaptor<LocalDateTime> lease = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepo).claim(eq(List.of(2L, 1L)), lease.capture(), anyString());
+        assertTrue(lease.getValue().isAfter(LocalDateTime.now().plusSeconds(50)));
+        assertEquals(List.of("1:payload-1", "2:payload-2"), handler.handled);
+        verify(outboxEventRepo).markDone(eq(1L), eq("lease"), any());
+        verify(outboxEventRepo).markDone(eq(2L), eq("lease"), any());
+    }
+
+    @Test
+    void dispatchBatch_WithNothingDue_DoesNotClaim() {
+        when(outboxEventRepo.findClaimableIds(any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, relay.dispatchBatch());
+
+        verify(outboxEventRepo, never()).claim(any(), any(), any());
+    }
+
+    @Test
+    void dispatch_RenewsLeaseBeforeEachEvent() {
+        claimable(claimed(1, TYPE, 1), claimed(2, TYPE, 1));
+
+        relay.dispatchBatch();
+
+        ArgumentCaptor<LocalDateTime> renewed = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepo, times(2)).renewLease(anyLong(), eq("lease"), renewed.capture());
+        renewed.getAllValues().forEach(until -> assertTrue(until.isAfter(LocalDateTime.now().plusSeconds(50))));
+    }
+
+    @Test
+    void dispatch_WhenLeaseWasTakenOver_SkipsEvent() {
+        claimable(claimed(1, TYPE, 1), claimed(2, TYPE, 1));
+        when(outboxEventRepo.renewLease(eq(1L), anyString(), any())).thenReturn(0);
+
+        relay.dispatchBatch();
+
+        assertEquals(List.of("2:payload-2"), handler.handled);
+        verify(outboxEventRepo, never()).markDone(eq(1L), any(), any());
+        verify(outboxEventRepo, never()).scheduleRetry(eq(1L), any(), any(), any());
+        verify(outboxEventRepo).markDone(eq(2L), eq("lease"), any());
+    }
+
+    @Test
+    void dispatch_WhenHandlerFails_SchedulesRetryWithBackoff() {
+        handler.failure = new IllegalStateException("weaviate down");
+        claimable(claimed(1, TYPE, 2));
+
+        relay.dispatchBatch();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(outboxEventRepo).scheduleRetry(eq(1L), eq("lease"), nextAttempt.capture(), error.capture());
+        // Second attempt: 1000ms << 1 = 2s
+        assertTrue(nextAttempt.getValue().isAfter(LocalDateTime.now().plusSeconds(1)));
+        assertTrue(nextAttempt.getValue().isBefore(LocalDateTime.now().plusSeconds(3)));
+        assertTrue(error.getValue().contains("weaviate down"));
+        verify(outboxEventRepo, never()).markDead(anyLong(), any(), any(), any());
+        verify(outboxEventRepo, never()).markDone(anyLong(), any(), any());
+    }
+
+    @Test
+    void dispatch_WhenLastAttemptFails_MarksDead() {
+        handler.failure = new IllegalStateException("broker down");
+        claimable(claimed(1, TYPE, MAX_ATTEMPTS));
+
+        relay.dispatchBatch();
+
+        verify(outboxEventRepo).markDead(eq(1L), eq("lease"), any(), contains("broker down"));
+        verify(outboxEventRepo, never()).scheduleRetry(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void dispatch_WithoutHandler_MarksDead() {
+        claimable(claimed(1, "UNKNOWN", 1));
+
+        relay.dispatchBatch();
+
+        verify(outboxEventRepo).markDead(eq(1L), eq("lease"), any(), eq("No handler for event type"));
+    }
+
+    @Test
+    void init_WithTwoHandlersForOneType_Fails() {
+        OutboxRelay duplicate = new OutboxRelay(outboxEventRepo, List.of(new RecordingHandler(), new RecordingHandler()),
+                mock(PlatformTransactionManager.class), new ObjectMapper(), new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, duplicate::init);
+    }
+}
@@ -0,0 +1,330 @@
+package com.fpt.careermate.services.recommendation.service;
+
+import com.fpt.careermate.common.exception.AppException;
+import com.fpt.careermate.common.exception.ErrorCode;
+import com.fpt.careermate.services.profile_services.domain.Candidate;
+import com.fpt.careermate.services.recommendation.domain.CandidateReindexRun;
+import com.fpt.careermate.services.recommendation.dto.CandidateReindexProgressDTO;
+import com.fpt.careermate.services.recommendation.repository.CandidateReindexRunRepo;
+import com.fpt.careermate.services.resume_services.domain.Resume;
+import com.fpt.careermate.services.resume_services.repository.ResumeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CandidateReindexService: keyset paging, checkpoints, resume, takeover and progress
+ */
+class CandidateReindexServiceTest {
+
+    // Each candidate's first resume, in id order
+    private static final List<Integer> RESUME_IDS = List.of(1, 2, 3, 5, 8);
+    private static final int BATCH_SIZE = 2;
+
+    private ResumeRepo resumeRepo;
+    private CandidateReindexRunRepo runRepo;
+    private CandidateWeaviateService weaviateService;
+    private CandidateReindexService reindexService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        resumeRepo = mock(ResumeRepo.class);
+        runRepo = mock(CandidateReindexRunRepo.class);
+        weaviateService = mock(CandidateWeaviateService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        when(resumeRepo.countCandidatesWithResume()).thenReturn((long) RESUME_IDS.size());
+        when(resumeRepo.findIndexedResumeIdsAfter(anyInt(), any())).thenAnswer(invocation -> {
+            int after = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return RESUME_IDS.stream().filter(id -> id > after).limit(page.getPageSize()).toList();
+        });
+        when(resumeRepo.findWithSkillsByResumeIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Integer>) invocation.getArgument(0)).stream()
+                        .map(CandidateReindexServiceTest::resume)
+                        .toList());
+        when(weaviateService.buildCandidateProperties(any())).thenAnswer(invocation ->
+                Map.<String, Object>of("resumeId", invocation.<Resume>getArgument(0).getResumeId()));
+        when(weaviateService.upsertCandidateProfiles(anyMap())).thenReturn(Set.of());
+
+        when(runRepo.findFirstByOrderByIdDesc()).thenReturn(Optional.empty());
+        when(runRepo.save(any())).thenAnswer(invocation -> {
+            CandidateReindexRun run = invocation.getArgument(0);
+            run.setId(1L);
+            return run;
+        });
+        when(runRepo.checkpoint(anyLong(), anyString(), anyInt(), anyLong(), anyLong(), any())).thenReturn(1);
+        when(runRepo.finish(anyLong(), anyString(), any(), anyInt(), anyLong(), anyLong(), any(), any(), any()))
+                .thenReturn(1);
+
+        reindexService = new CandidateReindexService(resumeRepo, runRepo, weaviateService, transactionManager,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reindexService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(reindexService, "maxBatchAttempts", 3);
+        ReflectionTestUtils.setField(reindexService, "staleAfterSeconds", 300L);
+    }
+
+    // Candidate id = resume id + 100
+    private static Resume resume(int resumeId) {
+        return Resume.builder()
+                .resumeId(resumeId)
+                .candidate(Candidate.builder().candidateId(resumeId + 100).build())
+                .build();
+    }
+
+    private static CandidateReindexRun run(CandidateReindexRun.Status status, int lastResumeId, long indexed,
+                                           LocalDateTime updatedAt) {
+        return CandidateReindexRun.builder()
+                .id(7L)
+                .status(status)
+                .lastResumeId(lastResumeId)
+                .totalCandidates((long) RESUME_IDS.size())
+                .indexed(indexed)
+                .startedAt(updatedAt.minusMinutes(10))
+                .updatedAt(updatedAt)
+                .ownerToken("previous-owner")
+                .build();
+    }
+
+    /**
+     * Latest run that a claim on this node takes over, as the database would return it afterwards
+     */
+    private void claimable(CandidateReindexRun latest) {
+        when(runRepo.findFirstByOrderByIdDesc()).thenReturn(Optional.of(latest));
+        when(runRepo.claim(eq(7L), eq(CandidateReindexRun.Status.RUNNING), anyString(), any(), any()))
+                .thenAnswer(invocation -> {
+                    latest.setStatus(CandidateReindexRun.Status.RUNNING);
+                    latest.setOwnerToken(invocation.getArgument(2));
+                    return 1;
+                });
+        when(runRepo.findById(7L)).thenReturn(Optional.of(latest));
+    }
+
+    private void awaitWorker() throws InterruptedException {
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(reindexService, "running");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (running.get()) {
+            assertTrue(System.currentTimeMillis() < deadline, "reindex worker did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void start_IndexesAllCandidatesInKeysetPages() throws Exception {
+        CandidateReindexProgressDTO started = reindexService.start(false);
+        awaitWorker();
+
+        assertEquals("RUNNING", started.getStatus());
+        assertEquals(5, started.getTotalCandidates());
+        verify(resumeRepo).findIndexedResumeIdsAfter(eq(0), any());
+        verify(resumeRepo).findIndexedResumeIdsAfter(eq(2), any());
+        verify(resumeRepo).findIndexedResumeIdsAfter(eq(5), any());
+        // The last page is short, so there is no query for an empty page
+        verify(resumeRepo, times(3)).findIndexedResumeIdsAfter(anyInt(), any());
+        verify(weaviateService, times(3)).upsertCandidateProfiles(anyMap());
+
+        ArgumentCaptor<Integer> checkpoints = ArgumentCaptor.forClass(Integer.class);
+        verify(runRepo, times(3)).checkpoint(eq(1L), anyString(), checkpoints.capture(), anyLong(), anyLong(), any());
+        assertEquals(List.of(2, 5, 8), checkpoints.getAllValues());
+        verify(runRepo).finish(eq(1L), anyString(), eq(CandidateReindexRun.Status.COMPLETED), eq(8),
+                eq(5L), eq(0L), any(), notNull(), isNull());
+    }
+
+    @Test
+    void start_AfterFailedRun_ResumesFromCheckpoint() throws Exception {
+        CandidateReindexRun failed = run(CandidateReindexRun.Status.FAILED, 3, 3, LocalDateTime.now().minusHours(1));
+        claimable(failed);
+
+        reindexService.start(false);
+        awaitWorker();
+
+        verify(resumeRepo).findIndexedResumeIdsAfter(eq(3), any());
+        verify(resumeRepo, never()).findIndexedResumeIdsAfter(eq(0), any());
+        verify(resumeRepo, never()).countCandidatesWithResume();
+        String token = failed.getOwnerToken();
+        assertNotEquals("previous-owner", token);
+        verify(runRepo).finish(eq(7L), eq(token), eq(CandidateReindexRun.Status.COMPLETED), eq(8),
+                eq(5L), eq(0L), any(), notNull(), isNull());
+        verify(runRepo, never()).save(any());
+    }
+
+    @Test
+    void start_Restart_StartsNewRunFromFirstCandidate() throws Exception {
+        when(runRepo.findFirstByOrderByIdDesc()).thenReturn(Optional.of(
+                run(CandidateReindexRun.Status.FAILED, 3, 3, LocalDateTime.now().minusHours(1))));
+
+        reindexService.start(true);
+        awaitWorker();
+
+        verify(runRepo, never()).claim(anyLong(), any(), anyString(), any(), any());
+        verify(runRepo).save(any());
+        verify(resumeRepo).findIndexedResumeIdsAfter(eq(0), any());
+        verify(runRepo).finish(eq(1L), anyString(), eq(CandidateReindexRun.Status.COMPLETED), eq(8),
+                eq(5L), eq(0L), any(), notNull(), isNull());
+    }
+
+    @Test
+    void start_WhileRunningOnAnotherNode_IsRejected() {
+        when(runRepo.findFirstByOrderByIdDesc()).thenReturn(Optional.of(
+                run(CandidateReindexRun.Status.RUNNING, 3, 3, LocalDateTime.now().minusSeconds(10))));
+
+        AppException e = assertThrows(AppException.class, () -> reindexService.start(false));
+
+        assertEquals(ErrorCode.CANDIDATE_REINDEX_RUNNING, e.getErrorCode());
+        verify(runRepo, never()).claim(anyLong(), any(), anyString(), any(), any());
+        // The local guard is released, so a later start is possible
+        assertFalse(((AtomicBoolean) ReflectionTestUtils.getField(reindexService, "running")).get());
+    }
+
+    @Test
+    void start_StaleRunningRun_IsTakenOver() throws Exception {
+        CandidateReindexRun stale = run(CandidateReindexRun.Status.RUNNING, 5, 4, LocalDateTime.now().minusMinutes(10));
+        claimable(stale);
+
+        reindexService.start(false);
+        awaitWorker();
+
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(runRepo).claim(eq(7L), eq(CandidateReindexRun.Status.RUNNING), anyString(), any(), staleBefore.capture());
+        assertTrue(staleBefore.getValue().isBefore(LocalDateTime.now().minusSeconds(290)));
+        verify(resumeRepo).findIndexedResumeIdsAfter(eq(5), any());
+        verify(runRepo).finish(eq(7L), anyString(), eq(CandidateReindexRun.Status.COMPLETED), eq(8),
+                eq(5L), eq(0L), any(), notNull(), isNull());
+    }
+
+    @Test
+    void start_WhenClaimIsLost_IsRejected() {
+        when(runRepo.findFirstByOrderByIdDesc()).thenReturn(Optional.of(
+                run(CandidateReindexRun.Status.FAILED, 3, 3, LocalDateTime.now().minusHours(1))));
+        when(runRepo.claim(anyLong(), any(), anyString(), any(), any())).thenReturn(0);
+
+        AppException e = assertThrows(AppException.class, () -> reindexService.start(false));
+
+        assertEquals(ErrorCode.CANDIDATE_REINDEX_RUNNING, e.getErrorCode());
+        verify(resumeRepo, never()).findIndexedResumeIdsAfter(anyInt(), any());
+    }
+
+    @Test
+    void execute_WhenWeaviateBatchFailsOnce_RetriesAndSendsHeartbeat() throws Exception {
+        when(weaviateService.upsertCandidateProfiles(anyMap()))
+                .thenThrow(new IllegalStateException("weaviate timeout"))
+                .thenReturn(Set.of());
+
+        reindexService.start(false);
+        awaitWorker();
+
+        verify(weaviateService, times(4)).upsertCandidateProfiles(anyMap());
+        // One heartbeat before the retry, then one checkpoint per page
+        verify(runRepo).checkpoint(eq(1L), anyString(), eq(0), eq(0L), eq(0L), any());
+        verify(runRepo).finish(eq(1L), anyString(), eq(CandidateReindexRun.Status.COMPLETED), eq(8),
+                eq(5L), eq(0L), any(), notNull(), isNull());
+    }
+
+    @Test
+    void execute_WhenBatchKeepsFailing_MarksRunFailedAtCheckpoint() throws Exception {
+        ReflectionTestUtils.setField(reindexService, "maxBatchAttempts", 1);
+        when(weaviateService.upsertCandidateProfiles(anyMap()))
+                .thenReturn(Set.of())
+                .thenThrow(new IllegalStateException("weaviate down"));
+
+        reindexService.start(false);
+        awaitWorker();
+
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(runRepo).finish(eq(1L), anyString(), eq(CandidateReindexRun.Status.FAILED), eq(2),
+                eq(2L), eq(0L), any(), isNull(), error.capture());
+        assertTrue(error.getValue().contains("weaviate down"));
+    }
+
+    @Test
+    void execute_RejectedObjects_AreCountedAsFailed() throws Exception {
+        // Weaviate rejects the profile of the candidate with resume 3
+        when(weaviateService.upsertCandidateProfiles(anyMap())).thenAnswer(invocation ->
+                invocation.<Map<Integer, ?>>getArgument(0).containsKey(103) ? Set.of(103) : Set.of());
+
+        reindexService.start(false);
+        awaitWorker();
+
+        verify(runRepo).finish(eq(1L), anyString(), eq(CandidateReindexRun.Status.COMPLETED), eq(8),
+                eq(4L), eq(1L), any(), notNull(), isNull());
+    }
+
+    @Test
+    void execute_WhenRunWasTakenOver_StopsWithoutWriting() throws Exception {
+        when(runRepo.checkpoint(anyLong(), anyString(), anyInt(), anyLong(), anyLong(), any())).thenReturn(0);
+
+        reindexService.start(false);
+        awaitWorker();
+
+        verify(resumeRepo, times(1)).findIndexedResumeIdsAfter(anyInt(), any());
+        verify(runRepo, never()).finish(anyLong(), any(), any(), anyInt(), anyLong(), anyLong(), any(), any(), any());
+        verify(runRepo, times(1)).save(any());
+    }
+
+    @Test
+    void getProgress_FinishedRun_UsesAverageRate() {
+        LocalDateTime started = LocalDateTime.now().minusHours(1);
+        when(runRepo.findFirstByOrderByIdDesc()).thenReturn(Optional.of(CandidateReindexRun.builder()
+                .id(7L)
+                .status(CandidateReindexRun.Status.FAILED)
+                .totalCandidates(400L)
+                .indexed(90L)
+                .failed(10L)
+                .startedAt(started)
+                .updatedAt(started.plusSeconds(50))
+                .build()));
+
+        CandidateReindexProgressDTO progress = reindexService.getProgress();
+
+        assertEquals("FAILED", progress.getStatus());
+        assertEquals(25.0, progress.getPercentComplete());
+        assertEquals(2.0, progress.getCandidatesPerSecond());
+        assertNull(progress.getEstimatedSecondsRemaining());
+        assertFalse(progress.isStalled());
+    }
+
+    @Test
+    void getProgress_RunWithoutHeartbeat_IsStalled() {
+        LocalDateTime updated = LocalDateTime.now().minusMinutes(10);
+        when(runRepo.findFirstByOrderByIdDesc()).thenReturn(Optional.of(CandidateReindexRun.builder()
+                .id(7L)
+                .status(CandidateReindexRun.Status.RUNNING)
+                .totalCandidates(400L)
+                .indexed(200L)
+                .failed(0L)
+                .startedAt(updated.minusSeconds(100))
+                .updatedAt(updated)
+                .build()));
+
+        CandidateReindexProgressDTO progress = reindexService.getProgress();
+
+        assertTrue(progress.isStalled());
+        assertEquals(50.0, progress.getPercentComplete());
+        assertEquals(2.0, progress.getCandidatesPerSecond());
+        assertEquals(100L, progress.getEstimatedSecondsRemaining());
+    }
+
+    @Test
+    void getProgress_WithoutRuns_IsNone() {
+        assertEquals("NONE", reindexService.getProgress().getStatus());
+    }
+}
@@ -0,0 +1,75 @@
+package com.fpt.careermate.services.recommendation.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SkillMatcher
+ */
+class SkillMatcherTest {
+
+    private final SkillMatcher skillMatcher = new SkillMatcher("");
+
+    @Test
+    void match_WithSynonyms_MatchesCanonicalSkill() {
+        SkillMatchResult result = skillMatcher.match(
+                List.of("JavaScript", "PostgreSQL", "Docker"),
+                List.of("js", "postgres"));
+
+        assertEquals(Set.of("JavaScript", "PostgreSQL"), result.getMatchedSkills());
+        assertEquals(Set.of("Docker"), result.getMissingSkills());
+        assertEquals(2.0 / 3.0, result.getMatchScore(), 1e-9);
+    }
+
+    @Test
+    void match_WithParentSkill_AddsHierarchyBonus() {
+        SkillMatchResult result = skillMatcher.match(List.of("React"), List.of("JavaScript"));
+
+        assertTrue(result.getMatchedSkills().isEmpty());
+        assertEquals(0.1, result.getHierarchyBonus(), 1e-9);
+        assertEquals(0.1, result.getEnhancedScore(), 1e-9);
+    }
+
+    @Test
+    void match_WithUnknownSkills_FallsBackToExactMatch() {
+        SkillMatchResult result = skillMatcher.match(List.of("Elixir", "Haskell"), List.of(" elixir "));
+
+        assertEquals(Set.of("Elixir"), result.getMatchedSkills());
+        assertEquals(Set.of("Haskell"), result.getMissingSkills());
+    }
+
+    @Test
+    void legacyMethods_AgreeWithSinglePassMatch() {
+        List<String> required = List.of("Spring Boot", "Kubernetes", "Python");
+        List<String> candidate = List.of("spring", "k8s", "java");
+
+        SkillMatchResult result = skillMatcher.match(required, candidate);
+
+        assertEquals(result.getMatchedSkills(), skillMatcher.findMatchingSkills(required, candidate));
+        assertEquals(result.getMissingSkills(), skillMatcher.findMissingSkills(required, candidate));
+        assertEquals(result.getEnhancedScore(), skillMatcher.calculateEnhancedMatchScore(required, candidate), 1e-9);
+        assertTrue(skillMatcher.skillsMatch("Spring Boot", "springboot"));
+        assertFalse(skillMatcher.skillsMatch("java", "javascript"));
+    }
+
+    @Test
+    void externalDictionary_ExtendsBuiltInTable(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("skills.json");
+        Files.writeString(file, """
+                {"synonyms": {"svelte": ["svelte", "sveltekit"]},
+                 "hierarchy": {"javascript": ["svelte"]}}
+                """);
+        SkillMatcher matcher = new SkillMatcher(file.toString());
+
+        assertTrue(matcher.skillsMatch("SvelteKit", "svelte"));
+        assertTrue(matcher.skillsMatch("js", "javascript"));
+        assertEquals(0.1, matcher.match(List.of("svelte"), List.of("js")).getHierarchyBonus(), 1e-9);
+    }
+}
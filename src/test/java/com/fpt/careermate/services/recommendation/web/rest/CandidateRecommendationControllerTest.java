@@ -1,6 +1,7 @@
 package com.fpt.careermate.services.recommendation.web.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fpt.careermate.services.recommendation.dto.CandidateReindexProgressDTO;
 import com.fpt.careermate.services.recommendation.service.CandidateRecommendationService;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -72,7 +73,8 @@ class CandidateRecommendationControllerTest {
         @DisplayName("TC003: Refresh all candidates returns 200 OK")
         @Disabled("Requires @PreAuthorize security context - TODO: Add @WithMockUser with ADMIN role")
         void refreshAllCandidates_ReturnsSuccess() throws Exception {
-            doNothing().when(recommendationService).syncAllCandidatesToWeaviate();
+            when(recommendationService.syncAllCandidatesToWeaviate(false))
+                    .thenReturn(CandidateReindexProgressDTO.builder().status("RUNNING").build());
 
             mockMvc.perform(post("/api/admin/recommendations/refresh-all-candidates"))
                     .andExpect(status().isOk());
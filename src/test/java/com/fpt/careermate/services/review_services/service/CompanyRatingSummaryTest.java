@@ -0,0 +1,233 @@
+package com.fpt.careermate.services.review_services.service;
+
+import com.fpt.careermate.services.recruiter_services.domain.Recruiter;
+import com.fpt.careermate.services.review_services.constant.ReviewStatus;
+import com.fpt.careermate.services.review_services.constant.ReviewType;
+import com.fpt.careermate.services.review_services.domain.CompanyReview;
+import com.fpt.careermate.services.review_services.repository.CompanyReviewRepo;
+import com.fpt.careermate.services.review_services.service.dto.response.CompanyReviewStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CompanyRatingSummary
+ */
+class CompanyRatingSummaryTest {
+
+    private static final int RECRUITER_ID = 7;
+    private static final String KEY = "review:summary:7";
+
+    private CompanyReviewRepo reviewRepo;
+    private InMemoryRedis redis;
+    private CompanyRatingSummary summary;
+
+    /**
+     * Redis hashes in memory; the increment script is applied as HINCRBYFLOAT on an existing hash
+     */
+    static class InMemoryRedis extends StringRedisTemplate {
+        final Map<String, Map<Object, Object>> hashes = new HashMap<>();
+        final List<String> deleted = new ArrayList<>();
+        RuntimeException scriptFailure;
+        int scriptCalls;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            scriptCalls++;
+            if (scriptFailure != null) {
+                throw scriptFailure;
+            }
+            Map<Object, Object> hash = hashes.get(keys.get(0));
+            if (hash == null) {
+                return (T) Long.valueOf(0);
+            }
+            for (int i = 0; i < args.length; i += 2) {
+                double current = Double.parseDouble((String) hash.getOrDefault(args[i], "0"));
+                hash.put(args[i], String.valueOf(current + Double.parseDouble((String) args[i + 1])));
+            }
+            return (T) Long.valueOf(1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+            HashOperations<String, Object, Object> operations = mock(HashOperations.class);
+            when(operations.entries(anyString())).thenAnswer(invocation ->
+                    new HashMap<>(hashes.getOrDefault(invocation.<String>getArgument(0), Map.of())));
+            doAnswer(invocation -> {
+                hashes.computeIfAbsent(invocation.getArgument(0), key -> new HashMap<>())
+                        .putAll(invocation.getArgument(1));
+                return null;
+            }).when(operations).putAll(anyString(), anyMap());
+            return (HashOperations<String, HK, HV>) (HashOperations<?, ?, ?>) operations;
+        }
+
+        @Override
+        public Boolean expire(String key, Duration timeout) {
+            return true;
+        }
+
+        @Override
+        public Boolean delete(String key) {
+            deleted.add(key);
+            return hashes.remove(key) != null;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo = mock(CompanyReviewRepo.class);
+        redis = new InMemoryRedis();
+        summary = new CompanyRatingSummary(reviewRepo, redis);
+    }
+
+    private static CompanyReview review(ReviewStatus status, int overall, Integer communication) {
+        return CompanyReview.builder()
+                .recruiter(Recruiter.builder().id(RECRUITER_ID).build())
+                .status(status)
+                .reviewType(ReviewType.INTERVIEW_EXPERIENCE)
+                .overallRating(overall)
+                .communicationRating(communication)
+                .isVerified(true)
+                .isAnonymous(false)
+                .build();
+    }
+
+    // [reviewType, overallRating, isVerified, isAnonymous, count, 7 x (aspect sum, aspect count), sentiment sum, count]
+    private static Object[] summaryRow(ReviewType type, int overall, boolean verified, long count,
+                                       long communicationSum, long communicationCount) {
+        Object[] row = new Object[21];
+        row[0] = type.name();
+        row[1] = overall;
+        row[2] = verified;
+        row[3] = false;
+        row[4] = count;
+        row[5] = communicationSum;
+        row[6] = communicationCount;
+        return row;
+    }
+
+    @Test
+    void getStatistics_OnMiss_LoadsOnceAndCaches() {
+        when(reviewRepo.summarizeActiveByRecruiterId(RECRUITER_ID)).thenReturn(List.<Object[]>of(
+                summaryRow(ReviewType.INTERVIEW_EXPERIENCE, 5, true, 2, 9, 2),
+                summaryRow(ReviewType.WORK_EXPERIENCE, 3, false, 1, 0, 0)));
+
+        CompanyReviewStatsResponse first = summary.getStatistics(RECRUITER_ID);
+        CompanyReviewStatsResponse second = summary.getStatistics(RECRUITER_ID);
+
+        assertEquals(3L, first.getTotalReviews());
+        assertEquals(13.0 / 3, first.getAverageOverallRating(), 1e-9);
+        assertEquals(2L, first.getInterviewReviews());
+        assertEquals(1L, first.getWorkExperienceReviews());
+        assertEquals(0L, first.getApplicationReviews());
+        assertEquals(4.5, first.getAvgCommunication(), 1e-9);
+        assertEquals(0.0, first.getAvgBenefits());
+        assertEquals(2L, first.getRatingDistribution().get(5));
+        assertEquals(0L, first.getRatingDistribution().get(1));
+        assertEquals(2L, first.getVerifiedReviews());
+        assertEquals(first, second);
+        verify(reviewRepo, times(1)).summarizeActiveByRecruiterId(RECRUITER_ID);
+    }
+
+    @Test
+    void getStatistics_CompanyWithoutReviews_HasNoAverage() {
+        when(reviewRepo.summarizeActiveByRecruiterId(RECRUITER_ID)).thenReturn(List.of());
+
+        CompanyReviewStatsResponse stats = summary.getStatistics(RECRUITER_ID);
+
+        assertEquals(0L, stats.getTotalReviews());
+        assertNull(stats.getAverageOverallRating());
+        // Cached as well, so deltas for the first review apply to it
+        assertTrue(redis.hashes.containsKey(KEY));
+    }
+
+    @Test
+    void reviewChanged_NewReview_UpdatesCachedSummary() {
+        when(reviewRepo.summarizeActiveByRecruiterId(RECRUITER_ID)).thenReturn(List.<Object[]>of(
+                summaryRow(ReviewType.INTERVIEW_EXPERIENCE, 5, true, 1, 5, 1)));
+        summary.getStatistics(RECRUITER_ID);
+
+        summary.reviewChanged(null, summary.capture(review(ReviewStatus.ACTIVE, 3, 3)));
+
+        CompanyReviewStatsResponse stats = summary.getStatistics(RECRUITER_ID);
+        assertEquals(2L, stats.getTotalReviews());
+        assertEquals(4.0, stats.getAverageOverallRating(), 1e-9);
+        assertEquals(4.0, stats.getAvgCommunication(), 1e-9);
+        assertEquals(1L, stats.getRatingDistribution().get(3));
+        verify(reviewRepo, times(1)).summarizeActiveByRecruiterId(RECRUITER_ID);
+    }
+
+    @Test
+    void reviewChanged_RatingEdited_MovesBetweenStars() {
+        when(reviewRepo.summarizeActiveByRecruiterId(RECRUITER_ID)).thenReturn(List.<Object[]>of(
+                summaryRow(ReviewType.INTERVIEW_EXPERIENCE, 5, true, 1, 5, 1)));
+        summary.getStatistics(RECRUITER_ID);
+
+        summary.reviewChanged(summary.capture(review(ReviewStatus.ACTIVE, 5, 5)),
+                summary.capture(review(ReviewStatus.ACTIVE, 2, 5)));
+
+        CompanyReviewStatsResponse stats = summary.getStatistics(RECRUITER_ID);
+        assertEquals(1L, stats.getTotalReviews());
+        assertEquals(2.0, stats.getAverageOverallRating(), 1e-9);
+        assertEquals(0L, stats.getRatingDistribution().get(5));
+        assertEquals(1L, stats.getRatingDistribution().get(2));
+    }
+
+    @Test
+    void reviewChanged_Removed_DropsContribution() {
+        when(reviewRepo.summarizeActiveByRecruiterId(RECRUITER_ID)).thenReturn(List.<Object[]>of(
+                summaryRow(ReviewType.INTERVIEW_EXPERIENCE, 4, true, 1, 4, 1)));
+        summary.getStatistics(RECRUITER_ID);
+
+        summary.reviewChanged(summary.capture(review(ReviewStatus.ACTIVE, 4, 4)),
+                summary.capture(review(ReviewStatus.REMOVED, 4, 4)));
+
+        assertEquals(0L, summary.getStatistics(RECRUITER_ID).getTotalReviews());
+    }
+
+    @Test
+    void reviewChanged_WithoutCachedSummary_DoesNotCreateOne() {
+        summary.reviewChanged(null, summary.capture(review(ReviewStatus.ACTIVE, 4, null)));
+
+        assertFalse(redis.hashes.containsKey(KEY));
+    }
+
+    @Test
+    void reviewChanged_NothingChanged_SkipsRedis() {
+        CompanyRatingSummary.Contribution contribution = summary.capture(review(ReviewStatus.ACTIVE, 4, 4));
+
+        summary.reviewChanged(contribution, summary.capture(review(ReviewStatus.ACTIVE, 4, 4)));
+        summary.reviewChanged(null, summary.capture(review(ReviewStatus.FLAGGED, 4, 4)));
+
+        assertEquals(0, redis.scriptCalls);
+    }
+
+    @Test
+    void reviewChanged_WhenRedisFails_EvictsSummary() {
+        redis.scriptFailure = new IllegalStateException("redis down");
+
+        summary.reviewChanged(null, summary.capture(review(ReviewStatus.ACTIVE, 4, 4)));
+
+        assertEquals(List.of(KEY), redis.deleted);
+    }
+
+    @Test
+    void capture_InactiveReview_IsNull() {
+        assertNull(summary.capture(review(ReviewStatus.REMOVED, 4, 4)));
+        assertNull(summary.capture(null));
+    }
+}